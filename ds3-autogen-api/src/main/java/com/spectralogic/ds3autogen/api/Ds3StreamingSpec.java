@@ -0,0 +1,54 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.api;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+
+import java.io.IOException;
+
+/**
+ * A normalized spec whose requests are read one at a time. The types are resolved up
+ * front, while each request is read from the contract, normalized, and passed to the
+ * consumer in contract order, so that only the types and a single request need to be
+ * held in memory.
+ */
+public interface Ds3StreamingSpec {
+
+    /**
+     * Retrieves the normalized types of the spec
+     */
+    ImmutableMap<String, Ds3Type> getTypes();
+
+    /**
+     * Retrieves the names of the contract types used within the params and response
+     * types of the normalized requests
+     */
+    ImmutableSet<String> getRequestTypes();
+
+    /**
+     * Reads each normalized request of the spec, in order, and passes it to the consumer
+     */
+    <E extends Exception> void forEachRequest(final RequestConsumer<E> consumer) throws IOException, E;
+
+    @FunctionalInterface
+    interface RequestConsumer<E extends Exception> {
+        void accept(final Ds3Request request) throws IOException, E;
+    }
+}
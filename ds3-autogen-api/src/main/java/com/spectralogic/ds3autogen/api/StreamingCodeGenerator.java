@@ -0,0 +1,32 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.api;
+
+import com.spectralogic.ds3autogen.api.models.docspec.Ds3DocSpec;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A CodeGenerator that can also generate code from a Ds3StreamingSpec, writing the
+ * code of each request as it is read instead of first reading the whole spec
+ */
+public interface StreamingCodeGenerator extends CodeGenerator {
+    void generate(final Ds3StreamingSpec spec,
+                  final FileUtils fileUtils,
+                  final Path destDir,
+                  final Ds3DocSpec docSpec) throws IOException;
+}
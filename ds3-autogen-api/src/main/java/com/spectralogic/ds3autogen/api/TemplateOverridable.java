@@ -0,0 +1,37 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.api;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A code generator whose bundled templates can be overridden by the templates within a
+ * directory, which mirrors the layout of the generator's bundled template directory
+ */
+public interface TemplateOverridable {
+
+    /**
+     * Loads templates from the directory before falling back to the bundled templates
+     */
+    void overrideTemplates(final Path templateDir) throws IOException;
+
+    /**
+     * Discards all cached templates so that changed override templates are reloaded
+     */
+    void reloadTemplates();
+}
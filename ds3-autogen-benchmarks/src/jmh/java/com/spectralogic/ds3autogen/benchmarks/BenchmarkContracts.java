@@ -0,0 +1,51 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.benchmarks;
+
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Locates the contracts bundled in the top level contracts directory. The directory
+ * is passed to the benchmark JVM with the ds3autogen.contracts system property.
+ */
+public final class BenchmarkContracts {
+
+    private BenchmarkContracts() {}
+
+    public static Path getContractPath(final String contractName) {
+        return Paths.get(System.getProperty("ds3autogen.contracts", "contracts")).resolve(contractName);
+    }
+
+    public static byte[] readContract(final String contractName) throws IOException {
+        return Files.readAllBytes(getContractPath(contractName));
+    }
+
+    /**
+     * Parses and normalizes the specified contract
+     */
+    public static Ds3ApiSpec parseContract(final String contractName) throws IOException {
+        try (final InputStream inputStream = Files.newInputStream(getContractPath(contractName))) {
+            return new Ds3SpecParserImpl().getSpec(inputStream, true);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.benchmarks;
+
+import com.spectralogic.ds3autogen.Ds3SpecNormalizer;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.snapshot.Ds3SpecSnapshot;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Holds a bundled contract at each stage of the pipeline, so that every stage can be
+ * benchmarked against every contract in isolation from the stages before it
+ */
+@State(Scope.Benchmark)
+public class ContractState {
+
+    @Param({"3_0_1_final_contract.xml", "3_2_1_final_contract.xml", "3_2_2_contract.xml",
+            "3_3_0_final_contract.xml", "3_4_0_contract.xml", "3_4_1_contract.xml",
+            "3_5_0_contract_modified.xml", "3_5_0_final_contract.xml", "4_0_0_contract.xml",
+            "4_0_0_contract_modified.xml", "4_1_x_contract.xml",
+            "5_1_0_1664144_contract.xml", "5_1_x_1710735_contract.xml", "5_4_x_2742576_contract.xml"})
+    public String contract;
+
+    private byte[] contractBytes;
+    private Ds3ApiSpec parsedSpec;
+    private Ds3ApiSpec normalizedSpec;
+    private byte[] snapshotBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        contractBytes = BenchmarkContracts.readContract(contract);
+        parsedSpec = new Ds3SpecParserImpl().parseSpec(new ByteArrayInputStream(contractBytes));
+        normalizedSpec = Ds3SpecNormalizer.convertSpec(parsedSpec, false);
+        final ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        Ds3SpecSnapshot.write(normalizedSpec, snapshot);
+        snapshotBytes = snapshot.toByteArray();
+    }
+
+    /**
+     * The raw contract XML
+     */
+    public byte[] getContractBytes() {
+        return contractBytes;
+    }
+
+    /**
+     * The contract after parsing and name mapping, before normalization
+     */
+    public Ds3ApiSpec getParsedSpec() {
+        return parsedSpec;
+    }
+
+    /**
+     * The contract after normalization, as it is passed to the code generators
+     */
+    public Ds3ApiSpec getNormalizedSpec() {
+        return normalizedSpec;
+    }
+
+    /**
+     * The normalized contract as a Ds3SpecSnapshot
+     */
+    public byte[] getSnapshotBytes() {
+        return snapshotBytes;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.benchmarks;
+
+import com.spectralogic.ds3autogen.NameMapper;
+import com.spectralogic.ds3autogen.api.CodeGenerator;
+import com.spectralogic.ds3autogen.api.models.docspec.Ds3DocSpec;
+import com.spectralogic.ds3autogen.c.CCodeGenerator;
+import com.spectralogic.ds3autogen.docspec.Ds3DocSpecParserImpl;
+import com.spectralogic.ds3autogen.go.GoCodeGenerator;
+import com.spectralogic.ds3autogen.java.JavaCodeGenerator;
+import com.spectralogic.ds3autogen.net.NetCodeGenerator;
+import com.spectralogic.ds3autogen.python.PythonCodeGenerator;
+import com.spectralogic.ds3autogen.python3.Python3CodeGenerator;
+import com.spectralogic.ds3autogen.utils.InMemoryFileUtilsImpl;
+import freemarker.template.TemplateModelException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures CodeGenerator.generate for every language against every contract. Generated
+ * files are kept in memory so that disk I/O does not dominate the measurement. A new
+ * generator is created for every invocation, as the CLI does, so FreeMarker template
+ * loading is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class GenerateBenchmark {
+
+    private static final Path DEST_DIR = Paths.get(".");
+
+    public enum Language {
+        C, JAVA, NET, PYTHON, PYTHON3, GO
+    }
+
+    @Param
+    public Language language;
+
+    private Ds3DocSpec docSpec;
+
+    @Setup
+    public void setup() throws IOException {
+        docSpec = new Ds3DocSpecParserImpl(new NameMapper()).getDocSpec();
+    }
+
+    @Benchmark
+    public InMemoryFileUtilsImpl generate(final ContractState state) throws IOException, TemplateModelException {
+        final InMemoryFileUtilsImpl fileUtils = new InMemoryFileUtilsImpl();
+        toGenerator(language).generate(state.getNormalizedSpec(), fileUtils, DEST_DIR, docSpec);
+        return fileUtils;
+    }
+
+    private static CodeGenerator toGenerator(final Language language) throws TemplateModelException {
+        switch (language) {
+            case C:
+                return new CCodeGenerator();
+            case JAVA:
+                return new JavaCodeGenerator();
+            case NET:
+                return new NetCodeGenerator();
+            case PYTHON:
+                return new PythonCodeGenerator();
+            case PYTHON3:
+                return new Python3CodeGenerator();
+            case GO:
+                return new GoCodeGenerator();
+            default:
+                throw new IllegalArgumentException("Unknown language " + language.toString());
+        }
+    }
+}
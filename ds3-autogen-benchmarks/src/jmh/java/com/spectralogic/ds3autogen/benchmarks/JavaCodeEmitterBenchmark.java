@@ -0,0 +1,67 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.benchmarks;
+
+import com.spectralogic.ds3autogen.NameMapper;
+import com.spectralogic.ds3autogen.api.models.docspec.Ds3DocSpec;
+import com.spectralogic.ds3autogen.docspec.Ds3DocSpecParserImpl;
+import com.spectralogic.ds3autogen.java.JavaCodeGenerator;
+import com.spectralogic.ds3autogen.java.JavaGeneratorOptions;
+import com.spectralogic.ds3autogen.utils.InMemoryFileUtilsImpl;
+import freemarker.template.TemplateModelException;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generating Java code with every file rendered by FreeMarker against generating
+ * it with the request, response, response parser and model files written by the code
+ * emitters. The generator is created once per trial, so that template loading is excluded
+ * and only rendering is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class JavaCodeEmitterBenchmark {
+
+    private static final Path DEST_DIR = Paths.get(".");
+
+    @Param({"false", "true"})
+    public boolean codeEmitters;
+
+    private Ds3DocSpec docSpec;
+    private JavaCodeGenerator generator;
+
+    @Setup
+    public void setup() throws IOException, TemplateModelException {
+        docSpec = new Ds3DocSpecParserImpl(new NameMapper()).getDocSpec();
+        generator = new JavaCodeGenerator(JavaGeneratorOptions.builder().codeEmitters(codeEmitters).build());
+    }
+
+    @Benchmark
+    public InMemoryFileUtilsImpl generate(final ContractState state) throws IOException {
+        final InMemoryFileUtilsImpl fileUtils = new InMemoryFileUtilsImpl();
+        generator.generate(state.getNormalizedSpec(), fileUtils, DEST_DIR, docSpec);
+        return fileUtils;
+    }
+}
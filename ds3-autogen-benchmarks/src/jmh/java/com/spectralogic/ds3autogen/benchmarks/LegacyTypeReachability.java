@@ -0,0 +1,79 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEnum;
+
+/**
+ * The recursive fixpoint implementation of ConverterUtil.getUsedTypesFromAllTypes that
+ * was replaced by TypeDependencyGraph. Each pass re-walks every already visited type
+ * until no new types are found. Kept only as the baseline for TypeReachabilityBenchmark.
+ */
+final class LegacyTypeReachability {
+
+    private static final String CONTRACT_DEFINED_TYPE = "com.spectralogic.";
+
+    private LegacyTypeReachability() {}
+
+    static ImmutableSet<String> getUsedTypesFromAllTypes(
+            final ImmutableMap<String, Ds3Type> typeMap,
+            final ImmutableSet<String> usedTypes) {
+        if (isEmpty(usedTypes) || isEmpty(typeMap)) {
+            return ImmutableSet.of();
+        }
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        builder.addAll(usedTypes);
+        for (final String type : usedTypes) {
+            final Ds3Type ds3Type = typeMap.get(type);
+            if (ds3Type != null) {
+                builder.addAll(getUsedTypesFromType(ds3Type));
+            }
+        }
+        final ImmutableSet<String> newUsedTypes = builder.build();
+        if (newUsedTypes.size() > usedTypes.size()) {
+            return getUsedTypesFromAllTypes(typeMap, newUsedTypes);
+        }
+        return newUsedTypes;
+    }
+
+    private static ImmutableSet<String> getUsedTypesFromType(final Ds3Type ds3Type) {
+        if (isEnum(ds3Type) || isEmpty(ds3Type.getElements())) {
+            return ImmutableSet.of();
+        }
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (final Ds3Element ds3Element : ds3Type.getElements()) {
+            if (includeType(ds3Element.getType())) {
+                builder.add(ds3Element.getType());
+            }
+            if (hasContent(ds3Element.getComponentType())
+                    && includeType(ds3Element.getComponentType())) {
+                builder.add(ds3Element.getComponentType());
+            }
+        }
+        return builder.build();
+    }
+
+    private static boolean includeType(final String type) {
+        return hasContent(type) && type.startsWith(CONTRACT_DEFINED_TYPE);
+    }
+}
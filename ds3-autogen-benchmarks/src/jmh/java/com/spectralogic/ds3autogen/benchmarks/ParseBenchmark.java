@@ -0,0 +1,90 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.benchmarks;
+
+import com.spectralogic.ds3autogen.Ds3SpecNormalizer;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.Ds3StreamingSpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.snapshot.Ds3SpecSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parse and normalize stages of Ds3SpecParserImpl.getSpec separately,
+ * reading the contract from memory so that disk I/O is excluded. The Jackson based
+ * Ds3SpecParserImpl is compared against the StAX based Ds3StreamingSpecParserImpl,
+ * whose allocation per operation is reported by the gc profiler. Both are compared
+ * against reading the normalized spec back from a Ds3SpecSnapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    /**
+     * XML binding, Ds3SpecConverter and NameMapper conversion
+     */
+    @Benchmark
+    public Ds3ApiSpec parse(final ContractState state) throws IOException {
+        return new Ds3SpecParserImpl().parseSpec(new ByteArrayInputStream(state.getContractBytes()));
+    }
+
+    /**
+     * StAX parsing with inline NameMapper conversion
+     */
+    @Benchmark
+    public Ds3ApiSpec parseStreaming(final ContractState state) throws IOException {
+        return new Ds3StreamingSpecParserImpl().parseSpec(new ByteArrayInputStream(state.getContractBytes()));
+    }
+
+    /**
+     * All Ds3SpecNormalizer converters
+     */
+    @Benchmark
+    public Ds3ApiSpec normalize(final ContractState state) {
+        return Ds3SpecNormalizer.convertSpec(state.getParsedSpec(), false);
+    }
+
+    /**
+     * Parse and normalize, as performed by the CLI
+     */
+    @Benchmark
+    public Ds3ApiSpec getSpec(final ContractState state) throws IOException {
+        return new Ds3SpecParserImpl().getSpec(new ByteArrayInputStream(state.getContractBytes()));
+    }
+
+    /**
+     * Parse and normalize using the StAX parser
+     */
+    @Benchmark
+    public Ds3ApiSpec getSpecStreaming(final ContractState state) throws IOException {
+        return new Ds3StreamingSpecParserImpl().getSpec(new ByteArrayInputStream(state.getContractBytes()));
+    }
+
+    /**
+     * Loading the normalized spec from a snapshot, as the CLI does with --spec-cache
+     */
+    @Benchmark
+    public Ds3ApiSpec readSnapshot(final ContractState state) throws IOException {
+        return Ds3SpecSnapshot.read(new ByteArrayInputStream(state.getSnapshotBytes()));
+    }
+}
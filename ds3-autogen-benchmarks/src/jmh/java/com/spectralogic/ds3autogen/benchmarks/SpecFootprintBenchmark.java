@@ -0,0 +1,60 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.benchmarks;
+
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the heap retained by the normalized spec of each contract, as measured by
+ * JOL, as the secondary results of a single parse. Along with the retained bytes, the
+ * number of String instances within the spec and the bytes retained by them and their
+ * backing arrays are reported, which shows how much of the spec is repeated names.
+ * Run with -PjmhIncludes=SpecFootprint.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class SpecFootprintBenchmark {
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long retainedBytes;
+        public long stringCount;
+        public long stringBytes;
+    }
+
+    @Benchmark
+    public Ds3ApiSpec normalizedSpec(final ContractState state, final Footprint footprint) throws IOException {
+        final Ds3ApiSpec spec = new Ds3SpecParserImpl().getSpec(new ByteArrayInputStream(state.getContractBytes()));
+
+        final GraphLayout layout = GraphLayout.parseInstance(spec);
+        footprint.retainedBytes = layout.totalSize();
+        footprint.stringCount = layout.getClassCounts().count(String.class);
+        footprint.stringBytes = layout.getClassSizes().count(String.class) + layout.getClassSizes().count(byte[].class);
+        return spec;
+    }
+}
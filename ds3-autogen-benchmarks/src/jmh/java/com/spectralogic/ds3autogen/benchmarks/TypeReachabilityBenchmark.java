@@ -0,0 +1,90 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.utils.ConverterUtil;
+import com.spectralogic.ds3autogen.utils.TypeDependencyGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the type reachability pass used by ConverterUtil.removeUnusedTypes
+ * against the recursive fixpoint implementation it replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeReachabilityBenchmark {
+
+    @Param({"3_0_1_final_contract.xml", "3_2_1_final_contract.xml", "3_2_2_contract.xml",
+            "3_3_0_final_contract.xml", "3_4_0_contract.xml", "3_4_1_contract.xml",
+            "3_5_0_contract_modified.xml", "3_5_0_final_contract.xml", "4_0_0_contract.xml",
+            "4_0_0_contract_modified.xml", "4_1_x_contract.xml",
+            "5_1_0_1664144_contract.xml", "5_1_x_1710735_contract.xml", "5_4_x_2742576_contract.xml"})
+    public String contract;
+
+    private ImmutableMap<String, Ds3Type> types;
+    private ImmutableList<Ds3Request> requests;
+    private ImmutableSet<String> requestTypes;
+
+    @Setup
+    public void setup() throws IOException {
+        final Ds3ApiSpec spec = BenchmarkContracts.parseContract(contract);
+        types = spec.getTypes();
+        requests = spec.getRequests();
+
+        final TypeDependencyGraph graph = TypeDependencyGraph.of(types, requests);
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (final String type : types.keySet()) {
+            if (!graph.getReferencingRequests(type).isEmpty()) {
+                builder.add(type);
+            }
+        }
+        requestTypes = builder.build();
+
+        final ImmutableSet<String> expected = LegacyTypeReachability.getUsedTypesFromAllTypes(types, requestTypes);
+        final ImmutableSet<String> actual = graph.getReachableTypes(requestTypes);
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Type reachability differs from the legacy implementation for " + contract);
+        }
+    }
+
+    @Benchmark
+    public ImmutableSet<String> legacyFixpoint() {
+        return LegacyTypeReachability.getUsedTypesFromAllTypes(types, requestTypes);
+    }
+
+    @Benchmark
+    public ImmutableSet<String> dependencyGraph() {
+        return TypeDependencyGraph.of(types).getReachableTypes(requestTypes);
+    }
+
+    @Benchmark
+    public ImmutableMap<String, Ds3Type> removeUnusedTypes() {
+        return ConverterUtil.removeUnusedTypes(types, requests);
+    }
+}
@@ -16,9 +16,11 @@
 package com.spectralogic.ds3autogen.c;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.CodeGenerator;
 import com.spectralogic.ds3autogen.api.FileUtils;
+import com.spectralogic.ds3autogen.api.TemplateOverridable;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
@@ -29,9 +31,11 @@ import com.spectralogic.ds3autogen.c.helpers.*;
 import com.spectralogic.ds3autogen.c.models.Enum;
 import com.spectralogic.ds3autogen.c.models.*;
 import com.spectralogic.ds3autogen.utils.ConverterUtil;
-import com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil;
 import com.spectralogic.ds3autogen.utils.Helper;
+import com.spectralogic.ds3autogen.utils.RequestClassifier;
+import com.spectralogic.ds3autogen.utils.TemplateOverrideUtil;
 import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
 import freemarker.template.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,18 +45,25 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.text.ParseException;
 import java.util.Collection;
 import java.util.stream.Stream;
 
+import static com.spectralogic.ds3autogen.utils.metrics.TemplateRenderUtil.render;
 
-public class CCodeGenerator implements CodeGenerator {
+
+public class CCodeGenerator implements CodeGenerator, TemplateOverridable {
     private static final Logger LOG = LoggerFactory.getLogger(CCodeGenerator.class);
 
+    // The struct parsers and requests are split across source files of about 1500 lines each, so that the SDK
+    // compiles in parallel and a contract change does not recompile a single enormous translation unit
+    private static final int MAX_STRUCT_MEMBERS_PER_FILE = 200;
+    private static final int MAX_REQUESTS_PER_FILE = 48;
+
     private final Configuration config = new Configuration(Configuration.VERSION_2_3_23);
 
     private FileUtils fileUtils;
+    private Path destDir;
 
     public CCodeGenerator() throws TemplateModelException {
         config.setDefaultEncoding("UTF-8");
@@ -67,12 +78,24 @@ public class CCodeGenerator implements CodeGenerator {
         config.setSharedVariable("parameterHelper", ParameterHelper.getInstance());
     }
 
+    @Override
+    public void overrideTemplates(final Path templateDir) throws IOException {
+        TemplateOverrideUtil.overrideTemplates(config, templateDir);
+    }
+
+    @Override
+    public void reloadTemplates() {
+        config.clearTemplateCache();
+    }
+
     @Override
     public void generate(final Ds3ApiSpec spec, final FileUtils fileUtils, final Path destDir, final Ds3DocSpec docSpec) throws IOException {
         this.fileUtils = fileUtils;
+        this.destDir = destDir;
 
         try {
-            final ImmutableList<Request> allRequests = getAllRequests(spec, docSpec);
+            final RequestClassifier classifier = RequestClassifier.of(spec.getRequests());
+            final ImmutableList<Request> allRequests = getAllRequests(spec, docSpec, classifier);
             final ImmutableList<Enum> allEnums = getAllEnums(spec);
             final ImmutableSet<String> enumNames = EnumHelper.getEnumNamesSet(allEnums);
 
@@ -80,57 +103,97 @@ public class CCodeGenerator implements CodeGenerator {
 
             final ImmutableSet<String> embeddedTypes = getEmbeddedTypes(spec, enumNames);
             final ImmutableSet<String> responseTypes = RequestHelper.getResponseTypes(allRequests);
-            final ImmutableSet<String> paginatedTypes = getPaginatedTypes(spec);
+            final ImmutableSet<String> paginatedTypes = getPaginatedTypes(classifier);
 
             final ImmutableList<Struct> allStructs = getAllStructs(spec, enumNames, responseTypes, embeddedTypes, arrayMemberTypes, paginatedTypes);
 
 
-            generateHeader(allEnums, allStructs, allRequests);
-            generateSource(allEnums, allStructs, allRequests);
-            generateStaticFiles();
+            final ImmutableList.Builder<String> generatedFiles = ImmutableList.builder();
+            generatedFiles.addAll(generateHeader(allEnums, allStructs, allRequests));
+            generatedFiles.addAll(generateSource(allEnums, allStructs, allRequests));
+            generatedFiles.addAll(generateStaticFiles());
+            generateSourceList(generatedFiles.build());
         } catch (final ParseException e) {
             LOG.error("Caught exception: ", e);
         }
     }
 
-    public void generateHeader(
+    /**
+     * Generates ds3.h, and returns the names of the files written to src
+     */
+    public ImmutableList<String> generateHeader(
             final ImmutableList<Enum> allEnums,
             final ImmutableList<Struct> allStructs,
             final ImmutableList<Request> allRequests) throws IOException, ParseException {
-        final Path path = Paths.get("src/ds3.h");
         final Header header = HeaderConverter.toHeader(allEnums, allStructs, allRequests);
-        processTemplate(header, "header-templates/ds3_h.ftl", fileUtils.getOutputFile(path));
+        processSourceTemplate(header, "header-templates/ds3_h.ftl", "ds3.h");
+        return ImmutableList.of("ds3.h");
     }
 
-    public void generateSource(
+    /**
+     * Generates the C sources from the spec, with the struct parsers and requests partitioned across several
+     * ds3_response_parsers_N.c and ds3_requests_N.c files, and returns the names of the files written to src
+     */
+    public ImmutableList<String> generateSource(
         final ImmutableList<Enum> allEnums,
         final ImmutableList<Struct> allStructs,
         final ImmutableList<Request> allRequests) throws IOException, ParseException {
 
         final Source source = SourceConverter.toSource(allEnums, allStructs, allRequests);
-        final Path path = Paths.get("src/ds3.c");
-        processTemplate(source, "source-templates/ds3_c.ftl", fileUtils.getOutputFile(path));
+        final ImmutableList.Builder<String> fileNames = ImmutableList.builder();
+
+        fileNames.add(processSourceTemplate(source, "source-templates/ds3_c.ftl", "ds3.c"));
+        fileNames.add(processSourceTemplate(source, "source-templates/ds3_init_requests.ftl", "ds3_init_requests.c"));
+
+        fileNames.add(processSourceTemplate(source, "header-templates/ds3_requests_internal_h.ftl", "ds3_requests_internal.h"));
+        fileNames.add(processSourceTemplate(source, "source-templates/ds3_requests_common.ftl", "ds3_requests_common.c"));
 
-        final Path initRequestsPath = Paths.get("src/ds3_init_requests.c");
-        processTemplate(source, "source-templates/ds3_init_requests.ftl", fileUtils.getOutputFile(initRequestsPath));
+        final ImmutableList<Source> structParserSources = SourceConverter.toStructParserSources(source, MAX_STRUCT_MEMBERS_PER_FILE);
+        for (int index = 0; index < structParserSources.size(); index++) {
+            fileNames.add(processSourceTemplate(structParserSources.get(index), "source-templates/ds3_requests.ftl",
+                    "ds3_response_parsers_" + (index + 1) + ".c"));
+        }
+
+        final ImmutableList<Source> requestSources = SourceConverter.toRequestSources(source, MAX_REQUESTS_PER_FILE);
+        for (int index = 0; index < requestSources.size(); index++) {
+            fileNames.add(processSourceTemplate(requestSources.get(index), "source-templates/ds3_requests.ftl",
+                    "ds3_requests_" + (index + 1) + ".c"));
+        }
 
-        final Path requestsPath = Paths.get("src/ds3_requests.c");
-        processTemplate(source, "source-templates/ds3_requests.ftl", fileUtils.getOutputFile(requestsPath));
+        return fileNames.build();
     }
 
-    public void generateStaticFiles() throws IOException {
-        final Path ds3RequestPath = Paths.get("src/ds3_request.h");
-        processTemplate(null, "other-templates/ds3_request_h.ftl", fileUtils.getOutputFile(ds3RequestPath));
+    /**
+     * Generates the sources which do not depend on the spec, and returns the names of the files written to src
+     */
+    public ImmutableList<String> generateStaticFiles() throws IOException {
+        return ImmutableList.of(
+                processSourceTemplate(null, "other-templates/ds3_request_h.ftl", "ds3_request.h"),
+                processSourceTemplate(null, "other-templates/ds3_net_c.ftl", "ds3_net.c"),
+                processSourceTemplate(null, "other-templates/ds3_net_h.ftl", "ds3_net.h"),
+                processSourceTemplate(null, "other-templates/ds3_connection_c.ftl", "ds3_connection.c"),
+                processSourceTemplate(null, "other-templates/ds3_connection_h.ftl", "ds3_connection.h"));
+    }
 
-        final Path ds3NetPath = Paths.get("src/ds3_net.c");
-        processTemplate(null, "other-templates/ds3_net_c.ftl", fileUtils.getOutputFile(ds3NetPath));
-        final Path ds3NetHeaderPath = Paths.get("src/ds3_net.h");
-        processTemplate(null, "other-templates/ds3_net_h.ftl", fileUtils.getOutputFile(ds3NetHeaderPath));
+    /**
+     * Generates src/ds3_generated_sources.am, which lists the generated sources and headers for the SDK's build,
+     * since the number of source files depends on the size of the spec
+     */
+    public void generateSourceList(final ImmutableList<String> generatedFiles) throws IOException {
+        final ImmutableMap<String, Object> sourceList = ImmutableMap.of(
+                "sources", generatedFiles.stream()
+                        .filter(fileName -> fileName.endsWith(".c"))
+                        .collect(GuavaCollectors.immutableList()),
+                "headers", generatedFiles.stream()
+                        .filter(fileName -> fileName.endsWith(".h"))
+                        .collect(GuavaCollectors.immutableList()));
+        processSourceTemplate(sourceList, "other-templates/ds3_generated_sources_am.ftl", "ds3_generated_sources.am");
+    }
 
-        final Path ds3ConnectionPath = Paths.get("src/ds3_connection.c");
-        processTemplate(null, "other-templates/ds3_connection_c.ftl", fileUtils.getOutputFile(ds3ConnectionPath));
-        final Path ds3ConnectionHeaderPath = Paths.get("src/ds3_connection.h");
-        processTemplate(null, "other-templates/ds3_connection_h.ftl", fileUtils.getOutputFile(ds3ConnectionHeaderPath));
+    private String processSourceTemplate(final Object obj, final String templateName, final String fileName) throws IOException {
+        final Path path = destDir.resolve("src").resolve(fileName);
+        processTemplate(obj, templateName, fileUtils.getOutputFile(path));
+        return fileName;
     }
 
     public static ImmutableList<Enum> getAllEnums(final Ds3ApiSpec spec) throws ParseException {
@@ -226,17 +289,27 @@ public class CCodeGenerator implements CodeGenerator {
      * Requests with optional paging require an extra "ds3_paging" member
      */
     public static ImmutableSet<String> getPaginatedTypes(final Ds3ApiSpec spec) {
-        return spec.getRequests().stream()
-                .filter(Ds3RequestClassificationUtil::supportsPaginationRequest)
+        return getPaginatedTypes(RequestClassifier.of(spec.getRequests()));
+    }
+
+    private static ImmutableSet<String> getPaginatedTypes(final RequestClassifier classifier) {
+        return classifier.getRequests(RequestKind.PAGINATION).stream()
                 .map( req -> RequestConverter.getResponseType(req.getDs3ResponseCodes()))
                 .collect(GuavaCollectors.immutableSet());
     }
 
     public static ImmutableList<Request> getAllRequests(final Ds3ApiSpec spec, final Ds3DocSpec docSpec) throws ParseException {
+        return getAllRequests(spec, docSpec, RequestClassifier.of(spec.getRequests()));
+    }
+
+    private static ImmutableList<Request> getAllRequests(
+            final Ds3ApiSpec spec,
+            final Ds3DocSpec docSpec,
+            final RequestClassifier classifier) throws ParseException {
         final ImmutableList.Builder<Request> allRequestsBuilder = ImmutableList.builder();
         if (ConverterUtil.hasContent(spec.getRequests())) {
             for (final Ds3Request ds3Request: spec.getRequests()) {
-                allRequestsBuilder.add(RequestConverter.toRequest(ds3Request, docSpec));
+                allRequestsBuilder.add(RequestConverter.toRequest(ds3Request, classifier.getKinds(ds3Request), docSpec));
             }
         }
         return allRequestsBuilder.build();
@@ -246,9 +319,8 @@ public class CCodeGenerator implements CodeGenerator {
     public void processTemplate(final Object obj, final String templateName, final OutputStream outputStream) throws IOException {
         final Template template = config.getTemplate(templateName);
 
-        final Writer writer = new OutputStreamWriter(outputStream);
-        try {
-            template.process(obj, writer);
+        try (final Writer writer = new OutputStreamWriter(outputStream)) {
+            render(template, obj, writer);
         } catch (final NullPointerException | TemplateException e) {
             LOG.error("Unable to process template " + templateName, e);
         }
@@ -31,9 +31,11 @@ import com.spectralogic.ds3autogen.c.models.ParameterModifier;
 import com.spectralogic.ds3autogen.c.models.ParameterPointerType;
 import com.spectralogic.ds3autogen.c.models.Request;
 import com.spectralogic.ds3autogen.utils.ConverterUtil;
-import com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil;
 import com.spectralogic.ds3autogen.utils.Helper;
+import com.spectralogic.ds3autogen.utils.RequestClassifier;
 import com.spectralogic.ds3autogen.utils.RequestConverterUtil;
+import com.spectralogic.ds3autogen.utils.RequestKinds;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +51,10 @@ public final class RequestConverter {
 
 
     public static Request toRequest(final Ds3Request ds3Request, final Ds3DocSpec docSpec) {
+        return toRequest(ds3Request, RequestClassifier.classify(ds3Request), docSpec);
+    }
+
+    public static Request toRequest(final Ds3Request ds3Request, final RequestKinds kinds, final Ds3DocSpec docSpec) {
         final String requestName = RequestHelper.getNameRootUnderscores(ds3Request.getName());
         LOG.debug("Request Name: " + requestName);
         final String responseType = getResponseType(ds3Request.getDs3ResponseCodes());
@@ -66,7 +72,7 @@ public final class RequestConverter {
                 isResourceIdRequired(ds3Request),
                 hasRequestPayload.get(requestName),
                 responseType,
-                Ds3RequestClassificationUtil.supportsPaginationRequest(ds3Request),
+                kinds.contains(RequestKind.PAGINATION),
                 toRequestDocs(Helper.unqualifiedName(ds3Request.getName()), docSpec));
     }
 
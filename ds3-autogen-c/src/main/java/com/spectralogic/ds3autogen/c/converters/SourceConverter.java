@@ -17,6 +17,7 @@ package com.spectralogic.ds3autogen.c.converters;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.spectralogic.ds3autogen.c.helpers.EnumHelper;
 import com.spectralogic.ds3autogen.c.helpers.RequestHelper;
 import com.spectralogic.ds3autogen.c.helpers.StructHelper;
@@ -44,6 +45,59 @@ public final class SourceConverter {
                 allRequests);
     }
 
+    /**
+     * Splits the parsed Structs of a Source into Sources with no Requests, so that the parsers can be generated into
+     * separate source files which compile in parallel.  The size of a parser grows with the number of members of its
+     * Struct, so each Source gets Structs with at most maxStructMembers members in total, or a single larger Struct.
+     */
+    public static ImmutableList<Source> toStructParserSources(final Source source, final int maxStructMembers) {
+        final ImmutableList.Builder<Source> sources = ImmutableList.builder();
+        ImmutableList.Builder<Struct> structs = ImmutableList.builder();
+        int numStructs = 0;
+        int numStructMembers = 0;
+
+        for (final Struct struct : source.getStructs()) {
+            if (!StructHelper.requiresParser(struct)) {
+                continue;
+            }
+            if (numStructs > 0 && numStructMembers + struct.getStructMembers().size() > maxStructMembers) {
+                sources.add(toStructParserSource(source, structs.build()));
+                structs = ImmutableList.builder();
+                numStructs = 0;
+                numStructMembers = 0;
+            }
+            structs.add(struct);
+            numStructs++;
+            numStructMembers += struct.getStructMembers().size();
+        }
+        if (numStructs > 0) {
+            sources.add(toStructParserSource(source, structs.build()));
+        }
+        return sources.build();
+    }
+
+    private static Source toStructParserSource(final Source source, final ImmutableList<Struct> structs) {
+        return new Source(source.getEnums(),
+                source.getQueryParamEnums(),
+                source.getOptionalQueryParams(),
+                structs,
+                ImmutableList.of());
+    }
+
+    /**
+     * Splits the Requests of a Source into Sources of at most maxRequests Requests each, and no Structs, so that
+     * the requests can be generated into separate source files which compile in parallel
+     */
+    public static ImmutableList<Source> toRequestSources(final Source source, final int maxRequests) {
+        return Lists.partition(source.getRequests(), maxRequests).stream()
+                .map(requests -> new Source(source.getEnums(),
+                        source.getQueryParamEnums(),
+                        source.getOptionalQueryParams(),
+                        ImmutableList.of(),
+                        ImmutableList.copyOf(requests)))
+                .collect(GuavaCollectors.immutableList());
+    }
+
     /**
      * All Request query parameters that are Enums require a _get_enum_str() function to be generated
      */
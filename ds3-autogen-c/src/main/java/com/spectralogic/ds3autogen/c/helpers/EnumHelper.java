@@ -25,6 +25,7 @@ import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Comparator;
 import java.util.stream.Collectors;
 
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
@@ -74,11 +75,23 @@ public final class EnumHelper {
         return stringListBuilder.build();
     }
 
+    /**
+     * Enums with at least this many values are matched with a binary search over a sorted
+     * table, rather than comparing the text against every value in turn
+     */
+    protected static final int BINARY_SEARCH_MATCHER_THRESHOLD = 8;
+
     public static String generateMatcher(final Enum enumEntry) {
         if (isEmpty(enumEntry.getValues())) {
             return "";
         }
+        if (enumEntry.getValues().size() < BINARY_SEARCH_MATCHER_THRESHOLD) {
+            return generateLinearMatcher(enumEntry);
+        }
+        return generateBinarySearchMatcher(enumEntry);
+    }
 
+    private static String generateLinearMatcher(final Enum enumEntry) {
         final StringBuilder outputBuilder = new StringBuilder();
         final int numEnumValues = enumEntry.getValues().size();
         for (int currentEnum = 0; currentEnum < numEnumValues; currentEnum++) {
@@ -89,20 +102,69 @@ public final class EnumHelper {
             }
 
             final String currentEnumName = enumEntry.getValues().get(currentEnum);
-            final int prefix_length = enumEntry.getName().length() + 1; // to +1 to account for trailing underbar
-            outputBuilder.append("if (xmlStrcmp(text, (const xmlChar*) \"").append(currentEnumName.substring(prefix_length)).append("\") == 0) {\n");
+            outputBuilder.append("if (xmlStrcmp(text, (const xmlChar*) \"").append(getEnumValueText(enumEntry, currentEnumName)).append("\") == 0) {\n");
             outputBuilder.append(indent(2)).append("return ").append(currentEnumName).append(";\n");
         }
 
-        final String enumName = enumEntry.getValues().get(0);
         outputBuilder.append(indent(1)).append("} else {").append("\n");
-        outputBuilder.append(indent(2)).append("ds3_log_message(log, DS3_ERROR, \"ERROR: Unknown value of '%s'.  Returning ").append(enumName).append(" for safety.\", text);\n");
-        outputBuilder.append(indent(2)).append("return ").append(enumName).append(";\n");
-
+        outputBuilder.append(generateUnknownValue(enumEntry, 2));
         outputBuilder.append(indent(1)).append("}");
         return outputBuilder.toString();
     }
 
+    /**
+     * Generates a matcher that binary searches a table of the enum's values, sorted by
+     * their text in the same byte order that xmlStrcmp compares them
+     */
+    private static String generateBinarySearchMatcher(final Enum enumEntry) {
+        final ImmutableList<String> sortedValues = enumEntry.getValues().stream()
+                .sorted(Comparator.comparing(value -> getEnumValueText(enumEntry, value)))
+                .collect(GuavaCollectors.immutableList());
+
+        final StringBuilder outputBuilder = new StringBuilder();
+        outputBuilder.append(indent(1)).append("static const struct {\n");
+        outputBuilder.append(indent(2)).append("const char* text;\n");
+        outputBuilder.append(indent(2)).append(enumEntry.getName()).append(" value;\n");
+        outputBuilder.append(indent(1)).append("} values[] = {\n");
+        outputBuilder.append(sortedValues.stream()
+                .map(value -> indent(2) + "{ \"" + getEnumValueText(enumEntry, value) + "\", " + value + " }")
+                .collect(Collectors.joining(",\n")));
+        outputBuilder.append("\n");
+        outputBuilder.append(indent(1)).append("};\n");
+        outputBuilder.append(indent(1)).append("int low = 0;\n");
+        outputBuilder.append(indent(1)).append("int high = (int) (sizeof(values) / sizeof(values[0])) - 1;\n");
+        outputBuilder.append(indent(1)).append("while (low <= high) {\n");
+        outputBuilder.append(indent(2)).append("const int mid = low + (high - low) / 2;\n");
+        outputBuilder.append(indent(2)).append("const int compare = xmlStrcmp(text, (const xmlChar*) values[mid].text);\n");
+        outputBuilder.append(indent(2)).append("if (compare == 0) {\n");
+        outputBuilder.append(indent(3)).append("return values[mid].value;\n");
+        outputBuilder.append(indent(2)).append("} else if (compare < 0) {\n");
+        outputBuilder.append(indent(3)).append("high = mid - 1;\n");
+        outputBuilder.append(indent(2)).append("} else {\n");
+        outputBuilder.append(indent(3)).append("low = mid + 1;\n");
+        outputBuilder.append(indent(2)).append("}\n");
+        outputBuilder.append(indent(1)).append("}\n");
+        outputBuilder.append(generateUnknownValue(enumEntry, 1));
+        return outputBuilder.toString().substring(0, outputBuilder.length() - 1);
+    }
+
+    /**
+     * Logs the unknown value and returns the enum's first value
+     */
+    private static String generateUnknownValue(final Enum enumEntry, final int indentation) {
+        final String enumName = enumEntry.getValues().get(0);
+        return indent(indentation) + "ds3_log_message(log, DS3_ERROR, \"ERROR: Unknown value of '%s'.  Returning " + enumName + " for safety.\", text);\n"
+                + indent(indentation) + "return " + enumName + ";\n";
+    }
+
+    /**
+     * Retrieves the xml text of an enum value, which is the value without its ds3_type namespace prefix
+     */
+    private static String getEnumValueText(final Enum enumEntry, final String enumValue) {
+        final int prefix_length = enumEntry.getName().length() + 1; // to +1 to account for trailing underbar
+        return enumValue.substring(prefix_length);
+    }
+
     public static String generateToString(final Enum enumEntry) {
         if (isEmpty(enumEntry.getValues())) {
             LOG.warn("Empty enumValues list.");
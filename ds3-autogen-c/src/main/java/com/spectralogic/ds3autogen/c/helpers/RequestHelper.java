@@ -139,6 +139,36 @@ public final class RequestHelper {
         return "ds3_error* " + request.getName() + "(" + paramListToString(request.getParamList()) + ")";
     }
 
+    public static String getAsyncRequestFunctionName(final Request request) {
+        return request.getName() + "_async";
+    }
+
+    /**
+     * Generates the signature of the asynchronous version of a request, which is sent on an event loop
+     * and reports the error, or the response, to the on_complete callback
+     */
+    public static String generateAsyncRequestFunctionSignature(final Request request) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("ds3_error* ").append(getAsyncRequestFunctionName(request))
+                .append("(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, ");
+
+        if (request.getName().equalsIgnoreCase("ds3_put_object_request")
+         || request.getName().equalsIgnoreCase("ds3_get_object_request")
+         || request.getName().equalsIgnoreCase("ds3_put_multi_part_upload_part_request")) {
+            builder.append("void* user_data, size_t (*callback)(void*, size_t, size_t, void*), ");
+        }
+
+        builder.append("void (*on_complete)(ds3_error* error, ");
+        if (request.getName().equalsIgnoreCase("ds3_head_object_request")) {
+            builder.append("ds3_head_object_response* response, ");
+        } else if (request.hasResponsePayload()) {
+            builder.append(request.getResponseType()).append("* response, ");
+        }
+        builder.append("void* on_complete_data), void* on_complete_data)");
+
+        return builder.toString();
+    }
+
     public static String generateParameterValidationBlock(final Request request) {
         final StringBuilder builder = new StringBuilder();
 
@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.c.models.Struct;
 import com.spectralogic.ds3autogen.c.models.StructMember;
 import com.spectralogic.ds3autogen.utils.Helper;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,8 +58,8 @@ public final class StructHelper {
         return getDs3TypeName(name) + "_response";
     }
 
-    public static String getParserFunctionName(final String ds3TypeName) {
-        return "_parse_" + ds3TypeName;
+    public static String getStructParserName(final String ds3TypeName) {
+        return "_" + ds3TypeName + "_parser";
     }
 
     public static String getXmlTag(final StructMember structMember) {
@@ -69,19 +70,10 @@ public final class StructHelper {
     }
 
     /**
-     * Determine if a parser requires a ds3_error to track the response of a sub-parser
+     * Determine if a Struct is parsed from a response, either as the response itself or as a member of another Struct
      */
-    public static boolean hasComplexMembers(final Struct struct) {
-        for (final StructMember structMember : struct.getStructMembers()) {
-            if (!structMember.getType().isPrimitive()) {
-                if (structMember.getType().getTypeName().equals("ds3_str")) continue; // ds3_str is not an auto-generated API typeName.
-
-                return true;
-            } else if (structMember.getType().isArray()) {
-                return true;
-            }
-        }
-        return false;
+    public static boolean requiresParser(final Struct structEntry) {
+        return structEntry.isEmbedded() || structEntry.isArrayMember() || structEntry.isTopLevel();
     }
 
     /**
@@ -101,17 +93,33 @@ public final class StructHelper {
     }
 
     /**
-     * Determine if any array StructMembers are not wrapped in an enclosing tag:
-     * <Objects ID="some_id">
-     *     <Object name="obj1"></Object>
-     * </Objects>
+     * Determine if any child-node StructMembers are themselves Structs, which the element parser populates
      */
-    public static boolean hasUnwrappedChildNodes(final Struct structEntry) {
-        return structEntry.getStructMembers().stream()
-                .filter(sm -> !sm.getType().getTypeName().equals("ds3_tape_type")) // enum list
-                .filter(sm -> !sm.getType().getTypeName().equals("ds3_tape_drive_type")) // enum list
-                .anyMatch(sm -> (!sm.isAttribute() && sm.hasWrapper()));
+    public static boolean hasStructChildNodes(final Struct structEntry) {
+        return getParsedChildNodes(structEntry.getStructMembers()).stream()
+                .anyMatch(sm -> !StructMemberHelper.isTextMember(sm));
+    }
+
+    /**
+     * Determine if any child-node StructMembers are populated from the text of an element
+     */
+    public static boolean hasTextChildNodes(final Struct structEntry) {
+        return getParsedChildNodes(structEntry.getStructMembers()).stream()
+                .anyMatch(StructMemberHelper::isTextMember);
     }
+
+    private static ImmutableList<StructMember> getParsedChildNodes(final ImmutableList<StructMember> structMembers) {
+        return structMembers.stream()
+                .filter(sm -> !isSkippedChildNode(sm))
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    private static boolean isSkippedChildNode(final StructMember structMember) {
+        return structMember.isAttribute() // only parsing child nodes for a specific node
+                || structMember.getName().startsWith("num_") // skip - these are used for array iteration and are not a part of the response
+                || structMember.getName().equals("paging"); // skip - parsed from pagination headers
+    }
+
     /**
      * Determine if a Struct requires a custom parser.
      */
@@ -175,66 +183,92 @@ public final class StructHelper {
         return orderedStructsBuilder.build();
     }
 
+    /**
+     * Generates the body of the element parser of a Struct.  The children of the Struct's element are matched by
+     * tag to the StructMember they populate, and the children of a wrapped array StructMember's element are entries
+     * of the array.
+     */
     public static String generateResponseParser(final String structName, final ImmutableList<StructMember> structMembers) throws ParseException {
-        boolean firstElement = true;
-        final StringBuilder outputBuilder = new StringBuilder();
+        final ImmutableList.Builder<String> arrayEntryBranches = ImmutableList.builder();
+        final ImmutableList.Builder<String> childNodeBranches = ImmutableList.builder();
 
         for (int structMemberIndex = 0; structMemberIndex < structMembers.size(); structMemberIndex++) {
             final StructMember currentStructMember = structMembers.get(structMemberIndex);
-            if (currentStructMember.isAttribute()) continue; // only parsing child nodes for a specific node
-            if (currentStructMember.getName().startsWith("num_")) continue; // skip - these are used for array iteration and are not a part of the response
-            if (currentStructMember.getName().equals("paging")) continue; // skip - parsed from pagination headers
+            if (isSkippedChildNode(currentStructMember)) continue;
 
-            outputBuilder.append(indent(2));
-
-            if (!firstElement) {
-                outputBuilder.append("} else ");
-            } else {
-                firstElement = false;
+            if (StructMemberHelper.isWrappedArray(currentStructMember)) {
+                arrayEntryBranches.add("if (member == " + structMemberIndex + ") {\n"
+                        + StructMemberHelper.getParseStructMemberEntryBlock(currentStructMember, structMemberIndex));
             }
+            childNodeBranches.add("if (element_equal(element, \"" + getXmlTag(currentStructMember) + "\")) {\n"
+                    + StructMemberHelper.getParseStructMemberBlock(currentStructMember, structMemberIndex));
+        }
+
+        // Every child of a wrapped array's element is an entry of the array, whatever its tag
+        final ImmutableList<String> branches = ImmutableList.<String>builder()
+                .addAll(arrayEntryBranches.build())
+                .addAll(childNodeBranches.build())
+                .build();
+        final String unknownNode = "ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of " + structName + "\\n\", element);\n";
+        final String skipNode = "_ds3_xml_parser_skip(parser);\n";
 
-            outputBuilder.append("if (element_equal(child_node, \"").append(getXmlTag(currentStructMember)).append("\")) {").append("\n");
-            outputBuilder.append(StructMemberHelper.getParseStructMemberBlock(currentStructMember));
+        final StringBuilder outputBuilder = new StringBuilder();
+        if (branches.isEmpty()) {
+            outputBuilder.append(indent(1)).append(unknownNode);
+            outputBuilder.append(indent(1)).append(skipNode);
+            return outputBuilder.toString();
         }
 
-        outputBuilder.append(indent(2)).append("} else {").append("\n");
-        outputBuilder.append(indent(3)).append("ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of " + structName + " [%s]\\n\", child_node->name, root->name);").append("\n");
-        outputBuilder.append(indent(2)).append("}").append("\n");
-        outputBuilder.append("\n");
-        outputBuilder.append(indent(2)).append("if (error != NULL) {\n");
-        outputBuilder.append(indent(3)).append("break;\n");
-        outputBuilder.append(indent(2)).append("}\n");
+        outputBuilder.append(indent(1));
+        for (final String branch : branches) {
+            outputBuilder.append(branch).append(indent(1)).append("} else ");
+        }
+        outputBuilder.append("{").append("\n");
+        outputBuilder.append(indent(2)).append(unknownNode);
+        outputBuilder.append(indent(2)).append(skipNode);
+        outputBuilder.append(indent(1)).append("}").append("\n");
 
         return outputBuilder.toString();
     }
 
-    public static String generateResponseAttributesParser(final String structName, final ImmutableList<StructMember> structMembers) throws ParseException {
-        boolean firstElement = true;
+    /**
+     * Generates the body of the text parser of a Struct, which converts the text of an element into the
+     * StructMember, or the entry of the array StructMember, that the element populates
+     */
+    public static String generateResponseTextParser(final ImmutableList<StructMember> structMembers) throws ParseException {
         final StringBuilder outputBuilder = new StringBuilder();
 
         for (int structMemberIndex = 0; structMemberIndex < structMembers.size(); structMemberIndex++) {
             final StructMember currentStructMember = structMembers.get(structMemberIndex);
-            if (!currentStructMember.isAttribute()) continue; // only parsing attributes for a specific node
+            if (isSkippedChildNode(currentStructMember)) continue;
+            if (!StructMemberHelper.isTextMember(currentStructMember)) continue;
 
-            outputBuilder.append(indent(2));
+            outputBuilder.append(indent(2)).append("case ").append(structMemberIndex).append(":").append("\n");
+            outputBuilder.append(StructMemberHelper.getParseStructMemberTextBlock(currentStructMember));
+            outputBuilder.append(indent(3)).append("break;").append("\n");
+        }
 
-            if (!firstElement) {
-                outputBuilder.append("} else ");
-            } else {
-                firstElement = false;
-            }
+        return outputBuilder.toString();
+    }
+
+    public static String generateResponseAttributesParser(final String structName, final ImmutableList<StructMember> structMembers) throws ParseException {
+        boolean firstElement = true;
+        final StringBuilder outputBuilder = new StringBuilder();
+
+        for (final StructMember currentStructMember : structMembers) {
+            if (!currentStructMember.isAttribute()) continue; // only parsing attributes for a specific node
+
+            outputBuilder.append(firstElement ? indent(1) : " else ");
+            firstElement = false;
 
-            outputBuilder.append("if (attribute_equal(attribute, \"").append(Helper.capFirst(currentStructMember.getNameToMarshall())).append("\") == true) {").append("\n");
+            outputBuilder.append("if (attribute_equal(attribute, \"").append(Helper.capFirst(currentStructMember.getNameToMarshall())).append("\")) {").append("\n");
             outputBuilder.append(StructMemberHelper.getParseStructMemberAttributeBlock(currentStructMember));
+            outputBuilder.append(indent(1)).append("}");
         }
 
-        outputBuilder.append(indent(2)).append("} else {").append("\n");
-        outputBuilder.append(indent(3)).append("ds3_log_message(client->log, DS3_ERROR, \"Unknown attribute[%s] of " + structName + " [%s]\\n\", attribute->name, root->name);").append("\n");
-        outputBuilder.append(indent(2)).append("}").append("\n");
-        outputBuilder.append("\n");
-        outputBuilder.append(indent(2)).append("if (error != NULL) {\n");
-        outputBuilder.append(indent(3)).append("break;\n");
-        outputBuilder.append(indent(2)).append("}\n");
+        outputBuilder.append(" else {").append("\n");
+        outputBuilder.append(indent(2)).append("ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown attribute[%s] of " + structName + "\\n\", attribute);").append("\n");
+        outputBuilder.append(indent(1)).append("}").append("\n");
 
         return outputBuilder.toString();
     }
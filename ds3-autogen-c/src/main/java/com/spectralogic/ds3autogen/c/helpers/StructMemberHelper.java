@@ -53,159 +53,152 @@ public final class StructMemberHelper {
                 .collect(GuavaCollectors.immutableList());
     }
 
-    public static String generateStructMemberParserLine(final StructMember structMember, final String parserFunction) throws ParseException {
-        return indent(3) + "response->" + Helper.camelToUnderscore(structMember.getName()) + " = " + parserFunction + "\n";
+    /**
+     * Determine if a StructMember is populated from the text of its element, or when it is an array, from the text
+     * of each child of its element
+     */
+    public static boolean isTextMember(final StructMember structMember) {
+        return structMember.getType().isPrimitive() || structMember.getType().getTypeName().equals("ds3_str");
+    }
+
+    private static boolean isEnumMember(final StructMember structMember) {
+        if (!structMember.getType().isPrimitive()) {
+            return false;
+        }
+        switch (structMember.getType().getTypeName()) {
+            case "uint64_t":
+            case "size_t":
+            case "double":
+            case "float":
+            case "long":
+            case "int":
+            case "ds3_bool":
+                return false;
+            default:
+                return true;
+        }
     }
 
     /**
-     * Also applies to any element whose CollectionValueRenderingMode is "BLOCK_FOR_EVERY_ELEMENT"
+     * The C expression that converts the text of an element or attribute into the value of the StructMember
      */
-    public static String generateStructMemberDs3StrArrayBlock(final StructMember structMember) {
-        return indent(3) + "xmlNodePtr loop_node;\n"
-             + indent(3) + "GPtrArray* " + structMember.getName() + "_array = g_ptr_array_new();\n"
-             + indent(3) + "int num_nodes = 0;\n"
-             + indent(3) + "for (loop_node = child_node->xmlChildrenNode; loop_node != NULL; loop_node = loop_node->next, num_nodes++) {\n"
-             + indent(4) + structMember.getType().getTypeName() + "* " + structMember.getName() + " = xml_get_string(doc, loop_node);\n"
-             + indent(4) + "g_ptr_array_add(" + structMember.getName() + "_array, " + structMember.getName() + ");\n"
-             + indent(3) + "}\n"
-             + indent(3) + "response->" + structMember.getName() + " = (" + structMember.getType().getTypeName() + "**)" + structMember.getName() +"_array->pdata;\n"
-             + indent(3) + "response->num_" + structMember.getName() + " = " + structMember.getName() +"_array->len;\n"
-             + indent(3) + "g_ptr_array_free(" + structMember.getName() + "_array, FALSE);\n";
+    public static String getParseTextExpression(final StructMember structMember, final String text) {
+        switch (structMember.getType().getTypeName()) {
+            case "uint64_t":
+            case "size_t":
+            case "double":
+            case "float":
+            case "long":
+                return "xml_get_uint64(" + text + ")";
+            case "int":
+                return "xml_get_uint16(" + text + ")";
+            case "ds3_bool":
+                // TODO c_sdk inconsistent: xml_get_bool is the only func to log a parse error
+                return "xml_get_bool(parser->client->log, " + text + ")";
+            case "ds3_str":
+                return "_ds3_xml_parser_get_string(parser, " + text + ")";
+            default: // Enum
+                return "_match_" + structMember.getType().getTypeName() + "(parser->client->log, " + text + ")";
+        }
     }
 
     /**
-     * Only applies to CommonPrefixes in ListBucketResult and ListMultipartUploadsResult
+     * Appends an entry to an array StructMember, growing the array as needed
      */
-    public static String generateStructMemberUnwrappedDs3StrArrayBlock(final StructMember structMember) {
-        return indent(3) + "xmlNodePtr loop_node;\n"
-             + indent(3) + "int num_nodes = 0;\n"
-             + indent(3) + "for (loop_node = child_node->xmlChildrenNode; loop_node != NULL; loop_node = loop_node->next, num_nodes++) {\n"
-             + indent(4) + structMember.getType().getTypeName() + "* " + structMember.getName() + " = xml_get_string(doc, loop_node);\n"
-             + indent(4) + "g_ptr_array_add(" + structMember.getName() + "_array, " + structMember.getName() + ");\n"
-             + indent(3) + "}\n";
-    }
-
-    public static String generateStructMemberArrayParserBlock(final StructMember structMember) throws ParseException {
-        return indent(3) + "GPtrArray* " + structMember.getName() + "_array;\n"
-             + indent(3) + "error = _parse_" + structMember.getType().getTypeName() + "_array(client, doc, child_node, &" + structMember.getName() + "_array);\n"
-             + indent(3) + "response->" + structMember.getName() + " = (" + structMember.getType().getTypeName() + "**)" + structMember.getName() + "_array->pdata;\n"
-             + indent(3) + "response->num_" + structMember.getName() + " = " + structMember.getName() + "_array->len;\n"
-             + indent(3) + "g_ptr_array_free(" + structMember.getName() + "_array, FALSE);\n";
-    }
-
-    public static String generateUnwrappedStructMemberArrayParserBlock(final StructMember structMember) throws ParseException {
-        return indent(3) + structMember.getType().getTypeName() + "* " + structMember.getName() + "_response = NULL;\n"
-             + indent(3) + "error = _parse_" + structMember.getType().getTypeName() + "(client, doc, child_node, &" + structMember.getName() + "_response);\n"
-             + indent(3) + "response->" + structMember.getName() + " = (" + structMember.getType().getTypeName() + "**)" + structMember.getName() + "_array->pdata;\n"
-             + indent(3) + "g_ptr_array_add(" + structMember.getName() + "_array, " + structMember.getName() + "_response);\n";
-    }
-
-    public static String generateStructMemberEnumParserBlock(final StructMember structMember) {
-        return indent(3) + "xmlChar* text = xmlNodeListGetString(doc, child_node, 1);\n"
-             + indent(3) + "if (text == NULL) {\n"
-             + indent(4) + "continue;\n"
-             + indent(3) + "}\n"
-             + indent(3) + "response->" + structMember.getName() + " = _match_" + structMember.getType().getTypeName() + "(client->log, text);\n"
-             + indent(3) + "xmlFree(text);\n";
-    }
-
-    public static String generateStructMemberEnumAttributeParserBlock(final StructMember structMember) {
-        return indent(3) + "xmlChar* text = xmlNodeListGetString(doc, attribute->children, 1);\n"
-             + indent(3) + "if (text == NULL) {\n"
-             + indent(4) + "continue;\n"
-             + indent(3) + "}\n"
-             + indent(3) + "response->" + structMember.getName() + " = _match_" + structMember.getType().getTypeName() + "(client->log, text);\n"
-             + indent(3) + "xmlFree(text);\n";
-    }
-
-    public static String generateStructMemberEnumArrayParserBlock(final StructMember structMember) {
-        return indent(3) + "xmlNodePtr loop_node;\n"
-             + indent(3) + "int num_nodes = 0;\n"
-             + indent(3) + "GByteArray* enum_array = g_byte_array_new();\n"
-             + indent(3) + structMember.getType().getTypeName() + " " + structMember.getName() + ";\n"
-             + indent(3) + "for (loop_node = child_node->xmlChildrenNode; loop_node != NULL; loop_node = loop_node->next, num_nodes++) {\n"
-             + indent(4) + "xmlChar* text = xmlNodeListGetString(doc, loop_node, 1);\n"
-             + indent(4) + "if (text == NULL) {\n"
-             + indent(5) + "continue;\n"
-             + indent(4) + "}\n"
-             + indent(4) + structMember.getName() + " = _match_" + structMember.getType().getTypeName() + "(client->log, text);\n"
-             + indent(4) + "g_byte_array_append(enum_array, (const guint8*) &" + structMember.getName() + ", sizeof(" + structMember.getType().getTypeName() + "));\n"
-             + indent(3) + "}\n"
-             + indent(3) + "response->" + structMember.getName() + " = (" + structMember.getType().getTypeName() + "*)enum_array->data;\n"
-             + indent(3) + "response->num_" + structMember.getName() + " = enum_array->len;\n"
-             + indent(3) + "g_byte_array_free(enum_array, FALSE);\n";
-    }
-
-    public static String getParseStructMemberBlock(final StructMember structMember) throws ParseException {
-        if (structMember.getType().isPrimitive()
-         || structMember.getType().getTypeName().equals("ds3_tape_type")
-         || structMember.getType().getTypeName().equals("ds3_tape_drive_type")) {
-            switch (structMember.getType().getTypeName()) {
-                case "uint64_t":
-                case "size_t":
-                case "double":
-                case "float":
-                case "long":
-                    return generateStructMemberParserLine(structMember, "xml_get_uint64(doc, child_node);");
-                case "int":
-                    return generateStructMemberParserLine(structMember, "xml_get_uint16(doc, child_node);");
-                case "ds3_bool":
-                    // TODO c_sdk inconsistent: xml_get_bool is the only func to log a parse error
-                    return generateStructMemberParserLine(structMember, "xml_get_bool(client->log, doc, child_node);");
-                default: // Enum
-                    if (structMember.getType().isArray()) {
-                        return generateStructMemberEnumArrayParserBlock(structMember);
-                    }
-                    return generateStructMemberEnumParserBlock(structMember);
-            }
-        } else if (structMember.getType().getTypeName().equals("ds3_str")) { // special case
-            if (structMember.getName().equals("common_prefixes")) {
-                return generateStructMemberUnwrappedDs3StrArrayBlock(structMember);
-            }
-            if (structMember.getType().isArray()) {
-                return generateStructMemberDs3StrArrayBlock(structMember);
+    public static String generateStructMemberArrayAppend(final StructMember structMember, final String entry, final int depth) {
+        final String entryType = structMember.getType().isPrimitive()
+                ? structMember.getType().getTypeName()
+                : structMember.getType().getTypeName() + "*";
+        return indent(depth) + "response->" + structMember.getName() + " = _ds3_xml_array_grow(parser, response->" + structMember.getName()
+                    + ", response->num_" + structMember.getName() + ", sizeof(" + entryType + "));\n"
+             + indent(depth) + "response->" + structMember.getName() + "[response->num_" + structMember.getName() + "++] = " + entry + ";\n";
+    }
+
+    /**
+     * Populates a new struct, which is an entry of an array StructMember, from the element that is starting
+     */
+    public static String generateStructMemberArrayEntryBlock(final StructMember structMember) {
+        final String entryName = structMember.getName() + "_entry";
+        return indent(2) + structMember.getType().getTypeName() + "* " + entryName + " = _ds3_xml_parser_alloc(parser, sizeof(" + structMember.getType().getTypeName() + "));\n"
+             + generateStructMemberArrayAppend(structMember, entryName, 2)
+             + indent(2) + "_ds3_xml_parser_push_struct(parser, &" + StructHelper.getStructParserName(structMember.getType().getTypeName())
+                    + ", " + entryName + ", num_attributes, attributes);\n";
+    }
+
+    /**
+     * Determine if the entries of an array StructMember are the children of a common element.  CommonPrefixes in
+     * ListBucketResult and ListMultipartUploadsResult each wrap a single Prefix entry.
+     */
+    public static boolean isWrappedArray(final StructMember structMember) {
+        return structMember.getType().isArray()
+                && (structMember.hasWrapper() || structMember.getName().equals("common_prefixes"));
+    }
+
+    /**
+     * Parses the element of a StructMember which is a child node of the struct's element
+     */
+    public static String getParseStructMemberBlock(final StructMember structMember, final int member) {
+        if (isTextMember(structMember)) {
+            if (isWrappedArray(structMember)) {
+                return indent(2) + "_ds3_xml_parser_push_list(parser, " + member + ");\n";
             }
-            return generateStructMemberParserLine(structMember, "xml_get_string(doc, child_node);");
+            return indent(2) + "_ds3_xml_parser_push_text(parser, " + member + ");\n";
         } else if (structMember.getType().isArray()) {
-            if (structMember.hasWrapper()) {
-                return generateStructMemberArrayParserBlock(structMember);
+            if (isWrappedArray(structMember)) {
+                return indent(2) + "_ds3_xml_parser_push_list(parser, " + member + ");\n";
             }
-            return generateUnwrappedStructMemberArrayParserBlock(structMember);
+            return generateStructMemberArrayEntryBlock(structMember);
         }
 
-        return indent(3) + "error = " + StructHelper.getParserFunctionName(structMember.getType().getTypeName()) + "(client, doc, child_node, &response->" + structMember.getName() + ");\n";
-    }
-
-    public static String getParseStructMemberAttributeBlock(final StructMember structMember) throws ParseException {
-        if (structMember.getType().isPrimitive()) {
-            switch (structMember.getType().getTypeName()) {
-                case "uint64_t":
-                case "size_t":
-                case "double":
-                case "float":
-                case "long":
-                    return generateStructMemberParserLine(structMember, "xml_get_uint64_from_attribute(doc, attribute);");
-                case "int":
-                    return generateStructMemberParserLine(structMember, "xml_get_uint16_from_attribute(doc, attribute);");
-                case "ds3_bool":
-                    // TODO c_sdk inconsistent: xml_get_bool is the only func to log a parse error
-                    return generateStructMemberParserLine(structMember, "xml_get_bool_from_attribute(client->log, doc, attribute);");
-                default: // Enum
-                    if (structMember.getType().isArray()) {
-                        throw new IllegalArgumentException("Attribute " + structMember.getType().getTypeName() + " is an array");
-                    }
-                    return generateStructMemberEnumAttributeParserBlock(structMember);
-            }
-        } else if (structMember.getType().getTypeName().equals("ds3_str")) { // special case
-            if (structMember.getType().isArray()) {
-                throw new IllegalArgumentException("Attribute " + structMember.getType().getTypeName() + " is an array");
-            }
-            return generateStructMemberParserLine(structMember, "xml_get_string_from_attribute(doc, attribute);");
-        } else if (structMember.getType().isArray()) {
-            return generateStructMemberArrayParserBlock(structMember);
+        return indent(2) + "response->" + structMember.getName() + " = _ds3_xml_parser_alloc(parser, sizeof(" + structMember.getType().getTypeName() + "));\n"
+             + indent(2) + "_ds3_xml_parser_push_struct(parser, &" + StructHelper.getStructParserName(structMember.getType().getTypeName())
+                    + ", response->" + structMember.getName() + ", num_attributes, attributes);\n";
+    }
+
+    /**
+     * Parses a child of the element of an array StructMember whose entries are wrapped in a common element
+     */
+    public static String getParseStructMemberEntryBlock(final StructMember structMember, final int member) {
+        if (isTextMember(structMember)) {
+            return indent(2) + "_ds3_xml_parser_push_text(parser, " + member + ");\n";
         }
+        return generateStructMemberArrayEntryBlock(structMember);
+    }
 
-        throw new IllegalArgumentException("Attribute " + structMember.getType().getTypeName() + " is a complex (DS3) type");
+    /**
+     * Populates a StructMember, or appends an entry to an array StructMember, from the text of an element
+     */
+    public static String getParseStructMemberTextBlock(final StructMember structMember) {
+        final String value = getParseTextExpression(structMember, "text");
+        if (isEnumMember(structMember)) {
+            final String assignment = structMember.getType().isArray()
+                    ? generateStructMemberArrayAppend(structMember, value, 4)
+                    : indent(4) + "response->" + structMember.getName() + " = " + value + ";\n";
+            return indent(3) + "if (text != NULL) {\n"
+                 + assignment
+                 + indent(3) + "}\n";
+        }
+        if (structMember.getType().isArray()) {
+            return generateStructMemberArrayAppend(structMember, value, 3);
+        }
+        return indent(3) + "response->" + structMember.getName() + " = " + value + ";\n";
+    }
+
+    public static String getParseStructMemberAttributeBlock(final StructMember structMember) {
+        if (structMember.getType().isArray()) {
+            throw new IllegalArgumentException("Attribute " + structMember.getType().getTypeName() + " is an array");
+        }
+        if (!isTextMember(structMember)) {
+            throw new IllegalArgumentException("Attribute " + structMember.getType().getTypeName() + " is a complex (DS3) type");
+        }
+
+        final String value = getParseTextExpression(structMember, "value");
+        if (isEnumMember(structMember)) {
+            return indent(2) + "if (value != NULL) {\n"
+                 + indent(3) + "response->" + structMember.getName() + " = " + value + ";\n"
+                 + indent(2) + "}\n";
+        }
+        return indent(2) + "response->" + structMember.getName() + " = " + value + ";\n";
     }
 
     public static String generateFreeArrayStructMember(final StructMember structMember) {
@@ -0,0 +1,6 @@
+<#-- ************************************ -->
+<#-- Generate "Async Request Prototype"   -->
+<#--   Input: Request object              -->
+<#-- ************************************ -->
+
+LIBRARY_API ${requestHelper.generateAsyncRequestFunctionSignature(requestEntry)};
\ No newline at end of file
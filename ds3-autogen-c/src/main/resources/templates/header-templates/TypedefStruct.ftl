@@ -3,4 +3,5 @@
 <#--   Input: Header object                        -->
 <#-- ********************************************* -->
 typedef struct {
-${structMemberHelper.generateStructMembers(structEntry.getStructMembers())}}${structEntry.getName()};
+${structMemberHelper.generateStructMembers(structEntry.getStructMembers())}<#if structEntry.isTopLevel()>    ds3_arena* arena;
+</#if>}${structEntry.getName()};
@@ -32,6 +32,10 @@ typedef struct _ds3_request ds3_request;
 
 typedef struct _ds3_connection_pool ds3_connection_pool;
 
+typedef struct _ds3_event_loop ds3_event_loop;
+
+typedef struct _ds3_arena ds3_arena;
+
 typedef struct {
     ds3_str*    name;
     ds3_str**   values;
@@ -141,6 +145,7 @@ typedef struct _ds3_client {
                                 size_t (*write_handler_func)(void*, size_t, size_t, void*),
                                 ds3_string_multimap** return_headers);
     ds3_connection_pool* connection_pool;
+    ds3_bool      response_arena;
 }ds3_client;
 
 <#-- ********************************************* -->
@@ -182,6 +187,32 @@ LIBRARY_API void        ds3_client_register_net(ds3_client* client, ds3_error* (
                                                                                                 size_t (*write_handler_func)(void*, size_t, size_t, void*),
                                                                                                 ds3_string_multimap** return_headers));
 LIBRARY_API void ds3_client_proxy(ds3_client* client, const char *const proxy);
+/*
+ * When enabled, each top level response is allocated together with all of its members from a single arena,
+ * which the response's free function releases in one call.  The members of such a response must not be freed
+ * individually.  Disabled by default.
+ */
+LIBRARY_API void ds3_client_use_response_arena(ds3_client* client, ds3_bool use_response_arena);
+
+/*
+ * An event loop sends the requests submitted with the ds3_*_async functions concurrently on the calling thread.
+ * Each request must not be freed until its on_complete callback has been called, which happens from within
+ * ds3_event_loop_run, ds3_event_loop_run_once, or ds3_event_loop_free.  The callback takes ownership of the
+ * error and the response.  Asynchronous requests are always sent with libcurl, ignoring ds3_client_register_net.
+ */
+LIBRARY_API ds3_event_loop* ds3_event_loop_init(void);
+/*
+ * Runs until every submitted request has completed
+ */
+LIBRARY_API void ds3_event_loop_run(ds3_event_loop* loop);
+/*
+ * Waits up to timeout_ms for progress on the submitted requests and returns the number still in flight
+ */
+LIBRARY_API int  ds3_event_loop_run_once(ds3_event_loop* loop, int timeout_ms);
+/*
+ * Completes the requests still in flight with an error, then frees the event loop
+ */
+LIBRARY_API void ds3_event_loop_free(ds3_event_loop* loop);
 
 // Set optional request query parameters
 LIBRARY_API void ds3_request_set_byte_range(ds3_request* _request, int64_t rangeStart, int64_t rangeEnd);
@@ -213,13 +244,16 @@ LIBRARY_API ds3_error* ds3_get_object_with_metadata(const ds3_client* client,
     <#if requestEntry.getName() == "ds3_head_bucket_request">
 LIBRARY_API ds3_request* ds3_init_head_bucket_request(const char *const bucket_name);
 LIBRARY_API ds3_error* ds3_head_bucket_request(const ds3_client* client, const ds3_request* request);
+LIBRARY_API ds3_error* ds3_head_bucket_request_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void (*on_complete)(ds3_error* error, void* on_complete_data), void* on_complete_data);
     <#elseif requestEntry.getName() == "ds3_head_object_request">
 LIBRARY_API ds3_request* ds3_init_head_object_request(const char* bucket_name, const char *const object_name);
 LIBRARY_API ds3_error* ds3_head_object_request(const ds3_client* client, const ds3_request* request, ds3_head_object_response** response);
+LIBRARY_API ds3_error* ds3_head_object_request_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void (*on_complete)(ds3_error* error, ds3_head_object_response* response, void* on_complete_data), void* on_complete_data);
     <#else>
         <#include "RequestCommentDocumentation.ftl">
         <#include "InitRequestPrototype.ftl">
         <#include "RequestPrototype.ftl">
+        <#include "AsyncRequestPrototype.ftl">
     </#if>
 </#list>
 <#-- **************************************** -->
@@ -0,0 +1,158 @@
+<#include "../CopyrightHeader.ftl"/>
+
+// The declarations that the generated ds3_requests*.c sources share.  These are internal to the SDK.
+
+#ifndef __DS3_REQUESTS_INTERNAL_H__
+#define __DS3_REQUESTS_INTERNAL_H__
+
+#include <glib.h>
+#include <stdlib.h>
+#include <stddef.h>
+#include <string.h>
+#include <stdbool.h>
+#include <libxml/parser.h>
+
+#include "ds3.h"
+#include "ds3_net.h"
+#include "ds3_request.h"
+#include "ds3_response_header_utils.h"
+#include "ds3_string_multimap_impl.h"
+#include "ds3_uint64_string_map.h"
+#include "ds3_utils.h"
+#include "ds3_marshaling.h"
+
+#ifdef _WIN32
+  #include <io.h>
+  #ifndef PRIu64
+    #define PRIu64 "I64u"
+  #endif
+#else
+  #include <inttypes.h>
+#endif
+
+#ifdef __cplusplus
+extern "C" {
+#endif
+
+//The max size of an uint32_t is 10 characters + NULL
+//The max size of an uint64_t is 20 characters + NULL
+#define STRING_BUFFER_SIZE 32
+
+<#include "../source-templates/xml_helpers.ftl"/>
+
+// Response payloads are parsed with a libxml2 push parser that is fed each chunk of the body as curl
+// receives it, so that the response structs are populated without buffering the body or building a DOM.
+typedef struct _ds3_xml_parser ds3_xml_parser;
+
+// Populates one type of response struct from the events of the elements that represent it
+typedef struct {
+    const char* element_name; // expected root element when the struct is a top level response
+    size_t size;
+    size_t arena_offset;      // offset of the arena member when the struct is a top level response
+    void (*parse_attribute)(ds3_xml_parser* parser, void* response, const xmlChar* attribute, const xmlChar* value);
+    void (*parse_element)(ds3_xml_parser* parser, void* response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes);
+    void (*parse_text)(ds3_xml_parser* parser, void* response, int member, const xmlChar* text);
+    GDestroyNotify free;
+} ds3_xml_struct_parser;
+
+typedef struct {
+    const ds3_xml_struct_parser* struct_parser; // NULL when the element and its children are skipped
+    void* response;    // the struct that the element populates
+    int member;        // the struct member that the element populates, or -1 for the element of the struct itself
+    bool collect_text; // whether the text of the element is the value of the member
+} ds3_xml_parser_frame;
+
+struct _ds3_xml_parser {
+    const ds3_client* client;
+    const ds3_xml_struct_parser* root_parser;
+    void* root;
+    ds3_arena* arena; // NULL unless the client uses response arenas, in which case the root owns it once allocated
+    xmlParserCtxtPtr context;
+    GArray* frames; // ds3_xml_parser_frame of each open element
+    GString* text;
+    ds3_error* error;
+};
+
+void* _ds3_xml_parser_alloc(ds3_xml_parser* parser, size_t size);
+ds3_str* _ds3_xml_parser_get_string(ds3_xml_parser* parser, const xmlChar* text);
+void* _ds3_xml_array_grow(ds3_xml_parser* parser, void* entries, size_t num_entries, size_t entry_size);
+void _ds3_xml_parser_push_text(ds3_xml_parser* parser, int member);
+void _ds3_xml_parser_push_list(ds3_xml_parser* parser, int member);
+void _ds3_xml_parser_push_struct(ds3_xml_parser* parser, const ds3_xml_struct_parser* struct_parser, void* response, int num_attributes, const xmlChar** attributes);
+void _ds3_xml_parser_skip(ds3_xml_parser* parser);
+ds3_xml_parser* _ds3_xml_parser_init(const ds3_client* client, const ds3_xml_struct_parser* root_parser);
+size_t _ds3_xml_parser_load(void* buffer, size_t size, size_t nmemb, void* user_data);
+void _ds3_xml_parser_free(ds3_xml_parser* parser);
+ds3_error* _ds3_xml_parser_finish(ds3_xml_parser* parser, ds3_error* error, void** _response);
+
+ds3_metadata* _init_metadata(ds3_string_multimap* response_headers);
+ds3_paging* _parse_paging_headers(ds3_arena* arena, ds3_string_multimap* response_headers);
+
+ds3_error* _internal_request_dispatcher(
+        const ds3_client* client,
+        const ds3_request* request,
+        void* read_user_struct,
+        size_t (*read_handler_func)(void*, size_t, size_t, void*),
+        void* write_user_struct,
+        size_t (*write_handler_func)(void*, size_t, size_t, void*),
+        ds3_string_multimap** return_headers);
+int num_chars_in_ds3_str(const ds3_str *const str, char ch);
+size_t _ds3_send_xml_buff(void* buffer, size_t size, size_t nmemb, void* user_data);
+ds3_error* _init_request_payload(const ds3_request* _request,
+                                 ds3_xml_send_buff* send_buff,
+                                 const object_list_type operation_type);
+
+// How the response of an asynchronous request is built once its transfer completes
+typedef enum {
+    ASYNC_RESPONSE_NONE,
+    ASYNC_RESPONSE_PARSED,
+    ASYNC_RESPONSE_STRING,
+    ASYNC_RESPONSE_HEAD_OBJECT
+} ds3_async_response_type;
+
+// The state of an asynchronous request which must outlive the call that sent it
+typedef struct {
+    const ds3_client* client;
+    ds3_async_response_type response_type;
+    ds3_xml_parser* parser;     // ASYNC_RESPONSE_PARSED
+    GByteArray* xml_blob;       // ASYNC_RESPONSE_STRING
+    ds3_xml_send_buff send_buff;
+    ds3_bool has_send_buff;
+    ds3_bool has_paging;
+    size_t paging_offset;       // offset of the ds3_paging* member of the parsed response
+    void (* on_complete)(ds3_error* error, void* response, void* on_complete_data);
+    void (* on_complete_without_response)(ds3_error* error, void* on_complete_data);
+    void* on_complete_data;
+} ds3_async_request;
+
+ds3_async_request* _ds3_async_request_init(const ds3_client* client, ds3_async_response_type response_type);
+void _ds3_async_request_free(ds3_async_request* async_request);
+ds3_error* _internal_async_request_dispatcher(
+        ds3_event_loop* loop,
+        const ds3_client* client,
+        const ds3_request* request,
+        ds3_async_request* async_request,
+        void* read_user_struct,
+        size_t (*read_handler_func)(void*, size_t, size_t, void*),
+        void* write_user_struct,
+        size_t (*write_handler_func)(void*, size_t, size_t, void*));
+
+//************ ENUM MATCHERS **************
+<#list getEnums() as enumEntry>
+    <#if enumEntry.requiresMatcher()>
+${enumEntry.getName()} _match_${enumEntry.getName()}(const ds3_log* log, const xmlChar* text);
+    </#if>
+</#list>
+
+//************ STRUCT PARSERS **************
+<#list getStructs() as structEntry>
+    <#if structHelper.requiresParser(structEntry)>
+extern const ds3_xml_struct_parser _${structEntry.getName()}_parser;
+    </#if>
+</#list>
+
+#ifdef __cplusplus
+}
+#endif
+
+#endif
@@ -4,10 +4,15 @@
 #include <curl/curl.h>
 #include <glib.h>
 #include <inttypes.h>
+#include <string.h>
 #include "ds3_connection.h"
 
-//-- Opaque struct
-struct _ds3_connection_pool{
+// Threads blocked on their home shard look for an idle connection in the other shards this often
+#define SHARD_STEAL_INTERVAL_US 10000
+
+// A shard has its own lock and its own share of the pool's connections, so that threads acquiring from
+// different shards do not contend.  The shard of a connection is stored as its CURLOPT_PRIVATE.
+typedef struct {
     ds3_connection** connections;
     uint16_t         num_connections; // the number of connections created
     ds3_connection** connection_queue;
@@ -16,29 +21,83 @@ struct _ds3_connection_pool{
     int              queue_tail;
     ds3_mutex        mutex;
     ds3_condition    available_connection_notifier;
+    uint64_t         num_waits;
+    uint64_t         num_reuses;
+} ds3_connection_shard;
+
+//-- Opaque struct
+struct _ds3_connection_pool{
+    ds3_connection_shard* shards;
+    uint16_t         num_shards;
+    CURLSH*          share;
+    ds3_mutex        share_locks[CURL_LOCK_DATA_LAST];
+    ds3_mutex        mutex;
     uint16_t         ref_count;
 };
 
+static void _share_lock(CURL* handle, curl_lock_data data, curl_lock_access access, void* user_data) {
+    ds3_connection_pool* pool = (ds3_connection_pool*) user_data;
+    g_mutex_lock(&pool->share_locks[data]);
+}
+
+static void _share_unlock(CURL* handle, curl_lock_data data, void* user_data) {
+    ds3_connection_pool* pool = (ds3_connection_pool*) user_data;
+    g_mutex_unlock(&pool->share_locks[data]);
+}
+
 ds3_connection_pool* ds3_connection_pool_init(void) {
     return ds3_connection_pool_init_with_size(DEFAULT_CONNECTION_POOL_SIZE);
 }
 
 ds3_connection_pool* ds3_connection_pool_init_with_size(uint16_t pool_size) {
+    return ds3_connection_pool_init_with_shards(pool_size, 1);
+}
+
+ds3_connection_pool* ds3_connection_pool_init_with_shards(uint16_t pool_size, uint16_t num_shards) {
     ds3_connection_pool* pool = g_new0(ds3_connection_pool, 1);
+    int index;
+
+    if (num_shards > pool_size) {
+        num_shards = pool_size;
+    }
+    if (num_shards < 1) {
+        num_shards = 1;
+    }
+
+    pool->shards = g_new0(ds3_connection_shard, num_shards);
+    pool->num_shards = num_shards;
+    for (index = 0; index < num_shards; index++) {
+        ds3_connection_shard* shard = &pool->shards[index];
 
-    pool->connections = g_new0(ds3_connection*, pool_size);
-    pool->connection_queue = g_new0(ds3_connection*, pool_size);
+        shard->max_connections = pool_size / num_shards + (index < pool_size % num_shards ? 1 : 0);
+        shard->connections = g_new0(ds3_connection*, shard->max_connections);
+        shard->connection_queue = g_new0(ds3_connection*, shard->max_connections);
+
+        g_mutex_init(&shard->mutex);
+        g_cond_init(&shard->available_connection_notifier);
+    }
 
-    pool->max_connections = pool_size;
+    // Connections resolve hosts and resume TLS sessions using the results of every other connection in the
+    // pool.  The connection cache itself is not shared, since libcurl does not support sharing connections
+    // between concurrent threads, but each connection keeps its own cache across requests.
+    for (index = 0; index < CURL_LOCK_DATA_LAST; index++) {
+        g_mutex_init(&pool->share_locks[index]);
+    }
+    pool->share = curl_share_init();
+    curl_share_setopt(pool->share, CURLSHOPT_LOCKFUNC, _share_lock);
+    curl_share_setopt(pool->share, CURLSHOPT_UNLOCKFUNC, _share_unlock);
+    curl_share_setopt(pool->share, CURLSHOPT_USERDATA, pool);
+    curl_share_setopt(pool->share, CURLSHOPT_SHARE, CURL_LOCK_DATA_DNS);
+    curl_share_setopt(pool->share, CURLSHOPT_SHARE, CURL_LOCK_DATA_SSL_SESSION);
 
     g_mutex_init(&pool->mutex);
-    g_cond_init(&pool->available_connection_notifier);
     pool->ref_count = 1;
     return pool;
 }
 
 void ds3_connection_pool_clear(ds3_connection_pool* pool, ds3_bool already_locked) {
     int index;
+    int shard_index;
 
     if (pool == NULL) {
         return;
@@ -48,63 +107,165 @@ void ds3_connection_pool_clear(ds3_connection_pool* pool, ds3_bool already_locke
         g_mutex_lock(&pool->mutex);
     }
 
-    for (index = 0; index < pool->num_connections; index++) {
-        if (pool->connections[index] != NULL) {
-            curl_easy_cleanup(pool->connections[index]);
+    for (shard_index = 0; shard_index < pool->num_shards; shard_index++) {
+        ds3_connection_shard* shard = &pool->shards[shard_index];
+
+        for (index = 0; index < shard->num_connections; index++) {
+            if (shard->connections[index] != NULL) {
+                curl_easy_cleanup(shard->connections[index]);
+            }
         }
+
+        g_free(shard->connections);
+        g_free(shard->connection_queue);
+        g_mutex_clear(&shard->mutex);
+        g_cond_clear(&shard->available_connection_notifier);
+    }
+    g_free(pool->shards);
+
+    // The share can only be cleaned up once no connection uses it
+    curl_share_cleanup(pool->share);
+    for (index = 0; index < CURL_LOCK_DATA_LAST; index++) {
+        g_mutex_clear(&pool->share_locks[index]);
     }
 
-    g_free(pool->connections);
-    g_free(pool->connection_queue);
     g_mutex_unlock(&pool->mutex);
     g_mutex_clear(&pool->mutex); // an attempt to clear a locked mutex is undefined
-    g_cond_clear(&pool->available_connection_notifier);
 }
 
 static int _queue_inc(int index, uint16_t size) {
     return (index+1) % size;
 }
 
-static int _queue_is_empty(ds3_connection_pool* pool) {
-    int queue_head = pool->queue_head;
-    return pool->queue_tail == queue_head && pool->connection_queue[queue_head] == NULL;
+static int _queue_is_empty(ds3_connection_shard* shard) {
+    int queue_head = shard->queue_head;
+    return shard->queue_tail == queue_head && shard->connection_queue[queue_head] == NULL;
 }
 
-ds3_connection* ds3_connection_acquire(ds3_connection_pool* pool) {
-    ds3_connection* connection = NULL;
+// Each thread acquires from the same home shard, which threads are assigned to in turn
+static uint16_t _home_shard_index(ds3_connection_pool* pool) {
+    static GPrivate home_shard = G_PRIVATE_INIT(NULL);
+    static gint next_home_shard = 0;
+    gpointer index = g_private_get(&home_shard);
 
-    g_mutex_lock(&pool->mutex);
-    while (_queue_is_empty(pool) && pool->num_connections >= pool->max_connections) {
-        g_cond_wait(&pool->available_connection_notifier, &pool->mutex);
+    if (index == NULL) {
+        index = GINT_TO_POINTER(g_atomic_int_add(&next_home_shard, 1) + 1);
+        g_private_set(&home_shard, index);
     }
+    return (uint16_t) ((GPOINTER_TO_INT(index) - 1) % pool->num_shards);
+}
+
+static void _connection_setup(ds3_connection_pool* pool, ds3_connection_shard* shard, ds3_connection* connection) {
+    curl_easy_setopt(connection, CURLOPT_SHARE, pool->share);
+    curl_easy_setopt(connection, CURLOPT_PRIVATE, shard);
+}
+
+// Takes an idle connection from the shard, or creates one if the shard is not at its limit.  The shard must be locked.
+static ds3_connection* _shard_take(ds3_connection_pool* pool, ds3_connection_shard* shard) {
+    ds3_connection* connection;
 
-    if (_queue_is_empty(pool)) {
+    if (_queue_is_empty(shard)) {
+        if (shard->num_connections >= shard->max_connections) {
+            return NULL;
+        }
         connection = curl_easy_init();
+        _connection_setup(pool, shard, connection);
 
-        pool->connections[pool->num_connections] = connection;
-        pool->num_connections++;
+        shard->connections[shard->num_connections] = connection;
+        shard->num_connections++;
     } else {
-        connection = pool->connection_queue[pool->queue_tail];
-        pool->connection_queue[pool->queue_tail] = NULL;
-        pool->queue_tail = _queue_inc(pool->queue_tail, pool->max_connections);
+        connection = shard->connection_queue[shard->queue_tail];
+        shard->connection_queue[shard->queue_tail] = NULL;
+        shard->queue_tail = _queue_inc(shard->queue_tail, shard->max_connections);
+        shard->num_reuses++;
     }
 
-    g_mutex_unlock(&pool->mutex);
+    return connection;
+}
+
+// Takes a connection from any shard other than the home shard, without waiting on the lock of a busy shard
+static ds3_connection* _steal(ds3_connection_pool* pool, uint16_t home_index) {
+    ds3_connection* connection = NULL;
+    uint16_t offset;
+
+    for (offset = 1; connection == NULL && offset < pool->num_shards; offset++) {
+        ds3_connection_shard* shard = &pool->shards[(home_index + offset) % pool->num_shards];
+        if (g_mutex_trylock(&shard->mutex)) {
+            connection = _shard_take(pool, shard);
+            g_mutex_unlock(&shard->mutex);
+        }
+    }
+
+    return connection;
+}
+
+ds3_connection* ds3_connection_acquire(ds3_connection_pool* pool) {
+    uint16_t home_index = _home_shard_index(pool);
+    ds3_connection_shard* home = &pool->shards[home_index];
+    ds3_connection* connection = NULL;
+    ds3_bool waited = False;
+
+    g_mutex_lock(&home->mutex);
+    connection = _shard_take(pool, home);
+    while (connection == NULL) {
+        if (pool->num_shards > 1) {
+            g_mutex_unlock(&home->mutex);
+            connection = _steal(pool, home_index);
+            g_mutex_lock(&home->mutex);
+            if (connection != NULL) {
+                break;
+            }
+        }
+
+        if (waited == False) {
+            home->num_waits++;
+            waited = True;
+        }
+        if (pool->num_shards > 1) {
+            g_cond_wait_until(&home->available_connection_notifier, &home->mutex, g_get_monotonic_time() + SHARD_STEAL_INTERVAL_US);
+        } else {
+            g_cond_wait(&home->available_connection_notifier, &home->mutex);
+        }
+        connection = _shard_take(pool, home);
+    }
+    g_mutex_unlock(&home->mutex);
 
     return connection;
 }
 
 void ds3_connection_release(ds3_connection_pool* pool, ds3_connection* connection) {
-    g_mutex_lock(&pool->mutex);
+    char* shard_ptr;
+    ds3_connection_shard* shard;
+
+    curl_easy_getinfo(connection, CURLINFO_PRIVATE, &shard_ptr);
+    shard = (ds3_connection_shard*) shard_ptr;
 
     curl_easy_reset(connection);
+    _connection_setup(pool, shard, connection);
 
-    pool->connection_queue[pool->queue_head] = connection;
+    g_mutex_lock(&shard->mutex);
 
-    pool->queue_head = _queue_inc(pool->queue_head, pool->max_connections);
+    shard->connection_queue[shard->queue_head] = connection;
 
-    g_cond_signal(&pool->available_connection_notifier);
-    g_mutex_unlock(&pool->mutex);
+    shard->queue_head = _queue_inc(shard->queue_head, shard->max_connections);
+
+    g_cond_signal(&shard->available_connection_notifier);
+    g_mutex_unlock(&shard->mutex);
+}
+
+void ds3_connection_pool_get_stats(ds3_connection_pool* pool, ds3_connection_pool_stats* stats) {
+    int index;
+
+    memset(stats, 0, sizeof(ds3_connection_pool_stats));
+    for (index = 0; index < pool->num_shards; index++) {
+        ds3_connection_shard* shard = &pool->shards[index];
+
+        g_mutex_lock(&shard->mutex);
+        stats->handles_created += shard->num_connections;
+        stats->reuses += shard->num_reuses;
+        stats->waits += shard->num_waits;
+        g_mutex_unlock(&shard->mutex);
+    }
 }
 
 void ds3_connection_pool_inc_ref(ds3_connection_pool* pool) {
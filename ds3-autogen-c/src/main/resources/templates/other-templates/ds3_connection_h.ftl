@@ -21,13 +21,24 @@ typedef CURL ds3_connection;
 
 typedef struct _ds3_connection_pool ds3_connection_pool;
 
+// Counters accumulated over the lifetime of a connection pool, to help choose its size
+typedef struct {
+    uint64_t handles_created; // acquires that created a new connection
+    uint64_t reuses;          // acquires that reused an idle connection
+    uint64_t waits;           // acquires that had to wait for a connection to be released
+} ds3_connection_pool_stats;
+
 ds3_connection_pool* ds3_connection_pool_init(void);
 ds3_connection_pool* ds3_connection_pool_init_with_size(uint16_t pool_size);
+// Splits the pool into shards which are each locked separately, for clients used by many threads at once
+ds3_connection_pool* ds3_connection_pool_init_with_shards(uint16_t pool_size, uint16_t num_shards);
 void ds3_connection_pool_clear(ds3_connection_pool* pool, ds3_bool already_locked);
 
 ds3_connection* ds3_connection_acquire(ds3_connection_pool* pool);
 void ds3_connection_release(ds3_connection_pool* pool, ds3_connection* handle);
 
+void ds3_connection_pool_get_stats(ds3_connection_pool* pool, ds3_connection_pool_stats* stats);
+
 void ds3_connection_pool_inc_ref(ds3_connection_pool* pool);
 void ds3_connection_pool_dec_ref(ds3_connection_pool* pool);
 
@@ -0,0 +1,12 @@
+# The sources and headers of the SDK which are generated from the API contract.  The number of sources depends on
+# the size of the contract, so Makefile.am includes this list rather than naming the generated files itself.
+
+ds3_generated_sources = \
+<#list sources as fileName>
+	${fileName}<#sep> \</#sep>
+</#list>
+
+ds3_generated_headers = \
+<#list headers as fileName>
+	${fileName}<#sep> \</#sep>
+</#list>
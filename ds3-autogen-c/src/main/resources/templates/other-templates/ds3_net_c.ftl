@@ -393,23 +393,9 @@ static size_t _process_response_body(void* buffer, size_t size, size_t nmemb, vo
     }
 }
 
-ds3_error* net_process_request(const ds3_client* client,
-                               const ds3_request* _request,
-                               void* read_user_struct,
-                               size_t (*read_handler_func)(void*, size_t, size_t, void*),
-                               void* write_user_struct,
-                               size_t (*write_handler_func)(void*, size_t, size_t, void*),
-                               ds3_string_multimap** return_headers) {
-    struct _ds3_request* request = (struct _ds3_request*) _request;
-    CURL* handle;
-    CURLcode res;
+static char* _net_build_url(const ds3_client* client, const struct _ds3_request* request) {
     char* url;
-    int retry_count = 0;
-    char* query_params;
-
-    _init_curl();
-
-    query_params = _net_gen_query_params(request->query_params);
+    char* query_params = _net_gen_query_params(request->query_params);
 
     if (query_params == NULL) {
         url = g_strconcat(client->endpoint->value, request->path->value, NULL);
@@ -419,192 +405,255 @@ ds3_error* net_process_request(const ds3_client* client,
     }
     ds3_log_message(client->log, DS3_DEBUG, "URL[%s]", url);
 
-    while (retry_count < client->num_redirects) {
-        ds3_log_message(client->log, DS3_DEBUG, "Acquiring connection...");
-        handle = ds3_connection_acquire(client->connection_pool);
-        ds3_log_message(client->log, DS3_DEBUG, "Connection acquired.");
+    return url;
+}
 
-        if (handle) {
-            char* amz_headers;
-            char* canonicalized_resource;
-            char* date;
-            char* date_header;
-            char* signature;
-            struct curl_slist* headers;
-            char* auth_header;
-            char* checksum_value;
-            ds3_response_data response_data;
-            ds3_string_multimap* response_headers = ds3_string_multimap_init();
+// Configures the handle to send the signed request, collecting the response into response_data.  Returns the
+// request headers, which must be freed with curl_slist_free_all once the transfer completes.
+static struct curl_slist* _net_setup_handle(const ds3_client* client,
+                                            const struct _ds3_request* request,
+                                            CURL* handle,
+                                            const char* url,
+                                            ds3_response_data* response_data,
+                                            void* read_user_struct,
+                                            size_t (*read_handler_func)(void*, size_t, size_t, void*),
+                                            void* write_user_struct,
+                                            size_t (*write_handler_func)(void*, size_t, size_t, void*)) {
+    char* amz_headers;
+    char* canonicalized_resource;
+    char* date;
+    char* date_header;
+    char* signature;
+    struct curl_slist* headers;
+    char* auth_header;
+    char* checksum_value;
+
+    ds3_log_message(client->log, DS3_DEBUG, "Preparing to send request");
+
+    memset(response_data, 0, sizeof(ds3_response_data));
+    response_data->headers = ds3_string_multimap_init();
+    response_data->body = g_byte_array_new();
+
+    if (client->log != NULL) {
+        curl_easy_setopt(handle, CURLOPT_DEBUGFUNCTION, ds3_curl_logger);
+        curl_easy_setopt(handle, CURLOPT_DEBUGDATA, client->log);
+        curl_easy_setopt(handle, CURLOPT_VERBOSE, 1L); // turn on verbose logging
+    }
 
-            ds3_log_message(client->log, DS3_DEBUG, "Preparing to send request");
+    curl_easy_setopt(handle, CURLOPT_URL, url);
 
-            memset(&response_data, 0, sizeof(ds3_response_data));
-            response_data.headers = response_headers;
-            response_data.body = g_byte_array_new();
+    // Pin HTTP/1.1: libcurl >= 7.62.0 defaults HTTPS to h2-via-ALPN, which trips Tomcat's 64 KB stream window on streaming PUTs (RMS-10959).
+    curl_easy_setopt(handle, CURLOPT_HTTP_VERSION, CURL_HTTP_VERSION_1_1);
 
-            if (client->log != NULL) {
-                curl_easy_setopt(handle, CURLOPT_DEBUGFUNCTION, ds3_curl_logger);
-                curl_easy_setopt(handle, CURLOPT_DEBUGDATA, client->log);
-                curl_easy_setopt(handle, CURLOPT_VERBOSE, 1L); // turn on verbose logging
-            }
+    curl_easy_setopt(handle, CURLOPT_FOLLOWLOCATION, 0); // explicitly disable
 
-            curl_easy_setopt(handle, CURLOPT_URL, url);
+    // Setup header collection
+    curl_easy_setopt(handle, CURLOPT_HEADERFUNCTION, _process_header_line);
+    curl_easy_setopt(handle, CURLOPT_HEADERDATA, response_data);
 
-            // Pin HTTP/1.1: libcurl >= 7.62.0 defaults HTTPS to h2-via-ALPN, which trips Tomcat's 64 KB stream window on streaming PUTs (RMS-10959).
-            curl_easy_setopt(handle, CURLOPT_HTTP_VERSION, CURL_HTTP_VERSION_1_1);
+    if (client->proxy != NULL) {
+      curl_easy_setopt(handle, CURLOPT_PROXY, client->proxy->value);
+    }
 
-            curl_easy_setopt(handle, CURLOPT_FOLLOWLOCATION, 0); // explicitly disable
+    // Register the read and write handlers if they are set
+    if (read_user_struct != NULL && read_handler_func != NULL) {
+        response_data->user_data = read_user_struct;
+        response_data->user_func = read_handler_func;
+    }
 
-            // Setup header collection
-            curl_easy_setopt(handle, CURLOPT_HEADERFUNCTION, _process_header_line);
-            curl_easy_setopt(handle, CURLOPT_HEADERDATA, &response_data);
+    // We must always set this so we can collect the error message body
+    curl_easy_setopt(handle, CURLOPT_WRITEFUNCTION, _process_response_body);
+    curl_easy_setopt(handle, CURLOPT_WRITEDATA, response_data);
 
-            if (client->proxy != NULL) {
-              curl_easy_setopt(handle, CURLOPT_PROXY, client->proxy->value);
-            }
+    if (write_user_struct != NULL && write_handler_func != NULL) {
+        curl_easy_setopt(handle, CURLOPT_READFUNCTION, write_handler_func);
+        curl_easy_setopt(handle, CURLOPT_READDATA, write_user_struct);
+    }
 
-            // Register the read and write handlers if they are set
-            if (read_user_struct != NULL && read_handler_func != NULL) {
-                response_data.user_data = read_user_struct;
-                response_data.user_func = read_handler_func;
-            }
+    switch(request->verb) {
+        case HTTP_POST: {
+            curl_easy_setopt(handle, CURLOPT_CUSTOMREQUEST, "POST");
+            curl_easy_setopt(handle, CURLOPT_UPLOAD, 1L);
+            curl_easy_setopt(handle, CURLOPT_INFILESIZE_LARGE, request->length);
+            break;
+        }
+        case HTTP_PUT: {
+            curl_easy_setopt(handle, CURLOPT_PUT, 1L);
+            curl_easy_setopt(handle, CURLOPT_UPLOAD, 1L);
+            curl_easy_setopt(handle, CURLOPT_INFILESIZE_LARGE, request->length);
+            break;
+        }
+        case HTTP_DELETE: {
+            curl_easy_setopt(handle, CURLOPT_CUSTOMREQUEST, "DELETE");
+            break;
+        }
+        case HTTP_HEAD: {
+            curl_easy_setopt(handle, CURLOPT_CUSTOMREQUEST, "HEAD");
+            curl_easy_setopt(handle, CURLOPT_NOBODY, 1L);
+            break;
+        }
+        case HTTP_GET: {
+            //Placeholder if we need to put anything here.
+            break;
+        }
+    }
 
-            // We must always set this so we can collect the error message body
-            curl_easy_setopt(handle, CURLOPT_WRITEFUNCTION, _process_response_body);
-            curl_easy_setopt(handle, CURLOPT_WRITEDATA, &response_data);
+    date = _generate_date_string();
+    date_header = g_strconcat("Date: ", date, NULL);
+    headers = NULL;
 
-            if (write_user_struct != NULL && write_handler_func != NULL) {
-                curl_easy_setopt(handle, CURLOPT_READFUNCTION, write_handler_func);
-                curl_easy_setopt(handle, CURLOPT_READDATA, write_user_struct);
-            }
+    if (request->checksum == NULL) {
+        checksum_value = "";
+    } else {
+        char* checksum_header;
+        checksum_value = request->checksum->value;
+        checksum_header = g_strconcat(_get_checksum_type_header(request->checksum_type), checksum_value, NULL);
+        headers = curl_slist_append(headers, checksum_header);
+        g_free(checksum_header);
+    }
+    amz_headers = _canonicalize_amz_headers(request->headers);
+    canonicalized_resource = _canonicalized_resource(request->path, request->query_params);
+    signature = _net_compute_signature(client->log, client->creds, request->verb, canonicalized_resource, date, "", checksum_value, amz_headers);
 
-            switch(request->verb) {
-                case HTTP_POST: {
-                    curl_easy_setopt(handle, CURLOPT_CUSTOMREQUEST, "POST");
-                    curl_easy_setopt(handle, CURLOPT_UPLOAD, 1L);
-                    curl_easy_setopt(handle, CURLOPT_INFILESIZE_LARGE, request->length);
-                    break;
-                }
-                case HTTP_PUT: {
-                    curl_easy_setopt(handle, CURLOPT_PUT, 1L);
-                    curl_easy_setopt(handle, CURLOPT_UPLOAD, 1L);
-                    curl_easy_setopt(handle, CURLOPT_INFILESIZE_LARGE, request->length);
-                    break;
-                }
-                case HTTP_DELETE: {
-                    curl_easy_setopt(handle, CURLOPT_CUSTOMREQUEST, "DELETE");
-                    break;
-                }
-                case HTTP_HEAD: {
-                    curl_easy_setopt(handle, CURLOPT_CUSTOMREQUEST, "HEAD");
-                    curl_easy_setopt(handle, CURLOPT_NOBODY, 1L);
-                    break;
-                }
-                case HTTP_GET: {
-                    //Placeholder if we need to put anything here.
-                    break;
-                }
-            }
+    g_free(amz_headers);
+    g_free(canonicalized_resource);
+
+    auth_header = g_strconcat("Authorization: AWS ", client->creds->access_id->value, ":", signature, NULL);
+
+    headers = curl_slist_append(headers, auth_header);
+    headers = curl_slist_append(headers, date_header);
+    headers = _append_headers(headers, request->headers);
+
+    curl_easy_setopt(handle, CURLOPT_HTTPHEADER, headers);
+
+    g_free(date);
+    g_free(date_header);
+    g_free(signature);
+    g_free(auth_header);
+
+    return headers;
+}
+
+// Processes the result of a completed transfer.  On success NULL is returned and response_data->headers holds the
+// response headers.  A 307 redirect which has not exhausted the client's redirects sets retry instead of returning
+// an error, so that the request is sent again.
+static ds3_error* _net_process_response(const ds3_client* client,
+                                        CURLcode res,
+                                        ds3_response_data* response_data,
+                                        int* retry_count,
+                                        ds3_bool* retry) {
+    *retry = False;
+
+    if (res != CURLE_OK) {
+        char * message = g_strconcat("Request failed: ", curl_easy_strerror(res), NULL);
+        ds3_error* error = ds3_create_error(DS3_ERROR_REQUEST_FAILED, message);
+        g_byte_array_free(response_data->body, TRUE);
+        ds3_str_free(response_data->status_message);
+        ds3_string_multimap_free(response_data->headers);
+        g_free(message);
+        return error;
+    }
+
+    ds3_log_message(client->log, DS3_DEBUG, "Request completed with status code of: %d", response_data->status_code);
+
+    if (response_data->status_code < 200 || response_data->status_code >= 300) {
+        ds3_error* error = ds3_create_error(DS3_ERROR_BAD_STATUS_CODE, "Got an unexpected status code.");
+        error->error = g_new0(ds3_error_response, 1);
+        error->error->http_error_code = response_data->status_code;
+        error->error->code = ds3_str_init(response_data->status_message->value);
+        if (response_data->body != NULL) {
+            error->error->message = ds3_str_init_with_size((char*)response_data->body->data, response_data->body->len);
+            g_byte_array_free(response_data->body, TRUE);
+        } else {
+            ds3_log_message(client->log, DS3_ERROR, "The response body for the error is empty");
+            error->error->message = NULL;
+        }
+        ds3_string_multimap_free(response_data->headers);
+        ds3_str_free(response_data->status_message);
 
-            date = _generate_date_string();
-            date_header = g_strconcat("Date: ", date, NULL);
-            headers = NULL;
+        if (response_data->status_code == 307) {
+            ds3_log_message(client->log, DS3_INFO, "Request encountered a 307 redirect");
 
-            if (request->checksum == NULL) {
-                checksum_value = "";
+            (*retry_count)++;
+            ds3_log_message(client->log, DS3_DEBUG, "Retry Attempt: %d | Max Retries: %d", *retry_count, client->num_redirects);
+
+            if (*retry_count == client->num_redirects) {
+                ds3_str_free(error->message);
+                error->message = ds3_str_init("Encountered too many redirects while attempting to fulfill the request");
+                error->code = DS3_ERROR_TOO_MANY_REDIRECTS;
             } else {
-                char* checksum_header;
-                checksum_value = request->checksum->value;
-                checksum_header = g_strconcat(_get_checksum_type_header(request->checksum_type), checksum_value, NULL);
-                headers = curl_slist_append(headers, checksum_header);
-                g_free(checksum_header);
+                ds3_error_free(error);
+                *retry = True;
+                return NULL;
             }
-            amz_headers = _canonicalize_amz_headers(request->headers);
-            canonicalized_resource = _canonicalized_resource(request->path, request->query_params);
-            signature = _net_compute_signature(client->log, client->creds, request->verb, canonicalized_resource, date, "", checksum_value, amz_headers);
+        }
+        return error;
+    }
+    g_byte_array_free(response_data->body, TRUE);
+    ds3_str_free(response_data->status_message);
+
+    return NULL;
+}
+
+ds3_error* net_process_request(const ds3_client* client,
+                               const ds3_request* _request,
+                               void* read_user_struct,
+                               size_t (*read_handler_func)(void*, size_t, size_t, void*),
+                               void* write_user_struct,
+                               size_t (*write_handler_func)(void*, size_t, size_t, void*),
+                               ds3_string_multimap** return_headers) {
+    struct _ds3_request* request = (struct _ds3_request*) _request;
+    CURL* handle;
+    CURLcode res;
+    char* url;
+    int retry_count = 0;
 
-            g_free(amz_headers);
-            g_free(canonicalized_resource);
+    _init_curl();
 
-            auth_header = g_strconcat("Authorization: AWS ", client->creds->access_id->value, ":", signature, NULL);
+    url = _net_build_url(client, request);
 
-            headers = curl_slist_append(headers, auth_header);
-            headers = curl_slist_append(headers, date_header);
-            headers = _append_headers(headers, request->headers);
+    while (retry_count < client->num_redirects) {
+        ds3_log_message(client->log, DS3_DEBUG, "Acquiring connection...");
+        handle = ds3_connection_acquire(client->connection_pool);
+        ds3_log_message(client->log, DS3_DEBUG, "Connection acquired.");
+
+        if (handle) {
+            struct curl_slist* headers;
+            ds3_response_data response_data;
+            ds3_error* error;
+            ds3_bool retry;
 
-            curl_easy_setopt(handle, CURLOPT_HTTPHEADER, headers);
+            headers = _net_setup_handle(client, request, handle, url, &response_data,
+                                        read_user_struct, read_handler_func, write_user_struct, write_handler_func);
 
             ds3_log_message(client->log, DS3_DEBUG, "Attempt curl_easy_perform...");
             res = curl_easy_perform(handle);
             ds3_log_message(client->log, DS3_DEBUG, "curl_easy_perform done.");
 
-            g_free(date);
-            g_free(date_header);
-            g_free(signature);
-            g_free(auth_header);
             curl_slist_free_all(headers);
             ds3_log_message(client->log, DS3_DEBUG, "Releasing connection...");
             ds3_connection_release(client->connection_pool, handle);
             ds3_log_message(client->log, DS3_DEBUG, "Connection released.");
 
             //process the response
-            if (res != CURLE_OK) {
-                char * message = g_strconcat("Request failed: ", curl_easy_strerror(res), NULL);
-                ds3_error* error = ds3_create_error(DS3_ERROR_REQUEST_FAILED, message);
-                g_free(url);
-                g_byte_array_free(response_data.body, TRUE);
-                ds3_str_free(response_data.status_message);
-                ds3_string_multimap_free(response_headers);
-                g_free(message);
-                return error;
+            error = _net_process_response(client, res, &response_data, &retry_count, &retry);
+            if (retry) {
+                continue;
             }
-
-            ds3_log_message(client->log, DS3_DEBUG, "Request completed with status code of: %d", response_data.status_code);
-
-            if (response_data.status_code < 200 || response_data.status_code >= 300) {
-                ds3_error* error = ds3_create_error(DS3_ERROR_BAD_STATUS_CODE, "Got an unexpected status code.");
-                error->error = g_new0(ds3_error_response, 1);
-                error->error->http_error_code = response_data.status_code;
-                error->error->code = ds3_str_init(response_data.status_message->value);
-                if (response_data.body != NULL) {
-                    error->error->message = ds3_str_init_with_size((char*)response_data.body->data, response_data.body->len);
-                    g_byte_array_free(response_data.body, TRUE);
-                } else {
-                    ds3_log_message(client->log, DS3_ERROR, "The response body for the error is empty");
-                    error->error->message = NULL;
-                }
-                ds3_string_multimap_free(response_headers);
-                ds3_str_free(response_data.status_message);
-
-                if (response_data.status_code == 307) {
-                    ds3_log_message(client->log, DS3_INFO, "Request encountered a 307 redirect");
-
-                    retry_count++;
-                    ds3_log_message(client->log, DS3_DEBUG, "Retry Attempt: %d | Max Retries: %d", retry_count, client->num_redirects);
-
-                    if (retry_count == client->num_redirects) {
-                        ds3_str_free(error->message);
-                        error->message = ds3_str_init("Encountered too many redirects while attempting to fulfill the request");
-                        error->code = DS3_ERROR_TOO_MANY_REDIRECTS;
-                    } else {
-                        ds3_error_free(error);
-                        continue;
-                    }
-                }
+            if (error != NULL) {
                 g_free(url);
                 return error;
             }
-            g_byte_array_free(response_data.body, TRUE);
-            ds3_str_free(response_data.status_message);
 
             if (return_headers != NULL) {
-                *return_headers = response_headers;
+                *return_headers = response_data.headers;
             } else {
-                ds3_string_multimap_free(response_headers);
+                ds3_string_multimap_free(response_data.headers);
             }
 
             break;
         } else {
+            g_free(url);
             return ds3_create_error(DS3_ERROR_CURL_HANDLE, "Failed to create curl handle");
         }
     }
@@ -613,6 +662,192 @@ ds3_error* net_process_request(const ds3_client* client,
     return NULL;
 }
 
+//---------- Asynchronous requests ----------//
+struct _ds3_event_loop {
+    CURLM*     multi;
+    GPtrArray* idle_handles; // easy handles of completed transfers, reused by later transfers
+    GPtrArray* transfers;    // ds3_net_transfer of each transfer in flight
+};
+
+typedef struct {
+    ds3_event_loop*      loop;
+    const ds3_client*    client;
+    struct _ds3_request* request;
+    char*                url;
+    CURL*                handle;
+    struct curl_slist*   headers;
+    ds3_response_data    response_data;
+    int                  retry_count;
+
+    void* read_user_struct;
+    size_t (*read_handler_func)(void*, size_t, size_t, void*);
+    void* write_user_struct;
+    size_t (*write_handler_func)(void*, size_t, size_t, void*);
+
+    void (* complete)(ds3_error* error, ds3_string_multimap* return_headers, void* complete_data);
+    void* complete_data;
+} ds3_net_transfer;
+
+ds3_event_loop* ds3_event_loop_init(void) {
+    ds3_event_loop* loop;
+
+    _init_curl();
+
+    loop = g_new0(ds3_event_loop, 1);
+    loop->multi = curl_multi_init();
+    loop->idle_handles = g_ptr_array_new_with_free_func((GDestroyNotify) curl_easy_cleanup);
+    loop->transfers = g_ptr_array_new();
+
+    return loop;
+}
+
+static CURLMcode _net_start_transfer(ds3_net_transfer* transfer) {
+    transfer->headers = _net_setup_handle(transfer->client, transfer->request, transfer->handle, transfer->url, &transfer->response_data,
+                                          transfer->read_user_struct, transfer->read_handler_func,
+                                          transfer->write_user_struct, transfer->write_handler_func);
+    curl_easy_setopt(transfer->handle, CURLOPT_PRIVATE, transfer);
+
+    return curl_multi_add_handle(transfer->loop->multi, transfer->handle);
+}
+
+ds3_error* net_submit_request(ds3_event_loop* loop,
+                              const ds3_client* client,
+                              const ds3_request* _request,
+                              void* read_user_struct,
+                              size_t (*read_handler_func)(void*, size_t, size_t, void*),
+                              void* write_user_struct,
+                              size_t (*write_handler_func)(void*, size_t, size_t, void*),
+                              void (* complete)(ds3_error* error, ds3_string_multimap* return_headers, void* complete_data),
+                              void* complete_data) {
+    ds3_net_transfer* transfer;
+    CURLMcode res;
+
+    if (client->num_redirects == 0) {
+        // Matches net_process_request, which sends nothing when no attempts are allowed
+        complete(NULL, NULL, complete_data);
+        return NULL;
+    }
+
+    transfer = g_new0(ds3_net_transfer, 1);
+    transfer->loop = loop;
+    transfer->client = client;
+    transfer->request = (struct _ds3_request*) _request;
+    transfer->url = _net_build_url(client, transfer->request);
+    transfer->read_user_struct = read_user_struct;
+    transfer->read_handler_func = read_handler_func;
+    transfer->write_user_struct = write_user_struct;
+    transfer->write_handler_func = write_handler_func;
+    transfer->complete = complete;
+    transfer->complete_data = complete_data;
+
+    if (loop->idle_handles->len > 0) {
+        transfer->handle = g_ptr_array_steal_index_fast(loop->idle_handles, loop->idle_handles->len - 1);
+    } else {
+        transfer->handle = curl_easy_init();
+    }
+    if (transfer->handle == NULL) {
+        g_free(transfer->url);
+        g_free(transfer);
+        return ds3_create_error(DS3_ERROR_CURL_HANDLE, "Failed to create curl handle");
+    }
+
+    res = _net_start_transfer(transfer);
+    if (res != CURLM_OK) {
+        char* message = g_strconcat("Failed to start request: ", curl_multi_strerror(res), NULL);
+        ds3_error* error = ds3_create_error(DS3_ERROR_REQUEST_FAILED, message);
+        g_free(message);
+        curl_slist_free_all(transfer->headers);
+        g_byte_array_free(transfer->response_data.body, TRUE);
+        ds3_string_multimap_free(transfer->response_data.headers);
+        curl_easy_cleanup(transfer->handle);
+        g_free(transfer->url);
+        g_free(transfer);
+        return error;
+    }
+    g_ptr_array_add(loop->transfers, transfer);
+
+    return NULL;
+}
+
+// Completes a transfer which curl has finished, sending the request again if it was redirected
+static void _net_finish_transfer(ds3_net_transfer* transfer, CURLcode res) {
+    ds3_event_loop* loop = transfer->loop;
+    ds3_error* error;
+    ds3_bool retry;
+
+    curl_multi_remove_handle(loop->multi, transfer->handle);
+    curl_slist_free_all(transfer->headers);
+    transfer->headers = NULL;
+
+    error = _net_process_response(transfer->client, res, &transfer->response_data, &transfer->retry_count, &retry);
+    curl_easy_reset(transfer->handle);
+
+    if (retry && _net_start_transfer(transfer) == CURLM_OK) {
+        return;
+    } else if (retry) {
+        curl_slist_free_all(transfer->headers);
+        g_byte_array_free(transfer->response_data.body, TRUE);
+        ds3_string_multimap_free(transfer->response_data.headers);
+        curl_easy_reset(transfer->handle);
+        error = ds3_create_error(DS3_ERROR_REQUEST_FAILED, "Failed to restart the redirected request");
+    }
+
+    g_ptr_array_remove_fast(loop->transfers, transfer);
+    g_ptr_array_add(loop->idle_handles, transfer->handle);
+
+    transfer->complete(error, error == NULL ? transfer->response_data.headers : NULL, transfer->complete_data);
+
+    g_free(transfer->url);
+    g_free(transfer);
+}
+
+int ds3_event_loop_run_once(ds3_event_loop* loop, int timeout_ms) {
+    CURLMsg* message;
+    int running;
+    int messages_left;
+
+    if (loop->transfers->len == 0) {
+        return 0;
+    }
+
+    curl_multi_perform(loop->multi, &running);
+    if (running > 0) {
+        curl_multi_wait(loop->multi, NULL, 0, timeout_ms, NULL);
+        curl_multi_perform(loop->multi, &running);
+    }
+
+    while ((message = curl_multi_info_read(loop->multi, &messages_left)) != NULL) {
+        if (message->msg == CURLMSG_DONE) {
+            char* transfer;
+            curl_easy_getinfo(message->easy_handle, CURLINFO_PRIVATE, &transfer);
+            _net_finish_transfer((ds3_net_transfer*) transfer, message->data.result);
+        }
+    }
+
+    return (int) loop->transfers->len;
+}
+
+void ds3_event_loop_run(ds3_event_loop* loop) {
+    while (ds3_event_loop_run_once(loop, 1000) > 0) {
+    }
+}
+
+void ds3_event_loop_free(ds3_event_loop* loop) {
+    if (loop == NULL) {
+        return;
+    }
+
+    // Abandon the transfers still in flight, which completes each with an error
+    while (loop->transfers->len > 0) {
+        _net_finish_transfer(g_ptr_array_index(loop->transfers, 0), CURLE_ABORTED_BY_CALLBACK);
+    }
+
+    g_ptr_array_free(loop->transfers, TRUE);
+    g_ptr_array_free(loop->idle_handles, TRUE);
+    curl_multi_cleanup(loop->multi);
+    g_free(loop);
+}
+
 void net_cleanup(void) {
     curl_global_cleanup();
 }
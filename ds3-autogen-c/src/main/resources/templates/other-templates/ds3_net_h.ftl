@@ -25,6 +25,19 @@ ds3_error* net_process_request(
    size_t (*write_handler_func)(void*, size_t, size_t, void*),
    ds3_string_multimap** return_headers);
 
+// Starts sending the request on the event loop.  complete is called once the request finishes, from within the
+// loop, and takes ownership of the error and of return_headers, which is NULL when an error is reported.
+ds3_error* net_submit_request(
+   ds3_event_loop* loop,
+   const ds3_client* client,
+   const ds3_request* _request,
+   void* read_user_struct,
+   size_t (*read_handler_func)(void*, size_t, size_t, void*),
+   void* write_user_struct,
+   size_t (*write_handler_func)(void*, size_t, size_t, void*),
+   void (* complete)(ds3_error* error, ds3_string_multimap* return_headers, void* complete_data),
+   void* complete_data);
+
 void net_cleanup(void);
 
 #ifdef __cplusplus
@@ -45,6 +45,12 @@ typedef struct {
     size_t (*user_func)(void*, size_t, size_t, void*);
 }ds3_response_data;
 
+// Top level responses parsed by a client with response arenas enabled own the arena that they, and all of
+// their members, are allocated from
+ds3_arena* ds3_arena_init(void);
+void* ds3_arena_alloc(ds3_arena* arena, size_t size);
+void ds3_arena_free(ds3_arena* arena);
+
 
 #ifdef __cplusplus
 }
@@ -0,0 +1,61 @@
+<#-- ********************************************* -->
+<#-- Generate the asynchronous version of Request  -->
+<#--   Input: Request object                       -->
+<#-- ********************************************* -->
+<#assign objectListType = "">
+<#if requestEntry.hasRequestPayload()>
+    <#assign objectListType = requestHelper.getRequestObjectListType(requestEntry.getName())>
+</#if>
+
+${requestHelper.generateAsyncRequestFunctionSignature(requestEntry)} {
+<#if objectListType != "" && objectListType != "DATA">
+    ds3_error* error;
+</#if>
+    ds3_async_request* async_request;
+
+${requestHelper.generateParameterValidationBlock(requestEntry)}
+
+<#if !requestEntry.hasResponsePayload()>
+    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_NONE);
+    async_request->on_complete_without_response = on_complete;
+<#elseif requestEntry.getResponseType() == "ds3_str">
+    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_STRING);
+    async_request->on_complete = (void (*)(ds3_error*, void*, void*)) on_complete;
+    async_request->xml_blob = g_byte_array_new();
+<#else>
+    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_PARSED);
+    async_request->on_complete = (void (*)(ds3_error*, void*, void*)) on_complete;
+    async_request->parser = _ds3_xml_parser_init(client, &_${requestEntry.getResponseType()}_parser);
+<#if requestEntry.supportsPagination()>
+    async_request->has_paging = True;
+    async_request->paging_offset = offsetof(${requestEntry.getResponseType()}, paging);
+</#if>
+</#if>
+    async_request->on_complete_data = on_complete_data;
+<#if objectListType != "" && objectListType != "DATA">
+
+    error = _init_request_payload(request, &async_request->send_buff, ${objectListType});
+    if (error != NULL) {
+        _ds3_async_request_free(async_request);
+        return error;
+    }
+    async_request->has_send_buff = True;
+</#if>
+
+<#if !requestEntry.hasResponsePayload()>
+    <#assign readArgs = "NULL, NULL">
+<#elseif requestEntry.getResponseType() == "ds3_str">
+    <#assign readArgs = "async_request->xml_blob, ds3_load_buffer">
+<#else>
+    <#assign readArgs = "async_request->parser, _ds3_xml_parser_load">
+</#if>
+<#if objectListType == "DATA">
+    <#assign writeArgs = "user_data, callback">
+<#elseif objectListType != "">
+    <#assign writeArgs = "(void*) &async_request->send_buff, _ds3_send_xml_buff">
+<#else>
+    <#assign writeArgs = "NULL, NULL">
+</#if>
+    return _internal_async_request_dispatcher(loop, client, request, async_request, ${readArgs}, ${writeArgs});
+}
+
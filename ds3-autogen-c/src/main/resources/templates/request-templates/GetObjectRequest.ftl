@@ -13,3 +13,21 @@ ds3_error* ds3_get_object_request(const ds3_client* client, const ds3_request* r
 
     return error;
 }
+
+ds3_error* ds3_get_object_request_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void* user_data, size_t (* callback)(void*, size_t, size_t, void*), void (* on_complete)(ds3_error* error, void* on_complete_data), void* on_complete_data) {
+    ds3_async_request* async_request;
+
+    int num_slashes = num_chars_in_ds3_str(request->path, '/');
+    if (num_slashes < 2 || ((num_slashes == 2) && ('/' == request->path->value[request->path->size-1]))) {
+        return ds3_create_error(DS3_ERROR_MISSING_ARGS, "The bucket name parameter is required.");
+    } else if (g_ascii_strncasecmp(request->path->value, "//", 2) == 0) {
+        return ds3_create_error(DS3_ERROR_MISSING_ARGS, "The object name parameter is required.");
+    }
+
+    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_NONE);
+    async_request->on_complete_without_response = on_complete;
+    async_request->on_complete_data = on_complete_data;
+
+    return _internal_async_request_dispatcher(loop, client, request, async_request, user_data, callback, NULL, NULL);
+}
+
@@ -9,3 +9,20 @@ ds3_error* ds3_head_bucket_request(const ds3_client* client, const ds3_request*
     return _internal_request_dispatcher(client, request, NULL, NULL, NULL, NULL, NULL);
 }
 
+ds3_error* ds3_head_bucket_request_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void (* on_complete)(ds3_error* error, void* on_complete_data), void* on_complete_data) {
+    ds3_async_request* async_request;
+
+    if (client == NULL || request == NULL) {
+        return ds3_create_error(DS3_ERROR_MISSING_ARGS, "All arguments must be filled in for request processing");
+    }
+    if (g_ascii_strncasecmp(request->path->value, "//", 2) == 0) {
+        return ds3_create_error(DS3_ERROR_MISSING_ARGS, "The bucket name parameter is required.");
+    }
+
+    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_NONE);
+    async_request->on_complete_without_response = on_complete;
+    async_request->on_complete_data = on_complete_data;
+
+    return _internal_async_request_dispatcher(loop, client, request, async_request, NULL, NULL, NULL, NULL);
+}
+
@@ -24,3 +24,20 @@ ds3_error* ds3_head_object_request(const ds3_client* client, const ds3_request*
     return error;
 }
 
+ds3_error* ds3_head_object_request_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void (* on_complete)(ds3_error* error, ds3_head_object_response* response, void* on_complete_data), void* on_complete_data) {
+    ds3_async_request* async_request;
+
+    int num_slashes = num_chars_in_ds3_str(request->path, '/');
+    if (num_slashes < 2 || ((num_slashes == 2) && ('/' == request->path->value[request->path->size-1]))) {
+        return ds3_create_error(DS3_ERROR_MISSING_ARGS, "The object name parameter is required.");
+    } else if (g_ascii_strncasecmp(request->path->value, "//", 2) == 0) {
+        return ds3_create_error(DS3_ERROR_MISSING_ARGS, "The bucket name parameter is required.");
+    }
+
+    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_HEAD_OBJECT);
+    async_request->on_complete = (void (*)(ds3_error*, void*, void*)) on_complete;
+    async_request->on_complete_data = on_complete_data;
+
+    return _internal_async_request_dispatcher(loop, client, request, async_request, NULL, NULL, NULL, NULL);
+}
+
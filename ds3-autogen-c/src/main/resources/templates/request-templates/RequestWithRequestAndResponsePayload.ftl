@@ -5,9 +5,11 @@
 ${requestHelper.generateRequestFunctionSignature(requestEntry)} {
     ds3_error* error;
     ds3_xml_send_buff send_buff;
-    GByteArray* xml_blob;
 <#if requestEntry.hasResponsePayload() && requestEntry.getResponseType() == "ds3_str">
+    GByteArray* xml_blob;
     ds3_str* _response;
+<#else>
+    ds3_xml_parser* parser;
 </#if>
 
 ${requestHelper.generateParameterValidationBlock(requestEntry)}
@@ -15,6 +17,7 @@ ${requestHelper.generateParameterValidationBlock(requestEntry)}
     error = _init_request_payload(request, &send_buff, ${requestHelper.getRequestObjectListType(requestEntry.getName())});
     if (error != NULL) return error;
 
+<#if requestEntry.hasResponsePayload() && requestEntry.getResponseType() == "ds3_str">
     xml_blob = g_byte_array_new();
     error = _internal_request_dispatcher(client, request, xml_blob, ds3_load_buffer, (void*) &send_buff, _ds3_send_xml_buff, NULL);
 
@@ -26,13 +29,18 @@ ${requestHelper.generateParameterValidationBlock(requestEntry)}
         return error;
     }
 
-<#if requestEntry.hasResponsePayload() && requestEntry.getResponseType() == "ds3_str">
     _response = ds3_str_init_with_size((char*)xml_blob->data, xml_blob->len);
     g_byte_array_free(xml_blob, TRUE);
 
     *response = _response;
     return error;
 <#else>
-    return _parse_top_level_${requestEntry.getResponseType()}(client, request, response, xml_blob);
+    parser = _ds3_xml_parser_init(client, &_${requestEntry.getResponseType()}_parser);
+    error = _internal_request_dispatcher(client, request, parser, _ds3_xml_parser_load, (void*) &send_buff, _ds3_send_xml_buff, NULL);
+
+    // Clean up the data sent to the server
+    xmlFree(send_buff.buff);
+
+    return _ds3_xml_parser_finish(parser, error, (void**) response);
 </#if>
 }
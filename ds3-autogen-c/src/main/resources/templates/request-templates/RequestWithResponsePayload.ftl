@@ -4,9 +4,11 @@
 <#-- **************************************** -->
 ${requestHelper.generateRequestFunctionSignature(requestEntry)} {
     ds3_error* error;
-    GByteArray* xml_blob;
 <#if requestEntry.hasResponsePayload() && requestEntry.getResponseType() == "ds3_str">
+    GByteArray* xml_blob;
     ds3_str* _response;
+<#else>
+    ds3_xml_parser* parser;
 </#if>
 <#if requestEntry.supportsPagination()>
     ds3_string_multimap* return_headers = NULL;
@@ -14,6 +16,7 @@ ${requestHelper.generateRequestFunctionSignature(requestEntry)} {
 
 ${requestHelper.generateParameterValidationBlock(requestEntry)}
 
+<#if requestEntry.hasResponsePayload() && requestEntry.getResponseType() == "ds3_str">
     xml_blob = g_byte_array_new();
 <#if requestEntry.supportsPagination()>
     error = _internal_request_dispatcher(client, request, xml_blob, ds3_load_buffer, NULL, NULL, &return_headers);
@@ -28,22 +31,25 @@ ${requestHelper.generateParameterValidationBlock(requestEntry)}
         return error;
     }
 
-<#if requestEntry.hasResponsePayload() && requestEntry.getResponseType() == "ds3_str">
     _response = ds3_str_init_with_size((char*)xml_blob->data, xml_blob->len);
     g_byte_array_free(xml_blob, TRUE);
 
     *response = _response;
     return error;
 <#elseif requestEntry.supportsPagination()>
-    error = _parse_top_level_${requestEntry.getResponseType()}(client, request, response, xml_blob);
+    parser = _ds3_xml_parser_init(client, &_${requestEntry.getResponseType()}_parser);
+    error = _internal_request_dispatcher(client, request, parser, _ds3_xml_parser_load, NULL, NULL, &return_headers);
+    error = _ds3_xml_parser_finish(parser, error, (void**) response);
 
     if (error == NULL) {
-        (*response)->paging = _parse_paging_headers(return_headers);
+        (*response)->paging = _parse_paging_headers((*response)->arena, return_headers);
     }
     ds3_string_multimap_free(return_headers);
 
     return error;
 <#else>
-    return _parse_top_level_${requestEntry.getResponseType()}(client, request, response, xml_blob);
+    parser = _ds3_xml_parser_init(client, &_${requestEntry.getResponseType()}_parser);
+    error = _internal_request_dispatcher(client, request, parser, _ds3_xml_parser_load, NULL, NULL, NULL);
+    return _ds3_xml_parser_finish(parser, error, (void**) response);
 </#if>
 }
@@ -7,7 +7,13 @@ void ${structEntry.getName()}_free(${structEntry.getName()}* response) {
         return;
     }
 
-<#if structEntry.hasArrayMembers()>
+<#if structEntry.isTopLevel()>
+    if (response->arena != NULL) {
+        ds3_arena_free(response->arena);
+        return;
+    }
+
+</#if><#if structEntry.hasArrayMembers()>
     size_t index;
 </#if>
 ${structMemberHelper.generateFreeStructMembers(structEntry.getStructMembers())}
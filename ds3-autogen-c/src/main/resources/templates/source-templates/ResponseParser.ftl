@@ -2,53 +2,41 @@
 <#-- Generate "TypedefStructResponseParser" from Structs      -->
 <#--   Input: Struct object                                   -->
 <#-- ******************************************************** -->
-static ds3_error* _parse_${structEntry.getName()}(const ds3_client* client, const xmlDocPtr doc, const xmlNodePtr root, ${structEntry.getName()}** _response) {
-    ${structEntry.getName()}* response;
 <#if structHelper.hasAttributes(structEntry)>
-    struct _xmlAttr* attribute;
-</#if>
-<#if structHelper.hasChildNodes(structEntry)>
-    xmlNodePtr child_node;
-</#if>
-    ds3_error* error = NULL;
-<#if structHelper.hasUnwrappedChildNodes(structEntry)>
-<#list structMemberHelper.getUnwrappedListChildNodes(structEntry.getStructMembers()) as unwrappedChildNode>
-    GPtrArray* ${unwrappedChildNode.getName()}_array = g_ptr_array_new();
-</#list>
-</#if>
+static void _parse_${structEntry.getName()}_attribute(ds3_xml_parser* parser, void* _response, const xmlChar* attribute, const xmlChar* value) {
+    ${structEntry.getName()}* response = (${structEntry.getName()}*) _response;
 
-    response = g_new0(${structEntry.getName()}, 1);
+${structHelper.generateResponseAttributesParser(structEntry.getName(), structEntry.getStructMembers())?chop_linebreak}
+}
 
-<#if structHelper.hasAttributes(structEntry)>
-    for (attribute = root->properties; attribute != NULL; attribute = attribute->next) {
-${structHelper.generateResponseAttributesParser(structEntry.getName(), structEntry.getStructMembers())}
-    }
 </#if>
-
 <#if structHelper.hasChildNodes(structEntry)>
-    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {
-${structHelper.generateResponseParser(structEntry.getName(), structEntry.getStructMembers())}
-    }
+static void _parse_${structEntry.getName()}_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {
+<#if structHelper.hasStructChildNodes(structEntry)>
+    ${structEntry.getName()}* response = (${structEntry.getName()}*) _response;
+
 </#if>
+${structHelper.generateResponseParser(structEntry.getName(), structEntry.getStructMembers())?chop_linebreak}
+}
 
-<#if structHelper.hasUnwrappedChildNodes(structEntry)>
-<#list structMemberHelper.getUnwrappedListChildNodes(structEntry.getStructMembers()) as unwrappedChildNode>
-    response->${unwrappedChildNode.getName()} = (${unwrappedChildNode.getType().getTypeName()}**)${unwrappedChildNode.getName()}_array->pdata;
-    response->num_${unwrappedChildNode.getName()} = ${unwrappedChildNode.getName()}_array->len;
-    g_ptr_array_free(${unwrappedChildNode.getName()}_array, FALSE);
-</#list>
 </#if>
+<#if structHelper.hasTextChildNodes(structEntry)>
+static void _parse_${structEntry.getName()}_text(ds3_xml_parser* parser, void* _response, int member, const xmlChar* text) {
+    ${structEntry.getName()}* response = (${structEntry.getName()}*) _response;
 
-    <#if structHelper.hasComplexMembers(structEntry)>
-    if (error == NULL) {
-        *_response = response;
-    } else {
-        ${structEntry.getName()}_free(response);
+    switch (member) {
+${structHelper.generateResponseTextParser(structEntry.getStructMembers())?chop_linebreak}
     }
-    <#else>
-    *_response = response;
-    </#if>
-
-    return error;
 }
 
+</#if>
+const ds3_xml_struct_parser _${structEntry.getName()}_parser = {
+    "${structEntry.getNameToMarshall()}",
+    sizeof(${structEntry.getName()}),
+    <#if structEntry.isTopLevel()>offsetof(${structEntry.getName()}, arena)<#else>0</#if>,
+    <#if structHelper.hasAttributes(structEntry)>_parse_${structEntry.getName()}_attribute<#else>NULL</#if>,
+    <#if structHelper.hasChildNodes(structEntry)>_parse_${structEntry.getName()}_element<#else>NULL</#if>,
+    <#if structHelper.hasTextChildNodes(structEntry)>_parse_${structEntry.getName()}_text<#else>NULL</#if>,
+    (GDestroyNotify) ${structEntry.getName()}_free
+};
+
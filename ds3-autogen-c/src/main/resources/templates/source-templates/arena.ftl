@@ -0,0 +1,65 @@
+// Response arenas hand out zeroed memory from chunks which are only freed together, when the response that owns
+// the arena is freed.  A chunk is never reused, so memory that is returned is already zeroed.
+#define ARENA_ALIGNMENT 16
+#define ARENA_MIN_CHUNK_SIZE 4096
+#define ARENA_MAX_CHUNK_SIZE (1024 * 1024)
+
+typedef struct _ds3_arena_chunk {
+    struct _ds3_arena_chunk* next;
+    size_t size;
+    size_t used;
+} ds3_arena_chunk;
+
+// The data of a chunk follows its header, at the first aligned offset
+#define ARENA_CHUNK_HEADER_SIZE ((sizeof(ds3_arena_chunk) + ARENA_ALIGNMENT - 1) & ~((size_t) ARENA_ALIGNMENT - 1))
+
+struct _ds3_arena {
+    ds3_arena_chunk* chunks; // the chunk that is allocated from, followed by the full chunks
+    size_t next_chunk_size;
+};
+
+ds3_arena* ds3_arena_init(void) {
+    ds3_arena* arena = g_new0(ds3_arena, 1);
+    arena->next_chunk_size = ARENA_MIN_CHUNK_SIZE;
+    return arena;
+}
+
+void* ds3_arena_alloc(ds3_arena* arena, size_t size) {
+    ds3_arena_chunk* chunk = arena->chunks;
+    void* memory;
+
+    size = (size + ARENA_ALIGNMENT - 1) & ~((size_t) ARENA_ALIGNMENT - 1);
+
+    if (chunk == NULL || chunk->size - chunk->used < size) {
+        // Chunks double in size so that large responses need few of them
+        size_t chunk_size = size > arena->next_chunk_size ? size : arena->next_chunk_size;
+        if (arena->next_chunk_size < ARENA_MAX_CHUNK_SIZE) {
+            arena->next_chunk_size *= 2;
+        }
+
+        chunk = (ds3_arena_chunk*) g_malloc0(ARENA_CHUNK_HEADER_SIZE + chunk_size);
+        chunk->size = chunk_size;
+        chunk->next = arena->chunks;
+        arena->chunks = chunk;
+    }
+
+    memory = (char*) chunk + ARENA_CHUNK_HEADER_SIZE + chunk->used;
+    chunk->used += size;
+    return memory;
+}
+
+void ds3_arena_free(ds3_arena* arena) {
+    ds3_arena_chunk* chunk;
+
+    if (arena == NULL) {
+        return;
+    }
+
+    chunk = arena->chunks;
+    while (chunk != NULL) {
+        ds3_arena_chunk* next = chunk->next;
+        g_free(chunk);
+        chunk = next;
+    }
+    g_free(arena);
+}
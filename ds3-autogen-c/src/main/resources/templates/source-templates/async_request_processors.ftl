@@ -0,0 +1,94 @@
+ds3_async_request* _ds3_async_request_init(const ds3_client* client, ds3_async_response_type response_type) {
+    ds3_async_request* async_request = g_new0(ds3_async_request, 1);
+    async_request->client = client;
+    async_request->response_type = response_type;
+    return async_request;
+}
+
+void _ds3_async_request_free(ds3_async_request* async_request) {
+    if (async_request->has_send_buff) {
+        // Clean up the data sent to the server
+        xmlFree(async_request->send_buff.buff);
+    }
+    if (async_request->parser != NULL) {
+        _ds3_xml_parser_free(async_request->parser);
+    }
+    if (async_request->xml_blob != NULL) {
+        g_byte_array_free(async_request->xml_blob, TRUE);
+    }
+    g_free(async_request);
+}
+
+// Builds the response of a completed request in the same way as its synchronous version, and hands the
+// error or the response to the on_complete callback
+static void _ds3_async_request_complete(ds3_error* error, ds3_string_multimap* return_headers, void* _async_request) {
+    ds3_async_request* async_request = (ds3_async_request*) _async_request;
+    void* response = NULL;
+
+    switch (async_request->response_type) {
+        case ASYNC_RESPONSE_PARSED: {
+            ds3_arena* arena = async_request->parser->arena;
+            error = _ds3_xml_parser_finish(async_request->parser, error, &response);
+            async_request->parser = NULL;
+            if (error == NULL && async_request->has_paging) {
+                *(ds3_paging**) ((char*) response + async_request->paging_offset) = _parse_paging_headers(arena, return_headers);
+            }
+            break;
+        }
+
+        case ASYNC_RESPONSE_STRING:
+            if (error == NULL) {
+                response = ds3_str_init_with_size((char*)async_request->xml_blob->data, async_request->xml_blob->len);
+            }
+            break;
+
+        case ASYNC_RESPONSE_HEAD_OBJECT:
+            if (error == NULL) {
+                ds3_head_object_response* response_ptr = g_new0(ds3_head_object_response, 1);
+                response_ptr->metadata = _init_metadata(return_headers);
+                response_ptr->blob_checksum_type = get_blob_checksum_type(async_request->client->log, return_headers);
+                response_ptr->blob_checksums = get_blob_checksums(async_request->client->log, return_headers);
+                response = response_ptr;
+            }
+            break;
+
+        case ASYNC_RESPONSE_NONE:
+            break;
+    }
+    ds3_string_multimap_free(return_headers);
+
+    if (async_request->response_type == ASYNC_RESPONSE_NONE) {
+        async_request->on_complete_without_response(error, async_request->on_complete_data);
+    } else {
+        async_request->on_complete(error, response, async_request->on_complete_data);
+    }
+
+    _ds3_async_request_free(async_request);
+}
+
+// Sends the request on the event loop.  The request is handed to the net layer directly, rather than to the
+// client's net_callback, since the callback performs the transfer before returning.
+ds3_error* _internal_async_request_dispatcher(
+        ds3_event_loop* loop,
+        const ds3_client* client,
+        const ds3_request* request,
+        ds3_async_request* async_request,
+        void* read_user_struct,
+        size_t (*read_handler_func)(void*, size_t, size_t, void*),
+        void* write_user_struct,
+        size_t (*write_handler_func)(void*, size_t, size_t, void*)) {
+    ds3_error* error;
+
+    if (loop == NULL || client == NULL || request == NULL) {
+        _ds3_async_request_free(async_request);
+        return ds3_create_error(DS3_ERROR_MISSING_ARGS, "All arguments must be filled in for request processing");
+    }
+
+    error = net_submit_request(loop, client, request, read_user_struct, read_handler_func, write_user_struct, write_handler_func,
+                               _ds3_async_request_complete, async_request);
+    if (error != NULL) {
+        _ds3_async_request_free(async_request);
+    }
+    return error;
+}
+
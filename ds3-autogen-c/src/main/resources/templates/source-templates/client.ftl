@@ -107,6 +107,7 @@ ds3_client* ds3_copy_client(const ds3_client const* client) {
         copied_client->proxy = ds3_str_dup(client->proxy);
     }
     copied_client->num_redirects = client->num_redirects;
+    copied_client->response_arena = client->response_arena;
     copied_client->creds = ds3_create_creds(client->creds->access_id->value, client->creds->secret_key->value);
 
     ds3_client_register_net( copied_client, net_process_request );
@@ -122,6 +123,10 @@ void ds3_client_proxy(ds3_client* client, const char* proxy) {
     client->proxy = ds3_str_init(proxy);
 }
 
+void ds3_client_use_response_arena(ds3_client* client, ds3_bool use_response_arena) {
+    client->response_arena = use_response_arena;
+}
+
 void ds3_creds_free(ds3_creds* creds) {
     if (creds == NULL) {
         return;
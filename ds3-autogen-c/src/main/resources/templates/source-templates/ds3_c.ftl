@@ -31,6 +31,8 @@
 
 <#include "free_custom_types.ftl"/>
 
+<#include "arena.ftl"/>
+
 <#-- *********************************************** -->
 <#-- Generate all "StructFreeFunctions" from Structs -->
 <#list getStructs() as structEntry>
@@ -1,64 +1,16 @@
 <#include "../CopyrightHeader.ftl"/>
 
-#include <glib.h>
-#include <stdlib.h>
-#include <stdbool.h>
-#include <libxml/parser.h>
-
-#include "ds3.h"
-#include "ds3_net.h"
-#include "ds3_request.h"
-#include "ds3_response_header_utils.h"
-#include "ds3_string_multimap_impl.h"
-#include "ds3_uint64_string_map.h"
-#include "ds3_utils.h"
-#include "ds3_marshaling.h"
-
-#ifdef _WIN32
-  #include <io.h>
-  #ifndef PRIu64
-    #define PRIu64 "I64u"
-  #endif
-#else
-  #include <inttypes.h>
-#endif
-
-
-//The max size of an uint32_t is 10 characters + NULL
-//The max size of an uint64_t is 20 characters + NULL
-#define STRING_BUFFER_SIZE 32
-
-<#include "metadata.ftl"/>
-<#include "xml_helpers.ftl"/>
-<#include "internal_request_processors.ftl"/>
-
-<#-- ******************************************* -->
-<#-- Generate all "EnumMatchers" from Enums      -->
-<#list getEnums() as enumEntry>
-    <#if enumEntry.requiresMatcher()>
-        <#include "TypedefEnumMatcher.ftl">
-    </#if>
-</#list>
+#include "ds3_requests_internal.h"
 
+<#if getStructs()?has_content>
 //************ STRUCT PARSERS **************
+</#if>
 <#list getStructs() as structEntry>
-    <#if structEntry.isEmbedded()>
+    <#if structHelper.requiresParser(structEntry)>
         <#include "ResponseParser.ftl">
     </#if>
-    <#if structEntry.isArrayMember()>
-        <#include "StructArrayParser.ftl">
-    </#if>
 </#list>
 
-//************ TOP LEVEL STRUCT PARSERS **************
-<#list getStructs() as structEntry>
-    <#if structEntry.isTopLevel()>
-        <#include "ResponseParserTopLevel.ftl">
-    </#if>
-</#list>
-<#include "parse_paging_headers.ftl">
-
-
 <#-- ********************************************* -->
 <#-- Generate all "RequestFunctions" from Requests -->
 <#list getRequests() as requestEntry>
@@ -72,11 +24,15 @@
     <#elseif (requestEntry.hasRequestPayload() == true)
           && (requestEntry.hasResponsePayload() == true)>
         <#include "../request-templates/RequestWithRequestAndResponsePayload.ftl"/>
+        <#include "../request-templates/AsyncRequest.ftl"/>
     <#elseif requestEntry.hasRequestPayload()>
         <#include "../request-templates/RequestWithRequestPayload.ftl"/>
+        <#include "../request-templates/AsyncRequest.ftl"/>
     <#elseif requestEntry.hasResponsePayload()>
         <#include "../request-templates/RequestWithResponsePayload.ftl"/>
+        <#include "../request-templates/AsyncRequest.ftl"/>
     <#else>
         <#include "../request-templates/Request.ftl"/>
+        <#include "../request-templates/AsyncRequest.ftl"/>
     </#if>
 </#list>
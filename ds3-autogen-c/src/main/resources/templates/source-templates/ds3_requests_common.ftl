@@ -0,0 +1,18 @@
+<#include "../CopyrightHeader.ftl"/>
+
+#include "ds3_requests_internal.h"
+
+<#include "metadata.ftl"/>
+<#include "xml_parser.ftl"/>
+<#include "internal_request_processors.ftl"/>
+
+<#-- ******************************************* -->
+<#-- Generate all "EnumMatchers" from Enums      -->
+<#list getEnums() as enumEntry>
+    <#if enumEntry.requiresMatcher()>
+        <#include "TypedefEnumMatcher.ftl">
+    </#if>
+</#list>
+
+<#include "parse_paging_headers.ftl">
+<#include "async_request_processors.ftl">
@@ -1,4 +1,4 @@
-static ds3_error* _internal_request_dispatcher(
+ds3_error* _internal_request_dispatcher(
         const ds3_client* client,
         const ds3_request* request,
         void* read_user_struct,
@@ -12,7 +12,7 @@ static ds3_error* _internal_request_dispatcher(
     return client->net_callback(client, request, read_user_struct, read_handler_func, write_user_struct, write_handler_func, return_headers);
 }
 
-static int num_chars_in_ds3_str(const ds3_str *const str, char ch) {
+int num_chars_in_ds3_str(const ds3_str *const str, char ch) {
     int num_matches = 0;
     size_t index;
 
@@ -25,39 +25,6 @@ static int num_chars_in_ds3_str(const ds3_str *const str, char ch) {
     return num_matches;
 }
 
-static ds3_error* _get_request_xml_nodes(
-        GByteArray* xml_blob,
-        xmlDocPtr* _doc,
-        xmlNodePtr* _root,
-        char* root_element_name) {
-    xmlNodePtr root;
-
-    xmlDocPtr doc = xmlReadMemory((const char*) xml_blob->data, xml_blob->len, NULL, NULL, XML_PARSE_HUGE);
-    if (doc == NULL) {
-        char* message = g_strconcat("Failed to parse response document.  The actual response is: ", xml_blob->data, NULL);
-        g_byte_array_free(xml_blob, TRUE);
-        ds3_error* error = ds3_create_error(DS3_ERROR_INVALID_XML, message);
-        g_free(message);
-        return error;
-    }
-
-    root = xmlDocGetRootElement(doc);
-    if (element_equal(root, root_element_name) == false) {
-        char* message = g_strconcat("Expected the root element to be '", root_element_name, "'.  The actual response is: ", xml_blob->data, NULL);
-        xmlFreeDoc(doc);
-        g_byte_array_free(xml_blob, TRUE);
-        ds3_error* error = ds3_create_error(DS3_ERROR_INVALID_XML, message);
-        g_free(message);
-        return error;
-    }
-
-    *_doc = doc;
-    *_root = root;
-
-    g_byte_array_free(xml_blob, TRUE);
-    return NULL;
-}
-
 xmlDocPtr ds3_generate_xml_bulk_objects_list(const ds3_bulk_object_list_response* obj_list, object_list_type list_type) {
     char size_buff[STRING_BUFFER_SIZE];
     xmlDocPtr doc;
@@ -163,9 +130,27 @@ xmlDocPtr ds3_generate_xml_ids(ds3_ids_list* ids_list) {
     return doc;
 }
 
-static ds3_error* _init_request_payload(const ds3_request* _request,
-                                        ds3_xml_send_buff* send_buff,
-                                        const object_list_type operation_type) {
+size_t _ds3_send_xml_buff(void* buffer, size_t size, size_t nmemb, void* user_data) {
+    size_t to_read;
+    size_t remaining;
+    ds3_xml_send_buff* xml_buff;
+
+    xml_buff = (ds3_xml_send_buff*) user_data;
+    to_read = size * nmemb;
+    remaining = xml_buff->size - xml_buff->total_read;
+
+    if (remaining < to_read) {
+        to_read = remaining;
+    }
+
+    strncpy((char*)buffer, xml_buff->buff + xml_buff->total_read, to_read);
+    xml_buff->total_read += to_read;
+    return to_read;
+}
+
+ds3_error* _init_request_payload(const ds3_request* _request,
+                                 ds3_xml_send_buff* send_buff,
+                                 const object_list_type operation_type) {
     xmlDocPtr doc;
 
     struct _ds3_request* request = (struct _ds3_request*) _request;
@@ -50,7 +50,7 @@ static ds3_metadata_entry* ds3_metadata_entry_init(ds3_string_multimap_entry* he
  *
  * All values should be copied from the struct to avoid memory issues
  */
-static ds3_metadata* _init_metadata(ds3_string_multimap* response_headers) {
+ds3_metadata* _init_metadata(ds3_string_multimap* response_headers) {
     struct _ds3_metadata* metadata = g_new0(struct _ds3_metadata, 1);
     GHashTableIter iter;
     gpointer _key, _value;
@@ -1,4 +1,5 @@
-static ds3_paging* _parse_paging_headers(ds3_string_multimap* response_headers) {
+// The paging is allocated from the arena of the response, if it has one
+ds3_paging* _parse_paging_headers(ds3_arena* arena, ds3_string_multimap* response_headers) {
     ds3_paging* response_paging = NULL;
 
     ds3_str* page_truncated_key = ds3_str_init("Page-Truncated");
@@ -11,7 +12,11 @@ static ds3_paging* _parse_paging_headers(ds3_string_multimap* response_headers)
         ds3_str* page_truncated_ds3_str = ds3_string_multimap_entry_get_value_by_index(page_truncated_entry, 0);
         ds3_str* total_result_count_ds3_str = ds3_string_multimap_entry_get_value_by_index(total_result_count_entry, 0);
 
-        response_paging = g_new0(ds3_paging, 1);
+        if (arena != NULL) {
+            response_paging = ds3_arena_alloc(arena, sizeof(ds3_paging));
+        } else {
+            response_paging = g_new0(ds3_paging, 1);
+        }
         if (page_truncated_ds3_str != NULL) {
             response_paging->page_truncated = g_ascii_strtoll(page_truncated_ds3_str->value, NULL, 10);
             ds3_str_free(page_truncated_ds3_str);
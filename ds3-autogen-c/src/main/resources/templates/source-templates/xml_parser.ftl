@@ -0,0 +1,257 @@
+// Allocates zeroed memory for the response, from the response arena if there is one
+void* _ds3_xml_parser_alloc(ds3_xml_parser* parser, size_t size) {
+    if (parser->arena != NULL) {
+        return ds3_arena_alloc(parser->arena, size);
+    }
+    return g_malloc0(size);
+}
+
+ds3_str* _ds3_xml_parser_get_string(ds3_xml_parser* parser, const xmlChar* text) {
+    ds3_str* str;
+    size_t size;
+
+    if (parser->arena == NULL || text == NULL) {
+        return xml_get_string(text);
+    }
+
+    // The value is allocated along with the ds3_str, and is terminated by the zeroed memory that follows it
+    size = strlen((const char*) text);
+    str = (ds3_str*) ds3_arena_alloc(parser->arena, sizeof(ds3_str) + size + 1);
+    str->value = (char*) (str + 1);
+    str->size = size;
+    memcpy(str->value, text, size);
+    return str;
+}
+
+// Makes room for one more entry in an array that grows one entry at a time.  The capacity doubles
+// whenever the number of entries reaches a power of two, so it does not need to be stored.
+void* _ds3_xml_array_grow(ds3_xml_parser* parser, void* entries, size_t num_entries, size_t entry_size) {
+    if (num_entries == 0) {
+        return _ds3_xml_parser_alloc(parser, entry_size);
+    }
+    if ((num_entries & (num_entries - 1)) == 0) {
+        void* grown_entries;
+        if (parser->arena == NULL) {
+            return g_realloc(entries, num_entries * 2 * entry_size);
+        }
+        grown_entries = ds3_arena_alloc(parser->arena, num_entries * 2 * entry_size);
+        memcpy(grown_entries, entries, num_entries * entry_size);
+        return grown_entries;
+    }
+    return entries;
+}
+
+static ds3_xml_parser_frame* _ds3_xml_parser_current_frame(ds3_xml_parser* parser) {
+    return &g_array_index(parser->frames, ds3_xml_parser_frame, parser->frames->len - 1);
+}
+
+static void _ds3_xml_parser_push(ds3_xml_parser* parser, const ds3_xml_struct_parser* struct_parser, void* response, int member, bool collect_text) {
+    ds3_xml_parser_frame frame;
+
+    frame.struct_parser = struct_parser;
+    frame.response = response;
+    frame.member = member;
+    frame.collect_text = collect_text;
+    g_array_append_val(parser->frames, frame);
+
+    if (collect_text) {
+        g_string_truncate(parser->text, 0);
+    }
+}
+
+// The text of the element that is starting is the value of the member, or of an entry of an array member
+void _ds3_xml_parser_push_text(ds3_xml_parser* parser, int member) {
+    const ds3_xml_parser_frame* parent = _ds3_xml_parser_current_frame(parser);
+    _ds3_xml_parser_push(parser, parent->struct_parser, parent->response, member, true);
+}
+
+// The children of the element that is starting are the entries of the array member
+void _ds3_xml_parser_push_list(ds3_xml_parser* parser, int member) {
+    const ds3_xml_parser_frame* parent = _ds3_xml_parser_current_frame(parser);
+    _ds3_xml_parser_push(parser, parent->struct_parser, parent->response, member, false);
+}
+
+// The element that is starting populates the struct
+void _ds3_xml_parser_push_struct(ds3_xml_parser* parser, const ds3_xml_struct_parser* struct_parser, void* response, int num_attributes, const xmlChar** attributes) {
+    int index;
+
+    _ds3_xml_parser_push(parser, struct_parser, response, -1, false);
+
+    if (struct_parser->parse_attribute == NULL) {
+        return;
+    }
+    // Each attribute is a localname, prefix, URI, value and end of value
+    for (index = 0; index < num_attributes; index++) {
+        const xmlChar** attribute = attributes + index * 5;
+        xmlChar* value = NULL;
+        if (attribute[4] > attribute[3]) {
+            value = xmlStrndup(attribute[3], (int) (attribute[4] - attribute[3]));
+        }
+        struct_parser->parse_attribute(parser, response, attribute[0], value);
+        xmlFree(value);
+    }
+}
+
+// The element that is starting, and all of its children, are ignored
+void _ds3_xml_parser_skip(ds3_xml_parser* parser) {
+    _ds3_xml_parser_push(parser, NULL, NULL, -1, false);
+}
+
+static void _ds3_xml_parser_fail(ds3_xml_parser* parser, const char* message) {
+    parser->error = ds3_create_error(DS3_ERROR_INVALID_XML, message);
+    xmlStopParser(parser->context);
+}
+
+static void _ds3_xml_parser_start_element(void* user_data, const xmlChar* localname, const xmlChar* prefix, const xmlChar* uri,
+                                          int num_namespaces, const xmlChar** namespaces,
+                                          int num_attributes, int num_defaulted, const xmlChar** attributes) {
+    ds3_xml_parser* parser = (ds3_xml_parser*) user_data;
+    const ds3_xml_parser_frame* parent;
+
+    if (parser->error != NULL) {
+        return;
+    }
+
+    if (parser->frames->len == 0) {
+        if (element_equal(localname, parser->root_parser->element_name) == false) {
+            char* message = g_strconcat("Expected the root element to be '", parser->root_parser->element_name, "'.  The actual root element is: ", (const char*) localname, NULL);
+            _ds3_xml_parser_fail(parser, message);
+            g_free(message);
+            return;
+        }
+        parser->root = _ds3_xml_parser_alloc(parser, parser->root_parser->size);
+        if (parser->arena != NULL) {
+            *(ds3_arena**) ((char*) parser->root + parser->root_parser->arena_offset) = parser->arena;
+        }
+        _ds3_xml_parser_push_struct(parser, parser->root_parser, parser->root, num_attributes, attributes);
+        return;
+    }
+
+    parent = _ds3_xml_parser_current_frame(parser);
+    if (parent->struct_parser == NULL || parent->collect_text || parent->struct_parser->parse_element == NULL) {
+        _ds3_xml_parser_skip(parser);
+    } else {
+        parent->struct_parser->parse_element(parser, parent->response, parent->member, localname, num_attributes, attributes);
+    }
+}
+
+static void _ds3_xml_parser_end_element(void* user_data, const xmlChar* localname, const xmlChar* prefix, const xmlChar* uri) {
+    ds3_xml_parser* parser = (ds3_xml_parser*) user_data;
+    const ds3_xml_parser_frame* frame;
+
+    if (parser->error != NULL) {
+        return;
+    }
+
+    frame = _ds3_xml_parser_current_frame(parser);
+    if (frame->collect_text) {
+        const xmlChar* text = parser->text->len == 0 ? NULL : (const xmlChar*) parser->text->str;
+        frame->struct_parser->parse_text(parser, frame->response, frame->member, text);
+    }
+    g_array_set_size(parser->frames, parser->frames->len - 1);
+}
+
+static void _ds3_xml_parser_characters(void* user_data, const xmlChar* text, int length) {
+    ds3_xml_parser* parser = (ds3_xml_parser*) user_data;
+
+    if (parser->error == NULL && parser->frames->len > 0 && _ds3_xml_parser_current_frame(parser)->collect_text) {
+        g_string_append_len(parser->text, (const gchar*) text, length);
+    }
+}
+
+static void _ds3_xml_parser_error(void* user_data, xmlErrorPtr xml_error) {
+    ds3_xml_parser* parser = (ds3_xml_parser*) user_data;
+    char* message;
+
+    if (parser->error != NULL || xml_error->level == XML_ERR_WARNING) {
+        return;
+    }
+
+    message = g_strconcat("Failed to parse response document: ", xml_error->message, NULL);
+    _ds3_xml_parser_fail(parser, g_strchomp(message));
+    g_free(message);
+}
+
+ds3_xml_parser* _ds3_xml_parser_init(const ds3_client* client, const ds3_xml_struct_parser* root_parser) {
+    xmlSAXHandler handler;
+    ds3_xml_parser* parser = g_new0(ds3_xml_parser, 1);
+
+    memset(&handler, 0, sizeof(xmlSAXHandler));
+    handler.initialized = XML_SAX2_MAGIC;
+    handler.startElementNs = _ds3_xml_parser_start_element;
+    handler.endElementNs = _ds3_xml_parser_end_element;
+    handler.characters = _ds3_xml_parser_characters;
+    handler.cdataBlock = _ds3_xml_parser_characters;
+    handler.serror = _ds3_xml_parser_error;
+
+    parser->client = client;
+    parser->root_parser = root_parser;
+    if (client != NULL && client->response_arena) {
+        parser->arena = ds3_arena_init();
+    }
+    parser->frames = g_array_new(FALSE, FALSE, sizeof(ds3_xml_parser_frame));
+    parser->text = g_string_new(NULL);
+    parser->context = xmlCreatePushParserCtxt(&handler, parser, NULL, 0, NULL);
+    xmlCtxtUseOptions(parser->context, XML_PARSE_HUGE);
+
+    return parser;
+}
+
+// Response body callback that feeds the parser.  Stops the transfer as soon as the body fails to parse.
+size_t _ds3_xml_parser_load(void* buffer, size_t size, size_t nmemb, void* user_data) {
+    ds3_xml_parser* parser = (ds3_xml_parser*) user_data;
+    size_t to_read = size * nmemb;
+
+    if (parser->error == NULL && xmlParseChunk(parser->context, (const char*) buffer, (int) to_read, 0) != 0 && parser->error == NULL) {
+        _ds3_xml_parser_fail(parser, "Failed to parse response document");
+    }
+    if (parser->error != NULL) {
+        return 0;
+    }
+    return to_read;
+}
+
+// Frees the parser along with any partially populated response, without completing the parse
+void _ds3_xml_parser_free(ds3_xml_parser* parser) {
+    if (parser->root != NULL) {
+        parser->root_parser->free(parser->root);
+    } else {
+        ds3_arena_free(parser->arena);
+    }
+    ds3_error_free(parser->error);
+
+    xmlFreeParserCtxt(parser->context);
+    g_array_free(parser->frames, TRUE);
+    g_string_free(parser->text, TRUE);
+    g_free(parser);
+}
+
+// Completes the parse of the response body and frees the parser.  On success the populated root struct is
+// returned in _response, otherwise the parse error, or the request error, is returned.
+ds3_error* _ds3_xml_parser_finish(ds3_xml_parser* parser, ds3_error* error, void** _response) {
+    if (error == NULL && parser->error == NULL) {
+        if (xmlParseChunk(parser->context, NULL, 0, 1) != 0 && parser->error == NULL) {
+            _ds3_xml_parser_fail(parser, "Failed to parse response document");
+        } else if (parser->root == NULL && parser->error == NULL) {
+            _ds3_xml_parser_fail(parser, "Failed to parse response document.  The response is empty");
+        }
+    }
+
+    if (parser->error != NULL) {
+        // The request error, if any, is the transfer being stopped by the parser
+        ds3_error_free(error);
+        error = parser->error;
+    }
+
+    if (error == NULL) {
+        *_response = parser->root;
+        parser->root = NULL;
+        parser->arena = NULL;
+    }
+    parser->error = NULL;
+
+    _ds3_xml_parser_free(parser);
+
+    return error;
+}
+
@@ -70,6 +70,11 @@ public class CCodeGeneratorAmazonS3Requests_Test {
         assertTrue(output.contains("    return _internal_request_dispatcher(client, request, NULL, NULL, NULL, NULL, NULL);"));
 
         assertTrue(output.contains("}"));
+
+        assertTrue(output.contains("ds3_error* ds3_delete_bucket_request_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void (*on_complete)(ds3_error* error, void* on_complete_data), void* on_complete_data) {"));
+        assertTrue(output.contains("    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_NONE);"));
+        assertTrue(output.contains("    async_request->on_complete_without_response = on_complete;"));
+        assertTrue(output.contains("    return _internal_async_request_dispatcher(loop, client, request, async_request, NULL, NULL, NULL, NULL);"));
     }
 
     @Test
@@ -96,7 +101,8 @@ public class CCodeGeneratorAmazonS3Requests_Test {
 
         assertTrue(output.contains("ds3_error* ds3_get_service_request(const ds3_client* client, const ds3_request* request, ds3_list_all_my_buckets_result_response** response) {"));
 
-        assertTrue(output.contains("    return _parse_top_level_ds3_list_all_my_buckets_result_response(client, request, response, xml_blob);"));
+        assertTrue(output.contains("    parser = _ds3_xml_parser_init(client, &_ds3_list_all_my_buckets_result_response_parser);"));
+        assertTrue(output.contains("    return _ds3_xml_parser_finish(parser, error, (void**) response);"));
 
         assertTrue(output.contains("}"));
     }
@@ -120,7 +126,8 @@ public class CCodeGeneratorAmazonS3Requests_Test {
         assertTrue(output.contains("        return ds3_create_error(DS3_ERROR_MISSING_ARGS, \"The bucket name parameter is required.\");"));
         assertTrue(output.contains("    }"));
 
-        assertTrue(output.contains("    return _parse_top_level_ds3_list_bucket_result_response(client, request, response, xml_blob);"));
+        assertTrue(output.contains("    parser = _ds3_xml_parser_init(client, &_ds3_list_bucket_result_response_parser);"));
+        assertTrue(output.contains("    return _ds3_xml_parser_finish(parser, error, (void**) response);"));
 
         assertTrue(output.contains("}"));
     }
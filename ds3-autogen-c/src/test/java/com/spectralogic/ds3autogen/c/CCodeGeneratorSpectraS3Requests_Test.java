@@ -89,7 +89,9 @@ public class CCodeGeneratorSpectraS3Requests_Test {
         final String output = new String(bstream.toByteArray());
 
         assertTrue(output.contains("ds3_error* ds3_get_system_information_spectra_s3_request(const ds3_client* client, const ds3_request* request, ds3_system_information_response** response) {"));
-        assertTrue(output.contains("    return _parse_top_level_ds3_system_information_response(client, request, response, xml_blob);"));
+        assertTrue(output.contains("    parser = _ds3_xml_parser_init(client, &_ds3_system_information_response_parser);"));
+        assertTrue(output.contains("    error = _internal_request_dispatcher(client, request, parser, _ds3_xml_parser_load, NULL, NULL, NULL);"));
+        assertTrue(output.contains("    return _ds3_xml_parser_finish(parser, error, (void**) response);"));
         assertTrue(output.contains("}"));
     }
 
@@ -117,7 +119,9 @@ public class CCodeGeneratorSpectraS3Requests_Test {
         assertTrue(output.contains("        return ds3_create_error(DS3_ERROR_MISSING_ARGS, \"The resource type parameter is required.\");"));
         assertTrue(output.contains("    }"));
 
-        assertTrue(output.contains("    return _parse_top_level_ds3_bucket_response(client, request, response, xml_blob);"));
+        assertTrue(output.contains("    parser = _ds3_xml_parser_init(client, &_ds3_bucket_response_parser);"));
+        assertTrue(output.contains("    error = _internal_request_dispatcher(client, request, parser, _ds3_xml_parser_load, NULL, NULL, NULL);"));
+        assertTrue(output.contains("    return _ds3_xml_parser_finish(parser, error, (void**) response);"));
         assertTrue(output.contains("}"));
     }
 
@@ -137,25 +141,19 @@ public class CCodeGeneratorSpectraS3Requests_Test {
         final String expectedOutput =
             "ds3_error* ds3_get_buckets(const ds3_client* client, const ds3_request* request, ds3_bucket_list_response** response) {" + "\n"
           + "    ds3_error* error;"                                                                                                                      + "\n"
-          + "    GByteArray* xml_blob;"                                                                                                                  + "\n"
+          + "    ds3_xml_parser* parser;"                                                                                                                + "\n"
           + "    ds3_string_multimap* return_headers = NULL;"                                                                                            + "\n"
           + "\n"
           + "    if (request->path->size < 2) {"                                                                                                         + "\n"
           + "        return ds3_create_error(DS3_ERROR_MISSING_ARGS, \"The resource type parameter is required.\");"                                     + "\n"
           + "    }"                                                                                                                                      + "\n"
           + "\n"
-          + "    xml_blob = g_byte_array_new();"                                                                                                         + "\n"
-          + "    error = _internal_request_dispatcher(client, request, xml_blob, ds3_load_buffer, NULL, NULL, &return_headers);"                         + "\n"
-          + "    if (error != NULL) {"                                                                                                                   + "\n"
-          + "        ds3_string_multimap_free(return_headers);"                                                                                          + "\n"
-          + "        g_byte_array_free(xml_blob, TRUE);"                                                                                                 + "\n"
-          + "        return error;"                                                                                                                      + "\n"
-          + "    }"                                                                                                                                      + "\n"
-          + "\n"
-          + "    error = _parse_top_level_ds3_bucket_list_response(client, request, response, xml_blob);"                                                + "\n"
+          + "    parser = _ds3_xml_parser_init(client, &_ds3_bucket_list_response_parser);"                                                              + "\n"
+          + "    error = _internal_request_dispatcher(client, request, parser, _ds3_xml_parser_load, NULL, NULL, &return_headers);"                      + "\n"
+          + "    error = _ds3_xml_parser_finish(parser, error, (void**) response);"                                                                      + "\n"
           + "\n"
           + "    if (error == NULL) {"                                                                                                                   + "\n"
-          + "        (*response)->paging = _parse_paging_headers(return_headers);"                                                                       + "\n"
+          + "        (*response)->paging = _parse_paging_headers((*response)->arena, return_headers);"                                                                       + "\n"
           + "    }"                                                                                                                                      + "\n"
           + "    ds3_string_multimap_free(return_headers);"                                                                                              + "\n"
           + "\n"
@@ -164,6 +162,40 @@ public class CCodeGeneratorSpectraS3Requests_Test {
         assertEquals(expectedOutput, output);
     }
 
+    @Test
+    public void testGenerateSpectraS3GetBucketsAsyncRequest() throws TemplateModelException, IOException {
+        final Map<String,Object> testMap = new HashMap<>();
+        final Request testRequest = RequestConverter.toRequest(Ds3ModelFixtures.getBucketsSpectraS3Request(), new Ds3DocSpecEmptyImpl());
+        testMap.put("requestEntry", testRequest);
+
+        final CCodeGenerator codeGenerator = new CCodeGenerator();
+        final TestFileUtilsImpl fileUtils = new TestFileUtilsImpl();
+        codeGenerator.processTemplate(testMap, "request-templates/AsyncRequest.ftl", fileUtils.getOutputStream());
+
+        final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
+        final String output = new String(bstream.toByteArray());
+
+        final String expectedOutput = "\n"
+          + "ds3_error* ds3_get_buckets_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void (*on_complete)(ds3_error* error, ds3_bucket_list_response* response, void* on_complete_data), void* on_complete_data) {" + "\n"
+          + "    ds3_async_request* async_request;"                                                                                                      + "\n"
+          + "\n"
+          + "    if (request->path->size < 2) {"                                                                                                         + "\n"
+          + "        return ds3_create_error(DS3_ERROR_MISSING_ARGS, \"The resource type parameter is required.\");"                                     + "\n"
+          + "    }"                                                                                                                                      + "\n"
+          + "\n"
+          + "    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_PARSED);"                                                                + "\n"
+          + "    async_request->on_complete = (void (*)(ds3_error*, void*, void*)) on_complete;"                                                         + "\n"
+          + "    async_request->parser = _ds3_xml_parser_init(client, &_ds3_bucket_list_response_parser);"                                               + "\n"
+          + "    async_request->has_paging = True;"                                                                                                      + "\n"
+          + "    async_request->paging_offset = offsetof(ds3_bucket_list_response, paging);"                                                             + "\n"
+          + "    async_request->on_complete_data = on_complete_data;"                                                                                    + "\n"
+          + "\n"
+          + "    return _internal_async_request_dispatcher(loop, client, request, async_request, async_request->parser, _ds3_xml_parser_load, NULL, NULL);" + "\n"
+          + "}"                                                                                                                                      + "\n"
+          + "\n";
+        assertEquals(expectedOutput, output);
+    }
+
     @Test
     public void testGenerateSpectraS3GetBucketRequestPrototype() throws IOException, TemplateModelException {
         final TestFileUtilsImpl fileUtils = new TestFileUtilsImpl();
@@ -197,6 +229,23 @@ public class CCodeGeneratorSpectraS3Requests_Test {
         assertEquals(expectedOutput, output);
     }
 
+    @Test
+    public void testGenerateSpectraS3GetBucketsAsyncRequestPrototype() throws IOException, TemplateModelException {
+        final TestFileUtilsImpl fileUtils = new TestFileUtilsImpl();
+        final Map<String,Object> testMap = new HashMap<>();
+        final Request requestEntry = RequestConverter.toRequest(Ds3ModelFixtures.getBucketsSpectraS3Request(), new Ds3DocSpecEmptyImpl());
+        testMap.put("requestEntry", requestEntry);
+
+        final CCodeGenerator codeGenerator = new CCodeGenerator();
+        codeGenerator.processTemplate(testMap, "header-templates/AsyncRequestPrototype.ftl", fileUtils.getOutputStream());
+
+        final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
+        final String output = new String(bstream.toByteArray());
+
+        final String expectedOutput = "\nLIBRARY_API ds3_error* ds3_get_buckets_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void (*on_complete)(ds3_error* error, ds3_bucket_list_response* response, void* on_complete_data), void* on_complete_data);";
+        assertEquals(expectedOutput, output);
+    }
+
     @Test
     public void testHeadObjectRequest() throws IOException, ParseException, TemplateModelException {
         final String inputSpecFile = "/input/HeadObjectRequest.xml";
@@ -238,5 +287,9 @@ public class CCodeGeneratorSpectraS3Requests_Test {
                 "\n" +
                 "    return error;\n" +
                 "}"));
+
+        assertTrue(output.contains("ds3_error* ds3_head_object_request_async(ds3_event_loop* loop, const ds3_client* client, const ds3_request* request, void (* on_complete)(ds3_error* error, ds3_head_object_response* response, void* on_complete_data), void* on_complete_data) {"));
+        assertTrue(output.contains("    async_request = _ds3_async_request_init(client, ASYNC_RESPONSE_HEAD_OBJECT);"));
+        assertTrue(output.contains("    return _internal_async_request_dispatcher(loop, client, request, async_request, NULL, NULL, NULL, NULL);"));
     }
 }
@@ -101,7 +101,7 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        final String expectedOutput = "static ds3_job_status _match_ds3_job_status(const ds3_log* log, const xmlChar* text) {" + "\n"
+        final String expectedOutput = "ds3_job_status _match_ds3_job_status(const ds3_log* log, const xmlChar* text) {" + "\n"
                                     + "    if (xmlStrcmp(text, (const xmlChar*) \"IN_PROGRESS\") == 0) {" + "\n"
                                     + "        return DS3_JOB_STATUS_IN_PROGRESS;" + "\n"
                                     + "    } else if (xmlStrcmp(text, (const xmlChar*) \"COMPLETED\") == 0) {" + "\n"
@@ -251,6 +251,48 @@ public class CCodeGenerator_Test {
         assertEquals(expectedOutput, output);
     }
 
+    @Test
+    public void testTopLevelFreeTypedefStruct() throws IOException, ParseException, TemplateModelException {
+        final TestFileUtilsImpl fileUtils = new TestFileUtilsImpl();
+        final Map<String,Object> testMap = new HashMap<>();
+        final Struct structEntry = new Struct("ds3_bucket_response", "Data",
+                ImmutableList.of(
+                        new StructMember( new FreeableType("ds3_str", false), "id"),
+                        new StructMember( new FreeableType("ds3_str", false), "name")
+                ), true, false, false, false);
+        testMap.put("structEntry", structEntry);
+
+        final CCodeGenerator codeGenerator = new CCodeGenerator();
+        codeGenerator.processTemplate(testMap, "source-templates/FreeStruct.ftl", fileUtils.getOutputStream());
+
+        final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
+        final String output = new String(bstream.toByteArray());
+
+        final String expectedOutput = "void ds3_bucket_response_free(ds3_bucket_response* response) {" + "\n"
+                                    + "    if (response == NULL) {" + "\n"
+                                    + "        return;" + "\n"
+                                    + "    }" + "\n"
+                                    + "\n"
+                                    + "    if (response->arena != NULL) {" + "\n"
+                                    + "        ds3_arena_free(response->arena);" + "\n"
+                                    + "        return;" + "\n"
+                                    + "    }" + "\n"
+                                    + "\n"
+                                    + "    ds3_str_free(response->id);" + "\n"
+                                    + "    ds3_str_free(response->name);" + "\n"
+                                    + "\n"
+                                    + "    g_free(response);" + "\n"
+                                    + "}" + "\n";
+
+        assertEquals(expectedOutput, output);
+
+        final TestFileUtilsImpl typedefFileUtils = new TestFileUtilsImpl();
+        codeGenerator.processTemplate(testMap, "header-templates/TypedefStruct.ftl", typedefFileUtils.getOutputStream());
+        final String typedefOutput = new String(((ByteArrayOutputStream) typedefFileUtils.getOutputStream()).toByteArray());
+
+        assertTrue(typedefOutput.contains("    ds3_str* name;\n    ds3_arena* arena;\n}ds3_bucket_response;"));
+    }
+
     @Test
     public void testComplexFreeTypedefStruct() throws IOException, ParseException, TemplateModelException {
         final String inputSpecFile = "/input/ComplexTypedefStruct.xml";
@@ -346,47 +388,52 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        assertTrue(output.contains("static ds3_error* _parse_top_level_ds3_bucket_response(const ds3_client* client, const ds3_request* request, ds3_bucket_response** _response, GByteArray* xml_blob) {"));
-        assertTrue(output.contains("    xmlNodePtr child_node;"));
-        assertTrue(output.contains("    ds3_error* error;"));
-        assertTrue(output.contains("    ds3_bucket_response* response;"));
-
-        assertTrue(output.contains("    error = _get_request_xml_nodes(xml_blob, &doc, &root, \"Data\");"));
-        assertTrue(output.contains("    if (error != NULL) {"));
-        assertTrue(output.contains("        return error;"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    response = g_new0(ds3_bucket_response, 1)"));
-        assertTrue(output.contains("    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {"));
-        assertTrue(output.contains("        if (element_equal(child_node, \"CreationDate\")) {"));
-        assertTrue(output.contains("            response->creation_date = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"DataPolicyId\")) {"));
-        assertTrue(output.contains("            response->data_policy_id = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"Id\")) {"));
-        assertTrue(output.contains("            response->id = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"LastPreferredChunkSizeInBytes\")) {"));
-        assertTrue(output.contains("            response->last_preferred_chunk_size_in_bytes = xml_get_uint64(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"LogicalUsedCapacity\")) {"));
-        assertTrue(output.contains("            response->logical_used_capacity = xml_get_uint64(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"Name\")) {"));
-        assertTrue(output.contains("            response->name = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"UserId\")) {"));
-        assertTrue(output.contains("            response->user_id = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else {"));
-        assertTrue(output.contains("            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_bucket_response [%s]\\n\", child_node->name, root->name);"));
-        assertTrue(output.contains("        }"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    xmlFreeDoc(doc);"));
-
-        assertTrue(output.contains("    if (error == NULL) {"));
-        assertTrue(output.contains("        *_response = response;"));
+        assertTrue(output.contains("static void _parse_ds3_bucket_response_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {"));
+        assertTrue(output.contains("    if (element_equal(element, \"CreationDate\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 0);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"DataPolicyId\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 1);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"Id\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 2);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"LastPreferredChunkSizeInBytes\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 3);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"LogicalUsedCapacity\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 4);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"Name\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 5);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"UserId\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 6);"));
         assertTrue(output.contains("    } else {"));
-        assertTrue(output.contains("        ds3_bucket_response_free(response);"));
+        assertTrue(output.contains("        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_bucket_response\\n\", element);"));
+        assertTrue(output.contains("        _ds3_xml_parser_skip(parser);"));
         assertTrue(output.contains("    }"));
 
-        assertTrue(output.contains("    return error;"));
-        assertTrue(output.contains("}"));
+        assertTrue(output.contains("static void _parse_ds3_bucket_response_text(ds3_xml_parser* parser, void* _response, int member, const xmlChar* text) {"));
+        assertTrue(output.contains("    ds3_bucket_response* response = (ds3_bucket_response*) _response;"));
+        assertTrue(output.contains("    switch (member) {"));
+        assertTrue(output.contains("        case 0:"));
+        assertTrue(output.contains("            response->creation_date = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("            break;"));
+        assertTrue(output.contains("        case 1:"));
+        assertTrue(output.contains("            response->data_policy_id = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("        case 2:"));
+        assertTrue(output.contains("            response->id = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("        case 3:"));
+        assertTrue(output.contains("            response->last_preferred_chunk_size_in_bytes = xml_get_uint64(text);"));
+        assertTrue(output.contains("        case 4:"));
+        assertTrue(output.contains("            response->logical_used_capacity = xml_get_uint64(text);"));
+        assertTrue(output.contains("        case 5:"));
+        assertTrue(output.contains("            response->name = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("        case 6:"));
+        assertTrue(output.contains("            response->user_id = _ds3_xml_parser_get_string(parser, text);"));
+
+        assertTrue(output.contains("const ds3_xml_struct_parser _ds3_bucket_response_parser = {"));
+        assertTrue(output.contains("    \"Data\","));
+        assertTrue(output.contains("    sizeof(ds3_bucket_response),"));
+        assertTrue(output.contains("    _parse_ds3_bucket_response_element,"));
+        assertTrue(output.contains("    _parse_ds3_bucket_response_text,"));
+        assertTrue(output.contains("    (GDestroyNotify) ds3_bucket_response_free"));
+        assertTrue(output.contains("};"));
     }
 
     @Test
@@ -411,43 +458,33 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        assertTrue(output.contains("static ds3_error* _parse_top_level_ds3_list_all_my_buckets_result_response(const ds3_client* client, const ds3_request* request, ds3_list_all_my_buckets_result_response** _response, GByteArray* xml_blob) {"));
-        assertTrue(output.contains("    xmlDocPtr doc;"));
-        assertTrue(output.contains("    xmlNodePtr root;"));
-        assertTrue(output.contains("    xmlNodePtr child_node;"));
-        assertTrue(output.contains("    ds3_error* error;"));
-        assertTrue(output.contains("    ds3_list_all_my_buckets_result_response* response;"));
-
-        assertTrue(output.contains("    error = _get_request_xml_nodes(xml_blob, &doc, &root, \"Data\");"));
-        assertTrue(output.contains("    if (error != NULL) {"));
-        assertTrue(output.contains("        return error;"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {"));
-        assertTrue(output.contains("        if (element_equal(child_node, \"Buckets\")) {"));
-        assertTrue(output.contains("            GPtrArray* buckets_array;"));
-        assertTrue(output.contains("            error = _parse_ds3_bucket_details_response_array(client, doc, child_node, &buckets_array);"));
-        assertTrue(output.contains("            response->buckets = (ds3_bucket_details_response**)buckets_array->pdata;"));
-        assertTrue(output.contains("            response->num_buckets = buckets_array->len;"));
-        assertTrue(output.contains("            g_ptr_array_free(buckets_array, FALSE);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"Owner\")) {"));
-        assertTrue(output.contains("            error = _parse_ds3_user_response(client, doc, child_node, &response->owner);"));
-        assertTrue(output.contains("        } else {"));
-        assertTrue(output.contains("            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_list_all_my_buckets_result_response [%s]\\n\", child_node->name, root->name);"));
-        assertTrue(output.contains("        }"));
-
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    xmlFreeDoc(doc);"));
-
-        assertTrue(output.contains("    if (error == NULL) {"));
-        assertTrue(output.contains("        *_response = response;"));
+        assertTrue(output.contains("static void _parse_ds3_list_all_my_buckets_result_response_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {"));
+        assertTrue(output.contains("    ds3_list_all_my_buckets_result_response* response = (ds3_list_all_my_buckets_result_response*) _response;"));
+
+        assertTrue(output.contains("    if (member == 0) {"));
+        assertTrue(output.contains("        ds3_bucket_details_response* buckets_entry = _ds3_xml_parser_alloc(parser, sizeof(ds3_bucket_details_response));"));
+        assertTrue(output.contains("        response->buckets = _ds3_xml_array_grow(parser, response->buckets, response->num_buckets, sizeof(ds3_bucket_details_response*));"));
+        assertTrue(output.contains("        response->buckets[response->num_buckets++] = buckets_entry;"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_struct(parser, &_ds3_bucket_details_response_parser, buckets_entry, num_attributes, attributes);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"Buckets\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_list(parser, 0);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"Owner\")) {"));
+        assertTrue(output.contains("        response->owner = _ds3_xml_parser_alloc(parser, sizeof(ds3_user_response));"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_struct(parser, &_ds3_user_response_parser, response->owner, num_attributes, attributes);"));
         assertTrue(output.contains("    } else {"));
-        assertTrue(output.contains("        ds3_list_all_my_buckets_result_response_free(response);"));
+        assertTrue(output.contains("        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_list_all_my_buckets_result_response\\n\", element);"));
+        assertTrue(output.contains("        _ds3_xml_parser_skip(parser);"));
         assertTrue(output.contains("    }"));
 
-        assertTrue(output.contains("    return error;"));
-        assertTrue(output.contains("}"));
+        assertTrue(output.contains("const ds3_xml_struct_parser _ds3_list_all_my_buckets_result_response_parser = {"));
+        assertTrue(output.contains("    \"Data\","));
+        assertTrue(output.contains("    sizeof(ds3_list_all_my_buckets_result_response),"));
+        assertTrue(output.contains("    NULL,"));
+        assertTrue(output.contains("    _parse_ds3_list_all_my_buckets_result_response_element,"));
+        assertTrue(output.contains("    (GDestroyNotify) ds3_list_all_my_buckets_result_response_free"));
+        assertTrue(output.contains("};"));
+
+        assertFalse(output.contains("_parse_ds3_list_all_my_buckets_result_response_text"));
     }
 
     @Test
@@ -472,41 +509,43 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        assertTrue(output.contains("static ds3_error* _parse_ds3_blob_response(const ds3_client* client, const xmlDocPtr doc, const xmlNodePtr root, ds3_blob_response** _response) {"));
-        assertTrue(output.contains("    xmlNodePtr child_node;"));
-        assertTrue(output.contains("    ds3_blob_response* response;"));
-
-        assertTrue(output.contains("    response = g_new0(ds3_blob_response, 1);"));
-        assertTrue(output.contains("    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {"));
-        assertTrue(output.contains("        if (element_equal(child_node, \"ByteOffset\")) {"));
-        assertTrue(output.contains("            response->byte_offset = xml_get_uint64(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"Checksum\")) {"));
-        assertTrue(output.contains("            response->checksum = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"ChecksumType\")) {"));
-        assertTrue(output.contains("            xmlChar* text = xmlNodeListGetString(doc, child_node, 1);"));
-        assertTrue(output.contains("            if (text == NULL) {"));
-        assertTrue(output.contains("                continue;"));
-        assertTrue(output.contains("            }"));
-        assertTrue(output.contains("            response->checksum_type = _match_ds3_checksum_type(client->log, text);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"Id\")) {"));
-        assertTrue(output.contains("            response->id = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"Length\")) {"));
-        assertTrue(output.contains("            response->length = xml_get_uint64(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"ObjectId\")) {"));
-        assertTrue(output.contains("            response->object_id = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else {"));
-        assertTrue(output.contains("            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_blob_response [%s]\\n\", child_node->name, root->name);"));
-        assertTrue(output.contains("        }"));
-
-        assertTrue(output.contains("        if (error != NULL) {"));
-        assertTrue(output.contains("            break;"));
-        assertTrue(output.contains("        }"));
+        assertTrue(output.contains("static void _parse_ds3_blob_response_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {"));
+        assertTrue(output.contains("    if (element_equal(element, \"ByteOffset\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 0);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"Checksum\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 1);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"ChecksumType\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 2);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"Id\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 3);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"Length\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 4);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"ObjectId\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 5);"));
+        assertTrue(output.contains("    } else {"));
+        assertTrue(output.contains("        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_blob_response\\n\", element);"));
+        assertTrue(output.contains("        _ds3_xml_parser_skip(parser);"));
         assertTrue(output.contains("    }"));
 
-        assertTrue(output.contains("    *_response = response;"));
-
-        assertTrue(output.contains("    return error;"));
-        assertTrue(output.contains("}"));
+        assertTrue(output.contains("static void _parse_ds3_blob_response_text(ds3_xml_parser* parser, void* _response, int member, const xmlChar* text) {"));
+        assertTrue(output.contains("    ds3_blob_response* response = (ds3_blob_response*) _response;"));
+        assertTrue(output.contains("    switch (member) {"));
+        assertTrue(output.contains("        case 0:"));
+        assertTrue(output.contains("            response->byte_offset = xml_get_uint64(text);"));
+        assertTrue(output.contains("            break;"));
+        assertTrue(output.contains("        case 1:"));
+        assertTrue(output.contains("            response->checksum = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("        case 2:"));
+        assertTrue(output.contains("            if (text != NULL) {"));
+        assertTrue(output.contains("                response->checksum_type = _match_ds3_checksum_type(parser->client->log, text);"));
+        assertTrue(output.contains("            }"));
+        assertTrue(output.contains("        case 3:"));
+        assertTrue(output.contains("            response->id = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("        case 4:"));
+        assertTrue(output.contains("            response->length = xml_get_uint64(text);"));
+        assertTrue(output.contains("        case 5:"));
+        assertTrue(output.contains("            response->object_id = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("    }"));
     }
 
     @Test
@@ -531,26 +570,16 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        assertTrue(output.contains("static ds3_error* _parse_ds3_bucket_details_response_array(const ds3_client* client, const xmlDocPtr doc, const xmlNodePtr root, GPtrArray** _response) {"));
-        assertTrue(output.contains("    ds3_error* error = NULL;"));
-        assertTrue(output.contains("    xmlNodePtr child_node;"));
-        assertTrue(output.contains("    GPtrArray* ds3_bucket_details_response_array = g_ptr_array_new();"));
-
-        assertTrue(output.contains("    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {"));
-        assertTrue(output.contains("        ds3_bucket_details_response* response = NULL;"));
-        assertTrue(output.contains("        error = _parse_ds3_bucket_details_response(client, doc, child_node, &response)"));
-        assertTrue(output.contains("        g_ptr_array_add(ds3_bucket_details_response_array, response);"));
-
-        assertTrue(output.contains("        if (error != NULL) {"));
-        assertTrue(output.contains("            break;"));
-        assertTrue(output.contains("        }"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    *_response = response;"));
+        assertTrue(output.contains("const ds3_xml_struct_parser _ds3_bucket_details_response_parser = {"));
+        assertTrue(output.contains("    sizeof(ds3_bucket_details_response),"));
+        assertTrue(output.contains("    (GDestroyNotify) ds3_bucket_details_response_free"));
 
-        assertTrue(output.contains("    return error;"));
-        assertTrue(output.contains("}"));
+        assertTrue(output.contains("        ds3_bucket_details_response* buckets_entry = _ds3_xml_parser_alloc(parser, sizeof(ds3_bucket_details_response));"));
+        assertTrue(output.contains("        response->buckets = _ds3_xml_array_grow(parser, response->buckets, response->num_buckets, sizeof(ds3_bucket_details_response*));"));
+        assertTrue(output.contains("        response->buckets[response->num_buckets++] = buckets_entry;"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_struct(parser, &_ds3_bucket_details_response_parser, buckets_entry, num_attributes, attributes);"));
 
+        assertFalse(output.contains("_parse_ds3_bucket_details_response_array"));
     }
 
     @Test
@@ -576,8 +605,8 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        assertTrue(output.indexOf("_parse_ds3_bucket_details_response_array") > output.indexOf("_parse_ds3_bucket_response"));
-        assertTrue(output.indexOf("_parse_ds3_list_all_my_buckets_result_response") > output.indexOf("_parse_ds3_bucket_response_array"));
+        assertTrue(output.indexOf("_ds3_list_all_my_buckets_result_response_parser = {") > output.indexOf("_ds3_bucket_details_response_parser = {"));
+        assertTrue(output.indexOf("_ds3_list_all_my_buckets_result_response_parser = {") > output.indexOf("_ds3_user_response_parser = {"));
     }
 
     @Test
@@ -604,11 +633,11 @@ public class CCodeGenerator_Test {
         final String output = new String(bstream.toByteArray());
 
         final Pattern arrayStructParserPattern = Pattern.compile(Pattern.quote(
-                "static ds3_error* _parse_ds3_bucket_details_response_array(const ds3_client* client, const xmlDocPtr doc, const xmlNodePtr root, GPtrArray** _response) {"));
+                "const ds3_xml_struct_parser _ds3_bucket_details_response_parser = {"));
         final Pattern arrayParserPattern = Pattern.compile(Pattern.quote(
-                "static ds3_error* _parse_ds3_user_response(const ds3_client* client, const xmlDocPtr doc, const xmlNodePtr root, ds3_user_response** _response) {"));
+                "const ds3_xml_struct_parser _ds3_user_response_parser = {"));
         final Pattern structParserPattern = Pattern.compile(Pattern.quote(
-                "static ds3_error* _parse_top_level_ds3_list_all_my_buckets_result_response(const ds3_client* client, const ds3_request* request, ds3_list_all_my_buckets_result_response** _response, GByteArray* xml_blob) {"));
+                "const ds3_xml_struct_parser _ds3_list_all_my_buckets_result_response_parser = {"));
 
         final Matcher arrayStructParserMatcher = arrayStructParserPattern.matcher(output);
         final Matcher arrayParserMatcher = arrayParserPattern.matcher(output);
@@ -655,7 +684,94 @@ public class CCodeGenerator_Test {
     }
 
     @Test
-    public void testGenerateCompleteApiContractHeader() throws IOException, TemplateModelException, ParseException {
+    public void testCompleteApiContractRequestsInternalHeader() throws IOException, ParseException, TemplateModelException {
+        final String inputSpecFile = "/input/CompleteApiContract_r3_0_2-6_23_16.xml";
+        final Ds3SpecParser parser = new Ds3SpecParserImpl();
+        final Ds3ApiSpec spec = parser.getSpec(CCodeGenerator_Test.class.getResourceAsStream(inputSpecFile));
+        final CCodeGenerator codeGenerator = new CCodeGenerator();
+
+        final ImmutableList<Request> allRequests = CCodeGenerator.getAllRequests(spec, new Ds3DocSpecEmptyImpl());
+        final ImmutableList<Enum> allEnums = CCodeGenerator.getAllEnums(spec);
+        final ImmutableSet<String> enumNames = EnumHelper.getEnumNamesSet(allEnums);
+        final ImmutableSet<String> embeddedTypes = CCodeGenerator.getEmbeddedTypes(spec, enumNames);
+        final ImmutableSet<String> arrayMemberTypes = CCodeGenerator.getArrayMemberTypes(spec, enumNames);
+        final ImmutableSet<String> responseTypes = RequestHelper.getResponseTypes(allRequests);
+        final ImmutableList<Struct> allStructs = CCodeGenerator.getAllStructs(spec, enumNames, responseTypes, arrayMemberTypes, embeddedTypes, ImmutableSet.of());
+        final Source source = SourceConverter.toSource(allEnums, allStructs, allRequests);
+
+        final TestFileUtilsImpl headerFileUtils = new TestFileUtilsImpl();
+        codeGenerator.processTemplate(source, "header-templates/ds3_requests_internal_h.ftl", headerFileUtils.getOutputStream());
+        final String header = new String(((ByteArrayOutputStream) headerFileUtils.getOutputStream()).toByteArray());
+
+        // Every parser is declared, so that parsers and requests in any of the generated sources can reference it
+        for (final Struct structEntry : source.getStructs()) {
+            assertThat(header.contains("extern const ds3_xml_struct_parser _" + structEntry.getName() + "_parser;"),
+                    is(StructHelper.requiresParser(structEntry)));
+        }
+        assertTrue(header.contains("ds3_job_status _match_ds3_job_status(const ds3_log* log, const xmlChar* text);"));
+        assertTrue(header.contains("ds3_xml_parser* _ds3_xml_parser_init(const ds3_client* client, const ds3_xml_struct_parser* root_parser);"));
+
+        final TestFileUtilsImpl commonFileUtils = new TestFileUtilsImpl();
+        codeGenerator.processTemplate(source, "source-templates/ds3_requests_common.ftl", commonFileUtils.getOutputStream());
+        final String common = new String(((ByteArrayOutputStream) commonFileUtils.getOutputStream()).toByteArray());
+
+        assertTrue(common.contains("#include \"ds3_requests_internal.h\""));
+        assertTrue(common.contains("ds3_job_status _match_ds3_job_status(const ds3_log* log, const xmlChar* text) {"));
+        assertFalse(common.contains("_parser = {"));
+
+        // A partition of the requests contains only its requests
+        final Source requestSource = SourceConverter.toRequestSources(source, 10).get(0);
+        final TestFileUtilsImpl requestsFileUtils = new TestFileUtilsImpl();
+        codeGenerator.processTemplate(requestSource, "source-templates/ds3_requests.ftl", requestsFileUtils.getOutputStream());
+        final String requests = new String(((ByteArrayOutputStream) requestsFileUtils.getOutputStream()).toByteArray());
+
+        assertTrue(requests.contains("#include \"ds3_requests_internal.h\""));
+        assertTrue(requests.contains(requestSource.getRequests().get(0).getName() + "("));
+        assertFalse(requests.contains(source.getRequests().get(10).getName() + "("));
+        assertFalse(requests.contains("_match_ds3_job_status(const ds3_log* log"));
+        assertFalse(requests.contains("STRUCT PARSERS"));
+    }
+
+    @Test
+    public void testConnectionPool() throws IOException, TemplateModelException {
+        final CCodeGenerator codeGenerator = new CCodeGenerator();
+
+        final TestFileUtilsImpl headerFileUtils = new TestFileUtilsImpl();
+        codeGenerator.processTemplate(null, "other-templates/ds3_connection_h.ftl", headerFileUtils.getOutputStream());
+        final String header = new String(((ByteArrayOutputStream) headerFileUtils.getOutputStream()).toByteArray());
+
+        assertTrue(header.contains("} ds3_connection_pool_stats;"));
+        assertTrue(header.contains("ds3_connection_pool* ds3_connection_pool_init_with_size(uint16_t pool_size);"));
+        assertTrue(header.contains("ds3_connection_pool* ds3_connection_pool_init_with_shards(uint16_t pool_size, uint16_t num_shards);"));
+        assertTrue(header.contains("void ds3_connection_pool_get_stats(ds3_connection_pool* pool, ds3_connection_pool_stats* stats);"));
+
+        final TestFileUtilsImpl sourceFileUtils = new TestFileUtilsImpl();
+        codeGenerator.processTemplate(null, "other-templates/ds3_connection_c.ftl", sourceFileUtils.getOutputStream());
+        final String source = new String(((ByteArrayOutputStream) sourceFileUtils.getOutputStream()).toByteArray());
+
+        // The unsharded initializers create a pool with a single shard
+        assertTrue(source.contains("    return ds3_connection_pool_init_with_shards(pool_size, 1);"));
+        assertTrue(source.contains("ds3_connection_pool* ds3_connection_pool_init_with_shards(uint16_t pool_size, uint16_t num_shards) {"));
+        assertTrue(source.contains("    pool->shards = g_new0(ds3_connection_shard, num_shards);"));
+
+        // DNS and TLS sessions are shared by every connection of the pool
+        assertTrue(source.contains("    pool->share = curl_share_init();"));
+        assertTrue(source.contains("    curl_share_setopt(pool->share, CURLSHOPT_LOCKFUNC, _share_lock);"));
+        assertTrue(source.contains("    curl_share_setopt(pool->share, CURLSHOPT_UNLOCKFUNC, _share_unlock);"));
+        assertTrue(source.contains("    curl_share_setopt(pool->share, CURLSHOPT_SHARE, CURL_LOCK_DATA_DNS);"));
+        assertTrue(source.contains("    curl_share_setopt(pool->share, CURLSHOPT_SHARE, CURL_LOCK_DATA_SSL_SESSION);"));
+        assertTrue(source.contains("    curl_easy_setopt(connection, CURLOPT_SHARE, pool->share);"));
+        assertTrue(source.contains("    curl_share_cleanup(pool->share);"));
+
+        // Threads blocked on their home shard steal idle connections from the other shards
+        assertTrue(source.contains("static ds3_connection* _steal(ds3_connection_pool* pool, uint16_t home_index) {"));
+        assertTrue(source.contains("            connection = _steal(pool, home_index);"));
+
+        assertTrue(source.contains("void ds3_connection_pool_get_stats(ds3_connection_pool* pool, ds3_connection_pool_stats* stats) {"));
+    }
+
+    @Test
+    public void testGenerateCompleteApiContractHeader()throws IOException, TemplateModelException, ParseException {
         final String inputSpecFile = "/input/CompleteApiContract_r3_0_2-6_23_16.xml";
         final TestFileUtilsImpl fileUtils = new TestFileUtilsImpl();
         final Ds3SpecParser parser = new Ds3SpecParserImpl();
@@ -765,51 +881,29 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        final String expectedOutput = "static ds3_error* _parse_top_level_ds3_active_job_list_response(const ds3_client* client, const ds3_request* request, ds3_active_job_list_response** _response, GByteArray* xml_blob) {\n" +
-                "    xmlDocPtr doc;\n" +
-                "    xmlNodePtr root;\n" +
-                "    xmlNodePtr child_node;\n" +
-                "    ds3_active_job_list_response* response;\n" +
-                "    ds3_error* error = NULL;\n" +
-                "    GPtrArray* active_jobs_array = g_ptr_array_new();\n" +
-                "\n" +
-                "    error = _get_request_xml_nodes(xml_blob, &doc, &root, \"Data\");\n" +
-                "    if (error != NULL) {\n" +
-                "        return error;\n" +
-                "    }\n" +
-                "\n" +
-                "    response = g_new0(ds3_active_job_list_response, 1);\n" +
+        final String expectedOutput = "static void _parse_ds3_active_job_list_response_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {\n" +
+                "    ds3_active_job_list_response* response = (ds3_active_job_list_response*) _response;\n" +
                 "\n" +
-                "    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {\n" +
-                "        if (element_equal(child_node, \"Job\")) {\n" +
-                "            ds3_active_job_response* active_jobs_response = NULL;\n" +
-                "            error = _parse_ds3_active_job_response(client, doc, child_node, &active_jobs_response);\n" +
-                "            response->active_jobs = (ds3_active_job_response**)active_jobs_array->pdata;\n" +
-                "            g_ptr_array_add(active_jobs_array, active_jobs_response);\n" +
-                "        } else {\n" +
-                "            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_active_job_list_response [%s]\\n\", child_node->name, root->name);\n" +
-                "        }\n" +
-                "\n" +
-                "        if (error != NULL) {\n" +
-                "            break;\n" +
-                "        }\n" +
-                "\n" +
-                "    }\n" +
-                "\n" +
-                "    response->active_jobs = (ds3_active_job_response**)active_jobs_array->pdata;\n" +
-                "    response->num_active_jobs = active_jobs_array->len;\n" +
-                "    g_ptr_array_free(active_jobs_array, FALSE);\n" +
-                "\n" +
-                "    xmlFreeDoc(doc);\n" +
-                "\n" +
-                "    if (error == NULL) {\n" +
-                "        *_response = response;\n" +
+                "    if (element_equal(element, \"Job\")) {\n" +
+                "        ds3_active_job_response* active_jobs_entry = _ds3_xml_parser_alloc(parser, sizeof(ds3_active_job_response));\n" +
+                "        response->active_jobs = _ds3_xml_array_grow(parser, response->active_jobs, response->num_active_jobs, sizeof(ds3_active_job_response*));\n" +
+                "        response->active_jobs[response->num_active_jobs++] = active_jobs_entry;\n" +
+                "        _ds3_xml_parser_push_struct(parser, &_ds3_active_job_response_parser, active_jobs_entry, num_attributes, attributes);\n" +
                 "    } else {\n" +
-                "        ds3_active_job_list_response_free(response);\n" +
+                "        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_active_job_list_response\\n\", element);\n" +
+                "        _ds3_xml_parser_skip(parser);\n" +
                 "    }\n" +
+                "}\n" +
                 "\n" +
-                "    return error;\n" +
-                "}";
+                "const ds3_xml_struct_parser _ds3_active_job_list_response_parser = {\n" +
+                "    \"Data\",\n" +
+                "    sizeof(ds3_active_job_list_response),\n" +
+                "    offsetof(ds3_active_job_list_response, arena),\n" +
+                "    NULL,\n" +
+                "    _parse_ds3_active_job_list_response_element,\n" +
+                "    NULL,\n" +
+                "    (GDestroyNotify) ds3_active_job_list_response_free\n" +
+                "};";
 
         assertTrue(output.contains(expectedOutput));
     }
@@ -836,51 +930,29 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        final String expectedOutput = "static ds3_error* _parse_top_level_ds3_completed_job_list_response(const ds3_client* client, const ds3_request* request, ds3_completed_job_list_response** _response, GByteArray* xml_blob) {\n" +
-                "    xmlDocPtr doc;\n" +
-                "    xmlNodePtr root;\n" +
-                "    xmlNodePtr child_node;\n" +
-                "    ds3_completed_job_list_response* response;\n" +
-                "    ds3_error* error = NULL;\n" +
-                "    GPtrArray* completed_jobs_array = g_ptr_array_new();\n" +
-                "\n" +
-                "    error = _get_request_xml_nodes(xml_blob, &doc, &root, \"Data\");\n" +
-                "    if (error != NULL) {\n" +
-                "        return error;\n" +
-                "    }\n" +
-                "\n" +
-                "    response = g_new0(ds3_completed_job_list_response, 1);\n" +
-                "\n" +
-                "    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {\n" +
-                "        if (element_equal(child_node, \"CompletedJob\")) {\n" +
-                "            ds3_completed_job_response* completed_jobs_response = NULL;\n" +
-                "            error = _parse_ds3_completed_job_response(client, doc, child_node, &completed_jobs_response);\n" +
-                "            response->completed_jobs = (ds3_completed_job_response**)completed_jobs_array->pdata;\n" +
-                "            g_ptr_array_add(completed_jobs_array, completed_jobs_response);\n" +
-                "        } else {\n" +
-                "            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_completed_job_list_response [%s]\\n\", child_node->name, root->name);\n" +
-                "        }\n" +
-                "\n" +
-                "        if (error != NULL) {\n" +
-                "            break;\n" +
-                "        }\n" +
+        final String expectedOutput = "static void _parse_ds3_completed_job_list_response_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {\n" +
+                "    ds3_completed_job_list_response* response = (ds3_completed_job_list_response*) _response;\n" +
                 "\n" +
-                "    }\n" +
-                "\n" +
-                "    response->completed_jobs = (ds3_completed_job_response**)completed_jobs_array->pdata;\n" +
-                "    response->num_completed_jobs = completed_jobs_array->len;\n" +
-                "    g_ptr_array_free(completed_jobs_array, FALSE);\n" +
-                "\n" +
-                "    xmlFreeDoc(doc);\n" +
-                "\n" +
-                "    if (error == NULL) {\n" +
-                "        *_response = response;\n" +
+                "    if (element_equal(element, \"CompletedJob\")) {\n" +
+                "        ds3_completed_job_response* completed_jobs_entry = _ds3_xml_parser_alloc(parser, sizeof(ds3_completed_job_response));\n" +
+                "        response->completed_jobs = _ds3_xml_array_grow(parser, response->completed_jobs, response->num_completed_jobs, sizeof(ds3_completed_job_response*));\n" +
+                "        response->completed_jobs[response->num_completed_jobs++] = completed_jobs_entry;\n" +
+                "        _ds3_xml_parser_push_struct(parser, &_ds3_completed_job_response_parser, completed_jobs_entry, num_attributes, attributes);\n" +
                 "    } else {\n" +
-                "        ds3_completed_job_list_response_free(response);\n" +
+                "        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_completed_job_list_response\\n\", element);\n" +
+                "        _ds3_xml_parser_skip(parser);\n" +
                 "    }\n" +
+                "}\n" +
                 "\n" +
-                "    return error;\n" +
-                "}";
+                "const ds3_xml_struct_parser _ds3_completed_job_list_response_parser = {\n" +
+                "    \"Data\",\n" +
+                "    sizeof(ds3_completed_job_list_response),\n" +
+                "    offsetof(ds3_completed_job_list_response, arena),\n" +
+                "    NULL,\n" +
+                "    _parse_ds3_completed_job_list_response_element,\n" +
+                "    NULL,\n" +
+                "    (GDestroyNotify) ds3_completed_job_list_response_free\n" +
+                "};";
 
         assertTrue(output.contains(expectedOutput));
     }
@@ -907,51 +979,29 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        final String expectedOutput = "static ds3_error* _parse_top_level_ds3_canceled_job_list_response(const ds3_client* client, const ds3_request* request, ds3_canceled_job_list_response** _response, GByteArray* xml_blob) {\n" +
-                "    xmlDocPtr doc;\n" +
-                "    xmlNodePtr root;\n" +
-                "    xmlNodePtr child_node;\n" +
-                "    ds3_canceled_job_list_response* response;\n" +
-                "    ds3_error* error = NULL;\n" +
-                "    GPtrArray* canceled_jobs_array = g_ptr_array_new();\n" +
-                "\n" +
-                "    error = _get_request_xml_nodes(xml_blob, &doc, &root, \"Data\");\n" +
-                "    if (error != NULL) {\n" +
-                "        return error;\n" +
-                "    }\n" +
-                "\n" +
-                "    response = g_new0(ds3_canceled_job_list_response, 1);\n" +
+        final String expectedOutput = "static void _parse_ds3_canceled_job_list_response_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {\n" +
+                "    ds3_canceled_job_list_response* response = (ds3_canceled_job_list_response*) _response;\n" +
                 "\n" +
-                "    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {\n" +
-                "        if (element_equal(child_node, \"CanceledJob\")) {\n" +
-                "            ds3_canceled_job_response* canceled_jobs_response = NULL;\n" +
-                "            error = _parse_ds3_canceled_job_response(client, doc, child_node, &canceled_jobs_response);\n" +
-                "            response->canceled_jobs = (ds3_canceled_job_response**)canceled_jobs_array->pdata;\n" +
-                "            g_ptr_array_add(canceled_jobs_array, canceled_jobs_response);\n" +
-                "        } else {\n" +
-                "            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_canceled_job_list_response [%s]\\n\", child_node->name, root->name);\n" +
-                "        }\n" +
-                "\n" +
-                "        if (error != NULL) {\n" +
-                "            break;\n" +
-                "        }\n" +
-                "\n" +
-                "    }\n" +
-                "\n" +
-                "    response->canceled_jobs = (ds3_canceled_job_response**)canceled_jobs_array->pdata;\n" +
-                "    response->num_canceled_jobs = canceled_jobs_array->len;\n" +
-                "    g_ptr_array_free(canceled_jobs_array, FALSE);\n" +
-                "\n" +
-                "    xmlFreeDoc(doc);\n" +
-                "\n" +
-                "    if (error == NULL) {\n" +
-                "        *_response = response;\n" +
+                "    if (element_equal(element, \"CanceledJob\")) {\n" +
+                "        ds3_canceled_job_response* canceled_jobs_entry = _ds3_xml_parser_alloc(parser, sizeof(ds3_canceled_job_response));\n" +
+                "        response->canceled_jobs = _ds3_xml_array_grow(parser, response->canceled_jobs, response->num_canceled_jobs, sizeof(ds3_canceled_job_response*));\n" +
+                "        response->canceled_jobs[response->num_canceled_jobs++] = canceled_jobs_entry;\n" +
+                "        _ds3_xml_parser_push_struct(parser, &_ds3_canceled_job_response_parser, canceled_jobs_entry, num_attributes, attributes);\n" +
                 "    } else {\n" +
-                "        ds3_canceled_job_list_response_free(response);\n" +
+                "        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_canceled_job_list_response\\n\", element);\n" +
+                "        _ds3_xml_parser_skip(parser);\n" +
                 "    }\n" +
+                "}\n" +
                 "\n" +
-                "    return error;\n" +
-                "}";
+                "const ds3_xml_struct_parser _ds3_canceled_job_list_response_parser = {\n" +
+                "    \"Data\",\n" +
+                "    sizeof(ds3_canceled_job_list_response),\n" +
+                "    offsetof(ds3_canceled_job_list_response, arena),\n" +
+                "    NULL,\n" +
+                "    _parse_ds3_canceled_job_list_response_element,\n" +
+                "    NULL,\n" +
+                "    (GDestroyNotify) ds3_canceled_job_list_response_free\n" +
+                "};";
 
         assertTrue(output.contains(expectedOutput));
     }
@@ -978,51 +1028,29 @@ public class CCodeGenerator_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        final String expectedOutput = "static ds3_error* _parse_top_level_ds3_job_list_response(const ds3_client* client, const ds3_request* request, ds3_job_list_response** _response, GByteArray* xml_blob) {\n" +
-                "    xmlDocPtr doc;\n" +
-                "    xmlNodePtr root;\n" +
-                "    xmlNodePtr child_node;\n" +
-                "    ds3_job_list_response* response;\n" +
-                "    ds3_error* error = NULL;\n" +
-                "    GPtrArray* jobs_array = g_ptr_array_new();\n" +
-                "\n" +
-                "    error = _get_request_xml_nodes(xml_blob, &doc, &root, \"Jobs\");\n" +
-                "    if (error != NULL) {\n" +
-                "        return error;\n" +
-                "    }\n" +
-                "\n" +
-                "    response = g_new0(ds3_job_list_response, 1);\n" +
-                "\n" +
-                "    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {\n" +
-                "        if (element_equal(child_node, \"Job\")) {\n" +
-                "            ds3_job_response* jobs_response = NULL;\n" +
-                "            error = _parse_ds3_job_response(client, doc, child_node, &jobs_response);\n" +
-                "            response->jobs = (ds3_job_response**)jobs_array->pdata;\n" +
-                "            g_ptr_array_add(jobs_array, jobs_response);\n" +
-                "        } else {\n" +
-                "            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_job_list_response [%s]\\n\", child_node->name, root->name);\n" +
-                "        }\n" +
-                "\n" +
-                "        if (error != NULL) {\n" +
-                "            break;\n" +
-                "        }\n" +
-                "\n" +
-                "    }\n" +
-                "\n" +
-                "    response->jobs = (ds3_job_response**)jobs_array->pdata;\n" +
-                "    response->num_jobs = jobs_array->len;\n" +
-                "    g_ptr_array_free(jobs_array, FALSE);\n" +
-                "\n" +
-                "    xmlFreeDoc(doc);\n" +
+        final String expectedOutput = "static void _parse_ds3_job_list_response_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {\n" +
+                "    ds3_job_list_response* response = (ds3_job_list_response*) _response;\n" +
                 "\n" +
-                "    if (error == NULL) {\n" +
-                "        *_response = response;\n" +
+                "    if (element_equal(element, \"Job\")) {\n" +
+                "        ds3_job_response* jobs_entry = _ds3_xml_parser_alloc(parser, sizeof(ds3_job_response));\n" +
+                "        response->jobs = _ds3_xml_array_grow(parser, response->jobs, response->num_jobs, sizeof(ds3_job_response*));\n" +
+                "        response->jobs[response->num_jobs++] = jobs_entry;\n" +
+                "        _ds3_xml_parser_push_struct(parser, &_ds3_job_response_parser, jobs_entry, num_attributes, attributes);\n" +
                 "    } else {\n" +
-                "        ds3_job_list_response_free(response);\n" +
+                "        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_job_list_response\\n\", element);\n" +
+                "        _ds3_xml_parser_skip(parser);\n" +
                 "    }\n" +
+                "}\n" +
                 "\n" +
-                "    return error;\n" +
-                "}";
+                "const ds3_xml_struct_parser _ds3_job_list_response_parser = {\n" +
+                "    \"Jobs\",\n" +
+                "    sizeof(ds3_job_list_response),\n" +
+                "    offsetof(ds3_job_list_response, arena),\n" +
+                "    NULL,\n" +
+                "    _parse_ds3_job_list_response_element,\n" +
+                "    NULL,\n" +
+                "    (GDestroyNotify) ds3_job_list_response_free\n" +
+                "};";
 
         assertTrue(output.contains(expectedOutput));
     }
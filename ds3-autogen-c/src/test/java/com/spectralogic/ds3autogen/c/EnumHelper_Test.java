@@ -108,4 +108,68 @@ public class EnumHelper_Test {
 
         assertFalse(testEnum.requiresMatcher());
     }
+
+    @Test
+    public void testGenerateMatcherFewValues() {
+        final ImmutableList<Ds3EnumConstant> enumConstants = ImmutableList.of(
+                new Ds3EnumConstant("Alpha", null),
+                new Ds3EnumConstant("Bravo", null));
+        final Enum testEnum = EnumConverter.toEnum(new Ds3Type("TypePrefix", null, null, enumConstants));
+
+        final String expectedOutput = "    if (xmlStrcmp(text, (const xmlChar*) \"ALPHA\") == 0) {" + "\n"
+                + "        return DS3_TYPE_PREFIX_ALPHA;" + "\n"
+                + "    } else if (xmlStrcmp(text, (const xmlChar*) \"BRAVO\") == 0) {" + "\n"
+                + "        return DS3_TYPE_PREFIX_BRAVO;" + "\n"
+                + "    } else {" + "\n"
+                + "        ds3_log_message(log, DS3_ERROR, \"ERROR: Unknown value of '%s'.  Returning DS3_TYPE_PREFIX_ALPHA for safety.\", text);" + "\n"
+                + "        return DS3_TYPE_PREFIX_ALPHA;" + "\n"
+                + "    }";
+        assertThat(EnumHelper.generateMatcher(testEnum), is(expectedOutput));
+    }
+
+    @Test
+    public void testGenerateMatcherManyValues() {
+        final ImmutableList<Ds3EnumConstant> enumConstants = ImmutableList.of(
+                new Ds3EnumConstant("NORMAL", null),
+                new Ds3EnumConstant("OFFLINE", null),
+                new Ds3EnumConstant("ONLINE_PENDING", null),
+                new Ds3EnumConstant("ONLINE_IN_PROGRESS", null),
+                new Ds3EnumConstant("PENDING_INSPECTION", null),
+                new Ds3EnumConstant("UNKNOWN", null),
+                new Ds3EnumConstant("DATA_CHECKPOINT_FAILURE", null),
+                new Ds3EnumConstant("BAD", null),
+                new Ds3EnumConstant("EJECTED", null));
+        final Enum testEnum = EnumConverter.toEnum(new Ds3Type("TapeState", null, null, enumConstants));
+
+        final String expectedOutput = "    static const struct {" + "\n"
+                + "        const char* text;" + "\n"
+                + "        ds3_tape_state value;" + "\n"
+                + "    } values[] = {" + "\n"
+                + "        { \"BAD\", DS3_TAPE_STATE_BAD }," + "\n"
+                + "        { \"DATA_CHECKPOINT_FAILURE\", DS3_TAPE_STATE_DATA_CHECKPOINT_FAILURE }," + "\n"
+                + "        { \"EJECTED\", DS3_TAPE_STATE_EJECTED }," + "\n"
+                + "        { \"NORMAL\", DS3_TAPE_STATE_NORMAL }," + "\n"
+                + "        { \"OFFLINE\", DS3_TAPE_STATE_OFFLINE }," + "\n"
+                + "        { \"ONLINE_IN_PROGRESS\", DS3_TAPE_STATE_ONLINE_IN_PROGRESS }," + "\n"
+                + "        { \"ONLINE_PENDING\", DS3_TAPE_STATE_ONLINE_PENDING }," + "\n"
+                + "        { \"PENDING_INSPECTION\", DS3_TAPE_STATE_PENDING_INSPECTION }," + "\n"
+                + "        { \"UNKNOWN\", DS3_TAPE_STATE_UNKNOWN }" + "\n"
+                + "    };" + "\n"
+                + "    int low = 0;" + "\n"
+                + "    int high = (int) (sizeof(values) / sizeof(values[0])) - 1;" + "\n"
+                + "    while (low <= high) {" + "\n"
+                + "        const int mid = low + (high - low) / 2;" + "\n"
+                + "        const int compare = xmlStrcmp(text, (const xmlChar*) values[mid].text);" + "\n"
+                + "        if (compare == 0) {" + "\n"
+                + "            return values[mid].value;" + "\n"
+                + "        } else if (compare < 0) {" + "\n"
+                + "            high = mid - 1;" + "\n"
+                + "        } else {" + "\n"
+                + "            low = mid + 1;" + "\n"
+                + "        }" + "\n"
+                + "    }" + "\n"
+                + "    ds3_log_message(log, DS3_ERROR, \"ERROR: Unknown value of '%s'.  Returning DS3_TAPE_STATE_NORMAL for safety.\", text);" + "\n"
+                + "    return DS3_TAPE_STATE_NORMAL;";
+        assertThat(EnumHelper.generateMatcher(testEnum), is(expectedOutput));
+    }
 }
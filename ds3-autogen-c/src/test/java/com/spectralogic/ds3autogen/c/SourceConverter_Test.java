@@ -119,4 +119,58 @@ public class SourceConverter_Test {
         assertTrue(filteredEnums.contains(keepEnum2));
         assertFalse(filteredEnums.contains(filterEnum));
     }
+
+    @Test
+    public void testToStructParserSources() {
+        final StructMember member = new StructMember(new FreeableType("ds3_str", false), "name");
+        final Struct smallStruct = new Struct("ds3_small_response", "Small", ImmutableList.of(member, member), false, true, false, false);
+        final Struct largeStruct = new Struct("ds3_large_response", "Large", ImmutableList.of(member, member, member, member, member), true, false, false, false);
+        final Struct unparsedStruct = new Struct("ds3_unparsed_response", ImmutableList.of(member));
+        final Source source = new Source(ImmutableList.of(),
+                ImmutableSet.of(),
+                ImmutableSet.of(),
+                ImmutableList.of(smallStruct, smallStruct, unparsedStruct, largeStruct, smallStruct),
+                ImmutableList.of());
+
+        final ImmutableList<Source> structParserSources = SourceConverter.toStructParserSources(source, 4);
+
+        assertThat(structParserSources.size(), is(3));
+        assertThat(structParserSources.get(0).getStructs(), is(ImmutableList.of(smallStruct, smallStruct)));
+        assertThat(structParserSources.get(1).getStructs(), is(ImmutableList.of(largeStruct)));
+        assertThat(structParserSources.get(2).getStructs(), is(ImmutableList.of(smallStruct)));
+        assertTrue(structParserSources.stream().allMatch(structParserSource -> structParserSource.getRequests().isEmpty()));
+    }
+
+    @Test
+    public void testToRequestSources() {
+        final Request request = new Request("GetPoolRequestHandler",
+                Classification.spectrads3,
+                HttpVerb.GET,
+                null,
+                null,
+                null,
+                ImmutableList.of(),
+                ImmutableList.of(),
+                ImmutableList.of(),
+                false,
+                false,
+                null,
+                "ds3_pool",
+                false,
+                null);
+        final Struct struct = new Struct("ds3_pool_response", "Pool", ImmutableList.of(), true, false, false, false);
+        final Source source = new Source(ImmutableList.of(),
+                ImmutableSet.of(),
+                ImmutableSet.of(),
+                ImmutableList.of(struct),
+                ImmutableList.of(request, request, request, request, request));
+
+        final ImmutableList<Source> requestSources = SourceConverter.toRequestSources(source, 2);
+
+        assertThat(requestSources.size(), is(3));
+        assertThat(requestSources.get(0).getRequests().size(), is(2));
+        assertThat(requestSources.get(1).getRequests().size(), is(2));
+        assertThat(requestSources.get(2).getRequests().size(), is(1));
+        assertTrue(requestSources.stream().allMatch(requestSource -> requestSource.getStructs().isEmpty()));
+    }
 }
@@ -145,15 +145,38 @@ public class StructHelper_Test {
         final Struct testStruct = StructConverter.toStruct(ds3Type, enumNames.build(), ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of());
         final String output = StructHelper.generateResponseParser(testStruct.getName(), testStruct.getStructMembers());
 
-        assertTrue(output.contains("    if (element_equal(child_node, \"BoolElement\")) {"));
-        assertTrue(output.contains("        response->bool_element = xml_get_bool(client->log, doc, child_node);"));
-        assertTrue(output.contains("    } else if (element_equal(child_node, \"BeanElement\")) {"));
-        assertTrue(output.contains("        error = _parse_ds3_user_api_bean_response(client, doc, child_node, &response->bean_element);"));
+        assertTrue(output.contains("    if (element_equal(element, \"BoolElement\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 0);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"BeanElement\")) {"));
+        assertTrue(output.contains("        response->bean_element = _ds3_xml_parser_alloc(parser, sizeof(ds3_user_api_bean_response));"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_struct(parser, &_ds3_user_api_bean_response_parser, response->bean_element, num_attributes, attributes);"));
         assertTrue(output.contains("    } else {"));
-        assertTrue(output.contains("        ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_test_ds3_type_response [%s]\\n\", child_node->name, root->name);"));
+        assertTrue(output.contains("        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_test_ds3_type_response\\n\", element);"));
+        assertTrue(output.contains("        _ds3_xml_parser_skip(parser);"));
         assertTrue(output.contains("    }"));
     }
 
+    @Test
+    public void testGenerateResponseTextParser() throws ParseException {
+        final Ds3Element testElement1 = new Ds3Element("BoolElement", "boolean", null, false);
+        final Ds3Element testElement2 = new Ds3Element("BeanElement", "com.spectralogic.s3.server.domain.UserApiBean", null, false);
+        final Ds3Element testElement3 = new Ds3Element("StringElement", "java.lang.String", null, false);
+        final ImmutableList<Ds3Element> elementsList = ImmutableList.of(testElement1, testElement2, testElement3);
+        final Ds3Type ds3Type = new Ds3Type("testDs3Type", elementsList);
+
+        final ImmutableSet.Builder<String> enumNames = ImmutableSet.builder();
+        final Struct testStruct = StructConverter.toStruct(ds3Type, enumNames.build(), ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of(), ImmutableSet.of());
+        final String output = StructHelper.generateResponseTextParser(testStruct.getStructMembers());
+
+        assertTrue(output.contains("        case 0:\n"
+                                 + "            response->bool_element = xml_get_bool(parser->client->log, text);\n"
+                                 + "            break;\n"));
+        assertTrue(output.contains("        case 2:\n"
+                                 + "            response->string_element = _ds3_xml_parser_get_string(parser, text);\n"
+                                 + "            break;\n"));
+        assertFalse(output.contains("case 1:"));
+    }
+
     @Test
     public void testGenerateGetSystemInformationParser() throws IOException, ParseException, TemplateModelException {
         final String inputSpecFile = "/input/ResponseTypeGetSystemInfo.xml";
@@ -177,48 +200,37 @@ public class StructHelper_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        assertTrue(output.contains("static ds3_error* _parse_top_level_ds3_system_information_response(const ds3_client* client, const ds3_request* request, ds3_system_information_response** _response, GByteArray* xml_blob) {"));
-        assertTrue(output.contains("    xmlDocPtr doc;"));
-        assertTrue(output.contains("    xmlNodePtr root;"));
-        assertTrue(output.contains("    xmlNodePtr child_node;"));
-        assertTrue(output.contains("    ds3_error* error;"));
-        assertTrue(output.contains("    ds3_system_information_response* response;"));
-
-        assertTrue(output.contains("    error = _get_request_xml_nodes(xml_blob, &doc, &root, \"Data\");"));
-        assertTrue(output.contains("    if (error != NULL) {"));
-        assertTrue(output.contains("        return error;"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {"));
-        assertTrue(output.contains("        if (element_equal(child_node, \"ApiVersion\")) {"));
-        assertTrue(output.contains("            response->api_version = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"BackendActivated\")) {"));
-        assertTrue(output.contains("            response->backend_activated = xml_get_bool(client->log, doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"BuildInformation\")) {"));
-        assertTrue(output.contains("            error = _parse_ds3_build_information_response(client, doc, child_node, &response->build_information);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"InstanceId\")) {"));
-        assertTrue(output.contains("            response->instance_id = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"SerialNumber\")) {"));
-        assertTrue(output.contains("            response->serial_number = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else {"));
-        assertTrue(output.contains("            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_system_information_response [%s]\\n\", child_node->name, root->name);"));
-        assertTrue(output.contains("        }"));
-
-        assertTrue(output.contains("        if (error != NULL) {"));
-        assertTrue(output.contains("            break;"));
-        assertTrue(output.contains("        }"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    xmlFreeDoc(doc);"));
-
-        assertTrue(output.contains("    if (error == NULL) {"));
-        assertTrue(output.contains("        *_response = response;"));
+        assertTrue(output.contains("static void _parse_ds3_system_information_response_element(ds3_xml_parser* parser, void* _response, int member, const xmlChar* element, int num_attributes, const xmlChar** attributes) {"));
+        assertTrue(output.contains("    ds3_system_information_response* response = (ds3_system_information_response*) _response;"));
+
+        assertTrue(output.contains("    if (element_equal(element, \"ApiVersion\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 0);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"BackendActivated\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 1);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"BuildInformation\")) {"));
+        assertTrue(output.contains("        response->build_information = _ds3_xml_parser_alloc(parser, sizeof(ds3_build_information_response));"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_struct(parser, &_ds3_build_information_response_parser, response->build_information, num_attributes, attributes);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"InstanceId\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 3);"));
+        assertTrue(output.contains("    } else if (element_equal(element, \"SerialNumber\")) {"));
+        assertTrue(output.contains("        _ds3_xml_parser_push_text(parser, 4);"));
         assertTrue(output.contains("    } else {"));
-        assertTrue(output.contains("        ds3_system_information_response_free(response);"));
+        assertTrue(output.contains("        ds3_log_message(parser->client->log, DS3_ERROR, \"Unknown node[%s] of ds3_system_information_response\\n\", element);"));
+        assertTrue(output.contains("        _ds3_xml_parser_skip(parser);"));
         assertTrue(output.contains("    }"));
 
-        assertTrue(output.contains("    return error;"));
-        assertTrue(output.contains("}"));
+        assertTrue(output.contains("static void _parse_ds3_system_information_response_text(ds3_xml_parser* parser, void* _response, int member, const xmlChar* text) {"));
+        assertTrue(output.contains("    switch (member) {"));
+        assertTrue(output.contains("        case 0:"));
+        assertTrue(output.contains("            response->api_version = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("        case 1:"));
+        assertTrue(output.contains("            response->backend_activated = xml_get_bool(parser->client->log, text);"));
+        assertTrue(output.contains("        case 3:"));
+        assertTrue(output.contains("            response->instance_id = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("        case 4:"));
+        assertTrue(output.contains("            response->serial_number = _ds3_xml_parser_get_string(parser, text);"));
+        assertTrue(output.contains("            break;"));
+        assertFalse(output.contains("        case 2:"));
     }
 
     @Test
@@ -244,49 +256,21 @@ public class StructHelper_Test {
         final ByteArrayOutputStream bstream = (ByteArrayOutputStream) fileUtils.getOutputStream();
         final String output = new String(bstream.toByteArray());
 
-        assertTrue(output.contains("static ds3_error* _parse_top_level_ds3_system_information_response(const ds3_client* client, const ds3_request* request, ds3_system_information_response** _response, GByteArray* xml_blob) {"));
-        assertTrue(output.contains("    xmlDocPtr doc;"));
-        assertTrue(output.contains("    xmlNodePtr root;"));
-        assertTrue(output.contains("    xmlNodePtr child_node;"));
-        assertTrue(output.contains("    ds3_system_information_response* response;"));
-        assertTrue(output.contains("    ds3_error* error;"));
-
-        assertTrue(output.contains("    error = _get_request_xml_nodes(xml_blob, &doc, &root, \"Data\");"));
-        assertTrue(output.contains("    if (error != NULL) {"));
-        assertTrue(output.contains("        return error;"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    response = g_new0(ds3_system_information_response, 1);"));
-        assertTrue(output.contains("    for (child_node = root->xmlChildrenNode; child_node != NULL; child_node = child_node->next) {"));
-        assertTrue(output.contains("        if (element_equal(child_node, \"ApiVersion\")) {"));
-        assertTrue(output.contains("            response->api_version = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"BackendActivated\")) {"));
-        assertTrue(output.contains("            response->backend_activated = xml_get_bool(client->log, doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"BuildInformation\")) {"));
-        assertTrue(output.contains("            error = _parse_ds3_build_information_response(client, doc, child_node, &response->build_information);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"InstanceId\")) {"));
-        assertTrue(output.contains("            response->instance_id = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else if (element_equal(child_node, \"SerialNumber\")) {"));
-        assertTrue(output.contains("            response->serial_number = xml_get_string(doc, child_node);"));
-        assertTrue(output.contains("        } else {"));
-        assertTrue(output.contains("            ds3_log_message(client->log, DS3_ERROR, \"Unknown node[%s] of ds3_system_information_response [%s]\\n\", child_node->name, root->name);"));
-        assertTrue(output.contains("        }"));
-
-        assertTrue(output.contains("        if (error != NULL) {"));
-        assertTrue(output.contains("            break;"));
-        assertTrue(output.contains("        }"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    xmlFreeDoc(doc);"));
-
-        assertTrue(output.contains("    if (error == NULL) {"));
-        assertTrue(output.contains("        *_response = response;"));
-        assertTrue(output.contains("    } else {"));
-        assertTrue(output.contains("        ds3_system_information_response_free(response);"));
-        assertTrue(output.contains("    }"));
-
-        assertTrue(output.contains("    return error;"));
-        assertTrue(output.contains("}"));
+        assertTrue(output.contains("const ds3_xml_struct_parser _ds3_system_information_response_parser = {\n"
+                                 + "    \"Data\",\n"
+                                 + "    sizeof(ds3_system_information_response),\n"
+                                 + "    offsetof(ds3_system_information_response, arena),\n"
+                                 + "    NULL,\n"
+                                 + "    _parse_ds3_system_information_response_element,\n"
+                                 + "    _parse_ds3_system_information_response_text,\n"
+                                 + "    (GDestroyNotify) ds3_system_information_response_free\n"
+                                 + "};"));
+
+        // The embedded struct's parser is defined before the top level struct's element parser references it
+        assertTrue(output.indexOf("const ds3_xml_struct_parser _ds3_build_information_response_parser = {")
+                 < output.indexOf("&_ds3_build_information_response_parser"));
+
+        assertFalse(output.contains("_parse_top_level_ds3_system_information_response"));
     }
 
     @Test
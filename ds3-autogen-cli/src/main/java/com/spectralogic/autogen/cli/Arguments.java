@@ -15,36 +15,55 @@
 
 package com.spectralogic.autogen.cli;
 
+import com.google.common.collect.ImmutableSet;
 
 public class Arguments {
     private final String targetDir;
-    private final GeneratorType type;
+    private final ImmutableSet<GeneratorType> types;
     private final String inputSpec;
     private final boolean help;
     private final boolean generateInternal;
     private final boolean noDoc;
+    private final int parallelism;
+    private final boolean incremental;
+    private final boolean xmlParsers;
+    private final String specCacheDir;
+    private final String templateDir;
+    private final boolean watch;
+    private final String archiveFormat;
+    private final String statsFile;
+    private final boolean streaming;
+    private final boolean freemarkerOnly;
 
-    public Arguments(
-            final String targetDir,
-            final GeneratorType type,
-            final String inputSpec,
-            final boolean help,
-            final boolean generateInternal,
-            final boolean noDoc) {
-        this.targetDir = targetDir;
-        this.type = type;
-        this.help = help;
-        this.inputSpec = inputSpec;
-        this.generateInternal = generateInternal;
-        this.noDoc = noDoc;
+    private Arguments(final Builder builder) {
+        this.targetDir = builder.targetDir;
+        this.types = builder.types;
+        this.inputSpec = builder.inputSpec;
+        this.help = builder.help;
+        this.generateInternal = builder.generateInternal;
+        this.noDoc = builder.noDoc;
+        this.parallelism = builder.parallelism;
+        this.incremental = builder.incremental;
+        this.xmlParsers = builder.xmlParsers;
+        this.specCacheDir = builder.specCacheDir;
+        this.templateDir = builder.templateDir;
+        this.watch = builder.watch;
+        this.archiveFormat = builder.archiveFormat;
+        this.statsFile = builder.statsFile;
+        this.streaming = builder.streaming;
+        this.freemarkerOnly = builder.freemarkerOnly;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     public String getTargetDir() {
         return targetDir;
     }
 
-    public GeneratorType getType() {
-        return type;
+    public ImmutableSet<GeneratorType> getTypes() {
+        return types;
     }
 
     public boolean isHelp() {
@@ -62,4 +81,154 @@ public class Arguments {
     public boolean isNoDoc() {
         return noDoc;
     }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public boolean isXmlParsers() {
+        return xmlParsers;
+    }
+
+    public String getSpecCacheDir() {
+        return specCacheDir;
+    }
+
+    public String getTemplateDir() {
+        return templateDir;
+    }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public String getArchiveFormat() {
+        return archiveFormat;
+    }
+
+    public String getStatsFile() {
+        return statsFile;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public boolean isFreemarkerOnly() {
+        return freemarkerOnly;
+    }
+
+    /**
+     * Collects the parsed command line options, where any option that is not set keeps
+     * its default of null, false, or a parallelism of 1
+     */
+    public static final class Builder {
+        private String targetDir;
+        private ImmutableSet<GeneratorType> types;
+        private String inputSpec;
+        private boolean help;
+        private boolean generateInternal;
+        private boolean noDoc;
+        private int parallelism = 1;
+        private boolean incremental;
+        private boolean xmlParsers;
+        private String specCacheDir;
+        private String templateDir;
+        private boolean watch;
+        private String archiveFormat;
+        private String statsFile;
+        private boolean streaming;
+        private boolean freemarkerOnly;
+
+        private Builder() {
+        }
+
+        public Builder targetDir(final String targetDir) {
+            this.targetDir = targetDir;
+            return this;
+        }
+
+        public Builder types(final ImmutableSet<GeneratorType> types) {
+            this.types = types;
+            return this;
+        }
+
+        public Builder inputSpec(final String inputSpec) {
+            this.inputSpec = inputSpec;
+            return this;
+        }
+
+        public Builder help(final boolean help) {
+            this.help = help;
+            return this;
+        }
+
+        public Builder generateInternal(final boolean generateInternal) {
+            this.generateInternal = generateInternal;
+            return this;
+        }
+
+        public Builder noDoc(final boolean noDoc) {
+            this.noDoc = noDoc;
+            return this;
+        }
+
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder incremental(final boolean incremental) {
+            this.incremental = incremental;
+            return this;
+        }
+
+        public Builder xmlParsers(final boolean xmlParsers) {
+            this.xmlParsers = xmlParsers;
+            return this;
+        }
+
+        public Builder specCacheDir(final String specCacheDir) {
+            this.specCacheDir = specCacheDir;
+            return this;
+        }
+
+        public Builder templateDir(final String templateDir) {
+            this.templateDir = templateDir;
+            return this;
+        }
+
+        public Builder watch(final boolean watch) {
+            this.watch = watch;
+            return this;
+        }
+
+        public Builder archiveFormat(final String archiveFormat) {
+            this.archiveFormat = archiveFormat;
+            return this;
+        }
+
+        public Builder statsFile(final String statsFile) {
+            this.statsFile = statsFile;
+            return this;
+        }
+
+        public Builder streaming(final boolean streaming) {
+            this.streaming = streaming;
+            return this;
+        }
+
+        public Builder freemarkerOnly(final boolean freemarkerOnly) {
+            this.freemarkerOnly = freemarkerOnly;
+            return this;
+        }
+
+        public Arguments build() {
+            return new Arguments(this);
+        }
+    }
 }
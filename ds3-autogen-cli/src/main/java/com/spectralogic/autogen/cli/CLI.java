@@ -15,22 +15,50 @@
 
 package com.spectralogic.autogen.cli;
 
-import com.spectralogic.ds3autogen.utils.Guards;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.java.JavaCodeGenerator;
 import org.apache.commons.cli.*;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
 public class CLI {
 
+    private static final String DEFAULT_SPEC_CACHE_DIR = Paths.get(System.getProperty("user.home"), ".ds3autogen", "spec-cache").toString();
+
     final private Options options;
 
     private CLI() {
         this.options = new Options();
-        final Option language = new Option("l", true, "Select the language to generate");
+        final Option language = new Option("l", true, "Select the language to generate, a comma separated list of languages, or 'all'");
         final Option directory = new Option("d", true, "Directory to write generated code to");
         final Option inputSpec = new Option("i", true, "The spec file for the DS3 API");
         final Option help = new Option("h", false, "Print usage");
         final Option generateInternal = new Option("internal", false, "Generate Spectra Internal requests");
         final Option noDoc = new Option(null, false, "Generate with no documentation");
         noDoc.setLongOpt("no-doc");
+        final Option parallelism = new Option("j", true, "Number of worker threads used to generate Java code, defaults to the number of available processors");
+        parallelism.setOptionalArg(true);
+        final Option incremental = new Option(null, false, "Only regenerate Java code for requests and types that changed since the last run");
+        incremental.setLongOpt("incremental");
+        final Option xmlParsers = new Option(null, false, "Generate reflection-free xml parsers for all Java models and use them within the response parsers");
+        xmlParsers.setLongOpt("xml-parsers");
+        final Option specCache = new Option(null, true, "Cache the normalized spec as a binary snapshot in the given directory and reuse it on later runs, defaults to " + DEFAULT_SPEC_CACHE_DIR);
+        specCache.setLongOpt("spec-cache");
+        specCache.setOptionalArg(true);
+        final Option templates = new Option(null, true, "Directory of templates that override the bundled templates, containing a subdirectory per language that mirrors the language's bundled template directory");
+        templates.setLongOpt("templates");
+        final Option watch = new Option(null, false, "Keep running and regenerate the affected code whenever the spec file or an override template changes");
+        watch.setLongOpt("watch");
+        final Option archive = new Option(null, true, "Write the code of each language into a single reproducible archive named after the language within the target directory, where the format is 'zip' or 'jar'");
+        archive.setLongOpt("archive");
+        final Option stats = new Option(null, true, "Write a JSON report of the time spent parsing, within each normalizer converter, pruning types and rendering each template, along with the files and bytes written, to the given file");
+        stats.setLongOpt("stats");
+        final Option streaming = new Option(null, false, "Generate Java code while reading the requests of the spec one at a time, which bounds memory use on very large specs");
+        streaming.setLongOpt("streaming");
+        final Option freemarkerOnly = new Option(null, false, "Render every Java file with its FreeMarker template, instead of writing the request, response, response parser and model files with the built in code emitters");
+        freemarkerOnly.setLongOpt("freemarker-only");
 
         options.addOption(language);
         options.addOption(directory);
@@ -38,6 +66,16 @@ public class CLI {
         options.addOption(help);
         options.addOption(generateInternal);
         options.addOption(noDoc);
+        options.addOption(parallelism);
+        options.addOption(incremental);
+        options.addOption(xmlParsers);
+        options.addOption(specCache);
+        options.addOption(templates);
+        options.addOption(watch);
+        options.addOption(archive);
+        options.addOption(stats);
+        options.addOption(streaming);
+        options.addOption(freemarkerOnly);
     }
 
     public static Arguments getArguments(final String[] args) throws Exception {
@@ -54,39 +92,126 @@ public class CLI {
         return arguments;
     }
 
+    /**
+     * Parses and validates the arguments without printing the usage
+     */
+    static Arguments parseArguments(final String[] args) throws Exception {
+        return new CLI().processArgs(args);
+    }
+
     private Arguments processArgs(final String[] args) throws Exception {
         final CommandLineParser parser = new DefaultParser();
         final CommandLine cmd = parser.parse(options, args);
 
-        final String directory = cmd.getOptionValue("d");
-        final GeneratorType language = processLanguageArg(cmd);
-        final String inputSpec = cmd.getOptionValue("i");
-        final boolean help = cmd.hasOption("h");
-        final boolean generateInternal = cmd.hasOption("internal");
-        final boolean noDoc = cmd.hasOption("no-doc");
-
-        final Arguments arguments = new Arguments(directory, language, inputSpec, help, generateInternal, noDoc);
+        final Arguments arguments = Arguments.builder()
+                .targetDir(cmd.getOptionValue("d"))
+                .types(processLanguageArg(cmd))
+                .inputSpec(cmd.getOptionValue("i"))
+                .help(cmd.hasOption("h"))
+                .generateInternal(cmd.hasOption("internal"))
+                .noDoc(cmd.hasOption("no-doc"))
+                .parallelism(processParallelismArg(cmd))
+                .incremental(cmd.hasOption("incremental"))
+                .xmlParsers(cmd.hasOption("xml-parsers"))
+                .specCacheDir(processSpecCacheArg(cmd))
+                .templateDir(cmd.getOptionValue("templates"))
+                .watch(cmd.hasOption("watch"))
+                .archiveFormat(processArchiveArg(cmd))
+                .statsFile(cmd.getOptionValue("stats"))
+                .streaming(cmd.hasOption("streaming"))
+                .freemarkerOnly(cmd.hasOption("freemarker-only"))
+                .build();
 
         validateArguments(arguments);
 
         return arguments;
     }
 
-    private GeneratorType processLanguageArg(final CommandLine cmd) {
+    private ImmutableSet<GeneratorType> processLanguageArg(final CommandLine cmd) {
+        final String value = cmd.getOptionValue("l");
+        if (value == null) {
+            return null;
+        }
+        if (value.trim().equalsIgnoreCase("all")) {
+            return ImmutableSet.copyOf(GeneratorType.values());
+        }
+        final ImmutableSet.Builder<GeneratorType> builder = ImmutableSet.builder();
+        for (final String language : Splitter.on(',').trimResults().omitEmptyStrings().split(value)) {
+            try {
+                builder.add(GeneratorType.valueOf(language.toUpperCase()));
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException(language + " is not a supported language");
+            }
+        }
+        final ImmutableSet<GeneratorType> languages = builder.build();
+        return languages.isEmpty() ? null : languages;
+    }
+
+    private int processParallelismArg(final CommandLine cmd) {
+        if (!cmd.hasOption("j")) {
+            return 1;
+        }
+        final String value = cmd.getOptionValue("j");
+        if (value == null) {
+            return JavaCodeGenerator.defaultParallelism();
+        }
         try {
-            return Guards.returnIfNull(cmd.getOptionValue("l").toUpperCase(), GeneratorType::valueOf);
-        } catch (final NullPointerException e) {
+            final int parallelism = Integer.parseInt(value);
+            if (parallelism >= 1) {
+                return parallelism;
+            }
+        } catch (final NumberFormatException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException(value + " is not a valid number of worker threads");
+    }
+
+    private String processSpecCacheArg(final CommandLine cmd) {
+        if (!cmd.hasOption("spec-cache")) {
             return null;
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(cmd.getOptionValue("l") + " is not a supported language");
         }
+        final String value = cmd.getOptionValue("spec-cache");
+        return value == null ? DEFAULT_SPEC_CACHE_DIR : value;
+    }
+
+    private String processArchiveArg(final CommandLine cmd) {
+        final String value = cmd.getOptionValue("archive");
+        if (value == null) {
+            return null;
+        }
+        final String format = value.trim().toLowerCase();
+        if (!format.equals("zip") && !format.equals("jar")) {
+            throw new IllegalArgumentException(value + " is not a supported archive format");
+        }
+        return format;
     }
 
     private void validateArguments(final Arguments arguments) throws MissingArgumentException {
         if (arguments.isHelp()) return; // Nothing else to verify
         if (arguments.getTargetDir() == null) throw new MissingArgumentException("'-d' is a required argument");
-        if (arguments.getType() == null) throw new MissingArgumentException("'-l' is a required argument");
+        if (arguments.getTypes() == null) throw new MissingArgumentException("'-l' is a required argument");
         if (arguments.getInputSpec() == null) throw new MissingArgumentException("'-i' is a required argument");
+        if (arguments.isIncremental() && !arguments.getTypes().contains(GeneratorType.JAVA)) {
+            throw new IllegalArgumentException("'--incremental' is only supported when generating java");
+        }
+        if (arguments.isXmlParsers() && !arguments.getTypes().contains(GeneratorType.JAVA)) {
+            throw new IllegalArgumentException("'--xml-parsers' is only supported when generating java");
+        }
+        if (arguments.isFreemarkerOnly() && !arguments.getTypes().contains(GeneratorType.JAVA)) {
+            throw new IllegalArgumentException("'--freemarker-only' is only supported when generating java");
+        }
+        if (arguments.isIncremental() && arguments.getArchiveFormat() != null) {
+            throw new IllegalArgumentException("'--incremental' cannot be used with '--archive'");
+        }
+        if (arguments.isStreaming() && !arguments.getTypes().equals(ImmutableSet.of(GeneratorType.JAVA))) {
+            throw new IllegalArgumentException("'--streaming' is only supported when generating java alone");
+        }
+        if (arguments.isStreaming() && (arguments.getSpecCacheDir() != null || arguments.isWatch())) {
+            throw new IllegalArgumentException("'--streaming' cannot be used with '--spec-cache' or '--watch'");
+        }
+        if (arguments.getTemplateDir() != null && !Files.isDirectory(Paths.get(arguments.getTemplateDir()))) {
+            throw new IllegalArgumentException(arguments.getTemplateDir() + " is not a directory");
+        }
     }
 
     private void printUsage() {
@@ -15,26 +15,51 @@
 
 package com.spectralogic.autogen.cli;
 
+import com.google.common.base.Joiner;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.models.docspec.Ds3DocSpec;
 import com.spectralogic.ds3autogen.docspec.Ds3DocSpecEmptyImpl;
 import com.spectralogic.ds3autogen.docspec.Ds3DocSpecParserImpl;
 import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.Ds3StreamingSpecParserImpl;
 import com.spectralogic.ds3autogen.NameMapper;
 import com.spectralogic.ds3autogen.api.CodeGenerator;
 import com.spectralogic.ds3autogen.api.Ds3DocSpecParser;
 import com.spectralogic.ds3autogen.api.Ds3SpecParser;
+import com.spectralogic.ds3autogen.api.Ds3StreamingSpec;
 import com.spectralogic.ds3autogen.api.FileUtils;
+import com.spectralogic.ds3autogen.api.StreamingCodeGenerator;
+import com.spectralogic.ds3autogen.api.TemplateOverridable;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.c.CCodeGenerator;
 import com.spectralogic.ds3autogen.go.GoCodeGenerator;
 import com.spectralogic.ds3autogen.java.JavaCodeGenerator;
+import com.spectralogic.ds3autogen.java.JavaGeneratorOptions;
 import com.spectralogic.ds3autogen.net.NetCodeGenerator;
 import com.spectralogic.ds3autogen.python.PythonCodeGenerator;
 import com.spectralogic.ds3autogen.python3.Python3CodeGenerator;
-import com.spectralogic.ds3autogen.utils.FileUtilsImpl;
+import com.spectralogic.ds3autogen.snapshot.Ds3SpecSnapshotCache;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics;
+import com.spectralogic.ds3autogen.utils.metrics.MeasuredFileUtilsImpl;
+import com.spectralogic.ds3autogen.utils.metrics.Stage;
+import com.spectralogic.ds3autogen.utils.metrics.StageTimer;
+import com.spectralogic.ds3autogen.utils.WriteBehindFileUtilsImpl;
+import com.spectralogic.ds3autogen.utils.ZipFileUtilsImpl;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
     public static void main(final String[] args) {
@@ -68,56 +93,303 @@ public class Main {
     }
 
     private final Arguments args;
+    private final Ds3SpecParser parser = new Ds3SpecParserImpl();
 
     private Main(final Arguments args) {
         this.args = args;
     }
 
     public void run() throws Exception {
-        final Ds3SpecParser parser = new Ds3SpecParserImpl();
-
-        System.out.println("Generating " + args.getType().toString() + " ds3 sdk code for the spec " + args.getInputSpec() );
+        System.out.println("Generating " + Joiner.on(", ").join(args.getTypes()) + " ds3 sdk code for the spec " + args.getInputSpec() );
 
         //TODO make the input file also accept a url that we can read from
 
-        final Ds3ApiSpec spec = parser.getSpec(
-                Files.newInputStream(Paths.get(args.getInputSpec())),
-                args.generateInternal());
+        GenerationMetrics.getInstance().reset();
+        final Stopwatch parseStopwatch = Stopwatch.createStarted();
+        // In streaming mode the spec is read by the generator itself, one request at a time
+        final Ds3ApiSpec spec = args.isStreaming() ? null : parseSpec();
+
+        final Ds3DocSpec docSpec;
+        if (args.isNoDoc()) {
+            docSpec = new Ds3DocSpecEmptyImpl();
+        } else {
+            final Ds3DocSpecParser docSpecParser = new Ds3DocSpecParserImpl(new NameMapper());
+            docSpec = docSpecParser.getDocSpec();
+        }
+        parseStopwatch.stop();
+
+        final ImmutableMap<GeneratorType, CodeGenerator> generators = createGenerators();
+        final ImmutableList<LanguageRun> runs = generateAll(args.getTypes(), generators, spec, docSpec);
+
+        System.out.println("Parsed the spec in " + parseStopwatch.elapsed(TimeUnit.MILLISECONDS) + " ms");
+        printRuns(runs);
+        writeStats();
+
+        if (args.isWatch()) {
+            watch(generators, spec, docSpec);
+        }
+    }
+
+    private Ds3ApiSpec parseSpec() throws IOException {
+        if (args.getSpecCacheDir() != null) {
+            return new Ds3SpecSnapshotCache(Paths.get(args.getSpecCacheDir()), parser)
+                    .getSpec(Paths.get(args.getInputSpec()), args.generateInternal());
+        }
+        try (final InputStream inputStream = Files.newInputStream(Paths.get(args.getInputSpec()))) {
+            return parser.getSpec(inputStream, args.generateInternal());
+        }
+    }
+
+    /**
+     * Regenerates the affected languages whenever the spec or an override template
+     * changes, until the process is stopped. The generators, along with their template
+     * caches, the doc spec, and the last successfully parsed spec are kept between
+     * cycles. A change to the spec regenerates every language, while a change to an
+     * override template only regenerates the language the template belongs to.
+     */
+    private void watch(
+            final ImmutableMap<GeneratorType, CodeGenerator> generators,
+            final Ds3ApiSpec initialSpec,
+            final Ds3DocSpec docSpec) throws Exception {
+        final Path templateDir = args.getTemplateDir() == null ? null : Paths.get(args.getTemplateDir());
+        try (final SourceWatcher watcher = new SourceWatcher(Paths.get(args.getInputSpec()), templateDir)) {
+            System.out.println("Watching " + args.getInputSpec()
+                    + (templateDir == null ? "" : " and " + templateDir)
+                    + " for changes, press Ctrl+C to stop");
+
+            Ds3ApiSpec spec = initialSpec;
+            while (true) {
+                final SourceWatcher.Changes changes = watcher.awaitChanges();
+                final Stopwatch cycleStopwatch = Stopwatch.createStarted();
+                GenerationMetrics.getInstance().reset();
+                try {
+                    final ImmutableSet.Builder<GeneratorType> templateChanges = ImmutableSet.builder();
+                    for (final GeneratorType type : args.getTypes()) {
+                        if (changes.isTemplateChanged(getTemplateSubdirectory(type))) {
+                            ((TemplateOverridable) generators.get(type)).reloadTemplates();
+                            templateChanges.add(type);
+                        }
+                    }
+
+                    final ImmutableSet<GeneratorType> affected;
+                    if (changes.isSpecChanged()) {
+                        final Stopwatch parseStopwatch = Stopwatch.createStarted();
+                        spec = parseSpec();
+                        System.out.println("Parsed the changed spec in " + parseStopwatch.elapsed(TimeUnit.MILLISECONDS) + " ms");
+                        affected = args.getTypes();
+                    } else {
+                        affected = templateChanges.build();
+                    }
+                    if (affected.isEmpty()) {
+                        continue;
+                    }
+
+                    printRuns(generateAll(affected, generators, spec, docSpec));
+                    System.out.println("Regenerated " + Joiner.on(", ").join(affected) + " in "
+                            + cycleStopwatch.elapsed(TimeUnit.MILLISECONDS) + " ms");
+                    writeStats();
+                } catch (final Exception e) {
+                    System.err.println("Failed to regenerate code, waiting for the next change");
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the metrics recorded since they were last reset to the stats file, if one
+     * was requested
+     */
+    private void writeStats() throws IOException {
+        if (args.getStatsFile() != null) {
+            StatsReport.write(GenerationMetrics.getInstance(), args.getInputSpec(), Paths.get(args.getStatsFile()));
+        }
+    }
+
+    private static void printRuns(final ImmutableList<LanguageRun> runs) {
+        for (final LanguageRun run : runs) {
+            System.out.println(String.format("%-8s %6d ms  Wrote %d files, %d files were unchanged",
+                    run.type,
+                    run.elapsedMillis,
+                    run.writtenCount,
+                    run.unchangedCount));
+        }
+    }
+
+    /**
+     * Runs the generator of each of the languages concurrently against the shared spec.
+     * When more than one language is selected, each language is written into its own
+     * subdirectory of the target directory.
+     */
+    private ImmutableList<LanguageRun> generateAll(
+            final ImmutableSet<GeneratorType> types,
+            final ImmutableMap<GeneratorType, CodeGenerator> generators,
+            final Ds3ApiSpec spec,
+            final Ds3DocSpec docSpec) throws Exception {
+        if (types.size() == 1) {
+            final GeneratorType type = types.iterator().next();
+            return ImmutableList.of(generate(type, generators.get(type), spec, docSpec));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(types.size());
+        try {
+            final ImmutableList.Builder<Future<LanguageRun>> futures = ImmutableList.builder();
+            for (final GeneratorType type : types) {
+                final CodeGenerator generator = generators.get(type);
+                futures.add(executor.submit(() -> generate(type, generator, spec, docSpec)));
+            }
+
+            final ImmutableList.Builder<LanguageRun> runs = ImmutableList.builder();
+            for (final Future<LanguageRun> future : futures.build()) {
+                try {
+                    runs.add(future.get());
+                } catch (final ExecutionException e) {
+                    Throwables.throwIfInstanceOf(e.getCause(), Exception.class);
+                    Throwables.throwIfUnchecked(e.getCause());
+                    throw e;
+                }
+            }
+            return runs.build();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LanguageRun generate(
+            final GeneratorType type,
+            final CodeGenerator generator,
+            final Ds3ApiSpec spec,
+            final Ds3DocSpec docSpec) throws Exception {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final Path targetDir = getTargetDir(type);
+        final String output = type.toString().toLowerCase();
+        try (final StageTimer ignored = GenerationMetrics.getInstance().time(Stage.GENERATE, output)) {
+            if (args.getArchiveFormat() != null) {
+                final Path archive = Paths.get(args.getTargetDir(), output + "." + args.getArchiveFormat());
+                final ZipFileUtilsImpl fileUtils = new ZipFileUtilsImpl(archive, targetDir);
+                runGenerator(generator, spec, new MeasuredFileUtilsImpl(fileUtils, output), targetDir, docSpec);
+                fileUtils.close();
+                return new LanguageRun(type, stopwatch.elapsed(TimeUnit.MILLISECONDS), fileUtils.getWrittenCount(), fileUtils.getUnchangedCount());
+            }
+
+            final WriteBehindFileUtilsImpl fileUtils = new WriteBehindFileUtilsImpl();
+            // Closing the file utils waits for every file to be written and throws any write errors
+            try (fileUtils) {
+                runGenerator(generator, spec, new MeasuredFileUtilsImpl(fileUtils, output), targetDir, docSpec);
+            }
+            return new LanguageRun(type, stopwatch.elapsed(TimeUnit.MILLISECONDS), fileUtils.getWrittenCount(), fileUtils.getUnchangedCount());
+        } catch (final Exception e) {
+            throw new Exception("Encountered an error when generating " + type.toString() + " code", e);
+        }
+    }
+
+    /**
+     * Runs the generator against the parsed spec, or in streaming mode against a
+     * Ds3StreamingSpec that reads the requests of the input spec as they are generated
+     */
+    private void runGenerator(
+            final CodeGenerator generator,
+            final Ds3ApiSpec spec,
+            final FileUtils fileUtils,
+            final Path targetDir,
+            final Ds3DocSpec docSpec) throws IOException {
+        if (args.isStreaming()) {
+            final Ds3StreamingSpec streamingSpec = new Ds3StreamingSpecParserImpl()
+                    .getStreamingSpec(Paths.get(args.getInputSpec()), args.generateInternal());
+            ((StreamingCodeGenerator) generator).generate(streamingSpec, fileUtils, targetDir, docSpec);
+            return;
+        }
+        generator.generate(spec, fileUtils, targetDir, docSpec);
+    }
+
+    private Path getTargetDir(final GeneratorType type) {
+        return getTargetDir(args.getTypes(), type, args.getTargetDir());
+    }
+
+    /**
+     * Retrieves the directory the generator of the language writes into. The C generator
+     * writes its files into a src subdirectory, so when C is generated alone into a
+     * directory named src, as in the documented '-d src/' invocation, the files are
+     * written into that directory rather than into src/src.
+     */
+    static Path getTargetDir(final ImmutableSet<GeneratorType> types, final GeneratorType type, final String targetDir) {
+        if (types.size() > 1) {
+            return Paths.get(targetDir, type.toString().toLowerCase());
+        }
+        final Path path = Paths.get(targetDir);
+        if (type == GeneratorType.C && path.getFileName() != null && path.getFileName().toString().equals("src")) {
+            final Path parent = path.getParent();
+            return parent == null ? Paths.get("") : parent;
+        }
+        return path;
+    }
+
+    /**
+     * Retrieves the subdirectory of the template override directory that contains the
+     * override templates of the language
+     */
+    private static String getTemplateSubdirectory(final GeneratorType type) {
+        return type.toString().toLowerCase();
+    }
+
+    /**
+     * Creates the generator of each selected language, applying the override templates
+     */
+    private ImmutableMap<GeneratorType, CodeGenerator> createGenerators() throws Exception {
+        final ImmutableMap.Builder<GeneratorType, CodeGenerator> generators = ImmutableMap.builder();
+        for (final GeneratorType type : args.getTypes()) {
+            final CodeGenerator generator = toGenerator(type);
+            if (args.getTemplateDir() != null) {
+                final Path overrideDir = Paths.get(args.getTemplateDir(), getTemplateSubdirectory(type));
+                // When watching, the directory is created so that templates added later are picked up
+                if (args.isWatch() || Files.isDirectory(overrideDir)) {
+                    Files.createDirectories(overrideDir);
+                    ((TemplateOverridable) generator).overrideTemplates(overrideDir);
+                }
+            }
+            generators.put(type, generator);
+        }
+        return generators.build();
+    }
 
-        final CodeGenerator generator;
-        switch (args.getType()) {
+    private CodeGenerator toGenerator(final GeneratorType type) throws Exception {
+        switch (type) {
             case C:
-                generator = new CCodeGenerator();
-                break;
+                return new CCodeGenerator();
             case JAVA:
-                generator = new JavaCodeGenerator();
-                break;
+                return new JavaCodeGenerator(JavaGeneratorOptions.builder()
+                        .parallelism(args.getParallelism())
+                        .incremental(args.isIncremental())
+                        .xmlParsers(args.isXmlParsers())
+                        .codeEmitters(!args.isFreemarkerOnly())
+                        .build());
             case NET:
-                generator = new NetCodeGenerator();
-                break;
+                return new NetCodeGenerator();
             case PYTHON:
-                generator = new PythonCodeGenerator();
-                break;
+                return new PythonCodeGenerator();
             case PYTHON3:
-                generator = new Python3CodeGenerator();
-                break;
+                return new Python3CodeGenerator();
             case GO:
-                generator = new GoCodeGenerator();
-                break;
+                return new GoCodeGenerator();
             default:
-                throw new IllegalArgumentException("Unknown generator typeName " + args.getType().toString());
+                throw new IllegalArgumentException("Unknown generator typeName " + type.toString());
         }
-        final FileUtils fileUtils = new FileUtilsImpl();
+    }
 
+    /**
+     * The outcome of generating a single language
+     */
+    private static final class LanguageRun {
+        private final GeneratorType type;
+        private final long elapsedMillis;
+        private final int writtenCount;
+        private final int unchangedCount;
 
-        final Ds3DocSpec docSpec;
-        if (args.isNoDoc()) {
-            docSpec = new Ds3DocSpecEmptyImpl();
-        } else {
-            final Ds3DocSpecParser docSpecParser = new Ds3DocSpecParserImpl(new NameMapper());
-            docSpec = docSpecParser.getDocSpec();
+        private LanguageRun(final GeneratorType type, final long elapsedMillis, final int writtenCount, final int unchangedCount) {
+            this.type = type;
+            this.elapsedMillis = elapsedMillis;
+            this.writtenCount = writtenCount;
+            this.unchangedCount = unchangedCount;
         }
-
-        generator.generate(spec, fileUtils, Paths.get(args.getTargetDir()), docSpec);
     }
 }
@@ -0,0 +1,151 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.autogen.cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the spec file and the template override directory for changes. Editors
+ * usually save a file with several writes, so the events that arrive in quick
+ * succession are reported as a single set of changes.
+ */
+class SourceWatcher implements Closeable {
+
+    /** How long to wait for further events before reporting the changes */
+    private static final long SETTLE_MILLIS = 50;
+
+    private final Path spec;
+    private final Path templateDir;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+
+    /**
+     * @param spec The spec file to watch
+     * @param templateDir The template override directory to watch, or null
+     */
+    SourceWatcher(final Path spec, final Path templateDir) throws IOException {
+        this.spec = spec.toAbsolutePath().normalize();
+        this.templateDir = templateDir == null ? null : templateDir.toAbsolutePath().normalize();
+        this.watchService = this.spec.getFileSystem().newWatchService();
+
+        register(this.spec.getParent());
+        if (this.templateDir != null) {
+            registerTree(this.templateDir);
+        }
+    }
+
+    /**
+     * Blocks until the spec or a template changes, and retrieves what changed
+     */
+    Changes awaitChanges() throws InterruptedException, IOException {
+        final Changes changes = new Changes();
+        while (changes.isEmpty()) {
+            WatchKey key = watchService.take();
+            while (key != null) {
+                processEvents(key, changes);
+                key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        return changes;
+    }
+
+    private void processEvents(final WatchKey key, final Changes changes) throws IOException {
+        final Path dir = watchedDirs.get(key);
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                changes.overflow = true;
+                continue;
+            }
+            final Path path = dir.resolve((Path) event.context());
+            if (path.equals(spec)) {
+                changes.specChanged = true;
+            }
+            if (templateDir != null && path.startsWith(templateDir) && !path.equals(templateDir)) {
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                    registerTree(path);
+                }
+                changes.templateDirs.add(templateDir.relativize(path).getName(0).toString());
+            }
+        }
+        if (!key.reset()) {
+            watchedDirs.remove(key);
+        }
+    }
+
+    private void register(final Path dir) throws IOException {
+        watchedDirs.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+    }
+
+    private void registerTree(final Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * The changes observed since the last call to awaitChanges
+     */
+    static final class Changes {
+        private boolean specChanged = false;
+        private boolean overflow = false;
+        private final Set<String> templateDirs = new HashSet<>();
+
+        private boolean isEmpty() {
+            return !specChanged && !overflow && templateDirs.isEmpty();
+        }
+
+        /**
+         * Determines if the spec file changed
+         */
+        boolean isSpecChanged() {
+            return specChanged || overflow;
+        }
+
+        /**
+         * Determines if a template within the subdirectory of the template override
+         * directory changed
+         */
+        boolean isTemplateChanged(final String subdirectory) {
+            return overflow || templateDirs.contains(subdirectory);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.autogen.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics.FileTotals;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics.StageTiming;
+import com.spectralogic.ds3autogen.utils.metrics.Stage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the GenerationMetrics as a JSON report. Stages are listed in the order they
+ * run, and the entries of each stage are ordered by their total time, so the slowest
+ * converters and templates are listed first.
+ */
+final class StatsReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private StatsReport() { }
+
+    static void write(final GenerationMetrics metrics, final String inputSpec, final Path statsFile) throws IOException {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("spec", inputSpec);
+        report.put("stages", toStages(metrics.getTimings()));
+
+        long totalFiles = 0;
+        long totalBytes = 0;
+        final Map<String, Object> outputs = new LinkedHashMap<>();
+        for (final Map.Entry<String, FileTotals> entry : metrics.getFileTotals().entrySet()) {
+            final Map<String, Object> output = new LinkedHashMap<>();
+            output.put("files", entry.getValue().getFiles());
+            output.put("bytes", entry.getValue().getBytes());
+            outputs.put(entry.getKey(), output);
+            totalFiles += entry.getValue().getFiles();
+            totalBytes += entry.getValue().getBytes();
+        }
+        report.put("files", outputs);
+        report.put("totalFiles", totalFiles);
+        report.put("totalBytes", totalBytes);
+
+        final Path parent = statsFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (final OutputStream stream = Files.newOutputStream(statsFile)) {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(stream, report);
+        }
+    }
+
+    private static Map<String, Object> toStages(final ImmutableList<StageTiming> timings) {
+        final Map<Stage, List<StageTiming>> timingsByStage = new LinkedHashMap<>();
+        for (final StageTiming timing : timings) {
+            timingsByStage.computeIfAbsent(timing.getStage(), stage -> new ArrayList<>()).add(timing);
+        }
+
+        final Map<String, Object> stages = new LinkedHashMap<>();
+        for (final Map.Entry<Stage, List<StageTiming>> entry : timingsByStage.entrySet()) {
+            long totalNanos = 0;
+            final List<Object> entries = new ArrayList<>();
+            for (final StageTiming timing : entry.getValue()) {
+                final Map<String, Object> item = new LinkedHashMap<>();
+                item.put("name", timing.getName());
+                item.put("count", timing.getCount());
+                item.put("totalMillis", toMillis(timing.getTotalNanos()));
+                item.put("maxMillis", toMillis(timing.getMaxNanos()));
+                entries.add(item);
+                totalNanos += timing.getTotalNanos();
+            }
+            final Map<String, Object> stage = new LinkedHashMap<>();
+            stage.put("totalMillis", toMillis(totalNanos));
+            stage.put("entries", entries);
+            stages.put(entry.getKey().toString().toLowerCase(), stage);
+        }
+        return stages;
+    }
+
+    private static double toMillis(final long nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.autogen.cli;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.cli.MissingArgumentException;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CLI_Test {
+
+    private static Arguments parse(final String... args) throws Exception {
+        return CLI.parseArguments(args);
+    }
+
+    @Test
+    public void parseArguments_SingleLanguage_Test() throws Exception {
+        final Arguments arguments = parse("-d", "out", "-i", "spec.xml", "-l", "java");
+        assertThat(arguments.getTargetDir(), is("out"));
+        assertThat(arguments.getInputSpec(), is("spec.xml"));
+        assertThat(arguments.getTypes(), is(ImmutableSet.of(GeneratorType.JAVA)));
+        assertThat(arguments.getParallelism(), is(1));
+        assertThat(arguments.getSpecCacheDir(), is(nullValue()));
+        assertThat(arguments.getArchiveFormat(), is(nullValue()));
+    }
+
+    @Test
+    public void parseArguments_LanguageList_Test() throws Exception {
+        final Arguments arguments = parse("-d", "out", "-i", "spec.xml", "-l", "c, Go,JAVA");
+        assertThat(arguments.getTypes(), is(ImmutableSet.of(GeneratorType.C, GeneratorType.GO, GeneratorType.JAVA)));
+    }
+
+    @Test
+    public void parseArguments_AllLanguages_Test() throws Exception {
+        final Arguments arguments = parse("-d", "out", "-i", "spec.xml", "-l", "all");
+        assertThat(arguments.getTypes(), is(ImmutableSet.copyOf(GeneratorType.values())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_UnknownLanguage_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "java,cobol");
+    }
+
+    @Test(expected = MissingArgumentException.class)
+    public void parseArguments_EmptyLanguageList_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", ",");
+    }
+
+    @Test(expected = MissingArgumentException.class)
+    public void parseArguments_MissingTargetDir_Test() throws Exception {
+        parse("-i", "spec.xml", "-l", "java");
+    }
+
+    @Test(expected = MissingArgumentException.class)
+    public void parseArguments_MissingInputSpec_Test() throws Exception {
+        parse("-d", "out", "-l", "java");
+    }
+
+    @Test
+    public void parseArguments_Parallelism_Test() throws Exception {
+        assertThat(parse("-d", "out", "-i", "spec.xml", "-l", "java", "-j", "4").getParallelism(), is(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_InvalidParallelism_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "java", "-j", "0");
+    }
+
+    @Test
+    public void parseArguments_IncrementalWithJava_Test() throws Exception {
+        assertThat(parse("-d", "out", "-i", "spec.xml", "-l", "c,java", "--incremental").isIncremental(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_IncrementalWithoutJava_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "c,go", "--incremental");
+    }
+
+    @Test
+    public void parseArguments_XmlParsersWithJava_Test() throws Exception {
+        assertThat(parse("-d", "out", "-i", "spec.xml", "-l", "all", "--xml-parsers").isXmlParsers(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_XmlParsersWithoutJava_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "net", "--xml-parsers");
+    }
+
+    @Test
+    public void parseArguments_FreemarkerOnlyWithJava_Test() throws Exception {
+        assertThat(parse("-d", "out", "-i", "spec.xml", "-l", "java", "--freemarker-only").isFreemarkerOnly(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_FreemarkerOnlyWithoutJava_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "python3", "--freemarker-only");
+    }
+
+    @Test
+    public void parseArguments_Archive_Test() throws Exception {
+        assertThat(parse("-d", "out", "-i", "spec.xml", "-l", "java", "--archive", "ZIP").getArchiveFormat(), is("zip"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_UnsupportedArchive_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "java", "--archive", "tar");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_ArchiveWithIncremental_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "java", "--archive", "jar", "--incremental");
+    }
+
+    @Test
+    public void parseArguments_Streaming_Test() throws Exception {
+        assertThat(parse("-d", "out", "-i", "spec.xml", "-l", "java", "--streaming").isStreaming(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_StreamingWithOtherLanguages_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "java,go", "--streaming");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_StreamingWithSpecCache_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "java", "--streaming", "--spec-cache", "cache");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_StreamingWithWatch_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "java", "--streaming", "--watch");
+    }
+
+    @Test
+    public void parseArguments_SpecCacheWithDirectory_Test() throws Exception {
+        assertThat(parse("-d", "out", "-i", "spec.xml", "-l", "java", "--spec-cache", "cache").getSpecCacheDir(), is("cache"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseArguments_MissingTemplateDir_Test() throws Exception {
+        parse("-d", "out", "-i", "spec.xml", "-l", "java", "--templates", "does-not-exist");
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.autogen.cli;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class Main_Test {
+
+    @Test
+    public void getTargetDir_SingleLanguage_Test() {
+        assertThat(Main.getTargetDir(ImmutableSet.of(GeneratorType.JAVA), GeneratorType.JAVA, "out"), is(Paths.get("out")));
+        assertThat(Main.getTargetDir(ImmutableSet.of(GeneratorType.JAVA), GeneratorType.JAVA, "out/src"), is(Paths.get("out/src")));
+    }
+
+    @Test
+    public void getTargetDir_MultipleLanguages_Test() {
+        final ImmutableSet<GeneratorType> types = ImmutableSet.of(GeneratorType.C, GeneratorType.JAVA);
+        assertThat(Main.getTargetDir(types, GeneratorType.C, "out"), is(Paths.get("out", "c")));
+        assertThat(Main.getTargetDir(types, GeneratorType.JAVA, "out"), is(Paths.get("out", "java")));
+        assertThat(Main.getTargetDir(types, GeneratorType.C, "src"), is(Paths.get("src", "c")));
+    }
+
+    @Test
+    public void getTargetDir_CWithoutSrc_Test() {
+        assertThat(Main.getTargetDir(ImmutableSet.of(GeneratorType.C), GeneratorType.C, "."), is(Paths.get(".")));
+        assertThat(Main.getTargetDir(ImmutableSet.of(GeneratorType.C), GeneratorType.C, "sdk"), is(Paths.get("sdk")));
+    }
+
+    @Test
+    public void getTargetDir_CIntoSrc_Test() {
+        assertThat(Main.getTargetDir(ImmutableSet.of(GeneratorType.C), GeneratorType.C, "src"), is(Paths.get("")));
+        assertThat(Main.getTargetDir(ImmutableSet.of(GeneratorType.C), GeneratorType.C, "src/"), is(Paths.get("")));
+        assertThat(Main.getTargetDir(ImmutableSet.of(GeneratorType.C), GeneratorType.C, "sdk/src"), is(Paths.get("sdk")));
+    }
+}
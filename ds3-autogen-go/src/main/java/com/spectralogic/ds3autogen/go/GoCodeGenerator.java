@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.CodeGenerator;
 import com.spectralogic.ds3autogen.api.FileUtils;
+import com.spectralogic.ds3autogen.api.TemplateOverridable;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
@@ -41,7 +42,11 @@ import com.spectralogic.ds3autogen.go.models.request.Request;
 import com.spectralogic.ds3autogen.go.models.response.Response;
 import com.spectralogic.ds3autogen.go.models.type.Type;
 import com.spectralogic.ds3autogen.utils.Helper;
+import com.spectralogic.ds3autogen.utils.RequestClassifier;
+import com.spectralogic.ds3autogen.utils.RequestKinds;
+import com.spectralogic.ds3autogen.utils.TemplateOverrideUtil;
 import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
 import freemarker.template.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,13 +60,14 @@ import java.nio.file.Paths;
 
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.*;
 import static com.spectralogic.ds3autogen.utils.Ds3ElementUtil.hasWrapperAnnotations;
-import static com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil.*;
+import static com.spectralogic.ds3autogen.utils.models.RequestKind.*;
 import static com.spectralogic.ds3autogen.utils.Ds3TypeClassificationUtil.isChecksumType;
 import static com.spectralogic.ds3autogen.utils.Ds3TypeClassificationUtil.isJobsApiBean;
 import static com.spectralogic.ds3autogen.utils.ResponsePayloadUtil.hasResponsePayload;
 import static kotlin.text.StringsKt.decapitalize;
+import static com.spectralogic.ds3autogen.utils.metrics.TemplateRenderUtil.render;
 
-public class GoCodeGenerator implements CodeGenerator {
+public class GoCodeGenerator implements CodeGenerator, TemplateOverridable {
 
     private static final Logger LOG = LoggerFactory.getLogger(GoCodeGenerator.class);
     private static final Path BASE_PROJECT_PATH = Paths.get("ds3");
@@ -79,6 +85,16 @@ public class GoCodeGenerator implements CodeGenerator {
         config.setSharedVariable("helper", Helper.getInstance());
     }
 
+    @Override
+    public void overrideTemplates(final Path templateDir) throws IOException {
+        TemplateOverrideUtil.overrideTemplates(config, templateDir);
+    }
+
+    @Override
+    public void reloadTemplates() {
+        config.clearTemplateCache();
+    }
+
     @Override
     public void generate(final Ds3ApiSpec spec, final FileUtils fileUtils, final Path destDir, final Ds3DocSpec docSpec) throws IOException {
         this.fileUtils = fileUtils;
@@ -90,8 +106,10 @@ public class GoCodeGenerator implements CodeGenerator {
                     spec.getTypes(),
                     spec.getRequests());
 
-            generateAllRequests(ds3Requests);
-            generateAllResponses(ds3Requests);
+            final RequestClassifier classifier = RequestClassifier.of(ds3Requests);
+
+            generateAllRequests(ds3Requests, classifier);
+            generateAllResponses(ds3Requests, classifier);
             generateClient(ds3Requests);
             generateAllTypes(typeMap);
         } catch (final Exception e) {
@@ -102,7 +120,9 @@ public class GoCodeGenerator implements CodeGenerator {
     /**
      * Generates the Go code for all request handlers, to be written to requests.go
      */
-    private void generateAllRequests(final ImmutableList<Ds3Request> ds3Requests) throws IOException, TemplateException {
+    private void generateAllRequests(
+            final ImmutableList<Ds3Request> ds3Requests,
+            final RequestClassifier classifier) throws IOException, TemplateException {
         if (isEmpty(ds3Requests)) {
             LOG.info("There were no requests to generate");
             return;
@@ -119,11 +139,11 @@ public class GoCodeGenerator implements CodeGenerator {
 
             // Generate the header info for the requests
             final Template tmpl = config.getTemplate("request/request_header.ftl");
-            tmpl.process(null, writer);
+            render(tmpl, null, writer);
 
             // Generate each request and have the code append to the requests file
             for (final Ds3Request ds3Request : ds3Requests) {
-                generateRequest(ds3Request, writer);
+                generateRequest(ds3Request, classifier.getKinds(ds3Request), writer);
             }
         }
     }
@@ -131,12 +151,15 @@ public class GoCodeGenerator implements CodeGenerator {
     /**
      * Generates the Go code for a request handler
      */
-    private void generateRequest(final Ds3Request ds3Request, final Writer writer) throws IOException, TemplateException {
-        final Template tmpl = getRequestTemplate(ds3Request);
-        final RequestModelGenerator<?> generator = getRequestGenerator(ds3Request);
+    private void generateRequest(
+            final Ds3Request ds3Request,
+            final RequestKinds kinds,
+            final Writer writer) throws IOException, TemplateException {
+        final Template tmpl = getRequestTemplate(kinds);
+        final RequestModelGenerator<?> generator = getRequestGenerator(kinds);
         final Request request = generator.generate(ds3Request);
 
-        tmpl.process(request, writer);
+        render(tmpl, request, writer);
     }
 
     /**
@@ -144,34 +167,42 @@ public class GoCodeGenerator implements CodeGenerator {
      * specified {@link Ds3Request}
      */
     static RequestModelGenerator<?> getRequestGenerator(final Ds3Request ds3Request) {
-        if (isAmazonCreateObjectRequest(ds3Request)) {
+        return getRequestGenerator(RequestClassifier.classify(ds3Request));
+    }
+
+    /**
+     * Retrieves the generator used to create the Go request handler for a
+     * {@link Ds3Request} of the specified kinds
+     */
+    private static RequestModelGenerator<?> getRequestGenerator(final RequestKinds kinds) {
+        if (kinds.contains(AMAZON_CREATE_OBJECT)) {
             return new PutObjectRequestGenerator();
         }
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return new GetObjectRequestGenerator();
         }
-        if (isCreateMultiPartUploadPartRequest(ds3Request)) {
+        if (kinds.contains(CREATE_MULTI_PART_UPLOAD_PART)) {
             return new ReaderRequestPayloadGenerator();
         }
-        if (hasPutObjectsWithSizeRequestPayload(ds3Request)) {
+        if (kinds.contains(PUT_OBJECTS_WITH_SIZE_PAYLOAD)) {
             return new Ds3PutObjectPayloadGenerator();
         }
-        if (hasGetObjectsWithLengthOffsetRequestPayload(ds3Request)) {
+        if (kinds.contains(GET_OBJECTS_WITH_LENGTH_OFFSET_PAYLOAD)) {
             return new GetBulkJobRequestGenerator();
         }
-        if (hasIdsRequestPayload(ds3Request)) {
+        if (kinds.contains(IDS_PAYLOAD)) {
             return new IdsPayloadRequestGenerator();
         }
-        if (hasStringRequestPayload(ds3Request)) {
+        if (kinds.contains(STRING_PAYLOAD)) {
             return new StringRequestPayloadGenerator();
         }
-        if (isCompleteMultiPartUploadRequest(ds3Request)) {
+        if (kinds.contains(COMPLETE_MULTI_PART_UPLOAD)) {
             return new PartsRequestPayloadGenerator();
         }
-        if (isMultiFileDeleteRequest(ds3Request)) {
+        if (kinds.contains(MULTI_FILE_DELETE)) {
             return new DeleteObjectsRequestGenerator();
         }
-        if (isCompleteBlobRequest(ds3Request)) {
+        if (kinds.contains(COMPLETE_BLOB)) {
             return new CompleteBlobRequestGenerator();
         }
         return new BaseRequestGenerator();
@@ -180,14 +211,14 @@ public class GoCodeGenerator implements CodeGenerator {
     /**
      * Retrieves the appropriate template that will generate the Go request handler
      */
-    private Template getRequestTemplate(final Ds3Request ds3Request) throws IOException {
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+    private Template getRequestTemplate(final RequestKinds kinds) throws IOException {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return config.getTemplate("request/get_object_request.ftl");
         }
-        if (isAmazonCreateObjectRequest(ds3Request) || isCompleteBlobRequest(ds3Request)) {
+        if (kinds.contains(AMAZON_CREATE_OBJECT) || kinds.contains(COMPLETE_BLOB)) {
             return config.getTemplate("request/put_object_request.ftl");
         }
-        if (hasGetObjectsWithLengthOffsetRequestPayload(ds3Request)) {
+        if (kinds.contains(GET_OBJECTS_WITH_LENGTH_OFFSET_PAYLOAD)) {
             return config.getTemplate("request/get_bulk_job_request.ftl");
         }
         return config.getTemplate("request/request_body.ftl");
@@ -196,7 +227,9 @@ public class GoCodeGenerator implements CodeGenerator {
     /**
      * Generates the Go code for all response handlers, to be written to responses.go
      */
-    private void generateAllResponses(final ImmutableList<Ds3Request> ds3Requests) throws IOException, TemplateException {
+    private void generateAllResponses(
+            final ImmutableList<Ds3Request> ds3Requests,
+            final RequestClassifier classifier) throws IOException, TemplateException {
         if (isEmpty(ds3Requests)) {
             LOG.info("There were no requests to generate response handlers for");
             return;
@@ -213,11 +246,11 @@ public class GoCodeGenerator implements CodeGenerator {
 
             // Generate the header info for the responses
             final Template tmpl = config.getTemplate("response/response_header.ftl");
-            tmpl.process(null, writer);
+            render(tmpl, null, writer);
 
             // Generate each response and have the code append to the responses file
             for (final Ds3Request ds3Request : ds3Requests) {
-                generateResponse(ds3Request, writer);
+                generateResponse(ds3Request, classifier.getKinds(ds3Request), writer);
             }
         }
     }
@@ -225,12 +258,15 @@ public class GoCodeGenerator implements CodeGenerator {
     /**
      * Generates the Go code for a response handler/parser
      */
-    private void generateResponse(final Ds3Request ds3Request, final Writer writer) throws IOException, TemplateException {
-        final Template tmpl = getResponseTemplate(ds3Request);
-        final ResponseModelGenerator<?> generator = getResponseGenerator(ds3Request);
+    private void generateResponse(
+            final Ds3Request ds3Request,
+            final RequestKinds kinds,
+            final Writer writer) throws IOException, TemplateException {
+        final Template tmpl = getResponseTemplate(kinds);
+        final ResponseModelGenerator<?> generator = getResponseGenerator(ds3Request, kinds);
         final Response response = generator.generate(ds3Request);
 
-        tmpl.process(response, writer);
+        render(tmpl, response, writer);
     }
 
     /**
@@ -238,10 +274,18 @@ public class GoCodeGenerator implements CodeGenerator {
      * specified {@link Ds3Request}
      */
     static ResponseModelGenerator<?> getResponseGenerator(final Ds3Request ds3Request) {
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        return getResponseGenerator(ds3Request, RequestClassifier.classify(ds3Request));
+    }
+
+    /**
+     * Retrieves the generator used to create the Go response handler for the
+     * specified {@link Ds3Request} of the specified kinds
+     */
+    private static ResponseModelGenerator<?> getResponseGenerator(final Ds3Request ds3Request, final RequestKinds kinds) {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return new GetObjectResponseGenerator();
         }
-        if (isHeadObjectRequest(ds3Request)) {
+        if (kinds.contains(HEAD_OBJECT)) {
             return new HeadObjectResponseGenerator();
         }
         if (!hasResponsePayload(ds3Request.getDs3ResponseCodes())) {
@@ -253,8 +297,8 @@ public class GoCodeGenerator implements CodeGenerator {
     /**
      * Retrieves the appropriate template that will generate the Go response handler
      */
-    private Template getResponseTemplate(final Ds3Request ds3Request) throws IOException {
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+    private Template getResponseTemplate(final RequestKinds kinds) throws IOException {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return config.getTemplate("response/response_get_object_template.ftl");
         }
         return config.getTemplate("response/response_template.ftl");
@@ -293,7 +337,7 @@ public class GoCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outputStream = fileUtils.getOutputFile(path);
              final Writer writer = new OutputStreamWriter(outputStream)) {
-            tmpl.process(client, writer);
+            render(tmpl, client, writer);
         }
     }
 
@@ -338,7 +382,7 @@ public class GoCodeGenerator implements CodeGenerator {
 
             // Generate the header info for the models file
             final Template tmpl = config.getTemplate("type/type_header.ftl");
-            tmpl.process(null, writer);
+            render(tmpl, null, writer);
 
             // Generate each model and have the code append to the responseModels file
             for (final Ds3Type ds3Type : typeMap.values()) {
@@ -361,7 +405,7 @@ public class GoCodeGenerator implements CodeGenerator {
         final TypeParserModelGenerator<?> generator = getTypeParserGenerator(ds3Type);
         final TypeParser typeParser = generator.generate(ds3Type, typeMap);
 
-        tmpl.process(typeParser, writer);
+        render(tmpl, typeParser, writer);
     }
 
     /**
@@ -406,7 +450,7 @@ public class GoCodeGenerator implements CodeGenerator {
         final TypeModelGenerator<?> generator = getTypeGenerator();
         final Type type = generator.generate(ds3Type);
 
-        tmpl.process(type, writer);
+        render(tmpl, type, writer);
     }
 
     /**
@@ -17,37 +17,80 @@ package com.spectralogic.ds3autogen.java;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.spectralogic.ds3autogen.api.CodeGenerator;
+import com.spectralogic.ds3autogen.api.Ds3StreamingSpec;
 import com.spectralogic.ds3autogen.api.FileUtils;
+import com.spectralogic.ds3autogen.api.StreamingCodeGenerator;
+import com.spectralogic.ds3autogen.api.TemplateOverridable;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
 import com.spectralogic.ds3autogen.api.models.docspec.Ds3DocSpec;
 import com.spectralogic.ds3autogen.java.converters.ClientConverter;
+import com.spectralogic.ds3autogen.java.converters.XmlParsersConverter;
+import com.spectralogic.ds3autogen.java.emitters.CodeEmitter;
+import com.spectralogic.ds3autogen.java.emitters.CodeEmitters;
+import com.spectralogic.ds3autogen.java.emitters.JavaCodeWriter;
 import com.spectralogic.ds3autogen.java.generators.requestmodels.*;
 import com.spectralogic.ds3autogen.java.generators.responsemodels.*;
 import com.spectralogic.ds3autogen.java.generators.responseparser.*;
 import com.spectralogic.ds3autogen.java.generators.typemodels.*;
+import com.spectralogic.ds3autogen.java.generators.xmlparsers.ModelXmlParserGenerator;
+import com.spectralogic.ds3autogen.java.generators.xmlparsers.XmlParsersBenchmarkGenerator;
 import com.spectralogic.ds3autogen.java.helpers.JavaHelper;
 import com.spectralogic.ds3autogen.java.models.*;
+import com.spectralogic.ds3autogen.utils.CodeLocationUtil;
 import com.spectralogic.ds3autogen.utils.Ds3TypeClassificationUtil;
 import com.spectralogic.ds3autogen.utils.Helper;
+import com.spectralogic.ds3autogen.utils.RequestClassifier;
+import com.spectralogic.ds3autogen.utils.RequestKinds;
+import com.spectralogic.ds3autogen.utils.TemplateOverrideUtil;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3autogen.utils.manifest.GenerationManifest;
+import com.spectralogic.ds3autogen.utils.manifest.TemplateHasher;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics;
+import com.spectralogic.ds3autogen.utils.metrics.Stage;
+import com.spectralogic.ds3autogen.utils.metrics.StageTimer;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
 import freemarker.template.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static com.spectralogic.ds3autogen.java.models.Constants.*;
 import static com.spectralogic.ds3autogen.java.utils.JavaModuleUtil.getCommandPackage;
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.*;
-import static com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil.*;
+import static com.spectralogic.ds3autogen.utils.models.RequestKind.*;
 import static com.spectralogic.ds3autogen.utils.Ds3TypeClassificationUtil.*;
+import static com.spectralogic.ds3autogen.utils.Helper.uncapFirst;
+import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
+import static com.spectralogic.ds3autogen.utils.metrics.TemplateRenderUtil.render;
 
 /**
  * Generates Java SDK code based on the contents of a Ds3ApiSpec.
@@ -55,22 +98,67 @@ import static com.spectralogic.ds3autogen.utils.Ds3TypeClassificationUtil.*;
  * Generated Code:
  *   Request handlers
  *   Response handlers
+ *   Streaming response parsers, for requests whose payload contains lists of models
  *   Ds3Client
  *   Ds3ClientImpl
  *   Models
+ *   Xml parsers for each model, when constructed with xmlParsers enabled
+ *
+ * Modes, selected with JavaGeneratorOptions:
+ *   parallelism: requests and models are rendered across a work-stealing pool, see renderAll
+ *   incremental: unchanged requests and models are not rewritten, see renderElement
+ *   xmlParsers: response parsers read their payloads with generated StAX parsers
+ *   codeEmitters: the highest volume templates are written without FreeMarker, see emit
+ *   Ds3StreamingSpec: requests are rendered as they are read, see generateStreamedRequests
  */
-public class JavaCodeGenerator implements CodeGenerator {
+public class JavaCodeGenerator implements StreamingCodeGenerator, TemplateOverridable {
 
     private static final Logger LOG = LoggerFactory.getLogger(JavaCodeGenerator.class);
 
     private static final Path baseProjectPath = Paths.get("ds3-sdk/src/main/java/");
+    private static final Path benchmarkProjectPath = Paths.get("ds3-sdk/src/jmh/java/");
+
+    /** The classes whose jars contain the generator, its helpers, converters and emitters, and the spec models */
+    private static final Class<?>[] GENERATOR_CLASSES = { JavaCodeGenerator.class, Helper.class, Ds3Request.class };
 
     private final Configuration config = new Configuration(Configuration.VERSION_2_3_23);
 
+    private final int parallelism;
+    private final boolean incremental;
+    /**
+     * If true, a reflection-free StAX parser is generated for every model, along with
+     * XmlParsers, which the response parsers use to read their payloads in place of the
+     * Jackson based XmlOutput. A JMH benchmark comparing the two on a large sample
+     * document is generated into ds3-sdk/src/jmh/java.
+     */
+    private final boolean xmlParsers;
+    private final TemplateHasher templateHasher = new TemplateHasher(config);
+    private final ImmutableMap<String, CodeEmitter<?>> emitters;
+    private final List<Path> templateOverrideDirs = new CopyOnWriteArrayList<>();
+    private final Map<String, Boolean> emittableTemplates = new ConcurrentHashMap<>();
+    private final ThreadLocal<JavaCodeWriter> codeWriters = ThreadLocal.withInitial(JavaCodeWriter::new);
+
     private FileUtils fileUtils;
     private Path destDir;
+    private GenerationManifest manifest;
 
     public JavaCodeGenerator() throws TemplateModelException {
+        this(1);
+    }
+
+    /**
+     * @param parallelism The number of worker threads used to render requests and models,
+     *                    where 1 renders everything on the calling thread
+     */
+    public JavaCodeGenerator(final int parallelism) throws TemplateModelException {
+        this(JavaGeneratorOptions.builder().parallelism(parallelism).build());
+    }
+
+    public JavaCodeGenerator(final JavaGeneratorOptions options) throws TemplateModelException {
+        this.parallelism = options.getParallelism();
+        this.incremental = options.isIncremental();
+        this.xmlParsers = options.isXmlParsers();
+        this.emitters = options.isCodeEmitters() ? CodeEmitters.create() : ImmutableMap.of();
         config.setDefaultEncoding("UTF-8");
         config.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
         config.setClassForTemplateLoading(JavaCodeGenerator.class, "/tmpls/java/");
@@ -78,6 +166,28 @@ public class JavaCodeGenerator implements CodeGenerator {
         config.setSharedVariable("helper", Helper.getInstance());
     }
 
+    @Override
+    public void overrideTemplates(final Path templateDir) throws IOException {
+        TemplateOverrideUtil.overrideTemplates(config, templateDir);
+        templateOverrideDirs.add(templateDir);
+        emittableTemplates.clear();
+    }
+
+    @Override
+    public void reloadTemplates() {
+        config.clearTemplateCache();
+        templateHasher.clear();
+        emittableTemplates.clear();
+    }
+
+    /**
+     * Retrieves the default number of worker threads used for parallel generation,
+     * which is the number of available processors
+     */
+    public static int defaultParallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     @Override
     public void generate(
             final Ds3ApiSpec spec,
@@ -86,6 +196,7 @@ public class JavaCodeGenerator implements CodeGenerator {
             final Ds3DocSpec docSpec) throws IOException {
         this.fileUtils = fileUtils;
         this.destDir = destDir;
+        this.manifest = incremental ? GenerationManifest.load(destDir, CodeLocationUtil.hashCodeOf(GENERATOR_CLASSES)) : null;
 
         try {
             final ImmutableList<Ds3Request> requests = spec.getRequests();
@@ -94,6 +205,38 @@ public class JavaCodeGenerator implements CodeGenerator {
                     spec.getRequests());
 
             generateCommands(requests, types, docSpec);
+
+            if (manifest != null) {
+                final int deleted = manifest.save();
+                LOG.info("Deleted {} generated files that are no longer in the contract", deleted);
+            }
+        } catch (final TemplateException e) {
+            LOG.error("Unable to generate Java SDK code", e);
+        }
+    }
+
+    @Override
+    public void generate(
+            final Ds3StreamingSpec spec,
+            final FileUtils fileUtils,
+            final Path destDir,
+            final Ds3DocSpec docSpec) throws IOException {
+        this.fileUtils = fileUtils;
+        this.destDir = destDir;
+        this.manifest = incremental ? GenerationManifest.load(destDir, CodeLocationUtil.hashCodeOf(GENERATOR_CLASSES)) : null;
+
+        try {
+            final ImmutableMap<String, Ds3Type> types = retainUsedTypes(
+                    spec.getTypes(),
+                    spec.getRequestTypes());
+
+            generateAllModels(types);
+            generateStreamedRequests(spec, types, docSpec);
+
+            if (manifest != null) {
+                final int deleted = manifest.save();
+                LOG.info("Deleted {} generated files that are no longer in the contract", deleted);
+            }
         } catch (final TemplateException e) {
             LOG.error("Unable to generate Java SDK code", e);
         }
@@ -108,7 +251,7 @@ public class JavaCodeGenerator implements CodeGenerator {
             final ImmutableList<Ds3Request> requests,
             final ImmutableMap<String, Ds3Type> types,
             final Ds3DocSpec docSpec) throws IOException, TemplateException {
-        generateAllRequests(requests, docSpec);
+        generateAllRequests(requests, types, docSpec);
         generateAllModels(types);
         generateClient(requests, docSpec);
     }
@@ -124,18 +267,288 @@ public class JavaCodeGenerator implements CodeGenerator {
             LOG.info("There were no models to generate");
             return;
         }
+        final ImmutableList.Builder<RenderTask> tasks = ImmutableList.builder();
         for (final Ds3Type ds3Type : types.values()) {
-            generateModel(ds3Type);
+            final boolean hasXmlParser = xmlParsers && ModelXmlParserGenerator.hasXmlParser(ds3Type);
+
+            final ImmutableList.Builder<Template> templates = ImmutableList.builder();
+            templates.add(getModelTemplate(ds3Type));
+            if (hasXmlParser) {
+                templates.add(getModelXmlParserTemplate());
+            }
+
+            tasks.add(() -> renderElement(
+                    "type:" + ds3Type.getName(),
+                    () -> hashType(ds3Type, hasXmlParser, types),
+                    templates.build(),
+                    elementFileUtils -> {
+                        generateModel(ds3Type, elementFileUtils);
+                        if (hasXmlParser) {
+                            generateModelXmlParser(ds3Type, types, elementFileUtils);
+                        }
+                    }));
+        }
+        if (xmlParsers) {
+            tasks.add(() -> renderElement(
+                    "xml-parsers",
+                    () -> GenerationManifest.hashContent(types.values().stream()
+                            .map(Ds3Type::toString)
+                            .toArray(String[]::new)),
+                    ImmutableList.of(getXmlParsersTemplate(), getXmlParsersBenchmarkTemplate()),
+                    elementFileUtils -> {
+                        generateXmlParsers(types, elementFileUtils);
+                        generateXmlParsersBenchmark(types, elementFileUtils);
+                    }));
+        }
+        renderAll(tasks.build());
+    }
+
+    /**
+     * Computes the manifest hash of a Ds3Type. The xml parser of a type also depends on
+     * which of the types it references have xml parsers of their own.
+     */
+    private static String hashType(
+            final Ds3Type ds3Type,
+            final boolean hasXmlParser,
+            final ImmutableMap<String, Ds3Type> types) {
+        final ImmutableList.Builder<String> content = ImmutableList.builder();
+        content.add(ds3Type.toString());
+        if (hasXmlParser) {
+            for (final Ds3Element element : ds3Type.getElements()) {
+                final String type = hasContent(element.getComponentType()) ? element.getComponentType() : element.getType();
+                if (types.containsKey(type)) {
+                    content.add(type + ":" + ModelXmlParserGenerator.hasXmlParser(types.get(type)));
+                }
+            }
+        }
+        return GenerationManifest.hashContent(content.build().toArray(new String[0]));
+    }
+
+    /**
+     * A unit of template rendering that can be run on any worker thread
+     */
+    @FunctionalInterface
+    private interface RenderTask {
+        void render() throws IOException, TemplateException;
+    }
+
+    /**
+     * Renders the files of a single contract element into the supplied FileUtils
+     */
+    @FunctionalInterface
+    private interface ElementRenderer {
+        void render(final FileUtils elementFileUtils) throws IOException, TemplateException;
+    }
+
+    /**
+     * Renders all files generated from a single contract element. In incremental mode a
+     * GenerationManifest is kept in the destination directory, and the element is skipped
+     * if it, its templates and the generator are unchanged since the previous run,
+     * otherwise the files it produces are recorded in the manifest. Files whose request
+     * or type no longer exists in the contract are deleted when the manifest is saved.
+     * @param elementKey Uniquely identifies the request or type within the manifest
+     * @param contractHash Computes the hash of everything in the contract the element's files depend on
+     * @param templates The templates used to render the element's files
+     */
+    private void renderElement(
+            final String elementKey,
+            final Supplier<String> contractHash,
+            final ImmutableList<Template> templates,
+            final ElementRenderer renderer) throws IOException, TemplateException {
+        if (manifest == null) {
+            renderer.render(fileUtils);
+            return;
+        }
+
+        final String[] templateNames = templates.stream()
+                .map(Template::getName)
+                .toArray(String[]::new);
+        final String templateHash = templateHasher.hash(templateNames);
+        final String elementHash = contractHash.get();
+
+        if (manifest.isUpToDate(elementKey, elementHash, templateHash)) {
+            LOG.info("Skipping unchanged {}", elementKey);
+            manifest.retain(elementKey);
+            return;
+        }
+        renderer.render(manifest.track(fileUtils, elementKey, elementHash, templateHash));
+    }
+
+    /**
+     * Runs all render tasks, either in order on the calling thread or across a
+     * work-stealing pool depending on the configured parallelism. If any task
+     * fails, the first failure in task order is rethrown once all tasks complete.
+     *
+     * The shared FreeMarker Configuration is not modified after construction, and the
+     * JavaHelper and Helper shared variables are stateless, so concurrent renders produce
+     * the same output as the serial path. The FileUtils passed to generate must be thread
+     * safe when the parallelism is greater than one.
+     */
+    private void renderAll(final ImmutableList<RenderTask> tasks) throws IOException, TemplateException {
+        if (parallelism == 1 || tasks.size() <= 1) {
+            for (final RenderTask task : tasks) {
+                task.render();
+            }
+            return;
+        }
+
+        final ImmutableList.Builder<Callable<Void>> callables = ImmutableList.builder();
+        for (final RenderTask task : tasks) {
+            callables.add(() -> {
+                task.render();
+                return null;
+            });
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final List<Future<Void>> futures = pool.invokeAll(callables.build());
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while generating Java SDK code");
+        } catch (final ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            pool.shutdown();
         }
     }
 
+    /**
+     * Renders tasks as they are submitted. With a parallelism of one each task is rendered
+     * on the calling thread, otherwise tasks are rendered on a fixed pool and submit blocks
+     * while twice the parallelism of tasks are waiting or rendering, which bounds the number
+     * of elements held in memory. The first failure is rethrown by the next call to submit,
+     * or by await once all submitted tasks complete.
+     */
+    private final class RenderQueue implements AutoCloseable {
+
+        private final ExecutorService executor;
+        private final Semaphore pending;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private RenderQueue() {
+            this.executor = parallelism == 1 ? null : Executors.newFixedThreadPool(parallelism);
+            this.pending = new Semaphore(parallelism * 2);
+        }
+
+        private void submit(final RenderTask task) throws IOException, TemplateException {
+            if (executor == null) {
+                task.render();
+                return;
+            }
+            checkFailure();
+            try {
+                pending.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while generating Java SDK code");
+            }
+            executor.execute(() -> {
+                try {
+                    task.render();
+                } catch (final Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    pending.release();
+                }
+            });
+        }
+
+        private void await() throws IOException, TemplateException {
+            if (executor == null) {
+                return;
+            }
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOG.info("Waiting for queued requests to finish rendering");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while generating Java SDK code");
+            }
+            checkFailure();
+        }
+
+        private void checkFailure() throws IOException, TemplateException {
+            final Throwable cause = failure.get();
+            if (cause != null) {
+                throw rethrow(cause);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Writes the template's output for the data model with the template's code emitter,
+     * or renders the template if it has no emitter or is overridden. The request, response,
+     * response parser, model and enum model templates render the large majority of files,
+     * so with code emitters enabled, which is the default, their files are written by the
+     * CodeEmitters, which produce the same bytes as the templates. An emitter is not used
+     * once its template, or a template it includes, is overridden.
+     */
+    private void emit(final Template template, final Object dataModel, final Writer writer) throws IOException, TemplateException {
+        final CodeEmitter<?> emitter = emitters.get(template.getName());
+        if (emitter == null || !isEmittable(emitter)) {
+            render(template, dataModel, writer);
+            return;
+        }
+        final JavaCodeWriter codeWriter = codeWriters.get().reset();
+        try (final StageTimer ignored = GenerationMetrics.getInstance().time(Stage.RENDER, template.getName())) {
+            emitModel(emitter, dataModel, codeWriter);
+            codeWriter.writeTo(writer);
+        }
+    }
+
+    private static <T> void emitModel(final CodeEmitter<T> emitter, final Object dataModel, final JavaCodeWriter codeWriter) {
+        emitter.emit(emitter.getModelType().cast(dataModel), codeWriter);
+    }
+
+    /**
+     * Determines if none of the templates the emitter replaces are within a template
+     * override directory
+     */
+    private boolean isEmittable(final CodeEmitter<?> emitter) {
+        return emittableTemplates.computeIfAbsent(emitter.getTemplateNames().iterator().next(), name ->
+                emitter.getTemplateNames().stream().noneMatch(templateName ->
+                        templateOverrideDirs.stream().anyMatch(dir -> Files.exists(dir.resolve(templateName)))));
+    }
+
+    /**
+     * Rethrows the cause of a failed render task as its original checked exception type
+     */
+    private static IOException rethrow(final Throwable cause) throws TemplateException {
+        if (cause instanceof TemplateException) {
+            throw (TemplateException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        return new IOException(cause);
+    }
+
     /**
      * Generates code for a Model from a Ds3Type
      * @param ds3Type A Ds3Type
      * @throws IOException
      * @throws TemplateException
      */
-    private void generateModel(final Ds3Type ds3Type) throws IOException, TemplateException {
+    private void generateModel(final Ds3Type ds3Type, final FileUtils fileUtils) throws IOException, TemplateException {
         final Template modelTmpl = getModelTemplate(ds3Type);
         final Model model = toModel(ds3Type, getModelPackage());
         final Path modelPath = toModelFilePath(model.getName());
@@ -144,10 +557,105 @@ public class JavaCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outStream = fileUtils.getOutputFile(modelPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            modelTmpl.process(model, writer);
+            emit(modelTmpl, model, writer);
         }
     }
 
+    /**
+     * Generates the xml parser for the Model of a Ds3Type
+     */
+    private void generateModelXmlParser(
+            final Ds3Type ds3Type,
+            final ImmutableMap<String, Ds3Type> types,
+            final FileUtils fileUtils) throws IOException, TemplateException {
+        final Template tmpl = getModelXmlParserTemplate();
+        final ModelXmlParser xmlParser = new ModelXmlParserGenerator()
+                .generate(toModel(ds3Type, getModelPackage()), types, XML_PARSERS_PACKAGE_PATH);
+        final Path parserPath = toXmlParsersFilePath(baseProjectPath, xmlParser.getName());
+
+        LOG.info("Getting outputstream for file: {}", parserPath.toString());
+
+        try (final OutputStream outStream = fileUtils.getOutputFile(parserPath);
+             final Writer writer = new OutputStreamWriter(outStream)) {
+            render(tmpl, xmlParser, writer);
+        }
+    }
+
+    /**
+     * Generates XmlParsers, which maps each Model to its xml parser
+     */
+    private void generateXmlParsers(
+            final ImmutableMap<String, Ds3Type> types,
+            final FileUtils fileUtils) throws IOException, TemplateException {
+        final Template tmpl = getXmlParsersTemplate();
+        final ImmutableList<String> modelNames = types.values().stream()
+                .filter(ModelXmlParserGenerator::hasXmlParser)
+                .map(ds3Type -> removePath(ds3Type.getName()))
+                .sorted()
+                .collect(GuavaCollectors.immutableList());
+        final XmlParserRegistry registry = new XmlParserRegistry(
+                XML_PARSERS_PACKAGE_PATH,
+                modelNames.stream()
+                        .map(modelName -> MODELS_PACKAGE_PATH + modelName)
+                        .collect(GuavaCollectors.immutableSet()),
+                modelNames);
+        final Path parsersPath = toXmlParsersFilePath(baseProjectPath, "XmlParsers");
+
+        LOG.info("Getting outputstream for file: {}", parsersPath.toString());
+
+        try (final OutputStream outStream = fileUtils.getOutputFile(parsersPath);
+             final Writer writer = new OutputStreamWriter(outStream)) {
+            render(tmpl, registry, writer);
+        }
+    }
+
+    /**
+     * Generates the benchmark comparing XmlOutput against XmlParsers, if any Model
+     * contains a list of models
+     */
+    private void generateXmlParsersBenchmark(
+            final ImmutableMap<String, Ds3Type> types,
+            final FileUtils fileUtils) throws IOException, TemplateException {
+        final Optional<XmlParsersBenchmarkFixture> fixture = new XmlParsersBenchmarkGenerator(
+                types,
+                ds3Type -> toModel(ds3Type, getModelPackage()).getElements())
+                .generate(XML_PARSERS_PACKAGE_PATH);
+        if (!fixture.isPresent()) {
+            LOG.info("Not generating the xml parsers benchmark: no model contains a list of models");
+            return;
+        }
+        final Template tmpl = getXmlParsersBenchmarkTemplate();
+        final Path benchmarkPath = toXmlParsersFilePath(benchmarkProjectPath, "XmlParsersBenchmark");
+
+        LOG.info("Getting outputstream for file: {}", benchmarkPath.toString());
+
+        try (final OutputStream outStream = fileUtils.getOutputFile(benchmarkPath);
+             final Writer writer = new OutputStreamWriter(outStream)) {
+            render(tmpl, fixture.get(), writer);
+        }
+    }
+
+    /**
+     * Converts a file name into the path of said file within the xml parsers package
+     * @param projectPath The source directory of the file within the Java SDK
+     */
+    private Path toXmlParsersFilePath(final Path projectPath, final String fileName) {
+        return destDir.resolve(projectPath.resolve(
+                Paths.get(XML_PARSERS_PACKAGE_PATH.replace(".", "/") + "/" + fileName + ".java")));
+    }
+
+    private Template getModelXmlParserTemplate() throws IOException {
+        return config.getTemplate("xmlparsers/model_xml_parser.ftl");
+    }
+
+    private Template getXmlParsersTemplate() throws IOException {
+        return config.getTemplate("xmlparsers/xml_parsers.ftl");
+    }
+
+    private Template getXmlParsersBenchmarkTemplate() throws IOException {
+        return config.getTemplate("xmlparsers/xml_parsers_benchmark.ftl");
+    }
+
     /**
      * Converts a Ds3Type into a Model
      */
@@ -234,41 +742,240 @@ public class JavaCodeGenerator implements CodeGenerator {
 
     /**
      * Generates the Request Handler, Response Handler, and Response Parser
-     * for all specified requests
+     * for all specified requests, along with the Streaming Response Parser
+     * for requests whose payload can be streamed
      * @throws IOException
      * @throws TemplateException
      */
     private void generateAllRequests(
             final ImmutableList<Ds3Request> requests,
+            final ImmutableMap<String, Ds3Type> types,
             final Ds3DocSpec docSpec) throws IOException, TemplateException {
         if (isEmpty(requests)) {
             LOG.info("There were no requests to generate");
             return;
         }
+        final RequestClassifier classifier = RequestClassifier.of(requests);
+        final ImmutableList.Builder<RenderTask> tasks = ImmutableList.builder();
+        boolean hasStreamingParsers = false;
         for (final Ds3Request request : requests) {
-            generateRequest(request, docSpec);
-            generateResponse(request);
-            generateResponseParser(request);
+            final RequestKinds kinds = classifier.getKinds(request);
+            final Optional<Ds3Type> streamedType = StreamingResponseParserGenerator.getStreamablePayloadType(request, kinds, types);
+            hasStreamingParsers |= streamedType.isPresent();
+            tasks.add(toRequestTask(request, kinds, streamedType, types, docSpec));
+        }
+        if (hasStreamingParsers) {
+            tasks.add(toStreamingSupportTask());
         }
+        renderAll(tasks.build());
+    }
+
+    /**
+     * Creates the task that renders the request handler, response, and response parsers
+     * of a single Ds3Request
+     */
+    private RenderTask toRequestTask(
+            final Ds3Request request,
+            final RequestKinds kinds,
+            final Optional<Ds3Type> streamedType,
+            final ImmutableMap<String, Ds3Type> types,
+            final Ds3DocSpec docSpec) throws IOException {
+        final ImmutableList.Builder<Template> templates = ImmutableList.builder();
+        templates.add(getRequestTemplate(request, kinds), getResponseTemplate(kinds), getResponseParserTemplate(kinds));
+        if (streamedType.isPresent()) {
+            templates.add(getStreamingResponseParserTemplate());
+        }
+
+        return () -> renderElement(
+                "request:" + request.getName(),
+                () -> hashRequest(request, streamedType, xmlParsers, docSpec),
+                templates.build(),
+                elementFileUtils -> {
+                    generateRequest(request, kinds, docSpec, elementFileUtils);
+                    generateResponse(request, kinds, elementFileUtils);
+                    generateResponseParser(request, kinds, elementFileUtils);
+                    if (streamedType.isPresent()) {
+                        generateStreamingResponseParser(request, streamedType.get(), types, elementFileUtils);
+                    }
+                });
+    }
+
+    /**
+     * Creates the task that renders the XmlElementIterator used by the streaming response parsers
+     */
+    private RenderTask toStreamingSupportTask() {
+        return () -> renderElement(
+                "streaming-support",
+                () -> GenerationManifest.hashContent(RESPONSE_PARSER_PACKAGE_PATH),
+                ImmutableList.of(getXmlElementIteratorTemplate()),
+                this::generateXmlElementIterator);
+    }
+
+    /**
+     * Generates the code of each request of the Ds3StreamingSpec as it is read, followed
+     * by the Client, which is built from the Commands of the requests read. The Models are
+     * rendered before the requests are read, requests are queued for rendering on a
+     * RenderQueue, and only the small Command models of the Client are retained until all
+     * requests have been read.
+     * @throws IOException
+     * @throws TemplateException
+     */
+    private void generateStreamedRequests(
+            final Ds3StreamingSpec spec,
+            final ImmutableMap<String, Ds3Type> types,
+            final Ds3DocSpec docSpec) throws IOException, TemplateException {
+        final ClientConverter.ClientBuilder clientBuilder = ClientConverter.clientBuilder(ROOT_PACKAGE_PATH, docSpec);
+        final ImmutableList.Builder<String> requestHashes = ImmutableList.builder();
+        final AtomicBoolean hasStreamingParsers = new AtomicBoolean(false);
+        final AtomicInteger requestCount = new AtomicInteger(0);
+
+        try (final RenderQueue queue = new RenderQueue()) {
+            spec.<TemplateException>forEachRequest(request -> {
+                final RequestKinds kinds = RequestClassifier.classify(request);
+                final Optional<Ds3Type> streamedType = StreamingResponseParserGenerator.getStreamablePayloadType(request, kinds, types);
+                if (streamedType.isPresent()) {
+                    hasStreamingParsers.set(true);
+                }
+                queue.submit(toRequestTask(request, kinds, streamedType, types, docSpec));
+
+                clientBuilder.add(request);
+                if (manifest != null) {
+                    requestHashes.add(hashRequest(request, docSpec));
+                }
+                requestCount.incrementAndGet();
+            });
+            if (hasStreamingParsers.get()) {
+                queue.submit(toStreamingSupportTask());
+            }
+            queue.await();
+        }
+
+        if (requestCount.get() == 0) {
+            LOG.info("There were no requests to generate");
+            LOG.info("Not generating client: no requests.");
+            return;
+        }
+        generateClient(
+                clientBuilder::build,
+                () -> GenerationManifest.hashContent(requestHashes.build().toArray(new String[0])));
+    }
+
+    /**
+     * Computes the manifest hash of a Ds3Request, including the documentation
+     * that is rendered into its request handler
+     */
+    private static String hashRequest(final Ds3Request ds3Request, final Ds3DocSpec docSpec) {
+        return hashRequest(ds3Request, Optional.empty(), false, docSpec);
+    }
+
+    /**
+     * Computes the manifest hash of a Ds3Request, including the documentation that is
+     * rendered into its request handler, the payload type of its streaming response parser,
+     * and whether its response parser reads the payload with XmlParsers
+     */
+    private static String hashRequest(
+            final Ds3Request ds3Request,
+            final Optional<Ds3Type> streamedType,
+            final boolean xmlParsers,
+            final Ds3DocSpec docSpec) {
+        final ImmutableList.Builder<String> content = ImmutableList.builder();
+        content.add(ds3Request.toString());
+        streamedType.ifPresent(type -> content.add(type.toString()));
+        content.add(Boolean.toString(xmlParsers));
+        content.add(docSpec.getClass().getName());
+        content.add(docSpec.getRequestDocumentation(removePath(ds3Request.getName())).orElse(""));
+        for (final Ds3Param param : combineParams(ds3Request)) {
+            content.add(param.getName());
+            content.add(docSpec.getParamDocumentation(uncapFirst(param.getName())).orElse(""));
+        }
+        return GenerationManifest.hashContent(content.build().toArray(new String[0]));
+    }
+
+    /**
+     * Retrieves the required and optional query params of a Ds3Request
+     */
+    private static ImmutableList<Ds3Param> combineParams(final Ds3Request ds3Request) {
+        final ImmutableList.Builder<Ds3Param> builder = ImmutableList.builder();
+        if (hasContent(ds3Request.getRequiredQueryParams())) {
+            builder.addAll(ds3Request.getRequiredQueryParams());
+        }
+        if (hasContent(ds3Request.getOptionalQueryParams())) {
+            builder.addAll(ds3Request.getOptionalQueryParams());
+        }
+        return builder.build();
     }
 
     /**
      * Generates the Response Parser code for the specified Ds3Request
      */
-    private void generateResponseParser(final Ds3Request ds3Request) throws IOException, TemplateException {
-        final Template tmpl = getResponseParserTemplate(ds3Request);
+    private void generateResponseParser(
+            final Ds3Request ds3Request,
+            final RequestKinds kinds,
+            final FileUtils fileUtils) throws IOException, TemplateException {
+        final Template tmpl = getResponseParserTemplate(kinds);
 
-        final ResponseParser responseParser = toResponseParser(ds3Request);
+        final ResponseParser responseParser = xmlParsers
+                ? XmlParsersConverter.toXmlParsersResponseParser(toResponseParser(ds3Request, kinds))
+                : toResponseParser(ds3Request, kinds);
         final Path responsePath = toResponseParserPath(responseParser.getName());
 
         LOG.info("Getting outputstream for file: {}", responsePath.toString());
 
         try (final OutputStream outStream = fileUtils.getOutputFile(responsePath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(responseParser, writer);
+            emit(tmpl, responseParser, writer);
+        }
+    }
+
+    /**
+     * Generates the Streaming Response Parser code for the specified Ds3Request
+     */
+    private void generateStreamingResponseParser(
+            final Ds3Request ds3Request,
+            final Ds3Type payloadType,
+            final ImmutableMap<String, Ds3Type> types,
+            final FileUtils fileUtils) throws IOException, TemplateException {
+        final Template tmpl = getStreamingResponseParserTemplate();
+
+        final StreamingResponseParser streamingParser = new StreamingResponseParserGenerator().generate(
+                ds3Request,
+                payloadType,
+                toModel(payloadType, getModelPackage()).getElements(),
+                types,
+                RESPONSE_PARSER_PACKAGE_PATH);
+        final Path parserPath = toResponseParserPath(streamingParser.getName());
+
+        LOG.info("Getting outputstream for file: {}", parserPath.toString());
+
+        try (final OutputStream outStream = fileUtils.getOutputFile(parserPath);
+             final Writer writer = new OutputStreamWriter(outStream)) {
+            render(tmpl, streamingParser, writer);
         }
     }
 
+    /**
+     * Generates the XmlElementIterator used by all Streaming Response Parsers
+     */
+    private void generateXmlElementIterator(final FileUtils fileUtils) throws IOException, TemplateException {
+        final Template tmpl = getXmlElementIteratorTemplate();
+        final Path iteratorPath = toResponseParserPath("utils/XmlElementIterator");
+
+        LOG.info("Getting outputstream for file: {}", iteratorPath.toString());
+
+        try (final OutputStream outStream = fileUtils.getOutputFile(iteratorPath);
+             final Writer writer = new OutputStreamWriter(outStream)) {
+            render(tmpl, ImmutableMap.of("packageName", RESPONSE_PARSER_PACKAGE_PATH + ".utils"), writer);
+        }
+    }
+
+    private Template getStreamingResponseParserTemplate() throws IOException {
+        return config.getTemplate("responseparser/streaming_response_parser.ftl");
+    }
+
+    private Template getXmlElementIteratorTemplate() throws IOException {
+        return config.getTemplate("responseparser/xml_element_iterator.ftl");
+    }
+
     /**
      * Converts a file name into the path containing said file within the client path
      * @param fileName The name of a file
@@ -283,20 +990,20 @@ public class JavaCodeGenerator implements CodeGenerator {
     /**
      * Retrieves the response parser template used to generate the specified request
      */
-    protected Template getResponseParserTemplate(final Ds3Request ds3Request) throws IOException {
-        if (isBulkRequest(ds3Request)) {
+    protected Template getResponseParserTemplate(final RequestKinds kinds) throws IOException {
+        if (kinds.contains(BULK)) {
             return config.getTemplate("responseparser/bulk_response_parser.ftl");
         }
-        if (isAllocateJobChunkRequest(ds3Request)) {
+        if (kinds.contains(ALLOCATE_JOB_CHUNK)) {
             return config.getTemplate("responseparser/allocate_job_chunk_parser.ftl");
         }
-        if (isHeadObjectRequest(ds3Request)) {
+        if (kinds.contains(HEAD_OBJECT)) {
             return config.getTemplate("responseparser/head_object_parser.ftl");
         }
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return config.getTemplate("responseparser/get_object_parser.ftl");
         }
-        if (isGetJobChunksReadyForClientProcessingRequest(ds3Request)) {
+        if (kinds.contains(GET_JOB_CHUNKS_READY_FOR_CLIENT_PROCESSING)) {
             return config.getTemplate("responseparser/get_job_chunks_ready_parser.ftl");
         }
         return config.getTemplate("responseparser/response_parser_template.ftl");
@@ -306,7 +1013,14 @@ public class JavaCodeGenerator implements CodeGenerator {
      * Converts a Ds3Request into a Response Parser model
      */
     protected static ResponseParser toResponseParser(final Ds3Request ds3Request) {
-        final ResponseParserGenerator<?> generator = getResponseParserGenerator(ds3Request);
+        return toResponseParser(ds3Request, RequestClassifier.classify(ds3Request));
+    }
+
+    /**
+     * Converts a Ds3Request of the specified kinds into a Response Parser model
+     */
+    private static ResponseParser toResponseParser(final Ds3Request ds3Request, final RequestKinds kinds) {
+        final ResponseParserGenerator<?> generator = getResponseParserGenerator(kinds);
         return generator.generate(ds3Request, RESPONSE_PARSER_PACKAGE_PATH);
     }
 
@@ -314,19 +1028,26 @@ public class JavaCodeGenerator implements CodeGenerator {
      * Retrieves the response parser generator used to generate the specified request
      */
     protected static ResponseParserGenerator<?> getResponseParserGenerator(final Ds3Request ds3Request) {
-        if (isHeadBucketRequest(ds3Request)) {
+        return getResponseParserGenerator(RequestClassifier.classify(ds3Request));
+    }
+
+    /**
+     * Retrieves the response parser generator used to generate a request of the specified kinds
+     */
+    private static ResponseParserGenerator<?> getResponseParserGenerator(final RequestKinds kinds) {
+        if (kinds.contains(HEAD_BUCKET)) {
             return new HeadBucketParserGenerator();
         }
-        if (isAllocateJobChunkRequest(ds3Request)) {
+        if (kinds.contains(ALLOCATE_JOB_CHUNK)) {
             return new AllocateJobChunkParserGenerator();
         }
-        if (isHeadObjectRequest(ds3Request)) {
+        if (kinds.contains(HEAD_OBJECT)) {
             return new HeadObjectParserGenerator();
         }
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return new GetObjectParserGenerator();
         }
-        if (isGetJobChunksReadyForClientProcessingRequest(ds3Request)) {
+        if (kinds.contains(GET_JOB_CHUNKS_READY_FOR_CLIENT_PROCESSING)) {
             return new GetJobChunksReadyParserGenerator();
         }
         return new BaseResponseParserGenerator();
@@ -345,25 +1066,55 @@ public class JavaCodeGenerator implements CodeGenerator {
             LOG.info("Not generating client: no requests.");
             return;
         }
+        generateClient(
+                () -> ClientConverter.toClient(requests, ROOT_PACKAGE_PATH, docSpec),
+                () -> GenerationManifest.hashContent(requests.stream()
+                        .map(request -> hashRequest(request, docSpec))
+                        .toArray(String[]::new)));
+    }
+
+    /**
+     * Generates the Client and ClientImpl code, unless the requests they were built from
+     * and their templates are unchanged in incremental mode
+     * @param client Creates the Client model
+     * @param clientHash Computes the manifest hash of the requests within the Client
+     */
+    private void generateClient(
+            final Supplier<Client> client,
+            final Supplier<String> clientHash) throws IOException, TemplateException {
         final Template clientTmpl = config.getTemplate("client/ds3client_template.ftl");
-        final Client client = ClientConverter.toClient(requests, ROOT_PACKAGE_PATH, docSpec);
+        final Template clientImplTmpl = config.getTemplate("client/ds3client_impl_template.ftl");
+        renderElement(
+                "client",
+                clientHash,
+                ImmutableList.of(clientTmpl, clientImplTmpl),
+                elementFileUtils -> generateClient(client.get(), clientTmpl, clientImplTmpl, elementFileUtils));
+    }
+
+    /**
+     * Renders the Client and ClientImpl templates
+     */
+    private void generateClient(
+            final Client client,
+            final Template clientTmpl,
+            final Template clientImplTmpl,
+            final FileUtils fileUtils) throws IOException, TemplateException {
         final Path clientPath = toClientPath("Ds3Client.java");
 
         LOG.info("Getting outputstream for file: {}", clientPath.toString());
 
         try (final OutputStream outStream = fileUtils.getOutputFile(clientPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            clientTmpl.process(client, writer);
+            render(clientTmpl, client, writer);
         }
 
-        final Template clientImplTmpl = config.getTemplate("client/ds3client_impl_template.ftl");
         final Path clientImplPath = toClientPath("Ds3ClientImpl.java");
 
         LOG.info("Getting outputstream for file: {}", clientPath.toString());
 
         try (final OutputStream outStream = fileUtils.getOutputFile(clientImplPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            clientImplTmpl.process(client, writer);
+            render(clientImplTmpl, client, writer);
         }
     }
 
@@ -382,27 +1133,31 @@ public class JavaCodeGenerator implements CodeGenerator {
      * @throws IOException
      * @throws TemplateException
      */
-    private void generateResponse(final Ds3Request ds3Request) throws IOException, TemplateException {
-        final Template tmpl = getResponseTemplate(ds3Request);
+    private void generateResponse(
+            final Ds3Request ds3Request,
+            final RequestKinds kinds,
+            final FileUtils fileUtils) throws IOException, TemplateException {
+        final Template tmpl = getResponseTemplate(kinds);
 
-        final Response response = toResponse(ds3Request);
+        final Response response = toResponse(ds3Request, kinds);
         final Path responsePath = getPathFromPackage(ds3Request, response.getName());
 
         LOG.info("Getting outputstream for file: {}", responsePath.toString());
 
         try (final OutputStream outStream = fileUtils.getOutputFile(responsePath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(response, writer);
+            emit(tmpl, response, writer);
         }
     }
 
     /**
      * Converts a Ds3Request into a Response model
      * @param ds3Request A Ds3Request
+     * @param kinds The kinds of the Ds3Request
      * @return A Response
      */
-    private static Response toResponse(final Ds3Request ds3Request) {
-        final ResponseModelGenerator<?> modelGenerator = getResponseGenerator(ds3Request);
+    private static Response toResponse(final Ds3Request ds3Request, final RequestKinds kinds) {
+        final ResponseModelGenerator<?> modelGenerator = getResponseGenerator(kinds);
         return modelGenerator.generate(ds3Request, getCommandPackage(ds3Request));
     }
 
@@ -410,24 +1165,31 @@ public class JavaCodeGenerator implements CodeGenerator {
      * Retrieves the associated response generator for the specified Ds3Request
      */
     protected static ResponseModelGenerator<?> getResponseGenerator(final Ds3Request ds3Request) {
-        if (isHeadObjectRequest(ds3Request)) {
+        return getResponseGenerator(RequestClassifier.classify(ds3Request));
+    }
+
+    /**
+     * Retrieves the associated response generator for a Ds3Request of the specified kinds
+     */
+    private static ResponseModelGenerator<?> getResponseGenerator(final RequestKinds kinds) {
+        if (kinds.contains(HEAD_OBJECT)) {
             return new HeadObjectResponseGenerator();
         }
-        if (isHeadBucketRequest(ds3Request)) {
+        if (kinds.contains(HEAD_BUCKET)) {
             return new HeadBucketResponseGenerator();
         }
-        if (isAllocateJobChunkRequest(ds3Request)
-                || isGetJobChunksReadyForClientProcessingRequest(ds3Request)) {
+        if (kinds.contains(ALLOCATE_JOB_CHUNK)
+                || kinds.contains(GET_JOB_CHUNKS_READY_FOR_CLIENT_PROCESSING)) {
             return new RetryAfterResponseGenerator();
         }
-        if (isBulkRequest(ds3Request)) {
+        if (kinds.contains(BULK)) {
             return new BulkResponseGenerator();
         }
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return new GetObjectResponseGenerator();
         }
         //This should be the last test so that it does not overwrite any special cased generators
-        if (supportsPaginationRequest(ds3Request)) {
+        if (kinds.contains(PAGINATION)) {
             return new PaginationResponseGenerator();
         }
         return new BaseResponseGenerator();
@@ -436,28 +1198,28 @@ public class JavaCodeGenerator implements CodeGenerator {
     /**
      * Gets the Response template that is used to generate the given Ds3Request's
      * Response handler
-     * @param ds3Request A Ds3Request
+     * @param kinds The kinds of the Ds3Request
      * @return The appropriate template to generate the required Response
      * @throws IOException
      */
-    private Template getResponseTemplate(final Ds3Request ds3Request) throws IOException {
-        if (isHeadObjectRequest(ds3Request)) {
+    private Template getResponseTemplate(final RequestKinds kinds) throws IOException {
+        if (kinds.contains(HEAD_OBJECT)) {
             return config.getTemplate("response/head_object_response.ftl");
         }
-        if (isHeadBucketRequest(ds3Request)) {
+        if (kinds.contains(HEAD_BUCKET)) {
             return config.getTemplate("response/head_bucket_response.ftl");
         }
-        if (isAllocateJobChunkRequest(ds3Request)) {
+        if (kinds.contains(ALLOCATE_JOB_CHUNK)) {
             return config.getTemplate("response/allocate_chunk_response.ftl");
         }
-        if (isGetJobChunksReadyForClientProcessingRequest(ds3Request)) {
+        if (kinds.contains(GET_JOB_CHUNKS_READY_FOR_CLIENT_PROCESSING)) {
             return config.getTemplate("response/chunks_ready_response.ftl");
         }
-        if (isBulkRequest(ds3Request)) {
+        if (kinds.contains(BULK)) {
             return config.getTemplate("response/bulk_response.ftl");
         }
         //This should be the last test so that it does not overwrite any special cased templates
-        if (supportsPaginationRequest(ds3Request)) {
+        if (kinds.contains(PAGINATION)) {
             return config.getTemplate("response/pagination_response.ftl");
         }
         return config.getTemplate("response/response_template.ftl");
@@ -469,17 +1231,21 @@ public class JavaCodeGenerator implements CodeGenerator {
      * @throws IOException
      * @throws TemplateException
      */
-    private void generateRequest(final Ds3Request ds3Request, final Ds3DocSpec docSpec) throws IOException, TemplateException {
-        final Template tmpl = getRequestTemplate(ds3Request);
+    private void generateRequest(
+            final Ds3Request ds3Request,
+            final RequestKinds kinds,
+            final Ds3DocSpec docSpec,
+            final FileUtils fileUtils) throws IOException, TemplateException {
+        final Template tmpl = getRequestTemplate(ds3Request, kinds);
 
-        final Request request = toRequest(ds3Request, docSpec);
+        final Request request = toRequest(ds3Request, kinds, docSpec);
         final Path requestPath = getPathFromPackage(ds3Request, request.getName());
 
         LOG.info("Getting outputstream for file: {}", requestPath.toString());
 
         try (final OutputStream outStream = fileUtils.getOutputFile(requestPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(request, writer);
+            emit(tmpl, request, writer);
         }
     }
 
@@ -497,10 +1263,11 @@ public class JavaCodeGenerator implements CodeGenerator {
     /**
      * Converts a Ds3Request into a Request model
      * @param ds3Request A Ds3Request
+     * @param kinds The kinds of the Ds3Request
      * @return A Request model
      */
-    private Request toRequest(final Ds3Request ds3Request, final Ds3DocSpec docSpec) {
-        final RequestModelGenerator<?> modelGenerator = getRequestGenerator(ds3Request);
+    private Request toRequest(final Ds3Request ds3Request, final RequestKinds kinds, final Ds3DocSpec docSpec) {
+        final RequestModelGenerator<?> modelGenerator = getRequestGenerator(ds3Request, kinds);
         return modelGenerator.generate(ds3Request, getCommandPackage(ds3Request), docSpec);
     }
 
@@ -508,37 +1275,44 @@ public class JavaCodeGenerator implements CodeGenerator {
      * Retrieves the associated request generator for the specified Ds3Request
      */
     static RequestModelGenerator<?> getRequestGenerator(final Ds3Request ds3Request) {
-        if (hasIdsRequestPayload(ds3Request)) {
+        return getRequestGenerator(ds3Request, RequestClassifier.classify(ds3Request));
+    }
+
+    /**
+     * Retrieves the associated request generator for the specified Ds3Request of the specified kinds
+     */
+    private static RequestModelGenerator<?> getRequestGenerator(final Ds3Request ds3Request, final RequestKinds kinds) {
+        if (kinds.contains(IDS_PAYLOAD)) {
             return new IdsRequestPayloadGenerator();
         }
-        if (hasStringRequestPayload(ds3Request)) {
+        if (kinds.contains(STRING_PAYLOAD)) {
             return new StringRequestPayloadGenerator();
         }
-        if (isBulkRequest(ds3Request) || isStageObjectsJob(ds3Request)) {
+        if (kinds.contains(BULK) || kinds.contains(STAGE_OBJECTS_JOB)) {
             return new BulkRequestGenerator();
         }
-        if (hasSimpleObjectsRequestPayload(ds3Request) || isCreateVerifyJobRequest(ds3Request)) {
+        if (kinds.contains(SIMPLE_OBJECTS_PAYLOAD) || kinds.contains(CREATE_VERIFY_JOB)) {
             return new ObjectsRequestPayloadGenerator();
         }
-        if (isCreateObjectRequest(ds3Request)) {
+        if (kinds.contains(CREATE_OBJECT)) {
             return new CreateObjectRequestGenerator();
         }
-        if (isCreateNotificationRequest(ds3Request)) {
+        if (kinds.contains(CREATE_NOTIFICATION)) {
             return new CreateNotificationRequestGenerator();
         }
-        if ((isGetNotificationRequest(ds3Request) || isDeleteNotificationRequest(ds3Request)) && ds3Request.getIncludeInPath()) {
+        if ((kinds.contains(GET_NOTIFICATION) || kinds.contains(DELETE_NOTIFICATION)) && ds3Request.getIncludeInPath()) {
             return new NotificationRequestGenerator();
         }
-        if (isGetObjectRequest(ds3Request)) {
+        if (kinds.contains(GET_OBJECT)) {
             return new  GetObjectRequestGenerator();
         }
-        if (isMultiFileDeleteRequest(ds3Request)) {
+        if (kinds.contains(MULTI_FILE_DELETE)) {
             return new MultiFileDeleteRequestGenerator();
         }
-        if (isCreateMultiPartUploadPartRequest(ds3Request)) {
+        if (kinds.contains(CREATE_MULTI_PART_UPLOAD_PART)) {
             return new StreamRequestPayloadGenerator();
         }
-        if (isCompleteMultiPartUploadRequest(ds3Request)) {
+        if (kinds.contains(COMPLETE_MULTI_PART_UPLOAD)) {
             return new CompleteMultipartUploadRequestGenerator();
         }
         return new BaseRequestGenerator();
@@ -548,44 +1322,45 @@ public class JavaCodeGenerator implements CodeGenerator {
      * Gets the appropriate template that will generate the code for this
      * Ds3Request's request handler
      * @param ds3Request A Ds3Request
+     * @param kinds The kinds of the Ds3Request
      * @return The appropriate template to generate the required Request
      * @throws IOException
      */
-    private Template getRequestTemplate(final Ds3Request ds3Request) throws IOException {
-        if (isBulkRequest(ds3Request) || isStageObjectsJob(ds3Request)) {
+    private Template getRequestTemplate(final Ds3Request ds3Request, final RequestKinds kinds) throws IOException {
+        if (kinds.contains(BULK) || kinds.contains(STAGE_OBJECTS_JOB)) {
             return config.getTemplate("request/bulk_request_template.ftl");
         }
-        if (hasIdsRequestPayload(ds3Request)) {
+        if (kinds.contains(IDS_PAYLOAD)) {
             return config.getTemplate("request/ids_request_payload_template.ftl");
         }
-        if (hasStringRequestPayload(ds3Request)) {
+        if (kinds.contains(STRING_PAYLOAD)) {
             return config.getTemplate("request/request_with_string_payload_template.ftl");
         }
-        if (hasSimpleObjectsRequestPayload(ds3Request) || isCreateVerifyJobRequest(ds3Request)) {
+        if (kinds.contains(SIMPLE_OBJECTS_PAYLOAD) || kinds.contains(CREATE_VERIFY_JOB)) {
             return config.getTemplate("request/objects_request_payload_request_template.ftl");
         }
-        if (isMultiFileDeleteRequest(ds3Request)) {
+        if (kinds.contains(MULTI_FILE_DELETE)) {
             return config.getTemplate("request/multi_file_delete_request_template.ftl");
         }
-        if (isGetObjectRequest(ds3Request)) {
+        if (kinds.contains(GET_OBJECT)) {
             return config.getTemplate("request/get_object_template.ftl");
         }
-        if (isCreateObjectRequest(ds3Request)) {
+        if (kinds.contains(CREATE_OBJECT)) {
             return config.getTemplate("request/create_object_template.ftl");
         }
-        if (isDeleteNotificationRequest(ds3Request)) {
+        if (kinds.contains(DELETE_NOTIFICATION)) {
             return config.getTemplate("request/delete_notification_request_template.ftl");
         }
-        if (isCreateNotificationRequest(ds3Request)) {
+        if (kinds.contains(CREATE_NOTIFICATION)) {
             return config.getTemplate("request/create_notification_request_template.ftl");
         }
-        if (isGetNotificationRequest(ds3Request) && ds3Request.getIncludeInPath()) {
+        if (kinds.contains(GET_NOTIFICATION) && ds3Request.getIncludeInPath()) {
             return config.getTemplate("request/get_notification_request_template.ftl");
         }
-        if (isGetJobRequest(ds3Request)) {
+        if (kinds.contains(GET_JOB)) {
             return config.getTemplate("request/get_job_request_template.ftl");
         }
-        if (isCompleteMultiPartUploadRequest(ds3Request)) {
+        if (kinds.contains(COMPLETE_MULTI_PART_UPLOAD)) {
             return config.getTemplate("request/complete_multipart_upload_template.ftl");
         }
         return config.getTemplate("request/request_template.ftl");
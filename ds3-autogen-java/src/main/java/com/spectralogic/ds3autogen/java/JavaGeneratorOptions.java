@@ -0,0 +1,109 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java;
+
+/**
+ * The options a JavaCodeGenerator is constructed with. Options that are not set keep
+ * the defaults of serial, non-incremental generation with Jackson based response parsing
+ * and code emitters enabled.
+ */
+public final class JavaGeneratorOptions {
+
+    private final int parallelism;
+    private final boolean incremental;
+    private final boolean xmlParsers;
+    private final boolean codeEmitters;
+
+    private JavaGeneratorOptions(final Builder builder) {
+        this.parallelism = builder.parallelism;
+        this.incremental = builder.incremental;
+        this.xmlParsers = builder.xmlParsers;
+        this.codeEmitters = builder.codeEmitters;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The number of worker threads used to render requests and models, where 1 renders
+     * everything on the calling thread
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * If true, only requests and models that changed since the last run into the same
+     * destination directory are regenerated
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * If true, reflection-free xml parsers are generated for all models and are used by
+     * the response parsers
+     */
+    public boolean isXmlParsers() {
+        return xmlParsers;
+    }
+
+    /**
+     * If true, the files of the highest volume templates are written by code emitters,
+     * otherwise every file is rendered by FreeMarker
+     */
+    public boolean isCodeEmitters() {
+        return codeEmitters;
+    }
+
+    public static final class Builder {
+        private int parallelism = 1;
+        private boolean incremental = false;
+        private boolean xmlParsers = false;
+        private boolean codeEmitters = true;
+
+        private Builder() {
+        }
+
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder incremental(final boolean incremental) {
+            this.incremental = incremental;
+            return this;
+        }
+
+        public Builder xmlParsers(final boolean xmlParsers) {
+            this.xmlParsers = xmlParsers;
+            return this;
+        }
+
+        public Builder codeEmitters(final boolean codeEmitters) {
+            this.codeEmitters = codeEmitters;
+            return this;
+        }
+
+        public JavaGeneratorOptions build() {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1, but was " + parallelism);
+            }
+            return new JavaGeneratorOptions(this);
+        }
+    }
+}
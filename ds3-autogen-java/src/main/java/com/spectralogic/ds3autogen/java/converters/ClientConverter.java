@@ -78,6 +78,45 @@ public class ClientConverter {
         return converter.convert();
     }
 
+    /**
+     * Creates a ClientBuilder, which converts requests into the commands of a Client one at
+     * a time, so that a Client can be created without holding every Ds3Request in memory
+     * @param packageName The name of java package for the generated Client
+     */
+    public static ClientBuilder clientBuilder(final String packageName, final Ds3DocSpec docSpec) {
+        return new ClientBuilder(packageName, docSpec);
+    }
+
+    /**
+     * Accumulates the commands of a Client from requests that are added in order. Only the
+     * Command and CustomCommand models of each request are retained.
+     */
+    public static final class ClientBuilder {
+
+        private final String packageName;
+        private final Ds3DocSpec docSpec;
+        private final ImmutableList.Builder<Command> commands = ImmutableList.builder();
+        private final ImmutableList.Builder<CustomCommand> customCommands = ImmutableList.builder();
+
+        private ClientBuilder(final String packageName, final Ds3DocSpec docSpec) {
+            this.packageName = packageName;
+            this.docSpec = docSpec;
+        }
+
+        public ClientBuilder add(final Ds3Request ds3Request) {
+            if (isCustomCommand(ds3Request)) {
+                customCommands.add(toCustomCommand(ds3Request, docSpec));
+            } else {
+                commands.add(toCommand(ds3Request, docSpec));
+            }
+            return this;
+        }
+
+        public Client build() {
+            return new Client(packageName, commands.build(), customCommands.build());
+        }
+    }
+
     /**
      * Creates a list of Custom Commands from the Ds3Request list assuming
      * that the request list contains custom commands.
@@ -0,0 +1,82 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.java.models.ResponseCode;
+import com.spectralogic.ds3autogen.java.models.ResponseParser;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+
+import static com.spectralogic.ds3autogen.java.models.Constants.XML_PARSERS_PACKAGE_PATH;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+
+/**
+ * Converts a Response Parser model that reads its payload with XmlOutput into one
+ * that reads its payload with the generated XmlParsers
+ */
+public final class XmlParsersConverter {
+
+    private static final String XML_OUTPUT_IMPORT = "com.spectralogic.ds3client.serializer.XmlOutput";
+    private static final String XML_PARSERS_IMPORT = XML_PARSERS_PACKAGE_PATH + ".XmlParsers";
+
+    private XmlParsersConverter() {
+        //pass
+    }
+
+    /**
+     * Replaces all XmlOutput.fromXml calls within the response parser with XmlParsers.fromXml,
+     * which has the same signature
+     */
+    public static ResponseParser toXmlParsersResponseParser(final ResponseParser responseParser) {
+        if (isEmpty(responseParser.getImports()) || !responseParser.getImports().contains(XML_OUTPUT_IMPORT)) {
+            return responseParser;
+        }
+        return new ResponseParser(
+                responseParser.getName(),
+                responseParser.getResponseName(),
+                responseParser.getPackageName(),
+                responseParser.getParentClass(),
+                responseParser.getExpectedStatusCodes(),
+                responseParser.isHasPaginationHeaders(),
+                toImportList(responseParser.getImports()),
+                toResponseCodeList(responseParser.getResponseCodes()));
+    }
+
+    /**
+     * Replaces the XmlOutput import with the XmlParsers import
+     */
+    protected static ImmutableSet<String> toImportList(final ImmutableSet<String> imports) {
+        return imports.stream()
+                .map(curImport -> curImport.equals(XML_OUTPUT_IMPORT) ? XML_PARSERS_IMPORT : curImport)
+                .sorted()
+                .collect(GuavaCollectors.immutableSet());
+    }
+
+    /**
+     * Replaces XmlOutput.fromXml with XmlParsers.fromXml within the processing code
+     */
+    protected static ImmutableList<ResponseCode> toResponseCodeList(final ImmutableList<ResponseCode> responseCodes) {
+        if (isEmpty(responseCodes)) {
+            return ImmutableList.of();
+        }
+        return responseCodes.stream()
+                .map(responseCode -> new ResponseCode(
+                        responseCode.getCode(),
+                        responseCode.getProcessingCode().replace("XmlOutput.fromXml(", "XmlParsers.fromXml(")))
+                .collect(GuavaCollectors.immutableList());
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Writes the same source as a FreeMarker template directly from the template's data
+ * model, without evaluating the template or reflecting over the model
+ * @param <T> The data model type of the template
+ */
+public interface CodeEmitter<T> {
+
+    /**
+     * Retrieves the type of data model the emitter writes
+     */
+    Class<T> getModelType();
+
+    /**
+     * Retrieves the name of the template the emitter replaces, followed by the names of
+     * every template it includes. The emitter may only be used if none of them are overridden.
+     */
+    ImmutableSet<String> getTemplateNames();
+
+    /**
+     * Writes the source the template renders for the data model
+     */
+    void emit(final T model, final JavaCodeWriter writer);
+}
@@ -0,0 +1,46 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The code emitters of the Java generator's highest volume templates
+ */
+public final class CodeEmitters {
+
+    private CodeEmitters() { }
+
+    /**
+     * Creates every code emitter, keyed by the name of the template it replaces
+     */
+    public static ImmutableMap<String, CodeEmitter<?>> create() {
+        final ImmutableList<CodeEmitter<?>> emitters = ImmutableList.of(
+                new RequestEmitter(),
+                new ResponseEmitter(),
+                new ResponseParserEmitter(),
+                new ModelEmitter(),
+                new EnumModelEmitter());
+
+        final ImmutableMap.Builder<String, CodeEmitter<?>> builder = ImmutableMap.builder();
+        for (final CodeEmitter<?> emitter : emitters) {
+            builder.put(emitter.getTemplateNames().iterator().next(), emitter);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.java.models.Model;
+
+import static com.spectralogic.ds3autogen.java.helpers.JavaHelper.getEnumValues;
+
+/**
+ * Emits the enums rendered by models/enum_model_template.ftl
+ */
+public class EnumModelEmitter implements CodeEmitter<Model> {
+
+    private static final ImmutableSet<String> TEMPLATE_NAMES = ImmutableSet.of(
+            "models/enum_model_template.ftl",
+            "copyright.ftl");
+
+    @Override
+    public Class<Model> getModelType() {
+        return Model.class;
+    }
+
+    @Override
+    public ImmutableSet<String> getTemplateNames() {
+        return TEMPLATE_NAMES;
+    }
+
+    @Override
+    public void emit(final Model model, final JavaCodeWriter writer) {
+        writer.header(model.getPackageName());
+        writer.append("public enum ").append(model.getName()).line(" {");
+        writer.line(getEnumValues(model.getEnumConstants(), 1));
+        writer.append('}');
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.io.Resources;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Builds the source of a single generated Java file within a buffer that is reused from
+ * one file to the next. Provides the pieces shared by the templates that the code emitters
+ * replace, such as the copyright header and the imports, along with the FreeMarker
+ * string built-ins those templates apply to names.
+ */
+public final class JavaCodeWriter {
+
+    private static final String COPYRIGHT_TEMPLATE = "/tmpls/java/copyright.ftl";
+
+    /** The copyright.ftl template, which contains no FreeMarker directives or interpolations */
+    private static final String COPYRIGHT = loadCopyright();
+
+    private final StringBuilder builder = new StringBuilder(8192);
+    private final char[] chunk = new char[8192];
+
+    private static String loadCopyright() {
+        try {
+            return Resources.toString(JavaCodeWriter.class.getResource(COPYRIGHT_TEMPLATE), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not load " + COPYRIGHT_TEMPLATE, e);
+        }
+    }
+
+    /**
+     * Discards the contents of the previous file while keeping the allocated buffer
+     */
+    public JavaCodeWriter reset() {
+        builder.setLength(0);
+        return this;
+    }
+
+    public JavaCodeWriter append(final String text) {
+        builder.append(text);
+        return this;
+    }
+
+    public JavaCodeWriter append(final int number) {
+        builder.append(number);
+        return this;
+    }
+
+    public JavaCodeWriter append(final char character) {
+        builder.append(character);
+        return this;
+    }
+
+    /**
+     * Appends the text followed by a line break
+     */
+    public JavaCodeWriter line(final String text) {
+        builder.append(text).append('\n');
+        return this;
+    }
+
+    /**
+     * Appends a line break
+     */
+    public JavaCodeWriter line() {
+        builder.append('\n');
+        return this;
+    }
+
+    /**
+     * Appends the copyright header followed by the package declaration, as rendered by
+     * including copyright.ftl at the top of a template
+     */
+    public JavaCodeWriter header(final String packageName) {
+        builder.append(COPYRIGHT).append('\n');
+        builder.append("package ").append(packageName).append(";\n\n");
+        return this;
+    }
+
+    /**
+     * Appends an import statement for each import, as rendered by imports.ftl
+     */
+    public JavaCodeWriter imports(final Iterable<String> imports) {
+        for (final String importName : imports) {
+            builder.append("import ").append(importName).append(";\n");
+        }
+        return this;
+    }
+
+    /**
+     * Writes the buffered source to the writer
+     */
+    public void writeTo(final Writer writer) throws IOException {
+        final int length = builder.length();
+        for (int start = 0; start < length; start += chunk.length) {
+            final int end = Math.min(length, start + chunk.length);
+            builder.getChars(start, end, chunk, 0);
+            writer.write(chunk, 0, end - start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+
+    /**
+     * Lower cases the first non-whitespace character, as the FreeMarker ?uncap_first built-in does
+     */
+    public static String uncapFirst(final String text) {
+        final int index = firstNonWhitespace(text);
+        if (index == text.length() || Character.isLowerCase(text.charAt(index))) {
+            return text;
+        }
+        final char[] chars = text.toCharArray();
+        chars[index] = Character.toLowerCase(chars[index]);
+        return new String(chars);
+    }
+
+    /**
+     * Upper cases the first non-whitespace character, as the FreeMarker ?cap_first built-in does
+     */
+    public static String capFirst(final String text) {
+        final int index = firstNonWhitespace(text);
+        if (index == text.length() || Character.isUpperCase(text.charAt(index))) {
+            return text;
+        }
+        final char[] chars = text.toCharArray();
+        chars[index] = Character.toUpperCase(chars[index]);
+        return new String(chars);
+    }
+
+    /**
+     * Lower cases the text, as the FreeMarker ?lower_case built-in does with the default locale
+     */
+    public static String lowerCase(final String text) {
+        return text.toLowerCase(Locale.getDefault());
+    }
+
+    private static int firstNonWhitespace(final String text) {
+        int index = 0;
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
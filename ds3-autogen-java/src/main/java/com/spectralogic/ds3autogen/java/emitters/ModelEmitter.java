@@ -0,0 +1,94 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.java.models.Element;
+import com.spectralogic.ds3autogen.java.models.Model;
+
+import static com.spectralogic.ds3autogen.java.emitters.JavaCodeWriter.capFirst;
+import static com.spectralogic.ds3autogen.java.emitters.JavaCodeWriter.uncapFirst;
+import static com.spectralogic.ds3autogen.java.helpers.JavaHelper.convertType;
+import static com.spectralogic.ds3autogen.java.helpers.JavaHelper.getModelVariable;
+import static com.spectralogic.ds3autogen.java.helpers.JavaHelper.stringHasContent;
+
+/**
+ * Emits the models rendered by models/model_template.ftl
+ */
+public class ModelEmitter implements CodeEmitter<Model> {
+
+    private static final ImmutableSet<String> TEMPLATE_NAMES = ImmutableSet.of(
+            "models/model_template.ftl",
+            "copyright.ftl",
+            "imports.ftl",
+            "models/common/getters_setters_template.ftl");
+
+    @Override
+    public Class<Model> getModelType() {
+        return Model.class;
+    }
+
+    @Override
+    public ImmutableSet<String> getTemplateNames() {
+        return TEMPLATE_NAMES;
+    }
+
+    @Override
+    public void emit(final Model model, final JavaCodeWriter writer) {
+        writer.header(model.getPackageName());
+        writer.line("import com.fasterxml.jackson.annotation.JsonProperty;");
+        writer.line("import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;");
+        writer.imports(model.getImports());
+        writer.line();
+        if (stringHasContent(model.getNameToMarshal())) {
+            writer.append("@JacksonXmlRootElement(namespace = \"").append(model.getNameToMarshal()).line("\")");
+        }
+        writer.append("public class ").append(model.getName()).line(" {");
+        writer.line();
+
+        writer.line("    // Variables");
+        for (final Element element : model.getElements()) {
+            writer.line(getModelVariable(element));
+            writer.line();
+        }
+
+        writer.line("    // Constructor");
+        writer.append("    public ").append(model.getName()).line("() {");
+        writer.line("        //pass");
+        writer.line("    }");
+        writer.line();
+
+        writer.line("    // Getters and Setters");
+        writer.append("    ");
+        for (final Element element : model.getElements()) {
+            final String type = convertType(element);
+            final String name = capFirst(element.getName());
+            final String internalName = uncapFirst(element.getInternalName());
+            writer.line();
+            writer.append("    public ").append(type).append(" get").append(name).line("() {");
+            writer.append("        return this.").append(internalName).line(";");
+            writer.line("    }");
+            writer.line();
+            writer.append("    public void set").append(name)
+                    .append("(final ").append(type).append(' ').append(internalName).line(") {");
+            writer.append("        this.").append(internalName).append(" = ").append(internalName).line(";");
+            writer.line("    }");
+            writer.line();
+        }
+        writer.append('}');
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.Arguments;
+import com.spectralogic.ds3autogen.java.models.Precondition;
+import com.spectralogic.ds3autogen.java.models.QueryParam;
+import com.spectralogic.ds3autogen.java.models.Request;
+import com.spectralogic.ds3autogen.java.models.RequestConstructor;
+import com.spectralogic.ds3autogen.java.models.Variable;
+import com.spectralogic.ds3autogen.utils.Helper;
+
+import static com.spectralogic.ds3autogen.java.emitters.JavaCodeWriter.capFirst;
+import static com.spectralogic.ds3autogen.java.emitters.JavaCodeWriter.lowerCase;
+import static com.spectralogic.ds3autogen.java.emitters.JavaCodeWriter.uncapFirst;
+import static com.spectralogic.ds3autogen.java.helpers.JavaHelper.constructorArgs;
+import static com.spectralogic.ds3autogen.java.helpers.JavaHelper.getType;
+import static com.spectralogic.ds3autogen.java.helpers.JavaHelper.paramAssignmentRHS;
+
+/**
+ * Emits the request handlers rendered by request/request_template.ftl
+ */
+public class RequestEmitter implements CodeEmitter<Request> {
+
+    private static final ImmutableSet<String> TEMPLATE_NAMES = ImmutableSet.of(
+            "request/request_template.ftl",
+            "copyright.ftl",
+            "imports.ftl",
+            "request/common/variables.ftl",
+            "request/common/constructor.ftl",
+            "request/common/add_query_params.ftl",
+            "request/common/with_constructors.ftl",
+            "request/common/getters_verb_path.ftl",
+            "request/common/getters.ftl");
+
+    @Override
+    public Class<Request> getModelType() {
+        return Request.class;
+    }
+
+    @Override
+    public ImmutableSet<String> getTemplateNames() {
+        return TEMPLATE_NAMES;
+    }
+
+    @Override
+    public void emit(final Request request, final JavaCodeWriter writer) {
+        writer.header(request.getPackageName());
+        writer.line("import com.spectralogic.ds3client.networking.HttpVerb;");
+        writer.imports(request.getImports());
+        writer.line();
+        writer.append("public class ").append(request.getName())
+                .append(" extends ").append(request.getParentClass()).line(" {");
+        writer.line();
+
+        writer.line("    // Variables");
+        writer.append("    ");
+        for (final Variable var : request.getClassVariables()) {
+            writer.line();
+            writer.append("    private ").append(var.isRequired() ? "final " : "")
+                    .append(getType(var)).append(' ').append(uncapFirst(var.getInternalName())).line(";");
+        }
+        writer.line();
+
+        writer.line("    // Constructor");
+        writer.append("    ");
+        for (final RequestConstructor constructor : request.getConstructors()) {
+            emitConstructor(request, constructor, writer);
+        }
+        writer.line();
+
+        for (final String withConstructor : request.getWithConstructors()) {
+            writer.line(withConstructor);
+            writer.line();
+        }
+        writer.line();
+
+        writer.line("    @Override");
+        writer.line("    public HttpVerb getVerb() {");
+        writer.append("        return HttpVerb.").append(Helper.getHttpVerb(request.getVerb(), request.getAction())).line(";");
+        writer.line("    }");
+        writer.line();
+        writer.line("    @Override");
+        writer.line("    public String getPath() {");
+        writer.append("        return ").append(request.getPath()).line(";");
+        writer.line("    }");
+
+        writer.append("    ");
+        for (final Variable var : request.getClassVariables()) {
+            writer.line();
+            writer.append("    public ").append(getType(var))
+                    .append(" get").append(capFirst(var.getName())).line("() {");
+            writer.append("        return this.").append(uncapFirst(var.getInternalName())).line(";");
+            writer.line("    }");
+            writer.line();
+        }
+        writer.append('}');
+    }
+
+    /**
+     * Emits a single iteration of request/common/constructor.ftl
+     */
+    private static void emitConstructor(
+            final Request request,
+            final RequestConstructor constructor,
+            final JavaCodeWriter writer) {
+        writer.line();
+        writer.append("    ").line(constructor.getDocumentation());
+        writer.append("    public ").append(request.getName())
+                .append('(').append(constructorArgs(constructor.getParameters())).line(") {");
+        for (final Precondition precondition : constructor.getPreconditions()) {
+            writer.append("        ").line(precondition.toJavaCode());
+        }
+        for (final Arguments arg : constructor.getAssignments()) {
+            writer.append("        this.").append(uncapFirst(arg.getName()))
+                    .append(" = ").append(paramAssignmentRHS(arg)).line(";");
+        }
+
+        writer.append("        ");
+        if (request.getOperation() != null) {
+            writer.line();
+            writer.append("        this.getQueryParams().put(\"operation\", \"")
+                    .append(lowerCase(request.getOperation().toString())).line("\");");
+        }
+        writer.line();
+        for (final QueryParam param : constructor.getQueryParams()) {
+            writer.append("        ").line(param.toPutJavaCode());
+        }
+
+        for (final String line : constructor.getAdditionalLines()) {
+            writer.append("        ").line(line);
+        }
+        writer.line("    }");
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.Arguments;
+import com.spectralogic.ds3autogen.java.models.Response;
+
+import static com.spectralogic.ds3autogen.java.emitters.JavaCodeWriter.capFirst;
+import static com.spectralogic.ds3autogen.java.emitters.JavaCodeWriter.uncapFirst;
+
+/**
+ * Emits the responses rendered by response/response_template.ftl
+ */
+public class ResponseEmitter implements CodeEmitter<Response> {
+
+    private static final ImmutableSet<String> TEMPLATE_NAMES = ImmutableSet.of(
+            "response/response_template.ftl",
+            "copyright.ftl",
+            "imports.ftl",
+            "response/common/constructor_and_params.ftl");
+
+    @Override
+    public Class<Response> getModelType() {
+        return Response.class;
+    }
+
+    @Override
+    public ImmutableSet<String> getTemplateNames() {
+        return TEMPLATE_NAMES;
+    }
+
+    @Override
+    public void emit(final Response response, final JavaCodeWriter writer) {
+        writer.header(response.getPackageName());
+        writer.imports(response.getImports());
+        writer.line();
+        writer.append("public class ").append(response.getName())
+                .append(" extends ").append(response.getParentClass()).line(" {");
+
+        writer.append("    ");
+        for (final Arguments param : response.getParams()) {
+            writer.line();
+            writer.append("    private final ").append(param.getType())
+                    .append(' ').append(uncapFirst(param.getName())).line(";");
+        }
+        writer.line();
+
+        writer.append("    public ").append(response.getName())
+                .append('(').append(response.getConstructorParams()).line(") {");
+        writer.line("        super(checksum, checksumType);");
+        for (final Arguments param : response.getParams()) {
+            final String name = uncapFirst(param.getName());
+            writer.append("        this.").append(name).append(" = ").append(name).line(";");
+        }
+        writer.line("    }");
+        writer.line();
+
+        for (final Arguments param : response.getParams()) {
+            writer.append("    public ").append(param.getType())
+                    .append(" get").append(capFirst(param.getName())).line("() {");
+            writer.append("        return this.").append(uncapFirst(param.getName())).line(";");
+            writer.line("    }");
+            writer.line();
+        }
+        writer.append('}');
+    }
+}
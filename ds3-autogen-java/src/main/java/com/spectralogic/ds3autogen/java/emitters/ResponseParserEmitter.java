@@ -0,0 +1,78 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.java.models.ResponseCode;
+import com.spectralogic.ds3autogen.java.models.ResponseParser;
+
+/**
+ * Emits the response parsers rendered by responseparser/response_parser_template.ftl
+ */
+public class ResponseParserEmitter implements CodeEmitter<ResponseParser> {
+
+    private static final ImmutableSet<String> TEMPLATE_NAMES = ImmutableSet.of(
+            "responseparser/response_parser_template.ftl",
+            "copyright.ftl",
+            "imports.ftl");
+
+    @Override
+    public Class<ResponseParser> getModelType() {
+        return ResponseParser.class;
+    }
+
+    @Override
+    public ImmutableSet<String> getTemplateNames() {
+        return TEMPLATE_NAMES;
+    }
+
+    @Override
+    public void emit(final ResponseParser responseParser, final JavaCodeWriter writer) {
+        final String responseName = responseParser.getResponseName();
+        writer.header(responseParser.getPackageName());
+        writer.imports(responseParser.getImports());
+        writer.line();
+        writer.append("public class ").append(responseParser.getName())
+                .append(" extends ").append(responseParser.getParentClass())
+                .append('<').append(responseName).line("> {");
+        writer.append("    private final int[] expectedStatusCodes = new int[]{")
+                .append(responseParser.getExpectedStatusCodes()).line("};");
+        writer.line();
+        writer.line("    @Override");
+        writer.append("    public ").append(responseName)
+                .line(" parseXmlResponse(final WebResponse response) throws IOException {");
+        writer.line("        final int statusCode = response.getStatusCode();");
+        if (responseParser.isHasPaginationHeaders()) {
+            writer.line("        final Integer pagingTruncated = parseIntHeader(\"page-truncated\");");
+            writer.line("        final Integer pagingTotalResultCount = parseIntHeader(\"total-result-count\");");
+        }
+        writer.line("        if (ResponseParserUtils.validateStatusCode(statusCode, expectedStatusCodes)) {");
+        writer.line("            switch (statusCode) {");
+        for (final ResponseCode responseCode : responseParser.getResponseCodes()) {
+            writer.append("            case ").append(responseCode.getCode()).line(":");
+            writer.append("                ").line(responseCode.getProcessingCode());
+        }
+        writer.line("            default:");
+        writer.line("                assert false: \"validateStatusCode should have made it impossible to reach this line\";");
+        writer.line("            }");
+        writer.line("        }");
+        writer.line();
+        writer.line("        throw ResponseParserUtils.createFailedRequest(response, expectedStatusCodes);");
+        writer.line("    }");
+        writer.append('}');
+    }
+}
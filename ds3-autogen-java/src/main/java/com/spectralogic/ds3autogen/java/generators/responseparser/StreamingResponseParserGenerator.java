@@ -0,0 +1,208 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.generators.responseparser;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.api.models.enums.Action;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3autogen.java.models.Element;
+import com.spectralogic.ds3autogen.java.models.StreamedElement;
+import com.spectralogic.ds3autogen.java.models.StreamingResponseParser;
+import com.spectralogic.ds3autogen.utils.RequestKinds;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.spectralogic.ds3autogen.java.models.Constants.MODELS_PACKAGE_PATH;
+import static com.spectralogic.ds3autogen.java.models.Constants.RESPONSE_PARSER_PACKAGE_PATH;
+import static com.spectralogic.ds3autogen.java.utils.ResponseAndParserUtils.removeErrorResponseCodes;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+import static com.spectralogic.ds3autogen.utils.Ds3ElementUtil.isAttribute;
+import static com.spectralogic.ds3autogen.utils.Helper.capFirst;
+import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
+import static com.spectralogic.ds3autogen.utils.models.RequestKind.*;
+
+/**
+ * Generates the streaming response parser for list and bulk requests whose response payload
+ * contains lists of models. The streaming parser is generated alongside the response parser, which
+ * remains the default way of reading the response.
+ */
+public class StreamingResponseParserGenerator {
+
+    private final static String XML_ELEMENT_ITERATOR_IMPORT = RESPONSE_PARSER_PACKAGE_PATH + ".utils.XmlElementIterator";
+
+    /**
+     * Retrieves the response payload type of the request if it can be streamed. A payload can be
+     * streamed if the request is a list or bulk request, the payload is returned by exactly one
+     * non-error response code, and it contains at least one list of models.
+     */
+    public static Optional<Ds3Type> getStreamablePayloadType(
+            final Ds3Request ds3Request,
+            final RequestKinds kinds,
+            final ImmutableMap<String, Ds3Type> types) {
+        if (isEmpty(types) || isEmpty(ds3Request.getDs3ResponseCodes()) || !isListOrBulkRequest(ds3Request, kinds)) {
+            return Optional.empty();
+        }
+        final ImmutableList<Ds3Type> payloadTypes = removeErrorResponseCodes(ds3Request.getDs3ResponseCodes()).stream()
+                .filter(responseCode -> hasContent(responseCode.getDs3ResponseTypes()))
+                .map(responseCode -> types.get(responseCode.getDs3ResponseTypes().get(0).getType()))
+                .filter(type -> type != null)
+                .distinct()
+                .collect(GuavaCollectors.immutableList());
+        if (payloadTypes.size() != 1 || !hasStreamableElement(payloadTypes.get(0), types)) {
+            return Optional.empty();
+        }
+        return Optional.of(payloadTypes.get(0));
+    }
+
+    /**
+     * Determines if the request can return a large number of entries, which are worth streaming:
+     * SpectraS3 requests that list a collection, Amazon S3 GET requests such as GetBucket and
+     * GetService, and requests that return the objects of a job. This excludes requests such as
+     * CancelEjectOnAllTapes, whose payload is a list of failures that is usually empty.
+     */
+    protected static boolean isListOrBulkRequest(final Ds3Request ds3Request, final RequestKinds kinds) {
+        return ds3Request.getAction() == Action.LIST
+                || (ds3Request.getClassification() == Classification.amazons3 && ds3Request.getHttpVerb() == HttpVerb.GET)
+                || kinds.contains(BULK)
+                || kinds.contains(GET_JOB)
+                || kinds.contains(GET_JOB_CHUNKS_READY_FOR_CLIENT_PROCESSING);
+    }
+
+    /**
+     * Determines if the type contains at least one list of models
+     */
+    protected static boolean hasStreamableElement(final Ds3Type ds3Type, final ImmutableMap<String, Ds3Type> types) {
+        if (isEmpty(ds3Type.getElements())) {
+            return false;
+        }
+        return ds3Type.getElements().stream()
+                .anyMatch(ds3Element -> !isAttribute(ds3Element.getDs3Annotations())
+                        && isModel(ds3Element.getComponentType(), types));
+    }
+
+    /**
+     * Creates the streaming response parser model
+     * @param payloadType The response payload type, as returned by getStreamablePayloadType
+     * @param payloadElements The elements of the payload's Java model, which determine the xml
+     *                        tag names of its lists
+     */
+    public StreamingResponseParser generate(
+            final Ds3Request ds3Request,
+            final Ds3Type payloadType,
+            final ImmutableList<Element> payloadElements,
+            final ImmutableMap<String, Ds3Type> types,
+            final String packageName) {
+        final ImmutableList<StreamedElement> streamedElements = toStreamedElements(payloadElements, types);
+        return new StreamingResponseParser(
+                toStreamingResponseParserName(ds3Request.getName()),
+                packageName,
+                removePath(payloadType.getName()),
+                toStatusCodeList(ds3Request.getDs3ResponseCodes(), payloadType),
+                toImportList(streamedElements),
+                streamedElements);
+    }
+
+    /**
+     * Creates the name of the streaming response parser for the specified request
+     */
+    public static String toStreamingResponseParserName(final String requestName) {
+        return removePath(requestName).replace("Request", "StreamingResponseParser");
+    }
+
+    /**
+     * Creates a comma-separated list of the status codes that return the payload type
+     */
+    protected static String toStatusCodeList(
+            final ImmutableList<Ds3ResponseCode> ds3ResponseCodes,
+            final Ds3Type payloadType) {
+        return removeErrorResponseCodes(ds3ResponseCodes).stream()
+                .filter(responseCode -> hasContent(responseCode.getDs3ResponseTypes()))
+                .filter(responseCode -> payloadType.getName().equals(responseCode.getDs3ResponseTypes().get(0).getType()))
+                .map(responseCode -> Integer.toString(responseCode.getCode()))
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Retrieves the list elements of the payload model whose entries are models
+     */
+    protected static ImmutableList<StreamedElement> toStreamedElements(
+            final ImmutableList<Element> payloadElements,
+            final ImmutableMap<String, Ds3Type> types) {
+        if (isEmpty(payloadElements)) {
+            return ImmutableList.of();
+        }
+        return payloadElements.stream()
+                .filter(element -> !element.isAttribute() && isModel(element.getComponentType(), types))
+                .map(element -> new StreamedElement(
+                        capFirst(element.getName()),
+                        removePath(element.getComponentType()),
+                        toXmlPath(element)))
+                .collect(GuavaCollectors.immutableList());
+    }
+
+    /**
+     * Determines if the component type is a model with elements, as opposed to
+     * a primitive or an enum
+     */
+    private static boolean isModel(final String componentType, final ImmutableMap<String, Ds3Type> types) {
+        if (isEmpty(componentType)) {
+            return false;
+        }
+        final Ds3Type ds3Type = types.get(componentType);
+        return ds3Type != null && hasContent(ds3Type.getElements());
+    }
+
+    /**
+     * Retrieves the xml tag names from the payload root element to each entry of the list,
+     * using the same names the model is annotated with. Entries within a wrapper element are
+     * matched regardless of their tag name, as they are when deserializing the model.
+     */
+    protected static ImmutableList<String> toXmlPath(final Element element) {
+        if (element.hasWrapper()) {
+            return ImmutableList.of(capFirst(element.getName()), "*");
+        }
+        return ImmutableList.of(capFirst(element.getXmlTagName()));
+    }
+
+    /**
+     * Retrieves the java imports needed to generate the streaming response parser
+     */
+    protected static ImmutableSet<String> toImportList(final ImmutableList<StreamedElement> streamedElements) {
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (final StreamedElement streamedElement : streamedElements) {
+            builder.add(MODELS_PACKAGE_PATH + streamedElement.getComponentType());
+        }
+        builder.add(XML_ELEMENT_ITERATOR_IMPORT);
+        builder.add("com.spectralogic.ds3client.commands.parsers.utils.ResponseParserUtils");
+        builder.add("com.spectralogic.ds3client.networking.WebResponse");
+        builder.add("java.io.IOException");
+        builder.add("java.util.stream.Stream");
+
+        //Sort imports alphabetically for generated code aesthetics
+        return builder.build().stream()
+                .sorted()
+                .collect(GuavaCollectors.immutableSet());
+    }
+}
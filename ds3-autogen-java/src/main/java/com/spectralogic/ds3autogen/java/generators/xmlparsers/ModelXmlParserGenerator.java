@@ -0,0 +1,273 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.generators.xmlparsers;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.java.models.Element;
+import com.spectralogic.ds3autogen.java.models.Model;
+import com.spectralogic.ds3autogen.java.models.ModelXmlParser;
+import com.spectralogic.ds3autogen.java.models.XmlProperty;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.spectralogic.ds3autogen.java.models.Constants.MODELS_PACKAGE_PATH;
+import static com.spectralogic.ds3autogen.java.models.Constants.ROOT_PACKAGE_PATH;
+import static com.spectralogic.ds3autogen.java.utils.ResponseAndParserUtils.convertType;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEnum;
+import static com.spectralogic.ds3autogen.utils.Helper.capFirst;
+import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
+
+/**
+ * Generates the reflection-free xml parser of a model. The parser reads the xml attributes
+ * and elements that the model's Jackson annotations bind, using the same xml names, and
+ * skips any other element.
+ */
+public class ModelXmlParserGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ModelXmlParserGenerator.class);
+
+    /**
+     * Creates the xml parser model for the specified model
+     * @param types All types being generated, which determines whether an element is read
+     *              by another generated parser, parsed as an enum, or falls back to Jackson
+     */
+    public ModelXmlParser generate(
+            final Model model,
+            final ImmutableMap<String, Ds3Type> types,
+            final String packageName) {
+        return new ModelXmlParser(
+                toXmlParserName(model.getName()),
+                packageName,
+                model.getName(),
+                toImportList(model, types),
+                toAttributeList(model.getElements(), types),
+                toElementList(model.getElements(), types));
+    }
+
+    /**
+     * Creates the name of the xml parser for the specified model
+     */
+    public static String toXmlParserName(final String modelName) {
+        return modelName + "XmlParser";
+    }
+
+    /**
+     * Determines if an xml parser is generated for the type, which is true for all
+     * non-enum types with elements
+     */
+    public static boolean hasXmlParser(final Ds3Type ds3Type) {
+        return ds3Type != null && !isEnum(ds3Type) && hasContent(ds3Type.getElements());
+    }
+
+    /**
+     * Retrieves the xml attributes of the model and the code that reads each of them
+     */
+    protected static ImmutableList<XmlProperty> toAttributeList(
+            final ImmutableList<Element> elements,
+            final ImmutableMap<String, Ds3Type> types) {
+        if (isEmpty(elements)) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<XmlProperty> builder = ImmutableList.builder();
+        final Set<String> xmlNames = new HashSet<>();
+        for (final Element element : elements) {
+            if (!element.isAttribute()) {
+                continue;
+            }
+            final String parseCode = toTextParseCode(convertType(element), element.getType(), "reader.getAttributeValue(i)", types);
+            if (parseCode == null) {
+                LOG.warn("Cannot parse attribute {} of type {} from text", element.getName(), element.getType());
+                continue;
+            }
+            if (xmlNames.add(element.getXmlTagName())) {
+                builder.add(new XmlProperty(element.getXmlTagName(), toSetterCall(element, parseCode)));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the xml elements of the model and the code that reads each of them. If more
+     * than one model variable has the same xml name, only the first is read.
+     */
+    protected static ImmutableList<XmlProperty> toElementList(
+            final ImmutableList<Element> elements,
+            final ImmutableMap<String, Ds3Type> types) {
+        if (isEmpty(elements)) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<XmlProperty> builder = ImmutableList.builder();
+        final Set<String> xmlNames = new HashSet<>();
+        for (final Element element : elements) {
+            if (element.isAttribute()) {
+                continue;
+            }
+            final String xmlName = toXmlName(element);
+            if (!xmlNames.add(xmlName)) {
+                LOG.warn("Xml element {} is bound to more than one variable, only the first is parsed", xmlName);
+                continue;
+            }
+            builder.add(new XmlProperty(xmlName, toElementReadCode(element, types)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the xml name of an element, which is the same name used within the
+     * element's JsonProperty annotation in the generated model
+     */
+    protected static String toXmlName(final Element element) {
+        if (hasContent(element.getComponentType()) && element.hasWrapper()) {
+            return capFirst(element.getName());
+        }
+        return capFirst(element.getXmlTagName());
+    }
+
+    /**
+     * Creates the code that reads an element into the model, where the reader is
+     * positioned at the element's start tag
+     */
+    protected static String toElementReadCode(final Element element, final ImmutableMap<String, Ds3Type> types) {
+        if (isEmpty(element.getComponentType())) {
+            return toSetterCall(element, toValueReadCode(convertType(element), element.getType(), "reader", types));
+        }
+        final String componentType = convertType(element.getComponentType(), null);
+        if (element.hasWrapper()) {
+            return toSetterCall(element, "XmlParsers.readList(reader, " + toEntryParser(componentType, element.getComponentType(), types) + ")");
+        }
+        return "result.get" + capFirst(element.getName()) + "().add("
+                + toValueReadCode(componentType, element.getComponentType(), "reader", types) + ");";
+    }
+
+    /**
+     * Creates the XmlParser used to read each entry of a wrapped list
+     */
+    protected static String toEntryParser(
+            final String javaType,
+            final String contractType,
+            final ImmutableMap<String, Ds3Type> types) {
+        if (hasXmlParser(types.get(contractType))) {
+            return toXmlParserName(javaType) + "::read";
+        }
+        return "entry -> " + toValueReadCode(javaType, contractType, "entry", types);
+    }
+
+    /**
+     * Creates the code that reads the value of the element the reader is positioned at
+     * @param javaType The java type of the value
+     * @param contractType The contract type of the value, including its path
+     */
+    protected static String toValueReadCode(
+            final String javaType,
+            final String contractType,
+            final String readerName,
+            final ImmutableMap<String, Ds3Type> types) {
+        final String parseCode = toTextParseCode(javaType, contractType, readerName + ".getElementText()", types);
+        if (parseCode != null) {
+            return parseCode;
+        }
+        if (hasXmlParser(types.get(contractType))) {
+            return toXmlParserName(javaType) + ".read(" + readerName + ")";
+        }
+        //Types that are not generated, such as CommonPrefixes, are read with Jackson
+        return "XmlParsers.readValue(" + readerName + ", " + javaType + ".class)";
+    }
+
+    /**
+     * Creates the code that parses a value of the specified type from text, or null if
+     * the type is not represented by text
+     */
+    protected static String toTextParseCode(
+            final String javaType,
+            final String contractType,
+            final String textCode,
+            final ImmutableMap<String, Ds3Type> types) {
+        switch (javaType) {
+            case "String":
+                return textCode;
+            case "boolean":
+                return "XmlParsers.parseBoolean(" + textCode + ")";
+            case "Boolean":
+                return "XmlParsers.parseBooleanOrNull(" + textCode + ")";
+            case "int":
+                return "XmlParsers.parseInt(" + textCode + ")";
+            case "Integer":
+                return "XmlParsers.parseIntegerOrNull(" + textCode + ")";
+            case "long":
+                return "XmlParsers.parseLong(" + textCode + ")";
+            case "Long":
+                return "XmlParsers.parseLongOrNull(" + textCode + ")";
+            case "double":
+                return "XmlParsers.parseDouble(" + textCode + ")";
+            case "Double":
+                return "XmlParsers.parseDoubleOrNull(" + textCode + ")";
+            case "UUID":
+                return "XmlParsers.parseUuid(" + textCode + ")";
+            case "Date":
+                return "XmlParsers.parseDate(" + textCode + ")";
+            default:
+                final Ds3Type ds3Type = types.get(contractType);
+                if (ds3Type != null && hasContent(ds3Type.getEnumConstants())) {
+                    return "XmlParsers.parseEnum(" + javaType + ".class, " + textCode + ")";
+                }
+                return null;
+        }
+    }
+
+    private static String toSetterCall(final Element element, final String valueCode) {
+        return "result.set" + capFirst(element.getName()) + "(" + valueCode + ");";
+    }
+
+    /**
+     * Retrieves the java imports needed to generate the xml parser
+     */
+    protected static ImmutableSet<String> toImportList(final Model model, final ImmutableMap<String, Ds3Type> types) {
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        builder.add(MODELS_PACKAGE_PATH + model.getName());
+        if (hasContent(model.getElements())) {
+            for (final Element element : model.getElements()) {
+                final String contractType = hasContent(element.getComponentType()) ? element.getComponentType() : element.getType();
+                final Ds3Type ds3Type = types.get(contractType);
+                if (ds3Type != null && !hasXmlParser(ds3Type)) {
+                    builder.add(MODELS_PACKAGE_PATH + removePath(contractType));
+                }
+            }
+        }
+        if (hasContent(model.getImports())) {
+            //Non-generated models, which are read with Jackson
+            model.getImports().stream()
+                    .filter(modelImport -> modelImport.startsWith(ROOT_PACKAGE_PATH))
+                    .forEach(builder::add);
+        }
+        builder.add("javax.xml.stream.XMLStreamConstants");
+        builder.add("javax.xml.stream.XMLStreamException");
+        builder.add("javax.xml.stream.XMLStreamReader");
+
+        //Sort imports alphabetically for generated code aesthetics
+        return builder.build().stream()
+                .sorted()
+                .collect(GuavaCollectors.immutableSet());
+    }
+}
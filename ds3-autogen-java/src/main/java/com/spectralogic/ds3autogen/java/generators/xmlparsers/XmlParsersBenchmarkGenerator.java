@@ -0,0 +1,230 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.generators.xmlparsers;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.java.models.Element;
+import com.spectralogic.ds3autogen.java.models.XmlParsersBenchmarkFixture;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.spectralogic.ds3autogen.java.generators.xmlparsers.ModelXmlParserGenerator.hasXmlParser;
+import static com.spectralogic.ds3autogen.java.generators.xmlparsers.ModelXmlParserGenerator.toXmlName;
+import static com.spectralogic.ds3autogen.java.models.Constants.MODELS_PACKAGE_PATH;
+import static com.spectralogic.ds3autogen.java.utils.ResponseAndParserUtils.convertType;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+import static com.spectralogic.ds3autogen.utils.NormalizingContractNamesUtil.removePath;
+
+/**
+ * Generates the benchmark that compares XmlOutput against the generated xml parsers. The
+ * sample document is built from the contract definition of the benchmarked model, where
+ * the first list of models is repeated to produce a large document.
+ */
+public class XmlParsersBenchmarkGenerator {
+
+    /** The model of the bucket listing, which is benchmarked if it is within the contract */
+    private static final String PREFERRED_MODEL = "ListBucketResult";
+
+    /** The depth at which nested models are no longer included within the sample document */
+    private static final int MAX_DEPTH = 3;
+
+    private final ImmutableMap<String, Ds3Type> types;
+    private final Function<Ds3Type, ImmutableList<Element>> toModelElements;
+
+    /**
+     * @param types All types being generated
+     * @param toModelElements Retrieves the elements of a type's generated model, which
+     *                        determine the xml names within the sample document
+     */
+    public XmlParsersBenchmarkGenerator(
+            final ImmutableMap<String, Ds3Type> types,
+            final Function<Ds3Type, ImmutableList<Element>> toModelElements) {
+        this.types = types;
+        this.toModelElements = toModelElements;
+    }
+
+    /**
+     * Creates the benchmark fixture, or nothing if no model contains a list of models
+     */
+    public Optional<XmlParsersBenchmarkFixture> generate(final String packageName) {
+        return selectModel().map(ds3Type -> toFixture(ds3Type, packageName));
+    }
+
+    /**
+     * Selects the bucket listing model if present, otherwise the first model by name
+     * that contains a list of models
+     */
+    protected Optional<Ds3Type> selectModel() {
+        if (isEmpty(types)) {
+            return Optional.empty();
+        }
+        return types.values().stream()
+                .filter(ds3Type -> hasXmlParser(ds3Type) && getRepeatedElement(ds3Type).isPresent())
+                .min(Comparator.comparing((Ds3Type ds3Type) -> !removePath(ds3Type.getName()).equals(PREFERRED_MODEL))
+                        .thenComparing(Ds3Type::getName));
+    }
+
+    /**
+     * Retrieves the first element of the type's model that is a list of models
+     */
+    private Optional<Element> getRepeatedElement(final Ds3Type ds3Type) {
+        return toModelElements.apply(ds3Type).stream()
+                .filter(element -> !element.isAttribute()
+                        && hasContent(element.getComponentType())
+                        && hasXmlParser(types.get(element.getComponentType())))
+                .findFirst();
+    }
+
+    private XmlParsersBenchmarkFixture toFixture(final Ds3Type ds3Type, final String packageName) {
+        final String modelName = removePath(ds3Type.getName());
+        final Element repeatedElement = getRepeatedElement(ds3Type).get();
+        final ImmutableList<Element> elements = toModelElements.apply(ds3Type);
+        final String rootName = hasContent(ds3Type.getNameToMarshal()) ? ds3Type.getNameToMarshal() : modelName;
+
+        final StringBuilder start = new StringBuilder();
+        start.append('<').append(rootName).append(toSampleAttributes(elements)).append('>');
+        for (final Element element : elements) {
+            if (!element.isAttribute() && !element.getName().equals(repeatedElement.getName())) {
+                appendSampleElement(start, element, 1);
+            }
+        }
+        final StringBuilder end = new StringBuilder();
+        if (repeatedElement.hasWrapper()) {
+            start.append('<').append(toXmlName(repeatedElement)).append('>');
+            end.append("</").append(toXmlName(repeatedElement)).append('>');
+        }
+        end.append("</").append(rootName).append('>');
+
+        final String entryName = repeatedElement.hasWrapper()
+                ? removePath(repeatedElement.getComponentType())
+                : toXmlName(repeatedElement);
+        final StringBuilder entry = new StringBuilder();
+        appendSampleModel(entry, entryName, types.get(repeatedElement.getComponentType()), 1);
+
+        return new XmlParsersBenchmarkFixture(
+                packageName,
+                modelName,
+                ImmutableSet.of(MODELS_PACKAGE_PATH + modelName, "com.spectralogic.ds3client.serializer.XmlOutput"),
+                escapeJava(start.toString()),
+                escapeJava(entry.toString()),
+                escapeJava(end.toString()));
+    }
+
+    private String toSampleAttributes(final ImmutableList<Element> elements) {
+        final StringBuilder builder = new StringBuilder();
+        for (final Element element : elements) {
+            if (element.isAttribute()) {
+                final String value = toSampleValue(convertType(element), element.getType());
+                if (value != null) {
+                    builder.append(' ').append(element.getXmlTagName()).append("=\"").append(value).append('"');
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Appends a sample of the element, where lists contain a single entry
+     */
+    private void appendSampleElement(final StringBuilder builder, final Element element, final int depth) {
+        if (isEmpty(element.getComponentType())) {
+            appendSampleValue(builder, toXmlName(element), convertType(element), element.getType(), depth);
+            return;
+        }
+        final String componentType = convertType(element.getComponentType(), null);
+        if (element.hasWrapper()) {
+            builder.append('<').append(toXmlName(element)).append('>');
+            appendSampleValue(builder, componentType, componentType, element.getComponentType(), depth + 1);
+            builder.append("</").append(toXmlName(element)).append('>');
+        } else {
+            appendSampleValue(builder, toXmlName(element), componentType, element.getComponentType(), depth);
+        }
+    }
+
+    private void appendSampleValue(
+            final StringBuilder builder,
+            final String xmlName,
+            final String javaType,
+            final String contractType,
+            final int depth) {
+        final String value = toSampleValue(javaType, contractType);
+        if (value != null) {
+            builder.append('<').append(xmlName).append('>').append(value).append("</").append(xmlName).append('>');
+            return;
+        }
+        final Ds3Type ds3Type = types.get(contractType);
+        if (hasXmlParser(ds3Type) && depth < MAX_DEPTH) {
+            appendSampleModel(builder, xmlName, ds3Type, depth + 1);
+        }
+        //Types that are not generated are not included within the sample
+    }
+
+    private void appendSampleModel(final StringBuilder builder, final String xmlName, final Ds3Type ds3Type, final int depth) {
+        final ImmutableList<Element> elements = toModelElements.apply(ds3Type);
+        builder.append('<').append(xmlName).append(toSampleAttributes(elements)).append('>');
+        for (final Element element : elements) {
+            if (!element.isAttribute()) {
+                appendSampleElement(builder, element, depth);
+            }
+        }
+        builder.append("</").append(xmlName).append('>');
+    }
+
+    /**
+     * Retrieves a sample value of the specified type, or null if the type is not
+     * represented by text
+     */
+    protected String toSampleValue(final String javaType, final String contractType) {
+        switch (javaType) {
+            case "String":
+                return "sample";
+            case "boolean":
+            case "Boolean":
+                return "true";
+            case "int":
+            case "Integer":
+            case "long":
+            case "Long":
+                return "42";
+            case "double":
+            case "Double":
+                return "4.2";
+            case "UUID":
+                return "5fc9a8f2-7a1e-4a2b-9c3d-8e6f0b1a2c4d";
+            case "Date":
+                return "2017-01-31T12:00:00.000Z";
+            default:
+                final Ds3Type ds3Type = types.get(contractType);
+                if (ds3Type != null && hasContent(ds3Type.getEnumConstants())) {
+                    return ds3Type.getEnumConstants().get(0).getName();
+                }
+                return null;
+        }
+    }
+
+    /**
+     * Escapes xml for use within a java string literal
+     */
+    protected static String escapeJava(final String xml) {
+        return xml.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.models;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Model for the reflection-free xml parser of a single model
+ */
+public class ModelXmlParser {
+
+    private final String name;
+    private final String packageName;
+    private final String modelName;
+    private final ImmutableSet<String> imports;
+    private final ImmutableList<XmlProperty> attributes;
+    private final ImmutableList<XmlProperty> elements;
+
+    public ModelXmlParser(
+            final String name,
+            final String packageName,
+            final String modelName,
+            final ImmutableSet<String> imports,
+            final ImmutableList<XmlProperty> attributes,
+            final ImmutableList<XmlProperty> elements) {
+        this.name = name;
+        this.packageName = packageName;
+        this.modelName = modelName;
+        this.imports = imports;
+        this.attributes = attributes;
+        this.elements = elements;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getModelName() {
+        return modelName;
+    }
+
+    public ImmutableSet<String> getImports() {
+        return imports;
+    }
+
+    public ImmutableList<XmlProperty> getAttributes() {
+        return attributes;
+    }
+
+    public ImmutableList<XmlProperty> getElements() {
+        return elements;
+    }
+}
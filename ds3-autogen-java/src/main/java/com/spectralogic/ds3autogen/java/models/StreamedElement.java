@@ -0,0 +1,50 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+package com.spectralogic.ds3autogen.java.models;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A list element of a response payload that can be streamed by a StreamingResponseParser
+ */
+public class StreamedElement {
+
+    /** The capitalized name of the list element within the payload model */
+    private final String name;
+
+    /** The model type of each entry within the list */
+    private final String componentType;
+
+    /** The xml tag names from the payload root to each entry, where '*' matches any tag */
+    private final ImmutableList<String> xmlPath;
+
+    public StreamedElement(final String name, final String componentType, final ImmutableList<String> xmlPath) {
+        this.name = name;
+        this.componentType = componentType;
+        this.xmlPath = xmlPath;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getComponentType() {
+        return componentType;
+    }
+
+    public ImmutableList<String> getXmlPath() {
+        return xmlPath;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+package com.spectralogic.ds3autogen.java.models;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Model for a response parser that streams the list elements of a response payload
+ * from the response body, rather than reading the whole payload into memory
+ */
+public class StreamingResponseParser {
+
+    private final String name;
+    private final String packageName;
+    private final String responseModelName;
+
+    /** contains a comma-separated list of all expected status codes */
+    private final String expectedStatusCodes;
+
+    private final ImmutableSet<String> imports;
+    private final ImmutableList<StreamedElement> streamedElements;
+
+    public StreamingResponseParser(
+            final String name,
+            final String packageName,
+            final String responseModelName,
+            final String expectedStatusCodes,
+            final ImmutableSet<String> imports,
+            final ImmutableList<StreamedElement> streamedElements) {
+        this.name = name;
+        this.packageName = packageName;
+        this.responseModelName = responseModelName;
+        this.expectedStatusCodes = expectedStatusCodes;
+        this.imports = imports;
+        this.streamedElements = streamedElements;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getResponseModelName() {
+        return responseModelName;
+    }
+
+    public String getExpectedStatusCodes() {
+        return expectedStatusCodes;
+    }
+
+    public ImmutableSet<String> getImports() {
+        return imports;
+    }
+
+    public ImmutableList<StreamedElement> getStreamedElements() {
+        return streamedElements;
+    }
+}
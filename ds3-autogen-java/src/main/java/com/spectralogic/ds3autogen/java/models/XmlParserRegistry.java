@@ -0,0 +1,53 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.models;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Model for XmlParsers, which maps each model to its generated xml parser and
+ * contains the helpers shared by all generated xml parsers
+ */
+public class XmlParserRegistry {
+
+    private final String packageName;
+    private final ImmutableSet<String> imports;
+
+    /** The names of the models that have a generated xml parser */
+    private final ImmutableList<String> modelNames;
+
+    public XmlParserRegistry(
+            final String packageName,
+            final ImmutableSet<String> imports,
+            final ImmutableList<String> modelNames) {
+        this.packageName = packageName;
+        this.imports = imports;
+        this.modelNames = modelNames;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public ImmutableSet<String> getImports() {
+        return imports;
+    }
+
+    public ImmutableList<String> getModelNames() {
+        return modelNames;
+    }
+}
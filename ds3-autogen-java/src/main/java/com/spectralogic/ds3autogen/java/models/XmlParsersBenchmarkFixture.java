@@ -0,0 +1,73 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.models;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Model for the benchmark that compares XmlOutput against the generated xml parsers on a
+ * large sample document. The sample document consists of the document start, followed by
+ * the list entry repeated a configurable number of times, followed by the document end.
+ * All xml is escaped for use within a java string literal.
+ */
+public class XmlParsersBenchmarkFixture {
+
+    private final String packageName;
+    private final String modelName;
+    private final ImmutableSet<String> imports;
+    private final String documentStart;
+    private final String entry;
+    private final String documentEnd;
+
+    public XmlParsersBenchmarkFixture(
+            final String packageName,
+            final String modelName,
+            final ImmutableSet<String> imports,
+            final String documentStart,
+            final String entry,
+            final String documentEnd) {
+        this.packageName = packageName;
+        this.modelName = modelName;
+        this.imports = imports;
+        this.documentStart = documentStart;
+        this.entry = entry;
+        this.documentEnd = documentEnd;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getModelName() {
+        return modelName;
+    }
+
+    public ImmutableSet<String> getImports() {
+        return imports;
+    }
+
+    public String getDocumentStart() {
+        return documentStart;
+    }
+
+    public String getEntry() {
+        return entry;
+    }
+
+    public String getDocumentEnd() {
+        return documentEnd;
+    }
+}
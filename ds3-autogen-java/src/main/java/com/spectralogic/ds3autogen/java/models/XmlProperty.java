@@ -0,0 +1,41 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.models;
+
+/**
+ * An xml attribute or element of a model, along with the java code that reads its value
+ * into the model within a generated xml parser
+ */
+public class XmlProperty {
+
+    private final String xmlName;
+
+    /** Contains the java code for reading the property into the model variable 'result' */
+    private final String readCode;
+
+    public XmlProperty(final String xmlName, final String readCode) {
+        this.xmlName = xmlName;
+        this.readCode = readCode;
+    }
+
+    public String getXmlName() {
+        return xmlName;
+    }
+
+    public String getReadCode() {
+        return readCode;
+    }
+}
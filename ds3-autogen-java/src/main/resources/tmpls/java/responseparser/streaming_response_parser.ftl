@@ -0,0 +1,28 @@
+<#include "../copyright.ftl"/>
+
+package ${packageName};
+
+<#include "../imports.ftl"/>
+
+/**
+ * Streams the list entries of a ${responseModelName} payload from the response body,
+ * binding one entry at a time instead of materializing the whole payload. The returned
+ * streams must be closed to release the response. A response without a body results
+ * in an empty stream.
+ */
+public class ${name} {
+    private final int[] expectedStatusCodes = new int[]{${expectedStatusCodes}};
+<#list streamedElements as element>
+
+    public Stream<${element.componentType}> stream${element.name}(final WebResponse response) throws IOException {
+        if (ResponseParserUtils.validateStatusCode(response.getStatusCode(), expectedStatusCodes)) {
+            if (ResponseParserUtils.getSizeFromHeaders(response.getHeaders()) == 0) {
+                return Stream.empty();
+            }
+            return XmlElementIterator.stream(response.getResponseStream(), ${element.componentType}.class, <#list element.xmlPath as tag>"${tag}"<#sep>, </#sep></#list>);
+        }
+
+        throw ResponseParserUtils.createFailedRequest(response, expectedStatusCodes);
+    }
+</#list>
+}
\ No newline at end of file
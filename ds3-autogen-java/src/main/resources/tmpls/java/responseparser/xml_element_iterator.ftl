@@ -0,0 +1,160 @@
+<#include "../copyright.ftl"/>
+
+package ${packageName};
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.xml.JacksonXmlModule;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the entries of a list within an xml response payload, binding one entry
+ * at a time so that the whole payload is never held in memory. Entries are located by
+ * their tag names relative to the payload root, where "*" matches any tag name.
+ */
+public class XmlElementIterator<T> implements Iterator<T>, Closeable {
+
+    private static final String WILDCARD = "*";
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final XmlMapper MAPPER;
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        final JacksonXmlModule module = new JacksonXmlModule();
+        module.setDefaultUseWrapper(false);
+        MAPPER = new XmlMapper(module);
+        MAPPER.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private final InputStream inputStream;
+    private final XMLStreamReader reader;
+    private final Class<T> type;
+    private final String[] path;
+
+    /** The number of open elements, including the payload root */
+    private int depth = 0;
+
+    /** The number of path entries matched by the open elements below the payload root */
+    private int matched = 0;
+
+    private boolean positioned = false;
+
+    public XmlElementIterator(final InputStream inputStream, final Class<T> type, final String... path) throws IOException {
+        if (path.length == 0) {
+            throw new IllegalArgumentException("The path to the list entries cannot be empty");
+        }
+        this.inputStream = inputStream;
+        this.type = type;
+        this.path = path;
+        try {
+            this.reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+        } catch (final XMLStreamException e) {
+            throw new IOException("Could not read the response payload", e);
+        }
+    }
+
+    /**
+     * Creates a stream of the list entries, which closes the input stream when it is closed
+     */
+    public static <T> Stream<T> stream(final InputStream inputStream, final Class<T> type, final String... path) throws IOException {
+        final XmlElementIterator<T> iterator = new XmlElementIterator<>(inputStream, type, path);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!positioned) {
+            try {
+                positioned = advance();
+            } catch (final XMLStreamException e) {
+                throw new UncheckedIOException(new IOException("Could not read the response payload", e));
+            }
+        }
+        return positioned;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        positioned = false;
+        try {
+            final T entry = MAPPER.readValue(reader, type);
+            //The entry's end element has been consumed
+            depth--;
+            matched--;
+            return entry;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Moves the reader to the start of the next list entry
+     * @return false if the payload contains no more entries
+     */
+    private boolean advance() throws XMLStreamException {
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    if (depth > 1 && matched == depth - 2 && matched < path.length && matches(path[matched], reader.getLocalName())) {
+                        matched++;
+                        if (matched == path.length) {
+                            return true;
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (depth > 1 && matched == depth - 1) {
+                        matched--;
+                    }
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(final String pathEntry, final String localName) {
+        return WILDCARD.equals(pathEntry) || pathEntry.equals(localName);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (final XMLStreamException e) {
+            throw new IOException("Could not close the response payload", e);
+        } finally {
+            inputStream.close();
+        }
+    }
+}
\ No newline at end of file
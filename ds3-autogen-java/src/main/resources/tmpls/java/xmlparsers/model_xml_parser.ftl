@@ -0,0 +1,45 @@
+<#include "../copyright.ftl"/>
+
+package ${packageName};
+
+<#include "../imports.ftl"/>
+
+public final class ${name} {
+
+    private ${name}() {
+        //pass
+    }
+
+    /**
+     * Reads a ${modelName} from the element the reader is positioned at, leaving
+     * the reader positioned at the element's end tag
+     */
+    public static ${modelName} read(final XMLStreamReader reader) throws XMLStreamException {
+        final ${modelName} result = new ${modelName}();
+        <#if attributes?has_content>
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            switch (reader.getAttributeLocalName(i)) {
+            <#list attributes as attribute>
+            case "${attribute.xmlName}":
+                ${attribute.readCode}
+                break;
+            </#list>
+            default:
+                break;
+            }
+        }
+        </#if>
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+            <#list elements as element>
+            case "${element.xmlName}":
+                ${element.readCode}
+                break;
+            </#list>
+            default:
+                XmlParsers.skipElement(reader);
+            }
+        }
+        return result;
+    }
+}
\ No newline at end of file
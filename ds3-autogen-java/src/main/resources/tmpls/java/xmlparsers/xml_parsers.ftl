@@ -0,0 +1,180 @@
+<#include "../copyright.ftl"/>
+
+package ${packageName};
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import com.fasterxml.jackson.dataformat.xml.JacksonXmlModule;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.spectralogic.ds3client.serializer.XmlOutput;
+<#include "../imports.ftl"/>
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads response payloads with the reflection-free xml parser generated for each model,
+ * and contains the helpers shared by the generated xml parsers. Payload types without a
+ * generated xml parser are read with XmlOutput.
+ */
+public final class XmlParsers {
+
+    /**
+     * Reads a value from the element the reader is positioned at, leaving the reader
+     * positioned at the element's end tag
+     */
+    @FunctionalInterface
+    public interface XmlParser<T> {
+        T read(final XMLStreamReader reader) throws XMLStreamException;
+    }
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final XmlMapper MAPPER;
+    private static final Map<Class<?>, XmlParser<?>> PARSERS = new HashMap<>();
+    private static final ThreadLocal<StdDateFormat> DATE_FORMAT = ThreadLocal.withInitial(StdDateFormat::new);
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        final JacksonXmlModule module = new JacksonXmlModule();
+        module.setDefaultUseWrapper(false);
+        MAPPER = new XmlMapper(module);
+        MAPPER.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        <#list modelNames as modelName>
+        PARSERS.put(${modelName}.class, ${modelName}XmlParser::read);
+        </#list>
+    }
+
+    private XmlParsers() {
+        //pass
+    }
+
+    /**
+     * Reads the payload of the specified type from the input stream
+     */
+    public static <T> T fromXml(final InputStream inputStream, final Class<T> type) throws IOException {
+        final XmlParser<?> parser = PARSERS.get(type);
+        if (parser == null) {
+            return XmlOutput.fromXml(inputStream, type);
+        }
+        try {
+            final XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+            try {
+                reader.nextTag();
+                return type.cast(parser.read(reader));
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException | IllegalArgumentException e) {
+            throw new IOException("Could not parse the " + type.getSimpleName() + " payload", e);
+        }
+    }
+
+    /**
+     * Reads each child element of the element the reader is positioned at as an entry of a list
+     */
+    public static <T> List<T> readList(final XMLStreamReader reader, final XmlParser<T> entryParser) throws XMLStreamException {
+        final List<T> list = new ArrayList<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            list.add(entryParser.read(reader));
+        }
+        return list;
+    }
+
+    /**
+     * Reads a type without a generated xml parser with Jackson
+     */
+    public static <T> T readValue(final XMLStreamReader reader, final Class<T> type) throws XMLStreamException {
+        try {
+            return MAPPER.readValue(reader, type);
+        } catch (final IOException e) {
+            throw new XMLStreamException("Could not parse " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Skips the element the reader is positioned at, including all of its content
+     */
+    public static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    public static boolean parseBoolean(final String text) {
+        return Boolean.parseBoolean(text.trim());
+    }
+
+    public static Boolean parseBooleanOrNull(final String text) {
+        return isEmpty(text) ? null : parseBoolean(text);
+    }
+
+    public static int parseInt(final String text) {
+        return isEmpty(text) ? 0 : Integer.parseInt(text.trim());
+    }
+
+    public static Integer parseIntegerOrNull(final String text) {
+        return isEmpty(text) ? null : parseInt(text);
+    }
+
+    public static long parseLong(final String text) {
+        return isEmpty(text) ? 0L : Long.parseLong(text.trim());
+    }
+
+    public static Long parseLongOrNull(final String text) {
+        return isEmpty(text) ? null : parseLong(text);
+    }
+
+    public static double parseDouble(final String text) {
+        return isEmpty(text) ? 0.0 : Double.parseDouble(text.trim());
+    }
+
+    public static Double parseDoubleOrNull(final String text) {
+        return isEmpty(text) ? null : parseDouble(text);
+    }
+
+    public static UUID parseUuid(final String text) {
+        return isEmpty(text) ? null : UUID.fromString(text.trim());
+    }
+
+    /**
+     * Parses a date in any of the formats Jackson accepts by default
+     */
+    public static Date parseDate(final String text) {
+        if (isEmpty(text)) {
+            return null;
+        }
+        try {
+            return DATE_FORMAT.get().parse(text.trim());
+        } catch (final ParseException e) {
+            throw new IllegalArgumentException("Could not parse date: " + text, e);
+        }
+    }
+
+    public static <E extends Enum<E>> E parseEnum(final Class<E> type, final String text) {
+        return isEmpty(text) ? null : Enum.valueOf(type, text.trim());
+    }
+
+    private static boolean isEmpty(final String text) {
+        return text == null || text.trim().isEmpty();
+    }
+}
\ No newline at end of file
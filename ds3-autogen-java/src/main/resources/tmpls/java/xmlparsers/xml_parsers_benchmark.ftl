@@ -0,0 +1,53 @@
+<#include "../copyright.ftl"/>
+
+package ${packageName};
+
+<#include "../imports.ftl"/>
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a large ${modelName} payload with the reflection based XmlOutput
+ * against the generated XmlParsers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlParsersBenchmark {
+
+    private static final String DOCUMENT_START = "${documentStart}";
+    private static final String ENTRY = "${entry}";
+    private static final String DOCUMENT_END = "${documentEnd}";
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    private byte[] document;
+
+    @Setup
+    public void setup() {
+        final StringBuilder builder = new StringBuilder(DOCUMENT_START);
+        for (int i = 0; i < entries; i++) {
+            builder.append(ENTRY);
+        }
+        builder.append(DOCUMENT_END);
+        document = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ${modelName} xmlOutput() throws IOException {
+        return XmlOutput.fromXml(new ByteArrayInputStream(document), ${modelName}.class);
+    }
+
+    @Benchmark
+    public ${modelName} xmlParsers() throws IOException {
+        return XmlParsers.fromXml(new ByteArrayInputStream(document), ${modelName}.class);
+    }
+}
\ No newline at end of file
@@ -15,19 +15,53 @@
 
 package com.spectralogic.ds3autogen.java;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.Ds3StreamingSpecParserImpl;
+import com.spectralogic.ds3autogen.api.Ds3StreamingSpec;
+import com.spectralogic.ds3autogen.api.FileUtils;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.docspec.Ds3DocSpecEmptyImpl;
 import com.spectralogic.ds3autogen.java.generators.requestmodels.*;
 import com.spectralogic.ds3autogen.java.generators.responsemodels.*;
 import com.spectralogic.ds3autogen.java.generators.responseparser.*;
+import com.spectralogic.ds3autogen.utils.FileUtilsImpl;
+import com.spectralogic.ds3autogen.utils.InMemoryFileUtilsImpl;
+import com.spectralogic.ds3autogen.utils.manifest.GenerationManifest;
+import freemarker.template.TemplateModelException;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.spectralogic.ds3autogen.java.JavaCodeGenerator.*;
+import static com.spectralogic.ds3autogen.java.models.Constants.RESPONSE_PARSER_PACKAGE_PATH;
 import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.*;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class JavaCodeGenerator_Test {
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test
     public void getResponseGenerator_Test() {
         assertThat(getResponseGenerator(createBucketRequest()), instanceOf(BaseResponseGenerator.class));
@@ -85,4 +119,117 @@ public class JavaCodeGenerator_Test {
         assertThat(getRequestGenerator(getBlobsOnPoolSpectraS3Request()), not(instanceOf(ObjectsRequestPayloadGenerator.class)));
         assertThat(getRequestGenerator(getBlobsOnDs3TargetSpectraS3Request()), not(instanceOf(ObjectsRequestPayloadGenerator.class)));
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelism_Invalid_Test() throws Exception {
+        new JavaCodeGenerator(0);
+    }
+
+    @Test
+    public void generate_ParallelMatchesSerial_Test() throws Exception {
+        final Ds3ApiSpec spec = new Ds3SpecParserImpl().getSpec(
+                JavaCodeGenerator_Test.class.getResourceAsStream("/input/fullXml.xml"));
+
+        final ImmutableSortedMap<Path, byte[]> serial = generateFiles(spec, 1);
+        final ImmutableSortedMap<Path, byte[]> parallel = generateFiles(spec, 4);
+
+        assertTrue(serial.size() > 1);
+        assertThat(parallel.keySet(), is(serial.keySet()));
+        for (final Path path : serial.keySet()) {
+            assertArrayEquals(path.toString(), serial.get(path), parallel.get(path));
+        }
+    }
+
+    private static ImmutableSortedMap<Path, byte[]> generateFiles(
+            final Ds3ApiSpec spec,
+            final int parallelism) throws IOException, TemplateModelException {
+        final InMemoryFileUtilsImpl fileUtils = new InMemoryFileUtilsImpl();
+        new JavaCodeGenerator(parallelism).generate(spec, fileUtils, Paths.get("."), new Ds3DocSpecEmptyImpl());
+        return fileUtils.getFiles();
+    }
+
+    @Test
+    public void generate_StreamingMatchesBatch_Test() throws Exception {
+        final Ds3ApiSpec spec = new Ds3SpecParserImpl().getSpec(
+                JavaCodeGenerator_Test.class.getResourceAsStream("/input/fullXml.xml"));
+        final Path contract = tempFolder.newFile("fullXml.xml").toPath();
+        try (final InputStream stream = JavaCodeGenerator_Test.class.getResourceAsStream("/input/fullXml.xml")) {
+            Files.copy(stream, contract, StandardCopyOption.REPLACE_EXISTING);
+        }
+        final Ds3StreamingSpec streamingSpec = new Ds3StreamingSpecParserImpl().getStreamingSpec(contract, false);
+
+        final ImmutableSortedMap<Path, byte[]> batch = generateFiles(spec, 1);
+        for (final int parallelism : new int[] { 1, 4 }) {
+            final InMemoryFileUtilsImpl fileUtils = new InMemoryFileUtilsImpl();
+            new JavaCodeGenerator(parallelism).generate(streamingSpec, fileUtils, Paths.get("."), new Ds3DocSpecEmptyImpl());
+            final ImmutableSortedMap<Path, byte[]> streamed = fileUtils.getFiles();
+
+            assertThat(streamed.keySet(), is(batch.keySet()));
+            for (final Path path : batch.keySet()) {
+                assertArrayEquals(path.toString(), batch.get(path), streamed.get(path));
+            }
+        }
+    }
+
+    @Test
+    public void generate_Incremental_Test() throws Exception {
+        final Ds3ApiSpec spec = new Ds3SpecParserImpl().getSpec(
+                JavaCodeGenerator_Test.class.getResourceAsStream("/input/fullXml.xml"));
+        final Path destDir = tempFolder.getRoot().toPath();
+        final AtomicInteger filesWritten = new AtomicInteger();
+        final FileUtils fileUtils = path -> {
+            filesWritten.incrementAndGet();
+            return new FileUtilsImpl().getOutputFile(path);
+        };
+
+        new JavaCodeGenerator(JavaGeneratorOptions.builder().incremental(true).build()).generate(spec, fileUtils, destDir, new Ds3DocSpecEmptyImpl());
+        final int initialFileCount = filesWritten.getAndSet(0);
+        assertTrue(initialFileCount > 0);
+
+        // Nothing changed, so nothing is rewritten
+        new JavaCodeGenerator(JavaGeneratorOptions.builder().incremental(true).build()).generate(spec, fileUtils, destDir, new Ds3DocSpecEmptyImpl());
+        assertThat(filesWritten.getAndSet(0), is(0));
+
+        // Removing a request deletes its files and regenerates the client
+        final Ds3Request removed = spec.getRequests().get(0);
+        final ImmutableList<Ds3Request> remaining = spec.getRequests().subList(1, spec.getRequests().size());
+        final Path removedParserPath = destDir.resolve("ds3-sdk/src/main/java/"
+                + RESPONSE_PARSER_PACKAGE_PATH.replace(".", "/") + "/" + toResponseParser(removed).getName() + ".java");
+        assertTrue(Files.exists(removedParserPath));
+
+        new JavaCodeGenerator(JavaGeneratorOptions.builder().incremental(true).build()).generate(
+                new Ds3ApiSpec(remaining, spec.getTypes()), fileUtils, destDir, new Ds3DocSpecEmptyImpl());
+        assertThat(filesWritten.getAndSet(0), is(2));
+        assertFalse(Files.exists(removedParserPath));
+    }
+
+    @Test
+    public void generate_IncrementalChangedGenerator_Test() throws Exception {
+        final Ds3ApiSpec spec = new Ds3SpecParserImpl().getSpec(
+                JavaCodeGenerator_Test.class.getResourceAsStream("/input/fullXml.xml"));
+        final Path destDir = tempFolder.getRoot().toPath();
+        final AtomicInteger filesWritten = new AtomicInteger();
+        final FileUtils fileUtils = path -> {
+            filesWritten.incrementAndGet();
+            return new FileUtilsImpl().getOutputFile(path);
+        };
+
+        new JavaCodeGenerator(JavaGeneratorOptions.builder().incremental(true).build()).generate(spec, fileUtils, destDir, new Ds3DocSpecEmptyImpl());
+        final int initialFileCount = filesWritten.getAndSet(0);
+        assertTrue(initialFileCount > 0);
+
+        // A manifest written by another build of the generator regenerates every file
+        final Path manifestPath = destDir.resolve(GenerationManifest.MANIFEST_FILE_NAME);
+        final List<String> lines = new ArrayList<>(Files.readAllLines(manifestPath, StandardCharsets.UTF_8));
+        assertTrue(lines.get(1).startsWith("# generator "));
+        lines.set(1, "# generator previous-build");
+        Files.write(manifestPath, lines, StandardCharsets.UTF_8);
+
+        new JavaCodeGenerator(JavaGeneratorOptions.builder().incremental(true).build()).generate(spec, fileUtils, destDir, new Ds3DocSpecEmptyImpl());
+        assertThat(filesWritten.getAndSet(0), is(initialFileCount));
+
+        // The manifest now records the running generator, so nothing is rewritten
+        new JavaCodeGenerator(JavaGeneratorOptions.builder().incremental(true).build()).generate(spec, fileUtils, destDir, new Ds3DocSpecEmptyImpl());
+        assertThat(filesWritten.getAndSet(0), is(0));
+    }
 }
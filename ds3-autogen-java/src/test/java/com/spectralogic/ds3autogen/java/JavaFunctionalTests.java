@@ -35,6 +35,7 @@ import com.spectralogic.ds3autogen.java.utils.TestGeneratedCode;
 import com.spectralogic.ds3autogen.java.utils.TestGeneratedComponentResponseCode;
 import com.spectralogic.ds3autogen.testutil.logging.FileTypeToLog;
 import com.spectralogic.ds3autogen.testutil.logging.GeneratedCodeLogger;
+import com.spectralogic.ds3autogen.utils.InMemoryFileUtilsImpl;
 import com.spectralogic.ds3autogen.utils.TestFileUtilsImpl;
 import freemarker.template.TemplateModelException;
 import org.junit.Rule;
@@ -48,9 +49,14 @@ import java.nio.file.Paths;
 
 import static com.spectralogic.ds3autogen.java.generators.requestmodels.BaseRequestGenerator.modifyConstructorParamTypes;
 import static com.spectralogic.ds3autogen.java.test.helpers.JavaCodeGeneratorTestHelper.*;
+import static com.spectralogic.ds3autogen.java.utils.TestGeneratedCodeHelper.CLIENT_PATH;
+import static com.spectralogic.ds3autogen.java.utils.TestGeneratedCodeHelper.PARSER_PATH;
 import static com.spectralogic.ds3autogen.java.utils.TestHelper.*;
 import static com.spectralogic.ds3autogen.utils.ArgumentsUtil.modifyType;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -2661,6 +2667,93 @@ public class JavaFunctionalTests {
 
     }
 
+    @Test
+    public void streamingResponseParsers_Test() throws IOException, TemplateModelException {
+        final InMemoryFileUtilsImpl fileUtils = new InMemoryFileUtilsImpl();
+        final Ds3SpecParser parser = new Ds3SpecParserImpl();
+        final Ds3ApiSpec spec = parser.getSpec(JavaFunctionalTests.class.getResourceAsStream("/input/fullXml.xml"));
+        final CodeGenerator codeGenerator = new JavaCodeGenerator();
+
+        codeGenerator.generate(spec, fileUtils, Paths.get("."), new Ds3DocSpecEmptyImpl());
+
+        final String jobsParserCode = new String(fileUtils.getFile(
+                Paths.get(PARSER_PATH + "GetJobsSpectraS3StreamingResponseParser.java")));
+        CODE_LOGGER.logFile(jobsParserCode, FileTypeToLog.PARSER);
+
+        assertTrue(isOfPackage("com.spectralogic.ds3client.commands.parsers", jobsParserCode));
+        assertTrue(hasImport("com.spectralogic.ds3client.models.Job", jobsParserCode));
+        assertTrue(hasImport("com.spectralogic.ds3client.commands.parsers.utils.XmlElementIterator", jobsParserCode));
+        assertTrue(jobsParserCode.contains("public Stream<Job> streamJobs(final WebResponse response) throws IOException {"));
+        assertTrue(jobsParserCode.contains("XmlElementIterator.stream(response.getResponseStream(), Job.class, \"Job\")"));
+
+        final String bulkParserCode = new String(fileUtils.getFile(
+                Paths.get(PARSER_PATH + "GetBulkJobSpectraS3StreamingResponseParser.java")));
+        CODE_LOGGER.logFile(bulkParserCode, FileTypeToLog.PARSER);
+
+        assertTrue(bulkParserCode.contains("XmlElementIterator.stream(response.getResponseStream(), JobNode.class, \"Nodes\", \"*\")"));
+        assertTrue(bulkParserCode.contains("XmlElementIterator.stream(response.getResponseStream(), Objects.class, \"Objects\")"));
+
+        //Streaming parsers do not read an empty response body
+        assertTrue(jobsParserCode.contains("if (ResponseParserUtils.getSizeFromHeaders(response.getHeaders()) == 0) {\n"
+                + "                return Stream.empty();\n"
+                + "            }"));
+
+        final String listBucketParserCode = new String(fileUtils.getFile(
+                Paths.get(PARSER_PATH + "GetBucketStreamingResponseParser.java")));
+        assertTrue(listBucketParserCode.contains("public Stream<Contents> streamObjects(final WebResponse response) throws IOException {"));
+
+        //Requests without a list payload do not have a streaming response parser
+        assertThat(fileUtils.getFile(Paths.get(PARSER_PATH + "DeleteBucketSpectraS3StreamingResponseParser.java")), is(nullValue()));
+
+        //Nor do requests that are not list or bulk requests, even if their payload contains a list
+        assertThat(fileUtils.getFile(Paths.get(PARSER_PATH + "CancelEjectOnAllTapesSpectraS3StreamingResponseParser.java")), is(nullValue()));
+
+        final String iteratorCode = new String(fileUtils.getFile(
+                Paths.get(PARSER_PATH + "utils/XmlElementIterator.java")));
+        assertTrue(hasCopyright(iteratorCode));
+        assertTrue(isOfPackage("com.spectralogic.ds3client.commands.parsers.utils", iteratorCode));
+    }
+
+    @Test
+    public void xmlParsers_Test() throws IOException, TemplateModelException {
+        final InMemoryFileUtilsImpl fileUtils = new InMemoryFileUtilsImpl();
+        final Ds3SpecParser parser = new Ds3SpecParserImpl();
+        final Ds3ApiSpec spec = parser.getSpec(JavaFunctionalTests.class.getResourceAsStream("/input/fullXml.xml"));
+        final CodeGenerator codeGenerator = new JavaCodeGenerator(JavaGeneratorOptions.builder().xmlParsers(true).build());
+
+        codeGenerator.generate(spec, fileUtils, Paths.get("."), new Ds3DocSpecEmptyImpl());
+
+        final String xmlParsersPath = CLIENT_PATH + "serializer/parsers/";
+        final String listBucketParserCode = new String(fileUtils.getFile(
+                Paths.get(xmlParsersPath + "ListBucketResultXmlParser.java")));
+        CODE_LOGGER.logFile(listBucketParserCode, FileTypeToLog.MODEL);
+
+        assertTrue(hasCopyright(listBucketParserCode));
+        assertTrue(isOfPackage("com.spectralogic.ds3client.serializer.parsers", listBucketParserCode));
+        assertTrue(hasImport("com.spectralogic.ds3client.models.ListBucketResult", listBucketParserCode));
+        assertTrue(listBucketParserCode.contains("public static ListBucketResult read(final XMLStreamReader reader) throws XMLStreamException {"));
+        assertTrue(listBucketParserCode.contains("result.getObjects().add(ContentsXmlParser.read(reader));"));
+        assertTrue(listBucketParserCode.contains("XmlParsers.readValue(reader, CommonPrefixes.class)"));
+
+        //Enums are parsed from text and do not have an xml parser
+        assertThat(fileUtils.getFile(Paths.get(xmlParsersPath + "PriorityXmlParser.java")), is(nullValue()));
+
+        final String xmlParsersCode = new String(fileUtils.getFile(Paths.get(xmlParsersPath + "XmlParsers.java")));
+        assertTrue(xmlParsersCode.contains("PARSERS.put(ListBucketResult.class, ListBucketResultXmlParser::read);"));
+
+        final String responseParserCode = new String(fileUtils.getFile(
+                Paths.get(PARSER_PATH + "GetBucketResponseParser.java")));
+        CODE_LOGGER.logFile(responseParserCode, FileTypeToLog.PARSER);
+        assertTrue(hasImport("com.spectralogic.ds3client.serializer.parsers.XmlParsers", responseParserCode));
+        assertFalse(hasImport("com.spectralogic.ds3client.serializer.XmlOutput", responseParserCode));
+        assertTrue(responseParserCode.contains("XmlParsers.fromXml(inputStream, ListBucketResult.class)"));
+
+        final String benchmarkCode = new String(fileUtils.getFile(Paths.get(
+                "./ds3-sdk/src/jmh/java/com/spectralogic/ds3client/serializer/parsers/XmlParsersBenchmark.java")));
+        assertTrue(benchmarkCode.contains("public ListBucketResult xmlOutput() throws IOException {"));
+        assertTrue(benchmarkCode.contains("public ListBucketResult xmlParsers() throws IOException {"));
+    }
+
     @Test
     public void ejectStorageDomainTest() throws IOException, TemplateModelException {
         final String requestName = "EjectStorageDomainBlobsSpectraS3Request";
@@ -0,0 +1,52 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class JavaGeneratorOptions_Test {
+
+    @Test
+    public void defaults_Test() {
+        final JavaGeneratorOptions options = JavaGeneratorOptions.builder().build();
+        assertThat(options.getParallelism(), is(1));
+        assertThat(options.isIncremental(), is(false));
+        assertThat(options.isXmlParsers(), is(false));
+        assertThat(options.isCodeEmitters(), is(true));
+    }
+
+    @Test
+    public void builder_Test() {
+        final JavaGeneratorOptions options = JavaGeneratorOptions.builder()
+                .parallelism(4)
+                .incremental(true)
+                .xmlParsers(true)
+                .codeEmitters(false)
+                .build();
+        assertThat(options.getParallelism(), is(4));
+        assertThat(options.isIncremental(), is(true));
+        assertThat(options.isXmlParsers(), is(true));
+        assertThat(options.isCodeEmitters(), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builder_InvalidParallelism_Test() {
+        JavaGeneratorOptions.builder().parallelism(0).build();
+    }
+}
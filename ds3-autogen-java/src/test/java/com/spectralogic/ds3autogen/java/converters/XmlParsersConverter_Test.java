@@ -0,0 +1,101 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.java.models.ResponseCode;
+import com.spectralogic.ds3autogen.java.models.ResponseParser;
+import org.junit.Test;
+
+import static com.spectralogic.ds3autogen.java.converters.XmlParsersConverter.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class XmlParsersConverter_Test {
+
+    private static ResponseParser createResponseParser(
+            final ImmutableSet<String> imports,
+            final ImmutableList<ResponseCode> responseCodes) {
+        return new ResponseParser(
+                "GetBucketResponseParser",
+                "GetBucketResponse",
+                "com.spectralogic.ds3client.commands.parsers",
+                "AbstractResponseParser",
+                "200",
+                false,
+                imports,
+                responseCodes);
+    }
+
+    @Test
+    public void toImportList_Test() {
+        final ImmutableSet<String> imports = ImmutableSet.of(
+                "com.spectralogic.ds3client.models.ListBucketResult",
+                "com.spectralogic.ds3client.serializer.XmlOutput",
+                "java.io.IOException");
+
+        final ImmutableSet<String> result = toImportList(imports);
+        assertThat(result.asList(), is(ImmutableList.of(
+                "com.spectralogic.ds3client.models.ListBucketResult",
+                "com.spectralogic.ds3client.serializer.parsers.XmlParsers",
+                "java.io.IOException")));
+    }
+
+    @Test
+    public void toResponseCodeList_NullList_Test() {
+        assertThat(toResponseCodeList(null).size(), is(0));
+    }
+
+    @Test
+    public void toResponseCodeList_Test() {
+        final ImmutableList<ResponseCode> responseCodes = ImmutableList.of(
+                new ResponseCode(200, "final ListBucketResult result = XmlOutput.fromXml(inputStream, ListBucketResult.class);"),
+                new ResponseCode(204, "//There is no payload"));
+
+        final ImmutableList<ResponseCode> result = toResponseCodeList(responseCodes);
+        assertThat(result.size(), is(2));
+        assertThat(result.get(0).getCode(), is(200));
+        assertThat(result.get(0).getProcessingCode(),
+                is("final ListBucketResult result = XmlParsers.fromXml(inputStream, ListBucketResult.class);"));
+        assertThat(result.get(1).getCode(), is(204));
+        assertThat(result.get(1).getProcessingCode(), is("//There is no payload"));
+    }
+
+    @Test
+    public void toXmlParsersResponseParser_NoXmlOutput_Test() {
+        final ResponseParser responseParser = createResponseParser(
+                ImmutableSet.of("java.io.IOException"),
+                ImmutableList.of(new ResponseCode(204, "//There is no payload")));
+        assertThat(toXmlParsersResponseParser(responseParser), sameInstance(responseParser));
+    }
+
+    @Test
+    public void toXmlParsersResponseParser_Test() {
+        final ResponseParser responseParser = createResponseParser(
+                ImmutableSet.of("com.spectralogic.ds3client.serializer.XmlOutput"),
+                ImmutableList.of(new ResponseCode(200, "XmlOutput.fromXml(inputStream, ListBucketResult.class);")));
+
+        final ResponseParser result = toXmlParsersResponseParser(responseParser);
+        assertThat(result.getName(), is("GetBucketResponseParser"));
+        assertThat(result.getResponseName(), is("GetBucketResponse"));
+        assertThat(result.getExpectedStatusCodes(), is("200"));
+        assertThat(result.getImports(), is(ImmutableSet.of("com.spectralogic.ds3client.serializer.parsers.XmlParsers")));
+        assertThat(result.getResponseCodes().get(0).getProcessingCode(),
+                is("XmlParsers.fromXml(inputStream, ListBucketResult.class);"));
+    }
+}
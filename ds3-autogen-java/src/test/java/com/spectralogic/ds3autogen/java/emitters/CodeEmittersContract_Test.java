@@ -0,0 +1,150 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.docspec.Ds3DocSpec;
+import com.spectralogic.ds3autogen.docspec.Ds3DocSpecEmptyImpl;
+import com.spectralogic.ds3autogen.java.JavaCodeGenerator;
+import com.spectralogic.ds3autogen.java.JavaGeneratorOptions;
+import com.spectralogic.ds3autogen.utils.InMemoryFileUtilsImpl;
+import freemarker.template.TemplateModelException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that the code emitters write the same bytes as their FreeMarker templates
+ * for every contract within the contracts directory of the project, with every request
+ * and parameter documented, with and without internal requests, and with and without
+ * xml parsers
+ */
+public class CodeEmittersContract_Test {
+
+    /** Contracts within the contracts directory that the spec parser cannot read, due to an unknown script element */
+    private static final String[] UNPARSEABLE_CONTRACTS = { "5_0_x_contract.xml" };
+
+    /**
+     * Documents every request and parameter, since the bundled command documentation is
+     * empty and would leave the documentation within the generated code untested
+     */
+    private static final Ds3DocSpec DOC_SPEC = new Ds3DocSpec() {
+        @Override
+        public Optional<String> getRequestDocumentation(final String requestName) {
+            return Optional.of("Documentation of the " + requestName);
+        }
+
+        @Override
+        public Optional<String> getParamDocumentation(final String paramName) {
+            return Optional.of("Documentation of the " + paramName);
+        }
+    };
+
+    /**
+     * Finds the contracts directory within the project root, searching upwards from the
+     * working directory the tests are run in
+     */
+    private static Path getContractsDir() {
+        for (Path dir = Paths.get("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+            final Path contractsDir = dir.resolve("contracts");
+            if (Files.isDirectory(contractsDir)) {
+                return contractsDir;
+            }
+        }
+        throw new IllegalStateException("Could not find the contracts directory");
+    }
+
+    private static ImmutableSortedMap<Path, byte[]> generateFiles(
+            final boolean xmlParsers,
+            final boolean codeEmitters,
+            final Ds3ApiSpec spec,
+            final Ds3DocSpec docSpec) throws IOException, TemplateModelException {
+        final JavaGeneratorOptions options = JavaGeneratorOptions.builder()
+                .parallelism(JavaCodeGenerator.defaultParallelism())
+                .xmlParsers(xmlParsers)
+                .codeEmitters(codeEmitters)
+                .build();
+        final InMemoryFileUtilsImpl fileUtils = new InMemoryFileUtilsImpl();
+        new JavaCodeGenerator(options).generate(spec, fileUtils, Paths.get("."), docSpec);
+        return fileUtils.getFiles();
+    }
+
+    @Test
+    public void generate_EmittersMatchTemplates_Test() throws Exception {
+        final List<Path> contracts;
+        try (final Stream<Path> stream = Files.list(getContractsDir())) {
+            contracts = stream.filter(path -> path.toString().endsWith(".xml"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        assertTrue(!contracts.isEmpty());
+
+        for (final Path contract : contracts) {
+            final String contractName = contract.getFileName().toString();
+            if (Stream.of(UNPARSEABLE_CONTRACTS).anyMatch(contractName::equals)) {
+                continue;
+            }
+            for (final boolean generateInternal : new boolean[] { false, true }) {
+                final Ds3ApiSpec spec;
+                try (final InputStream stream = Files.newInputStream(contract)) {
+                    spec = new Ds3SpecParserImpl().getSpec(stream, generateInternal);
+                }
+                for (final boolean xmlParsers : new boolean[] { false, true }) {
+                    final String description = contractName + " internal=" + generateInternal + " xmlParsers=" + xmlParsers;
+                    final ImmutableSortedMap<Path, byte[]> rendered = generateFiles(xmlParsers, false, spec, DOC_SPEC);
+                    final ImmutableSortedMap<Path, byte[]> emitted = generateFiles(xmlParsers, true, spec, DOC_SPEC);
+
+                    assertTrue(description, !rendered.isEmpty());
+                    assertThat(description, emitted.keySet(), is(rendered.keySet()));
+                    for (final Path path : rendered.keySet()) {
+                        assertArrayEquals(description + ": " + path, rendered.get(path), emitted.get(path));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void generate_DocumentationIsEmitted_Test() throws Exception {
+        final Ds3ApiSpec spec;
+        try (final InputStream stream = Files.newInputStream(getContractsDir().resolve("5_4_x_2742576_contract.xml"))) {
+            spec = new Ds3SpecParserImpl().getSpec(stream, false);
+        }
+        final ImmutableSortedMap<Path, byte[]> documented = generateFiles(false, true, spec, DOC_SPEC);
+        final ImmutableSortedMap<Path, byte[]> undocumented = generateFiles(false, true, spec, new Ds3DocSpecEmptyImpl());
+
+        // The documentation reaches the emitted files, so the comparison above covers it
+        assertThat(documented.keySet(), is(undocumented.keySet()));
+        assertTrue(documented.keySet().stream()
+                .anyMatch(path -> !Arrays.equals(documented.get(path), undocumented.get(path))));
+    }
+}
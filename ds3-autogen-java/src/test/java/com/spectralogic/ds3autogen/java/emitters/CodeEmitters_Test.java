@@ -0,0 +1,137 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.java.emitters;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.docspec.Ds3DocSpecEmptyImpl;
+import com.spectralogic.ds3autogen.java.JavaCodeGenerator;
+import com.spectralogic.ds3autogen.java.JavaGeneratorOptions;
+import com.spectralogic.ds3autogen.utils.InMemoryFileUtilsImpl;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CodeEmitters_Test {
+
+    private static final String[] SPECS = {
+            "fullXml.xml",
+            "createObjectRequestHandler.xml",
+            "getBucketsSpectraS3.xml",
+            "getObjectsDetailsRequestHandler.xml",
+            "modifyBucketRequestHandler.xml",
+            "createPutJobRequestHandler.xml",
+            "getJobRequestHandler.xml",
+            "headObjectRequest.xml",
+            "checksumType.xml",
+            "BucketAclType.xml",
+            "PhysicalPlacementApiBeanType.xml",
+            "BlobStoreTaskPriorityType.xml"
+    };
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static Ds3ApiSpec getSpec(final String specName) throws IOException {
+        try (final InputStream stream = CodeEmitters_Test.class.getResourceAsStream("/input/" + specName)) {
+            return new Ds3SpecParserImpl().getSpec(stream, true);
+        }
+    }
+
+    private static ImmutableSortedMap<Path, byte[]> generateFiles(
+            final JavaCodeGenerator generator,
+            final Ds3ApiSpec spec) throws IOException {
+        final InMemoryFileUtilsImpl fileUtils = new InMemoryFileUtilsImpl();
+        generator.generate(spec, fileUtils, Paths.get("."), new Ds3DocSpecEmptyImpl());
+        return fileUtils.getFiles();
+    }
+
+    @Test
+    public void generate_EmittersMatchTemplates_Test() throws Exception {
+        for (final String specName : SPECS) {
+            final Ds3ApiSpec spec = getSpec(specName);
+            final ImmutableSortedMap<Path, byte[]> rendered = generateFiles(
+                    new JavaCodeGenerator(JavaGeneratorOptions.builder().codeEmitters(false).build()), spec);
+            final ImmutableSortedMap<Path, byte[]> emitted = generateFiles(
+                    new JavaCodeGenerator(JavaGeneratorOptions.builder().codeEmitters(true).build()), spec);
+
+            assertTrue(specName, !rendered.isEmpty());
+            assertThat(specName, emitted.keySet(), is(rendered.keySet()));
+            for (final Path path : rendered.keySet()) {
+                assertArrayEquals(specName + ": " + path, rendered.get(path), emitted.get(path));
+            }
+        }
+    }
+
+    @Test
+    public void generate_OverriddenIncludeIsRendered_Test() throws Exception {
+        final Path overrideDir = folder.newFolder("java").toPath();
+        Files.createDirectories(overrideDir.resolve("request/common"));
+        Files.write(overrideDir.resolve("request/common/getters.ftl"),
+                "    // Overridden getters".getBytes(StandardCharsets.UTF_8));
+
+        final JavaCodeGenerator generator = new JavaCodeGenerator(JavaGeneratorOptions.builder().codeEmitters(true).build());
+        generator.overrideTemplates(overrideDir);
+        final ImmutableSortedMap<Path, byte[]> files = generateFiles(generator, getSpec("getBucketsSpectraS3.xml"));
+        final Path requestPath = files.keySet().stream()
+                .filter(path -> path.endsWith("GetBucketsSpectraS3Request.java"))
+                .findFirst()
+                .get();
+        final String request = new String(files.get(requestPath), StandardCharsets.UTF_8);
+
+        assertThat(request, containsString("// Overridden getters"));
+        assertThat(request, not(containsString("public String getName()")));
+    }
+
+    @Test
+    public void capFirst_MatchesFreeMarker_Test() {
+        assertThat(JavaCodeWriter.capFirst("bucketName"), is("BucketName"));
+        assertThat(JavaCodeWriter.capFirst("BucketName"), is("BucketName"));
+        assertThat(JavaCodeWriter.capFirst("  name"), is("  Name"));
+        assertThat(JavaCodeWriter.capFirst(""), is(""));
+    }
+
+    @Test
+    public void uncapFirst_MatchesFreeMarker_Test() {
+        assertThat(JavaCodeWriter.uncapFirst("BucketName"), is("bucketName"));
+        assertThat(JavaCodeWriter.uncapFirst("bucketName"), is("bucketName"));
+        assertThat(JavaCodeWriter.uncapFirst("  Name"), is("  name"));
+        assertThat(JavaCodeWriter.uncapFirst(""), is(""));
+    }
+
+    @Test
+    public void reset_ReusesBuffer_Test() {
+        final JavaCodeWriter writer = new JavaCodeWriter();
+        writer.line("first");
+        assertThat(writer.reset().append("second").toString(), is("second"));
+    }
+}
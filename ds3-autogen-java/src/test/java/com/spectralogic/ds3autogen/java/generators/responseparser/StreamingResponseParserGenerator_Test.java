@@ -0,0 +1,244 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.generators.responseparser;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Action;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3autogen.java.models.Element;
+import com.spectralogic.ds3autogen.java.models.StreamedElement;
+import com.spectralogic.ds3autogen.java.models.StreamingResponseParser;
+import com.spectralogic.ds3autogen.utils.RequestClassifier;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import static com.spectralogic.ds3autogen.java.generators.responseparser.StreamingResponseParserGenerator.*;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.*;
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelPartialDataFixture.createEmptyDs3Request;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingResponseParserGenerator_Test {
+
+    private static final String LIST_TYPE = "com.test.ObjectList";
+    private static final String ENTRY_TYPE = "com.test.Object";
+    private static final String ENUM_TYPE = "com.test.ObjectType";
+
+    private static final ImmutableMap<String, Ds3Type> TYPES = ImmutableMap.of(
+            LIST_TYPE, new Ds3Type(LIST_TYPE, ImmutableList.of(
+                    new Ds3Element("Objects", "array", ENTRY_TYPE, false),
+                    new Ds3Element("Types", "array", ENUM_TYPE, false),
+                    new Ds3Element("Names", "array", "java.lang.String", false))),
+            ENTRY_TYPE, new Ds3Type(ENTRY_TYPE, ImmutableList.of(
+                    new Ds3Element("Name", "java.lang.String", null, false))),
+            ENUM_TYPE, new Ds3Type(ENUM_TYPE, "", null, ImmutableList.of(new Ds3EnumConstant("DATA", null))));
+
+    private static Ds3Request createRequest(final ImmutableList<Ds3ResponseCode> responseCodes) {
+        return createRequest(HttpVerb.GET, Classification.spectrads3, Action.LIST, responseCodes);
+    }
+
+    private static Ds3Request createRequest(
+            final HttpVerb httpVerb,
+            final Classification classification,
+            final Action action,
+            final ImmutableList<Ds3ResponseCode> responseCodes) {
+        return new Ds3Request(
+                "com.test.GetObjectsRequest",
+                httpVerb,
+                classification,
+                null, null, action, null, null, null, false,
+                responseCodes,
+                null, null);
+    }
+
+    private static Optional<Ds3Type> streamablePayloadType(final Ds3Request request) {
+        return getStreamablePayloadType(request, RequestClassifier.classify(request), TYPES);
+    }
+
+    private static boolean isListOrBulk(final Ds3Request request) {
+        return isListOrBulkRequest(request, RequestClassifier.classify(request));
+    }
+
+    private static Ds3ResponseCode createResponseCode(final int code, final String type) {
+        return new Ds3ResponseCode(code, ImmutableList.of(new Ds3ResponseType(type, null)));
+    }
+
+    @Test
+    public void getStreamablePayloadType_NoResponseCodes_Test() {
+        assertFalse(streamablePayloadType(createEmptyDs3Request()).isPresent());
+    }
+
+    @Test
+    public void getStreamablePayloadType_ListPayload_Test() {
+        final Ds3Request request = createRequest(ImmutableList.of(
+                createResponseCode(200, LIST_TYPE),
+                createResponseCode(400, "com.test.Error")));
+
+        final Optional<Ds3Type> result = streamablePayloadType(request);
+        assertTrue(result.isPresent());
+        assertThat(result.get().getName(), is(LIST_TYPE));
+    }
+
+    @Test
+    public void getStreamablePayloadType_NotListRequest_Test() {
+        final ImmutableList<Ds3ResponseCode> responseCodes = ImmutableList.of(createResponseCode(200, LIST_TYPE));
+
+        assertFalse(streamablePayloadType(createRequest(HttpVerb.PUT, Classification.spectrads3, Action.BULK_MODIFY, responseCodes)).isPresent());
+        assertFalse(streamablePayloadType(createRequest(HttpVerb.GET, Classification.spectrads3, Action.SHOW, responseCodes)).isPresent());
+    }
+
+    @Test
+    public void isListOrBulkRequest_Test() {
+        assertTrue(isListOrBulk(createRequest(HttpVerb.GET, Classification.spectrads3, Action.LIST, null)));
+        assertTrue(isListOrBulk(createRequest(HttpVerb.GET, Classification.amazons3, null, null)));
+        assertTrue(isListOrBulk(getRequestBulkGet()));
+        assertTrue(isListOrBulk(getRequestBulkPut()));
+        assertTrue(isListOrBulk(getRequestGetJob()));
+        assertTrue(isListOrBulk(getJobChunksReadyForClientProcessingRequest()));
+        assertFalse(isListOrBulk(createRequest(HttpVerb.PUT, Classification.amazons3, null, null)));
+        assertFalse(isListOrBulk(createRequest(HttpVerb.PUT, Classification.spectrads3, Action.BULK_MODIFY, null)));
+        assertFalse(isListOrBulk(createRequest(HttpVerb.DELETE, Classification.spectrads3, Action.DELETE, null)));
+    }
+
+    @Test
+    public void getStreamablePayloadType_NoModelLists_Test() {
+        final Ds3Request request = createRequest(ImmutableList.of(createResponseCode(200, ENTRY_TYPE)));
+        assertFalse(streamablePayloadType(request).isPresent());
+    }
+
+    @Test
+    public void getStreamablePayloadType_MultiplePayloads_Test() {
+        final Ds3Request request = createRequest(ImmutableList.of(
+                createResponseCode(200, LIST_TYPE),
+                createResponseCode(201, ENTRY_TYPE)));
+        assertFalse(streamablePayloadType(request).isPresent());
+    }
+
+    @Test
+    public void toStreamingResponseParserName_Test() {
+        assertThat(toStreamingResponseParserName("com.test.GetObjectsRequest"), is("GetObjectsStreamingResponseParser"));
+    }
+
+    @Test
+    public void toStatusCodeList_Test() {
+        final ImmutableList<Ds3ResponseCode> responseCodes = ImmutableList.of(
+                createResponseCode(200, LIST_TYPE),
+                createResponseCode(206, LIST_TYPE),
+                createResponseCode(404, LIST_TYPE));
+        assertThat(toStatusCodeList(responseCodes, TYPES.get(LIST_TYPE)), is("200, 206"));
+    }
+
+    @Test
+    public void toXmlPath_Test() {
+        final Element wrapped = new Element("Objects", "Object", false, true, "array", ENTRY_TYPE);
+        assertThat(toXmlPath(wrapped), is(ImmutableList.of("Objects", "*")));
+
+        final Element unwrapped = new Element("Objects", "Object", false, false, "array", ENTRY_TYPE);
+        assertThat(toXmlPath(unwrapped), is(ImmutableList.of("Object")));
+    }
+
+    @Test
+    public void toStreamedElements_Test() {
+        final ImmutableList<Element> elements = ImmutableList.of(
+                new Element("objects", "Object", false, false, "array", ENTRY_TYPE),
+                new Element("types", "Type", false, false, "array", ENUM_TYPE),
+                new Element("names", "Name", false, false, "array", "java.lang.String"),
+                new Element("object", "Object", true, false, "array", ENTRY_TYPE));
+
+        final ImmutableList<StreamedElement> result = toStreamedElements(elements, TYPES);
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getName(), is("Objects"));
+        assertThat(result.get(0).getComponentType(), is("Object"));
+        assertThat(result.get(0).getXmlPath(), is(ImmutableList.of("Object")));
+    }
+
+    @Test
+    public void generate_Test() {
+        final Ds3Request request = createRequest(ImmutableList.of(createResponseCode(200, LIST_TYPE)));
+        final ImmutableList<Element> elements = ImmutableList.of(
+                new Element("objects", "Object", false, true, "array", ENTRY_TYPE));
+
+        final StreamingResponseParser result = new StreamingResponseParserGenerator()
+                .generate(request, TYPES.get(LIST_TYPE), elements, TYPES, "com.test.parsers");
+
+        assertThat(result.getName(), is("GetObjectsStreamingResponseParser"));
+        assertThat(result.getPackageName(), is("com.test.parsers"));
+        assertThat(result.getResponseModelName(), is("ObjectList"));
+        assertThat(result.getExpectedStatusCodes(), is("200"));
+        assertThat(result.getStreamedElements().size(), is(1));
+
+        final ImmutableSet<String> imports = result.getImports();
+        assertThat(imports.size(), is(6));
+        assertTrue(imports.contains("com.spectralogic.ds3client.models.Object"));
+        assertTrue(imports.contains("com.spectralogic.ds3client.commands.parsers.utils.XmlElementIterator"));
+        assertTrue(imports.contains("com.spectralogic.ds3client.commands.parsers.utils.ResponseParserUtils"));
+        assertTrue(imports.contains("com.spectralogic.ds3client.networking.WebResponse"));
+        assertTrue(imports.contains("java.io.IOException"));
+        assertTrue(imports.contains("java.util.stream.Stream"));
+    }
+
+    private static Path getContractsDir() {
+        for (Path dir = Paths.get("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+            final Path contractsDir = dir.resolve("contracts");
+            if (Files.isDirectory(contractsDir)) {
+                return contractsDir;
+            }
+        }
+        throw new IllegalStateException("Could not find the contracts directory");
+    }
+
+    @Test
+    public void getStreamablePayloadType_Contract_Test() throws IOException {
+        // Every request of the 5.4.x contract with a list of models in its payload, 117 or
+        // 120 with internal requests, less those which are not list or bulk requests
+        final Path contract = getContractsDir().resolve("5_4_x_2742576_contract.xml");
+        for (final boolean generateInternal : new boolean[] { false, true }) {
+            final Ds3ApiSpec spec;
+            try (final InputStream stream = Files.newInputStream(contract)) {
+                spec = new Ds3SpecParserImpl().getSpec(stream, generateInternal);
+            }
+            final RequestClassifier classifier = RequestClassifier.of(spec.getRequests());
+
+            int count = 0;
+            boolean foundCancelEject = false;
+            for (final Ds3Request request : spec.getRequests()) {
+                final boolean streamable = getStreamablePayloadType(request, classifier.getKinds(request), spec.getTypes()).isPresent();
+                if (request.getName().endsWith(".CancelEjectOnAllTapesSpectraS3Request")) {
+                    assertFalse(streamable);
+                    foundCancelEject = true;
+                }
+                if (streamable) {
+                    count++;
+                }
+            }
+            assertTrue(foundCancelEject);
+            assertThat(count, is(generateInternal ? 89 : 86));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.java.generators.xmlparsers;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3EnumConstant;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.java.models.Element;
+import com.spectralogic.ds3autogen.java.models.Model;
+import com.spectralogic.ds3autogen.java.models.ModelXmlParser;
+import com.spectralogic.ds3autogen.java.models.XmlProperty;
+import org.junit.Test;
+
+import static com.spectralogic.ds3autogen.java.generators.xmlparsers.ModelXmlParserGenerator.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ModelXmlParserGenerator_Test {
+
+    private static final String BUCKET_TYPE = "com.test.Bucket";
+    private static final String OBJECT_TYPE = "com.test.BucketObject";
+    private static final String ENUM_TYPE = "com.test.ObjectType";
+    private static final String PREFIXES_TYPE = "com.test.CommonPrefixes";
+
+    private static final ImmutableMap<String, Ds3Type> TYPES = ImmutableMap.of(
+            BUCKET_TYPE, new Ds3Type(BUCKET_TYPE, ImmutableList.of(
+                    new Ds3Element("Objects", "array", OBJECT_TYPE, false))),
+            OBJECT_TYPE, new Ds3Type(OBJECT_TYPE, ImmutableList.of(
+                    new Ds3Element("Name", "java.lang.String", null, false))),
+            ENUM_TYPE, new Ds3Type(ENUM_TYPE, "", null, ImmutableList.of(new Ds3EnumConstant("DATA", null))));
+
+    @Test
+    public void toXmlParserName_Test() {
+        assertThat(toXmlParserName("BucketObject"), is("BucketObjectXmlParser"));
+    }
+
+    @Test
+    public void hasXmlParser_Test() {
+        assertFalse(hasXmlParser(null));
+        assertFalse(hasXmlParser(TYPES.get(ENUM_TYPE)));
+        assertFalse(hasXmlParser(new Ds3Type(PREFIXES_TYPE, ImmutableList.of())));
+        assertTrue(hasXmlParser(TYPES.get(OBJECT_TYPE)));
+    }
+
+    @Test
+    public void hasXmlParser_EnumWithElements_Test() {
+        final Ds3Type enumWithElements = new Ds3Type(
+                ENUM_TYPE,
+                "",
+                ImmutableList.of(new Ds3Element("Cancellable", "boolean", null, false)),
+                ImmutableList.of(new Ds3EnumConstant("DATA", null)));
+        assertFalse(hasXmlParser(enumWithElements));
+    }
+
+    @Test
+    public void toXmlName_Test() {
+        assertThat(toXmlName(new Element("objects", "Object", false, true, "array", OBJECT_TYPE)), is("Objects"));
+        assertThat(toXmlName(new Element("objects", "object", false, false, "array", OBJECT_TYPE)), is("Object"));
+        assertThat(toXmlName(new Element("name", "name", false, false, "java.lang.String", null)), is("Name"));
+    }
+
+    @Test
+    public void toTextParseCode_Test() {
+        assertThat(toTextParseCode("String", "java.lang.String", "text", TYPES), is("text"));
+        assertThat(toTextParseCode("boolean", "boolean", "text", TYPES), is("XmlParsers.parseBoolean(text)"));
+        assertThat(toTextParseCode("Integer", "java.lang.Integer", "text", TYPES), is("XmlParsers.parseIntegerOrNull(text)"));
+        assertThat(toTextParseCode("long", "long", "text", TYPES), is("XmlParsers.parseLong(text)"));
+        assertThat(toTextParseCode("UUID", "java.util.UUID", "text", TYPES), is("XmlParsers.parseUuid(text)"));
+        assertThat(toTextParseCode("Date", "java.util.Date", "text", TYPES), is("XmlParsers.parseDate(text)"));
+        assertThat(toTextParseCode("ObjectType", ENUM_TYPE, "text", TYPES), is("XmlParsers.parseEnum(ObjectType.class, text)"));
+        assertThat(toTextParseCode("BucketObject", OBJECT_TYPE, "text", TYPES), is(nullValue()));
+    }
+
+    @Test
+    public void toValueReadCode_Test() {
+        assertThat(toValueReadCode("String", "java.lang.String", "reader", TYPES), is("reader.getElementText()"));
+        assertThat(toValueReadCode("BucketObject", OBJECT_TYPE, "reader", TYPES), is("BucketObjectXmlParser.read(reader)"));
+        assertThat(toValueReadCode("CommonPrefixes", PREFIXES_TYPE, "reader", TYPES),
+                is("XmlParsers.readValue(reader, CommonPrefixes.class)"));
+    }
+
+    @Test
+    public void toEntryParser_Test() {
+        assertThat(toEntryParser("BucketObject", OBJECT_TYPE, TYPES), is("BucketObjectXmlParser::read"));
+        assertThat(toEntryParser("String", "java.lang.String", TYPES), is("entry -> entry.getElementText()"));
+    }
+
+    @Test
+    public void toElementReadCode_Test() {
+        assertThat(toElementReadCode(new Element("name", "Name", false, false, "java.lang.String", null), TYPES),
+                is("result.setName(reader.getElementText());"));
+        assertThat(toElementReadCode(new Element("objects", "Object", false, true, "array", OBJECT_TYPE), TYPES),
+                is("result.setObjects(XmlParsers.readList(reader, BucketObjectXmlParser::read));"));
+        assertThat(toElementReadCode(new Element("objects", "Object", false, false, "array", OBJECT_TYPE), TYPES),
+                is("result.getObjects().add(BucketObjectXmlParser.read(reader));"));
+    }
+
+    @Test
+    public void toAttributeList_Test() {
+        final ImmutableList<Element> elements = ImmutableList.of(
+                new Element("id", "Id", true, false, "java.util.UUID", null),
+                new Element("name", "Name", false, false, "java.lang.String", null),
+                new Element("object", "Object", true, false, OBJECT_TYPE, null));
+
+        final ImmutableList<XmlProperty> result = toAttributeList(elements, TYPES);
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getXmlName(), is("Id"));
+        assertThat(result.get(0).getReadCode(), is("result.setId(XmlParsers.parseUuid(reader.getAttributeValue(i)));"));
+    }
+
+    @Test
+    public void toElementList_DuplicateXmlNames_Test() {
+        final ImmutableList<Element> elements = ImmutableList.of(
+                new Element("id", "Id", true, false, "java.util.UUID", null),
+                new Element("name", "Name", false, false, "java.lang.String", null),
+                new Element("displayName", "Name", false, false, "java.lang.String", null));
+
+        final ImmutableList<XmlProperty> result = toElementList(elements, TYPES);
+        assertThat(result.size(), is(1));
+        assertThat(result.get(0).getXmlName(), is("Name"));
+        assertThat(result.get(0).getReadCode(), is("result.setName(reader.getElementText());"));
+    }
+
+    @Test
+    public void generate_Test() {
+        final Model model = new Model(
+                "com.spectralogic.ds3client.models",
+                "Bucket",
+                null,
+                ImmutableList.of(
+                        new Element("objects", "Object", false, true, "array", OBJECT_TYPE),
+                        new Element("type", "Type", false, false, ENUM_TYPE, null)),
+                ImmutableList.of(),
+                ImmutableSet.of(
+                        "com.spectralogic.ds3client.models.common.CommonPrefixes",
+                        "com.fasterxml.jackson.annotation.JsonProperty"));
+
+        final ModelXmlParser result = new ModelXmlParserGenerator()
+                .generate(model, TYPES, "com.spectralogic.ds3client.serializer.parsers");
+
+        assertThat(result.getName(), is("BucketXmlParser"));
+        assertThat(result.getModelName(), is("Bucket"));
+        assertThat(result.getPackageName(), is("com.spectralogic.ds3client.serializer.parsers"));
+        assertThat(result.getAttributes().size(), is(0));
+        assertThat(result.getElements().size(), is(2));
+        assertThat(result.getImports().asList(), is(ImmutableList.of(
+                "com.spectralogic.ds3client.models.Bucket",
+                "com.spectralogic.ds3client.models.ObjectType",
+                "com.spectralogic.ds3client.models.common.CommonPrefixes",
+                "javax.xml.stream.XMLStreamConstants",
+                "javax.xml.stream.XMLStreamException",
+                "javax.xml.stream.XMLStreamReader")));
+    }
+}
@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.spectralogic.ds3autogen.api.CodeGenerator;
 import com.spectralogic.ds3autogen.api.FileUtils;
+import com.spectralogic.ds3autogen.api.TemplateOverridable;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
@@ -45,7 +46,11 @@ import com.spectralogic.ds3autogen.net.model.response.BaseResponse;
 import com.spectralogic.ds3autogen.net.model.type.BaseType;
 import com.spectralogic.ds3autogen.net.model.typeparser.BaseTypeParserSet;
 import com.spectralogic.ds3autogen.utils.Helper;
+import com.spectralogic.ds3autogen.utils.RequestClassifier;
+import com.spectralogic.ds3autogen.utils.RequestKinds;
+import com.spectralogic.ds3autogen.utils.TemplateOverrideUtil;
 import com.spectralogic.ds3autogen.utils.ResponsePayloadUtil;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
 import freemarker.template.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,14 +64,15 @@ import java.nio.file.Paths;
 
 import static com.spectralogic.ds3autogen.net.utils.GeneratorUtils.hasResponseHandlerAndParser;
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.*;
-import static com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil.*;
 import static com.spectralogic.ds3autogen.utils.Ds3TypeClassificationUtil.*;
 import static com.spectralogic.ds3autogen.utils.ResponsePayloadUtil.hasSpecifiedPayload;
+import static com.spectralogic.ds3autogen.utils.models.RequestKind.*;
+import static com.spectralogic.ds3autogen.utils.metrics.TemplateRenderUtil.render;
 
 /**
  * Generates the .Net SDK code based on the contents of the Ds3ApiSpec
  */
-public class NetCodeGenerator implements CodeGenerator {
+public class NetCodeGenerator implements CodeGenerator, TemplateOverridable {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetCodeGenerator.class);
     private static final String COMMANDS_NAMESPACE = "Ds3.Calls";
@@ -90,6 +96,16 @@ public class NetCodeGenerator implements CodeGenerator {
         config.setSharedVariable("helper", Helper.getInstance());
     }
 
+    @Override
+    public void overrideTemplates(final Path templateDir) throws IOException {
+        TemplateOverrideUtil.overrideTemplates(config, templateDir);
+    }
+
+    @Override
+    public void reloadTemplates() {
+        config.clearTemplateCache();
+    }
+
     @Override
     public void generate(
             final Ds3ApiSpec spec,
@@ -134,7 +150,7 @@ public class NetCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outStream = fileUtils.getOutputFile(path);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(parser, writer);
+            render(tmpl, parser, writer);
         }
     }
 
@@ -164,7 +180,7 @@ public class NetCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outStream = fileUtils.getOutputFile(requestPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(type, writer);
+            render(tmpl, type, writer);
         }
     }
 
@@ -216,7 +232,7 @@ public class NetCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outStream = fileUtils.getOutputFile(clientPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            clientTmpl.process(client, writer);
+            render(clientTmpl, client, writer);
         }
 
         final Template ids3ClientTmpl = config.getTemplate("client/ids3_client.ftl");
@@ -226,7 +242,7 @@ public class NetCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outStream = fileUtils.getOutputFile(ids3ClientPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            ids3ClientTmpl.process(client, writer);
+            render(ids3ClientTmpl, client, writer);
         }
     }
 
@@ -248,21 +264,23 @@ public class NetCodeGenerator implements CodeGenerator {
             LOG.info("There were no requests to generate");
             return;
         }
+        final RequestClassifier classifier = RequestClassifier.of(requests);
         for (final Ds3Request request : requests) {
-            generateRequest(request, typeMap, docSpec);
-            generateResponseAndParser(request);
+            final RequestKinds kinds = classifier.getKinds(request);
+            generateRequest(request, kinds, typeMap, docSpec);
+            generateResponseAndParser(request, kinds);
         }
     }
 
     /**
      * Generates the .net code for the response handler and parser described in the Ds3Request
      */
-    private void generateResponseAndParser(final Ds3Request ds3Request) throws IOException, TemplateException {
+    private void generateResponseAndParser(final Ds3Request ds3Request, final RequestKinds kinds) throws IOException, TemplateException {
         if (!ResponsePayloadUtil.hasResponsePayload(ds3Request.getDs3ResponseCodes())) {
             //Check if the request is an exception for generating response and parser files
             if (hasResponseHandlerAndParser(ds3Request)) {
-                generateResponse(ds3Request, null);
-                generateResponseParser(ds3Request, null);
+                generateResponse(ds3Request, kinds, null);
+                generateResponseParser(ds3Request, kinds, null);
             }
             //There is no payload for this Ds3Request, so do not generate any response handling code
             return;
@@ -276,21 +294,24 @@ public class NetCodeGenerator implements CodeGenerator {
             throw new IllegalArgumentException("Cannot generate a response because there are no non-error payloads: " + ds3Request.getName());
         }
 
-        generateResponse(ds3Request, responsePayloadType);
+        generateResponse(ds3Request, kinds, responsePayloadType);
 
         if (responsePayloadType.equalsIgnoreCase("java.lang.String")) {
-            generateResponseParser(ds3Request, null);
+            generateResponseParser(ds3Request, kinds, null);
         } else {
             final Ds3Type ds3TypePayload = spec.getTypes().get(responsePayloadType);
-            generateResponseParser(ds3Request, ds3TypePayload);
+            generateResponseParser(ds3Request, kinds, ds3TypePayload);
         }
     }
 
     /**
      * Generates the .net code for the response parser
      */
-    private void generateResponseParser(final Ds3Request ds3Request, final Ds3Type responsePayload) throws IOException, TemplateException {
-        final Template tmpl = getResponseParserTemplate(ds3Request);
+    private void generateResponseParser(
+            final Ds3Request ds3Request,
+            final RequestKinds kinds,
+            final Ds3Type responsePayload) throws IOException, TemplateException {
+        final Template tmpl = getResponseParserTemplate(ds3Request, kinds);
         final ResponseParserModelGenerator<?> parserGenerator = getResponseParserGenerator(responsePayload);
 
         final BaseParser parser = generateBaseParser(ds3Request, responsePayload, parserGenerator);
@@ -301,7 +322,7 @@ public class NetCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outStream = fileUtils.getOutputFile(parserPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(parser, writer);
+            render(tmpl, parser, writer);
         }
     }
 
@@ -329,23 +350,23 @@ public class NetCodeGenerator implements CodeGenerator {
     /**
      * Retrieves the response parser template for the specified Ds3Request
      */
-    private Template getResponseParserTemplate(final Ds3Request ds3Request) throws IOException {
-        if (supportsPaginationRequest(ds3Request)) {
+    private Template getResponseParserTemplate(final Ds3Request ds3Request, final RequestKinds kinds) throws IOException {
+        if (kinds.contains(PAGINATION)) {
             return config.getTemplate("parsers/response/pagination_headers_response_parser.ftl");
         }
-        if (isAllocateJobChunkRequest(ds3Request)) {
+        if (kinds.contains(ALLOCATE_JOB_CHUNK)) {
             return config.getTemplate("parsers/response/allocate_job_chunk_parser.ftl");
         }
-        if (isGetJobChunksReadyForClientProcessingRequest(ds3Request)) {
+        if (kinds.contains(GET_JOB_CHUNKS_READY_FOR_CLIENT_PROCESSING)) {
             return config.getTemplate("parsers/response/get_job_chunks_parser.ftl");
         }
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return config.getTemplate("parsers/response/get_object_parser.ftl");
         }
-        if (isHeadBucketRequest(ds3Request)) {
+        if (kinds.contains(HEAD_BUCKET)) {
             return config.getTemplate("parsers/response/head_bucket_parser.ftl");
         }
-        if (isHeadObjectRequest(ds3Request)) {
+        if (kinds.contains(HEAD_OBJECT)) {
             return config.getTemplate("parsers/response/head_object_parser.ftl");
         }
         //Perform this check last so that individual special cased requests take precedence
@@ -361,8 +382,11 @@ public class NetCodeGenerator implements CodeGenerator {
     /**
      * Generates the .net code for the response handler
      */
-    private void generateResponse(final Ds3Request ds3Request, final String responsePayload) throws IOException, TemplateException {
-        final Template tmpl = getResponseTemplate(ds3Request);
+    private void generateResponse(
+            final Ds3Request ds3Request,
+            final RequestKinds kinds,
+            final String responsePayload) throws IOException, TemplateException {
+        final Template tmpl = getResponseTemplate(kinds);
         final ResponseModelGenerator<?> responseGenerator = getResponseGenerator();
         final BaseResponse response = responseGenerator.generate(ds3Request, responsePayload);
         final Path responsePath = destDir.resolve(BASE_PROJECT_PATH.resolve(
@@ -373,7 +397,7 @@ public class NetCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outStream = fileUtils.getOutputFile(responsePath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(response, writer);
+            render(tmpl, response, writer);
         }
     }
 
@@ -406,23 +430,23 @@ public class NetCodeGenerator implements CodeGenerator {
      * Retrieves the appropriate template that will generate the .net response handler
      * code for this Ds3Request
      */
-    private Template getResponseTemplate(final Ds3Request ds3Request) throws IOException {
-        if (supportsPaginationRequest(ds3Request)) {
+    private Template getResponseTemplate(final RequestKinds kinds) throws IOException {
+        if (kinds.contains(PAGINATION)) {
             return config.getTemplate("response/pagination_headers_response.ftl");
         }
-        if (isAllocateJobChunkRequest(ds3Request)) {
+        if (kinds.contains(ALLOCATE_JOB_CHUNK)) {
             return config.getTemplate("response/allocate_job_chunk_response.ftl");
         }
-        if (isGetJobChunksReadyForClientProcessingRequest(ds3Request)) {
+        if (kinds.contains(GET_JOB_CHUNKS_READY_FOR_CLIENT_PROCESSING)) {
             return config.getTemplate("response/get_job_chunks_response.ftl");
         }
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return config.getTemplate("response/get_object_response.ftl");
         }
-        if (isHeadBucketRequest(ds3Request)) {
+        if (kinds.contains(HEAD_BUCKET)) {
             return config.getTemplate("response/head_bucket_response.ftl");
         }
-        if (isHeadObjectRequest(ds3Request)) {
+        if (kinds.contains(HEAD_OBJECT)) {
             return config.getTemplate("response/head_object_response.ftl");
         }
         return config.getTemplate("response/response_template.ftl");
@@ -433,10 +457,11 @@ public class NetCodeGenerator implements CodeGenerator {
      */
     private void generateRequest(
             final Ds3Request ds3Request,
+            final RequestKinds kinds,
             final ImmutableMap<String, Ds3Type> typeMap,
             final Ds3DocSpec docSpec) throws IOException, TemplateException {
-        final Template tmpl = getRequestTemplate(ds3Request);
-        final RequestModelGenerator<?> modelGenerator = getTemplateModelGenerator(ds3Request);
+        final Template tmpl = getRequestTemplate(kinds);
+        final RequestModelGenerator<?> modelGenerator = getTemplateModelGenerator(kinds);
         final BaseRequest request = modelGenerator.generate(ds3Request, typeMap, docSpec);
         final Path requestPath = destDir.resolve(BASE_PROJECT_PATH.resolve(Paths.get(COMMANDS_NAMESPACE.replace(".", "/") + "/" + request.getName() + ".cs")));
 
@@ -444,7 +469,7 @@ public class NetCodeGenerator implements CodeGenerator {
 
         try (final OutputStream outStream = fileUtils.getOutputFile(requestPath);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(request, writer);
+            render(tmpl, request, writer);
         }
     }
 
@@ -452,34 +477,41 @@ public class NetCodeGenerator implements CodeGenerator {
      * Retrieves the associated .net request generator for the specified Ds3Request
      */
     static RequestModelGenerator<?> getTemplateModelGenerator(final Ds3Request ds3Request) {
-        if (isCompleteMultiPartUploadRequest(ds3Request)) {
+        return getTemplateModelGenerator(RequestClassifier.classify(ds3Request));
+    }
+
+    /**
+     * Retrieves the associated .net request generator for a Ds3Request of the specified kinds
+     */
+    private static RequestModelGenerator<?> getTemplateModelGenerator(final RequestKinds kinds) {
+        if (kinds.contains(COMPLETE_MULTI_PART_UPLOAD)) {
             return new PartsRequestPayloadGenerator();
         }
-        if (isGetObjectRequest(ds3Request)) {
+        if (kinds.contains(GET_OBJECT)) {
             return new GetObjectRequestGenerator();
         }
-        if (isBulkPutRequest(ds3Request)) {
+        if (kinds.contains(BULK_PUT)) {
             return new BulkPutRequestGenerator();
         }
-        if (isBulkGetRequest(ds3Request)) { //Note: this must come before hasGetObjectsWithLengthOffsetRequestPayload
+        if (kinds.contains(BULK_GET)) { //Note: this must come before hasGetObjectsWithLengthOffsetRequestPayload
             return new BulkGetRequestGenerator();
         }
-        if (hasGetObjectsWithLengthOffsetRequestPayload(ds3Request)) {
+        if (kinds.contains(GET_OBJECTS_WITH_LENGTH_OFFSET_PAYLOAD)) {
             return new PartialObjectRequestPayloadGenerator();
         }
-        if (isCreateObjectRequest(ds3Request)) {
+        if (kinds.contains(CREATE_OBJECT)) {
             return new PutObjectRequestGenerator();
         }
-        if (isCreateMultiPartUploadPartRequest(ds3Request)) {
+        if (kinds.contains(CREATE_MULTI_PART_UPLOAD_PART)) {
             return new StreamRequestPayloadGenerator();
         }
-        if (isMultiFileDeleteRequest(ds3Request)) {
+        if (kinds.contains(MULTI_FILE_DELETE)) {
             return new ObjectsRequestPayloadGenerator();
         }
-        if (hasStringRequestPayload(ds3Request)) {
+        if (kinds.contains(STRING_PAYLOAD)) {
             return new StringRequestPayloadGenerator();
         }
-        if (hasIdsRequestPayload(ds3Request)) {
+        if (kinds.contains(IDS_PAYLOAD)) {
             return new IdsRequestPayloadGenerator();
         }
         return new BaseRequestGenerator();
@@ -489,41 +521,41 @@ public class NetCodeGenerator implements CodeGenerator {
      * Retrieves the appropriate template that will generate the .net request handler
      * code for this Ds3Request
      */
-    private Template getRequestTemplate(final Ds3Request ds3Request) throws IOException {
-        if (isCompleteMultiPartUploadRequest(ds3Request)) {
+    private Template getRequestTemplate(final RequestKinds kinds) throws IOException {
+        if (kinds.contains(COMPLETE_MULTI_PART_UPLOAD)) {
             return config.getTemplate("request/parts_request_payload.ftl");
         }
-        if (isGetObjectRequest(ds3Request)) {
+        if (kinds.contains(GET_OBJECT)) {
             return config.getTemplate("request/get_object_request.ftl");
         }
-        if (isBulkPutRequest(ds3Request)) {
+        if (kinds.contains(BULK_PUT)) {
             return config.getTemplate("request/bulk_put_request.ftl");
         }
-        if (isBulkGetRequest(ds3Request)) { //Note: this must come before hasGetObjectsWithLengthOffsetRequestPayload
+        if (kinds.contains(BULK_GET)) { //Note: this must come before hasGetObjectsWithLengthOffsetRequestPayload
             return config.getTemplate("request/bulk_get_request.ftl");
         }
-        if (isEjectStorageDomainBlobsRequest(ds3Request)) { //Note: this must come before hasGetObjectsWithLengthOffsetRequestPayload
+        if (kinds.contains(EJECT_STORAGE_DOMAIN_BLOBS)) { //Note: this must come before hasGetObjectsWithLengthOffsetRequestPayload
             return config.getTemplate("request/eject_storage_domain_blobs_request.ftl");
         }
-        if (hasGetObjectsWithLengthOffsetRequestPayload(ds3Request)) {
+        if (kinds.contains(GET_OBJECTS_WITH_LENGTH_OFFSET_PAYLOAD)) {
             return config.getTemplate("request/partial_objects_request_payload.ftl");
         }
-        if (isCreateObjectRequest(ds3Request)) {
+        if (kinds.contains(CREATE_OBJECT)) {
             return config.getTemplate("request/put_object_request.ftl");
         }
-        if (isCreateMultiPartUploadPartRequest(ds3Request)) {
+        if (kinds.contains(CREATE_MULTI_PART_UPLOAD_PART)) {
             return config.getTemplate("request/stream_request_payload.ftl");
         }
-        if (hasSimpleObjectsRequestPayload(ds3Request)) {
+        if (kinds.contains(SIMPLE_OBJECTS_PAYLOAD)) {
             return config.getTemplate("request/object_names_request_payload.ftl");
         }
-        if (isMultiFileDeleteRequest(ds3Request)) {
+        if (kinds.contains(MULTI_FILE_DELETE)) {
             return config.getTemplate("request/multi_file_delete_request.ftl");
         }
-        if (hasIdsRequestPayload(ds3Request)) {
+        if (kinds.contains(IDS_PAYLOAD)) {
             return config.getTemplate("request/ids_request_payload.ftl");
         }
-        if (hasStringRequestPayload(ds3Request)) {
+        if (kinds.contains(STRING_PAYLOAD)) {
             return config.getTemplate("request/string_request_payload.ftl");
         }
         return config.getTemplate("request/request_template.ftl");
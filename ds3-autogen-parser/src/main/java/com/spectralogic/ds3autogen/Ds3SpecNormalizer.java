@@ -19,20 +19,28 @@ import com.google.common.collect.ImmutableList;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
+import com.spectralogic.ds3autogen.converters.SpecTransformer;
+import com.spectralogic.ds3autogen.converters.TimedTransform;
 import com.spectralogic.ds3autogen.converters.TypeConverter;
+import com.spectralogic.ds3autogen.utils.NameTable;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics;
+import com.spectralogic.ds3autogen.utils.metrics.Stage;
+import com.spectralogic.ds3autogen.utils.metrics.StageTimer;
 
-import static com.spectralogic.ds3autogen.converters.NameConverter.renameRequests;
-import static com.spectralogic.ds3autogen.converters.RemoveDollarSignConverter.removeDollarSigns;
-import static com.spectralogic.ds3autogen.converters.RemoveSpectraInternalConverter.removeInternalRequestsFromSpec;
-import static com.spectralogic.ds3autogen.converters.ResponseTypeConverter.convertResponseTypes;
-import static com.spectralogic.ds3autogen.converters.UpdateElementsConverter.updateElementsInSpec;
+import static com.spectralogic.ds3autogen.converters.CanonicalizeNamesConverter.canonicalizeNames;
+import static com.spectralogic.ds3autogen.converters.NameConverter.renameRequestsTransform;
+import static com.spectralogic.ds3autogen.converters.RemoveDollarSignConverter.removeDollarSignsTransform;
+import static com.spectralogic.ds3autogen.converters.RemoveSpectraInternalConverter.removeInternalRequestsTransform;
+import static com.spectralogic.ds3autogen.converters.ResponseTypeConverter.convertResponseTypesTransform;
+import static com.spectralogic.ds3autogen.converters.UpdateElementsConverter.updateElementsTransform;
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.hasContent;
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
 
 
 /**
  * Creates a simple interface from which to launch the various Ds3ApiSpec converters
- * with guaranteed proper order of execution.
+ * with guaranteed proper order of execution. The converters are applied as node
+ * transforms within a single traversal of the spec.
  */
 public final class Ds3SpecNormalizer {
 
@@ -50,14 +58,27 @@ public final class Ds3SpecNormalizer {
             final boolean generateInternal) {
         verifySingleResponsePayloadRequests(spec.getRequests());
 
-        final TypeConverter typeConverter = new TypeConverter();
+        final ImmutableList<TimedTransform> transforms = createTransforms(generateInternal);
+        final Ds3ApiSpec normalized = SpecTransformer.transform(spec, ImmutableList.copyOf(transforms));
+        transforms.forEach(TimedTransform::record);
 
-        return typeConverter.modifyTypes( //Converts contract types to sdk types as specified in file typeMap.json
-                updateElementsInSpec( //Updates Ds3Elements to account for ExcludeFromMarshaler values
-                renameRequests( //Rename requests from RequestHandler to Request
-                convertResponseTypes( //Converts response types with components into new encapsulating types
-                removeDollarSigns( //Converts all type names containing '$' into proper type names
-                removeInternalRequestsFromSpec(spec, generateInternal)))))); //Removes/keeps spectra internal requests
+        try (final StageTimer ignored = GenerationMetrics.getInstance().time(Stage.NORMALIZE, "CanonicalizeNamesConverter")) {
+            return canonicalizeNames(normalized, new NameTable()); //Retains a single instance of each distinct name
+        }
+    }
+
+    /**
+     * Creates the transforms of each converter, in their order of execution, each of
+     * which records the time spent within it
+     */
+    static ImmutableList<TimedTransform> createTransforms(final boolean generateInternal) {
+        return ImmutableList.of(
+                new TimedTransform("RemoveSpectraInternalConverter", removeInternalRequestsTransform(generateInternal)), //Removes/keeps spectra internal requests
+                new TimedTransform("RemoveDollarSignConverter", removeDollarSignsTransform()), //Converts all type names containing '$' into proper type names
+                new TimedTransform("ResponseTypeConverter", convertResponseTypesTransform()), //Converts response types with components into new encapsulating types
+                new TimedTransform("NameConverter", renameRequestsTransform()), //Rename requests from RequestHandler to Request
+                new TimedTransform("UpdateElementsConverter", updateElementsTransform()), //Updates Ds3Elements to account for ExcludeFromMarshaler values
+                new TimedTransform("TypeConverter", new TypeConverter().toTransform())); //Converts contract types to sdk types as specified in file typeMap.json
     }
 
     /**
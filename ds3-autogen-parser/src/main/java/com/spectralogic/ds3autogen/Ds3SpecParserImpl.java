@@ -22,6 +22,9 @@ import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.spectralogic.ds3autogen.api.Ds3SpecParser;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.models.xml.rawspec.RawSpec;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics;
+import com.spectralogic.ds3autogen.utils.metrics.Stage;
+import com.spectralogic.ds3autogen.utils.metrics.StageTimer;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -49,17 +52,28 @@ public class Ds3SpecParserImpl implements Ds3SpecParser {
     public Ds3ApiSpec getSpec(
             final InputStream stream,
             final boolean generateInternal) throws IOException {
-        return toSpec(mapper.readValue(stream, RawSpec.class), generateInternal);
+        return Ds3SpecNormalizer.convertSpec(parseSpec(stream), generateInternal);
     }
 
-    private static Ds3ApiSpec toSpec(
-            final RawSpec contract,
-            final boolean generateInternal) throws IOException {
+    /**
+     * Parses the contract and converts it into a Ds3ApiSpec with names mapped,
+     * but without normalizing it via the Ds3SpecNormalizer
+     */
+    public Ds3ApiSpec parseSpec(final InputStream stream) throws IOException {
+        final GenerationMetrics metrics = GenerationMetrics.getInstance();
+        final RawSpec contract;
+        try (final StageTimer ignored = metrics.time(Stage.PARSE, "readContract")) {
+            contract = mapper.readValue(stream, RawSpec.class);
+        }
+        try (final StageTimer ignored = metrics.time(Stage.PARSE, "convertContract")) {
+            return toSpec(contract);
+        }
+    }
+
+    private static Ds3ApiSpec toSpec(final RawSpec contract) throws IOException {
         final NameMapper nameMapper = new NameMapper();
-        final Ds3ApiSpec ds3ApiSpec = new Ds3ApiSpec(
+        return new Ds3ApiSpec(
                 Ds3SpecConverter.convertRequests(contract.getContract().getDs3Requests(), nameMapper),
                 Ds3SpecConverter.convertTypes(contract.getContract().getDs3Types(), nameMapper));
-
-        return Ds3SpecNormalizer.convertSpec(ds3ApiSpec, generateInternal);
     }
 }
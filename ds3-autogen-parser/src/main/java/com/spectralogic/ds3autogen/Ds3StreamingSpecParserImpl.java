@@ -0,0 +1,629 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.Ds3SpecParser;
+import com.spectralogic.ds3autogen.api.Ds3StreamingSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.*;
+import com.spectralogic.ds3autogen.converters.SpecTransformer;
+import com.spectralogic.ds3autogen.converters.TimedTransform;
+import com.spectralogic.ds3autogen.utils.NameTable;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics;
+import com.spectralogic.ds3autogen.utils.metrics.Stage;
+import com.spectralogic.ds3autogen.utils.metrics.StageTimer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static com.spectralogic.ds3autogen.Ds3SpecConverter.getOriginalType;
+import static com.spectralogic.ds3autogen.Ds3SpecConverter.toNameToMarshal;
+import static com.spectralogic.ds3autogen.converters.CanonicalizeNamesConverter.canonicalizeTypeNames;
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.getUsedTypesFromRequests;
+import static com.spectralogic.ds3autogen.utils.NormalizeNameUtil.toSdkName;
+import static com.spectralogic.ds3autogen.utils.NullableVariableUtil.isNullableElement;
+import static com.spectralogic.ds3autogen.utils.NullableVariableUtil.isNullableType;
+
+/**
+ * Parses the contract with a streaming StAX reader. Each Ds3Request and Ds3Type is
+ * created with its SDK names as soon as its RequestHandler or Type element closes, so
+ * the contract is never held in memory as an intermediate object graph. Produces the
+ * same Ds3ApiSpec as Ds3SpecParserImpl.
+ */
+public class Ds3StreamingSpecParserImpl implements Ds3SpecParser {
+
+    private final XMLInputFactory inputFactory;
+
+    public Ds3StreamingSpecParserImpl() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    public Ds3ApiSpec getSpec(final InputStream stream) throws IOException {
+        return getSpec(stream, false); //Defaults to removing Spectra Internal requests from spec
+    }
+
+    @Override
+    public Ds3ApiSpec getSpec(
+            final InputStream stream,
+            final boolean generateInternal) throws IOException {
+        return Ds3SpecNormalizer.convertSpec(parseSpec(stream), generateInternal);
+    }
+
+    /**
+     * Parses the contract and converts it into a Ds3ApiSpec with names mapped,
+     * but without normalizing it via the Ds3SpecNormalizer
+     */
+    public Ds3ApiSpec parseSpec(final InputStream stream) throws IOException {
+        try {
+            final XMLStreamReader reader = inputFactory.createXMLStreamReader(stream);
+            try {
+                reader.nextTag();
+                return new ContractReader(reader, new NameMapper()).readData();
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException e) {
+            throw new IOException("Could not parse the contract", e);
+        }
+    }
+
+    /**
+     * Opens the contract as a Ds3StreamingSpec. The contract is read once to resolve the
+     * normalized types, and is read again each time its requests are read, so that only
+     * the types and a single request are held in memory. The requests and types are
+     * normalized by the same converters as Ds3SpecNormalizer.
+     */
+    public Ds3StreamingSpec getStreamingSpec(final Path contract, final boolean generateInternal) throws IOException {
+        final NameMapper nameMapper = new NameMapper();
+        final ImmutableList<TimedTransform> transforms = Ds3SpecNormalizer.createTransforms(generateInternal);
+        final SpecTransformer transformer = SpecTransformer.of(ImmutableList.copyOf(transforms));
+        final ImmutableSet.Builder<String> requestTypes = ImmutableSet.builder();
+
+        //Every request is transformed before the types, as transforms may create types from them
+        final ImmutableMap<String, Ds3Type> contractTypes;
+        try (final StageTimer ignored = GenerationMetrics.getInstance().time(Stage.PARSE, "resolveTypes")) {
+            contractTypes = readContract(contract, nameMapper, contractReader -> {
+                ImmutableMap<String, Ds3Type> types = null;
+                if (!contractReader.enterContract()) {
+                    return types;
+                }
+                String child;
+                while ((child = contractReader.nextContractChild()) != null) {
+                    switch (child) {
+                        case "RequestHandlers":
+                            Ds3Request request;
+                            while ((request = contractReader.nextRequestHandler()) != null) {
+                                normalizeRequest(request, transformer).ifPresent(normalized ->
+                                        requestTypes.addAll(getUsedTypesFromRequests(ImmutableList.of(normalized))));
+                            }
+                            break;
+                        case "Types":
+                            types = contractReader.readTypes();
+                            break;
+                        default:
+                            contractReader.skipElement();
+                    }
+                }
+                return types;
+            });
+        }
+        final ImmutableMap<String, Ds3Type> types = transformer.transformAllTypes(contractTypes);
+        transforms.forEach(TimedTransform::record);
+
+        try (final StageTimer ignored = GenerationMetrics.getInstance().time(Stage.NORMALIZE, "CanonicalizeNamesConverter")) {
+            return new ContractStreamingSpec(
+                    contract,
+                    nameMapper,
+                    transforms,
+                    transformer,
+                    canonicalizeTypeNames(types, new NameTable()),
+                    requestTypes.build());
+        }
+    }
+
+    /**
+     * Verifies and normalizes a request read from the contract
+     * @return The normalized request, or empty if the request is removed by the normalizer
+     */
+    private static Optional<Ds3Request> normalizeRequest(final Ds3Request request, final SpecTransformer transformer) {
+        Ds3SpecNormalizer.verifySingleResponsePayload(request.getDs3ResponseCodes(), request.getName());
+        return transformer.transformSingleRequest(request);
+    }
+
+    /**
+     * Opens a reader on the contract file, positioned on the start tag of its root element,
+     * and runs the action with it
+     */
+    private <T, E extends Exception> T readContract(
+            final Path contract,
+            final NameMapper nameMapper,
+            final ContractAction<T, E> action) throws IOException, E {
+        try (final InputStream stream = Files.newInputStream(contract)) {
+            final XMLStreamReader reader = inputFactory.createXMLStreamReader(stream);
+            try {
+                reader.nextTag();
+                return action.run(new ContractReader(reader, nameMapper));
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException e) {
+            throw new IOException("Could not parse the contract " + contract, e);
+        }
+    }
+
+    /**
+     * Reads part of a contract with a ContractReader
+     */
+    @FunctionalInterface
+    private interface ContractAction<T, E extends Exception> {
+        T run(final ContractReader contractReader) throws XMLStreamException, IOException, E;
+    }
+
+    /**
+     * A Ds3StreamingSpec whose requests are read from the contract file each time they
+     * are iterated. Requests must be iterated by one thread at a time.
+     */
+    private final class ContractStreamingSpec implements Ds3StreamingSpec {
+
+        private final Path contract;
+        private final NameMapper nameMapper;
+        private final ImmutableList<TimedTransform> transforms;
+        private final SpecTransformer transformer;
+        private final ImmutableMap<String, Ds3Type> types;
+        private final ImmutableSet<String> requestTypes;
+
+        private ContractStreamingSpec(
+                final Path contract,
+                final NameMapper nameMapper,
+                final ImmutableList<TimedTransform> transforms,
+                final SpecTransformer transformer,
+                final ImmutableMap<String, Ds3Type> types,
+                final ImmutableSet<String> requestTypes) {
+            this.contract = contract;
+            this.nameMapper = nameMapper;
+            this.transforms = transforms;
+            this.transformer = transformer;
+            this.types = types;
+            this.requestTypes = requestTypes;
+        }
+
+        @Override
+        public ImmutableMap<String, Ds3Type> getTypes() {
+            return types;
+        }
+
+        @Override
+        public ImmutableSet<String> getRequestTypes() {
+            return requestTypes;
+        }
+
+        @Override
+        public <E extends Exception> void forEachRequest(final RequestConsumer<E> consumer) throws IOException, E {
+            try {
+                readContract(contract, nameMapper, contractReader -> {
+                    if (!contractReader.enterContract()) {
+                        return null;
+                    }
+                    String child;
+                    while ((child = contractReader.nextContractChild()) != null) {
+                        if (!child.equals("RequestHandlers")) {
+                            contractReader.skipElement();
+                            continue;
+                        }
+                        Ds3Request request;
+                        while ((request = contractReader.nextRequestHandler()) != null) {
+                            final Optional<Ds3Request> normalized = normalizeRequest(request, transformer);
+                            if (normalized.isPresent()) {
+                                consumer.accept(normalized.get());
+                            }
+                        }
+                        return null; //The types that follow the requests have already been read
+                    }
+                    return null;
+                });
+            } finally {
+                transforms.forEach(TimedTransform::record);
+            }
+        }
+    }
+
+    /**
+     * Parses a single child element of the element the reader is positioned on
+     */
+    @FunctionalInterface
+    private interface ChildReader<T> {
+        T read() throws XMLStreamException;
+    }
+
+    /**
+     * Reads the contract elements that are used within the Ds3ApiSpec. Every read method
+     * expects the reader to be positioned on the start tag of its element, and leaves the
+     * reader positioned on the matching end tag.
+     */
+    private static final class ContractReader {
+
+        private final XMLStreamReader reader;
+        private final NameMapper nameMapper;
+
+        private ImmutableList<Ds3Request> requests;
+        private ImmutableMap<String, Ds3Type> types;
+
+        private ContractReader(final XMLStreamReader reader, final NameMapper nameMapper) {
+            this.reader = reader;
+            this.nameMapper = nameMapper;
+        }
+
+        private Ds3ApiSpec readData() throws XMLStreamException {
+            while (nextChild()) {
+                if (reader.getLocalName().equals("Contract")) {
+                    readContract();
+                } else {
+                    skipElement();
+                }
+            }
+            return new Ds3ApiSpec(requests == null ? ImmutableList.of() : requests, types);
+        }
+
+        /**
+         * Advances to the start tag of the Contract element
+         * @return False if the data does not contain a Contract element
+         */
+        private boolean enterContract() throws XMLStreamException {
+            while (nextChild()) {
+                if (reader.getLocalName().equals("Contract")) {
+                    return true;
+                }
+                skipElement();
+            }
+            return false;
+        }
+
+        /**
+         * Advances to the start tag of the next child of the Contract element
+         * @return The name of the child, or null once the end of the Contract has been reached
+         */
+        private String nextContractChild() throws XMLStreamException {
+            return nextChild() ? reader.getLocalName() : null;
+        }
+
+        /**
+         * Reads the next RequestHandler within the RequestHandlers element, which allows
+         * the requests to be read one at a time
+         * @return The request, or null once the end of the RequestHandlers element has been reached
+         */
+        private Ds3Request nextRequestHandler() throws XMLStreamException {
+            while (nextChild()) {
+                if (reader.getLocalName().equals("RequestHandler")) {
+                    return readRequestHandler();
+                }
+                skipElement();
+            }
+            return null;
+        }
+
+        private void readContract() throws XMLStreamException {
+            while (nextChild()) {
+                switch (reader.getLocalName()) {
+                    case "RequestHandlers":
+                        requests = readList("RequestHandler", this::readRequestHandler);
+                        break;
+                    case "Types":
+                        types = readTypes();
+                        break;
+                    default:
+                        skipElement();
+                }
+            }
+        }
+
+        private Ds3Request readRequestHandler() throws XMLStreamException {
+            final Classification classification = toEnum(Classification.class, attribute("Classification"));
+            final String name = toSdkName(attribute("Name"), classification, nameMapper);
+            RequestAttributes request = null;
+            ImmutableList<Ds3ResponseCode> responseCodes = null;
+            while (nextChild()) {
+                switch (reader.getLocalName()) {
+                    case "Request":
+                        request = readRequest();
+                        break;
+                    case "ResponseCodes":
+                        responseCodes = readList("ResponseCode", this::readResponseCode);
+                        break;
+                    default:
+                        skipElement();
+                }
+            }
+            if (request == null) {
+                throw new XMLStreamException("Request handler does not contain a Request: " + name, reader.getLocation());
+            }
+            return new Ds3Request(
+                    name,
+                    request.httpVerb,
+                    classification,
+                    request.bucketRequirement,
+                    request.objectRequirement,
+                    request.action,
+                    request.resource,
+                    request.resourceType,
+                    request.operation,
+                    request.includeIdInPath,
+                    responseCodes == null ? ImmutableList.of() : responseCodes,
+                    request.optionalQueryParams,
+                    request.requiredQueryParams);
+        }
+
+        private RequestAttributes readRequest() throws XMLStreamException {
+            final RequestAttributes request = new RequestAttributes();
+            request.bucketRequirement = toEnum(Requirement.class, attribute("BucketRequirement"));
+            request.httpVerb = toEnum(HttpVerb.class, attribute("HttpVerb"));
+            request.objectRequirement = toEnum(Requirement.class, attribute("ObjectRequirement"));
+            request.action = toEnum(Action.class, attribute("Action"));
+            request.resource = toEnum(Resource.class, attribute("Resource"));
+            request.resourceType = toEnum(ResourceType.class, attribute("ResourceType"));
+            request.operation = toEnum(Operation.class, attribute("Operation"));
+            request.includeIdInPath = Boolean.parseBoolean(attribute("IncludeIdInPath"));
+            while (nextChild()) {
+                switch (reader.getLocalName()) {
+                    case "OptionalQueryParams":
+                        request.optionalQueryParams = readList("Param", this::readParam);
+                        break;
+                    case "RequiredQueryParams":
+                        request.requiredQueryParams = readList("Param", this::readParam);
+                        break;
+                    default:
+                        skipElement();
+                }
+            }
+            return request;
+        }
+
+        private Ds3Param readParam() throws XMLStreamException {
+            final String name = attribute("Name");
+            final String type = attribute("Type");
+            skipElement();
+            return new Ds3Param(name, toSdkName(type, nameMapper), isNullableType(type));
+        }
+
+        private Ds3ResponseCode readResponseCode() throws XMLStreamException {
+            int code = 0;
+            ImmutableList<Ds3ResponseType> responseTypes = ImmutableList.of();
+            while (nextChild()) {
+                switch (reader.getLocalName()) {
+                    case "Code":
+                        code = Integer.parseInt(reader.getElementText().trim());
+                        break;
+                    case "ResponseTypes":
+                        responseTypes = readList("ResponseType", this::readResponseType);
+                        break;
+                    default:
+                        skipElement();
+                }
+            }
+            return new Ds3ResponseCode(code, responseTypes);
+        }
+
+        private Ds3ResponseType readResponseType() throws XMLStreamException {
+            final String type = attribute("Type");
+            final String componentType = attribute("ComponentType");
+            skipElement();
+            return new Ds3ResponseType(
+                    toSdkName(type, nameMapper),
+                    toSdkName(componentType, nameMapper),
+                    getOriginalType(componentType, nameMapper));
+        }
+
+        private ImmutableMap<String, Ds3Type> readTypes() throws XMLStreamException {
+            final ImmutableList<Ds3Type> typeList = readList("Type", this::readType);
+            if (typeList == null) {
+                return null;
+            }
+            final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+            for (final Ds3Type ds3Type : typeList) {
+                builder.put(ds3Type.getName(), ds3Type);
+            }
+            return builder.build();
+        }
+
+        private Ds3Type readType() throws XMLStreamException {
+            final String name = toSdkName(attribute("Name"), nameMapper);
+            final String nameToMarshal = toNameToMarshal(attribute("NameToMarshal"));
+            ImmutableList<Ds3Element> elements = null;
+            ImmutableList<Ds3EnumConstant> enumConstants = null;
+            while (nextChild()) {
+                switch (reader.getLocalName()) {
+                    case "Elements":
+                        elements = readList("Element", this::readElement);
+                        break;
+                    case "EnumConstants":
+                        enumConstants = readList("EnumConstant", this::readEnumConstant);
+                        break;
+                    default:
+                        skipElement();
+                }
+            }
+            return new Ds3Type(name, nameToMarshal, elements, enumConstants);
+        }
+
+        private Ds3Element readElement() throws XMLStreamException {
+            final String name = attribute("Name");
+            final String type = attribute("Type");
+            final String componentType = attribute("ComponentType");
+            ImmutableList<Ds3Annotation> annotations = null;
+            while (nextChild()) {
+                if (reader.getLocalName().equals("Annotations")) {
+                    annotations = readList("Annotation", this::readAnnotation);
+                } else {
+                    skipElement();
+                }
+            }
+            return new Ds3Element(
+                    name,
+                    toSdkName(type, nameMapper),
+                    toSdkName(componentType, nameMapper),
+                    annotations,
+                    isNullableElement(type, annotations));
+        }
+
+        private Ds3Annotation readAnnotation() throws XMLStreamException {
+            final String name = attribute("Name");
+            ImmutableList<Ds3AnnotationElement> annotationElements = null;
+            while (nextChild()) {
+                if (reader.getLocalName().equals("AnnotationElements")) {
+                    annotationElements = readList("AnnotationElement", this::readAnnotationElement);
+                } else {
+                    skipElement();
+                }
+            }
+            return new Ds3Annotation(name, annotationElements);
+        }
+
+        private Ds3AnnotationElement readAnnotationElement() throws XMLStreamException {
+            final Ds3AnnotationElement annotationElement = new Ds3AnnotationElement(
+                    attribute("Name"),
+                    attribute("Value"),
+                    attribute("ValueType"));
+            skipElement();
+            return annotationElement;
+        }
+
+        private Ds3EnumConstant readEnumConstant() throws XMLStreamException {
+            final String name = attribute("Name");
+            ImmutableList<Ds3Property> properties = null;
+            while (nextChild()) {
+                if (reader.getLocalName().equals("Properties")) {
+                    properties = readList("Property", this::readProperty);
+                } else {
+                    skipElement();
+                }
+            }
+            return new Ds3EnumConstant(name, properties);
+        }
+
+        private Ds3Property readProperty() throws XMLStreamException {
+            final Ds3Property property = new Ds3Property(
+                    attribute("Name"),
+                    attribute("Value"),
+                    toSdkName(attribute("ValueType"), nameMapper));
+            skipElement();
+            return property;
+        }
+
+        /**
+         * Reads every child element with the specified name of the current wrapper element.
+         * An empty wrapper element is read as null, which matches the Jackson binding used
+         * by Ds3SpecParserImpl.
+         */
+        private <T> ImmutableList<T> readList(
+                final String childName,
+                final ChildReader<T> childReader) throws XMLStreamException {
+            ImmutableList.Builder<T> builder = null;
+            while (nextChild()) {
+                if (reader.getLocalName().equals(childName)) {
+                    if (builder == null) {
+                        builder = ImmutableList.builder();
+                    }
+                    builder.add(childReader.read());
+                } else {
+                    skipElement();
+                }
+            }
+            return builder == null ? null : builder.build();
+        }
+
+        /**
+         * Advances to the start tag of the next child of the current element. Returns false
+         * once the end tag of the current element has been reached.
+         */
+        private boolean nextChild() throws XMLStreamException {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        return true;
+                    case XMLStreamConstants.END_ELEMENT:
+                        return false;
+                    default:
+                        break;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Advances past the current element and all of its children
+         */
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0 && reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth--;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        private String attribute(final String name) {
+            return reader.getAttributeValue(null, name);
+        }
+
+        private <E extends Enum<E>> E toEnum(final Class<E> enumClass, final String value) throws XMLStreamException {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Enum.valueOf(enumClass, value);
+            } catch (final IllegalArgumentException e) {
+                throw new XMLStreamException("Unknown " + enumClass.getSimpleName() + " value: " + value, reader.getLocation(), e);
+            }
+        }
+    }
+
+    /**
+     * The attributes and query params of a Request element, which are combined with
+     * the enclosing RequestHandler to create the Ds3Request
+     */
+    private static final class RequestAttributes {
+        private Requirement bucketRequirement;
+        private HttpVerb httpVerb;
+        private Requirement objectRequirement;
+        private Action action;
+        private Resource resource;
+        private ResourceType resourceType;
+        private Operation operation;
+        private boolean includeIdInPath;
+        private ImmutableList<Ds3Param> optionalQueryParams;
+        private ImmutableList<Ds3Param> requiredQueryParams;
+    }
+}
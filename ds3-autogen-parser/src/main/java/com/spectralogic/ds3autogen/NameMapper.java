@@ -22,12 +22,19 @@ import com.spectralogic.ds3autogen.api.models.namemap.NameMapperType;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class NameMapper {
 
     private static final String DEFAULT_TYPE_NAME_MAP_FILE = "/typeNameMap.json";
     private final Ds3NameMapper ds3NameMapper;
 
+    /** The sdk names computed by NormalizeNameUtil.toSdkName for types, which have no classification */
+    private final Map<String, String> sdkNames = new ConcurrentHashMap<>();
+    /** The sdk names computed by NormalizeNameUtil.toSdkName for requests, by classification */
+    private final Map<Classification, Map<String, String>> classifiedSdkNames = new ConcurrentHashMap<>();
+
     public NameMapper() throws IOException {
         ds3NameMapper = initNameMapper(DEFAULT_TYPE_NAME_MAP_FILE);
     }
@@ -55,4 +62,28 @@ public class NameMapper {
         }
         return ds3NameMapper.getConvertedName(namePath, NameMapperType.NONE);
     }
+
+    /**
+     * Retrieves the sdk name previously cached for the contract name and classification,
+     * or null if there is none
+     */
+    public String getCachedSdkName(final String contractName, final Classification classification) {
+        return getSdkNameCache(classification).get(contractName);
+    }
+
+    /**
+     * Caches the sdk name of the contract name and classification
+     * @return The cached sdk name, which is the first sdk name cached for the contract name
+     */
+    public String cacheSdkName(final String contractName, final Classification classification, final String sdkName) {
+        final String existing = getSdkNameCache(classification).putIfAbsent(contractName, sdkName);
+        return existing != null ? existing : sdkName;
+    }
+
+    private Map<String, String> getSdkNameCache(final Classification classification) {
+        if (classification == null) {
+            return sdkNames;
+        }
+        return classifiedSdkNames.computeIfAbsent(classification, key -> new ConcurrentHashMap<>());
+    }
 }
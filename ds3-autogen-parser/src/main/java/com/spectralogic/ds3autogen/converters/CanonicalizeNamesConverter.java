@@ -0,0 +1,216 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.utils.NameTable;
+
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Replaces every name and type name within the Ds3ApiSpec with its canonical instance
+ * from a NameTable, so that each distinct name is retained only once by the spec.
+ * Nodes whose names are already canonical are reused.
+ */
+public final class CanonicalizeNamesConverter {
+
+    private final NameTable names;
+
+    private CanonicalizeNamesConverter(final NameTable names) {
+        this.names = names;
+    }
+
+    /**
+     * Canonicalizes all names within the spec using the table
+     */
+    public static Ds3ApiSpec canonicalizeNames(final Ds3ApiSpec spec, final NameTable names) {
+        final CanonicalizeNamesConverter converter = new CanonicalizeNamesConverter(names);
+        final ImmutableList<Ds3Request> requests = canonicalizeList(spec.getRequests(), converter::canonicalizeRequest);
+        final ImmutableMap<String, Ds3Type> types = converter.canonicalizeTypes(spec.getTypes());
+        if (requests == spec.getRequests() && types == spec.getTypes()) {
+            return spec;
+        }
+        return new Ds3ApiSpec(requests, types);
+    }
+
+    /**
+     * Canonicalizes all names within the types using the table
+     */
+    public static ImmutableMap<String, Ds3Type> canonicalizeTypeNames(final ImmutableMap<String, Ds3Type> types, final NameTable names) {
+        return new CanonicalizeNamesConverter(names).canonicalizeTypes(types);
+    }
+
+    /**
+     * Applies the function to each item of the list, returning the original list if
+     * every item was returned unchanged
+     */
+    private static <T> ImmutableList<T> canonicalizeList(final ImmutableList<T> list, final UnaryOperator<T> function) {
+        if (list == null) {
+            return null;
+        }
+        final ImmutableList.Builder<T> builder = ImmutableList.builder();
+        boolean changed = false;
+        for (final T item : list) {
+            final T canonical = function.apply(item);
+            changed |= canonical != item;
+            builder.add(canonical);
+        }
+        return changed ? builder.build() : list;
+    }
+
+    private Ds3Request canonicalizeRequest(final Ds3Request request) {
+        final String name = names.canonicalize(request.getName());
+        final ImmutableList<Ds3ResponseCode> responseCodes = canonicalizeList(request.getDs3ResponseCodes(), this::canonicalizeResponseCode);
+        final ImmutableList<Ds3Param> optionalParams = canonicalizeList(request.getOptionalQueryParams(), this::canonicalizeParam);
+        final ImmutableList<Ds3Param> requiredParams = canonicalizeList(request.getRequiredQueryParams(), this::canonicalizeParam);
+        if (name == request.getName()
+                && responseCodes == request.getDs3ResponseCodes()
+                && optionalParams == request.getOptionalQueryParams()
+                && requiredParams == request.getRequiredQueryParams()) {
+            return request;
+        }
+        return new Ds3Request(
+                name,
+                request.getHttpVerb(),
+                request.getClassification(),
+                request.getBucketRequirement(),
+                request.getObjectRequirement(),
+                request.getAction(),
+                request.getResource(),
+                request.getResourceType(),
+                request.getOperation(),
+                request.getIncludeInPath(),
+                responseCodes,
+                optionalParams,
+                requiredParams);
+    }
+
+    private Ds3Param canonicalizeParam(final Ds3Param param) {
+        final String name = names.canonicalize(param.getName());
+        final String type = names.canonicalize(param.getType());
+        if (name == param.getName() && type == param.getType()) {
+            return param;
+        }
+        return new Ds3Param(name, type, param.getNullable());
+    }
+
+    private Ds3ResponseCode canonicalizeResponseCode(final Ds3ResponseCode responseCode) {
+        final ImmutableList<Ds3ResponseType> responseTypes = canonicalizeList(responseCode.getDs3ResponseTypes(), this::canonicalizeResponseType);
+        if (responseTypes == responseCode.getDs3ResponseTypes()) {
+            return responseCode;
+        }
+        return new Ds3ResponseCode(responseCode.getCode(), responseTypes);
+    }
+
+    private Ds3ResponseType canonicalizeResponseType(final Ds3ResponseType responseType) {
+        final String type = names.canonicalize(responseType.getType());
+        final String componentType = names.canonicalize(responseType.getComponentType());
+        final String originalTypeName = names.canonicalize(responseType.getOriginalTypeName());
+        if (type == responseType.getType()
+                && componentType == responseType.getComponentType()
+                && originalTypeName == responseType.getOriginalTypeName()) {
+            return responseType;
+        }
+        return new Ds3ResponseType(type, componentType, originalTypeName);
+    }
+
+    private ImmutableMap<String, Ds3Type> canonicalizeTypes(final ImmutableMap<String, Ds3Type> types) {
+        if (types == null) {
+            return null;
+        }
+        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+        boolean changed = false;
+        for (final Map.Entry<String, Ds3Type> entry : types.entrySet()) {
+            final String name = names.canonicalize(entry.getKey());
+            final Ds3Type type = canonicalizeType(entry.getValue());
+            changed |= name != entry.getKey() || type != entry.getValue();
+            builder.put(name, type);
+        }
+        return changed ? builder.build() : types;
+    }
+
+    private Ds3Type canonicalizeType(final Ds3Type type) {
+        final String name = names.canonicalize(type.getName());
+        final String nameToMarshal = names.canonicalize(type.getNameToMarshal());
+        final ImmutableList<Ds3Element> elements = canonicalizeList(type.getElements(), this::canonicalizeElement);
+        final ImmutableList<Ds3EnumConstant> enumConstants = canonicalizeList(type.getEnumConstants(), this::canonicalizeEnumConstant);
+        if (name == type.getName()
+                && nameToMarshal == type.getNameToMarshal()
+                && elements == type.getElements()
+                && enumConstants == type.getEnumConstants()) {
+            return type;
+        }
+        return new Ds3Type(name, nameToMarshal, elements, enumConstants);
+    }
+
+    private Ds3Element canonicalizeElement(final Ds3Element element) {
+        final String name = names.canonicalize(element.getName());
+        final String type = names.canonicalize(element.getType());
+        final String componentType = names.canonicalize(element.getComponentType());
+        final ImmutableList<Ds3Annotation> annotations = canonicalizeList(element.getDs3Annotations(), this::canonicalizeAnnotation);
+        if (name == element.getName()
+                && type == element.getType()
+                && componentType == element.getComponentType()
+                && annotations == element.getDs3Annotations()) {
+            return element;
+        }
+        return new Ds3Element(name, type, componentType, annotations, element.getNullable());
+    }
+
+    private Ds3Annotation canonicalizeAnnotation(final Ds3Annotation annotation) {
+        final String name = names.canonicalize(annotation.getName());
+        final ImmutableList<Ds3AnnotationElement> annotationElements = canonicalizeList(annotation.getDs3AnnotationElements(), this::canonicalizeAnnotationElement);
+        if (name == annotation.getName() && annotationElements == annotation.getDs3AnnotationElements()) {
+            return annotation;
+        }
+        return new Ds3Annotation(name, annotationElements);
+    }
+
+    private Ds3AnnotationElement canonicalizeAnnotationElement(final Ds3AnnotationElement annotationElement) {
+        final String name = names.canonicalize(annotationElement.getName());
+        final String value = names.canonicalize(annotationElement.getValue());
+        final String valueType = names.canonicalize(annotationElement.getValueType());
+        if (name == annotationElement.getName()
+                && value == annotationElement.getValue()
+                && valueType == annotationElement.getValueType()) {
+            return annotationElement;
+        }
+        return new Ds3AnnotationElement(name, value, valueType);
+    }
+
+    private Ds3EnumConstant canonicalizeEnumConstant(final Ds3EnumConstant enumConstant) {
+        final String name = names.canonicalize(enumConstant.getName());
+        final ImmutableList<Ds3Property> properties = canonicalizeList(enumConstant.getDs3Properties(), this::canonicalizeProperty);
+        if (name == enumConstant.getName() && properties == enumConstant.getDs3Properties()) {
+            return enumConstant;
+        }
+        return new Ds3EnumConstant(name, properties);
+    }
+
+    private Ds3Property canonicalizeProperty(final Ds3Property property) {
+        final String name = names.canonicalize(property.getName());
+        final String value = names.canonicalize(property.getValue());
+        final String valueType = names.canonicalize(property.getValueType());
+        if (name == property.getName() && value == property.getValue() && valueType == property.getValueType()) {
+            return property;
+        }
+        return new Ds3Property(name, value, valueType);
+    }
+}
@@ -65,6 +65,19 @@ public final class NameConverter {
         return new Ds3ApiSpec(builder.build(), spec.getTypes());
     }
 
+    /**
+     * Creates the node transform that removes "Handler" from all request names
+     * and namespaces the spectrads3 commands
+     */
+    public static SpecNodeTransform renameRequestsTransform() {
+        return new SpecNodeTransform() {
+            @Override
+            public String transformRequestName(final String requestName, final Classification classification) {
+                return toUpdatedDs3RequestName(requestName, classification);
+            }
+        };
+    }
+
     /**
      * Updates a Ds3Request to include the Java module naming scheme and
      * name spacing
@@ -19,7 +19,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.spectralogic.ds3autogen.api.TypeRenamingConflictException;
 import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
@@ -41,6 +43,72 @@ public final class RemoveDollarSignConverter {
                 removeDollarSignFromTypeMap(ds3ApiSpec.getTypes()));
     }
 
+    /**
+     * Creates the node transform that removes all instances of '$' from type names
+     */
+    public static SpecNodeTransform removeDollarSignsTransform() {
+        return new SpecNodeTransform() {
+            @Override
+            public String transformRequestName(final String requestName, final Classification classification) {
+                return removeDollarSignFromName(requestName);
+            }
+
+            @Override
+            public Ds3Param transformParam(final Ds3Param param) {
+                return hasDollarSign(param.getType()) ? removeDollarSignFromParam(param) : param;
+            }
+
+            @Override
+            public Ds3ResponseType transformResponseType(final Ds3ResponseType responseType) {
+                if (hasDollarSign(responseType.getType()) || hasDollarSign(responseType.getComponentType())) {
+                    return removeDollarSignFromResponseType(responseType);
+                }
+                return responseType;
+            }
+
+            @Override
+            public String transformTypeName(final String typeName) {
+                return removeDollarSignFromName(typeName);
+            }
+
+            @Override
+            public Ds3Element transformElement(final Ds3Element element) {
+                if (element.getDs3Annotations() == null
+                        || hasDollarSign(element.getType())
+                        || hasDollarSign(element.getComponentType())
+                        || hasDollarSignInAnnotations(element.getDs3Annotations())) {
+                    return removeDollarSignFromElement(element);
+                }
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Determines if the annotation names or annotation element value types contain a '$'
+     */
+    private static boolean hasDollarSignInAnnotations(final ImmutableList<Ds3Annotation> annotations) {
+        for (final Ds3Annotation annotation : annotations) {
+            if (hasDollarSign(annotation.getName())) {
+                return true;
+            }
+            if (annotation.getDs3AnnotationElements() == null) {
+                //Converted into an empty list of annotation elements
+                return true;
+            }
+            for (final Ds3AnnotationElement annotationElement : annotation.getDs3AnnotationElements()) {
+                if (hasDollarSign(annotationElement.getValueType())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasDollarSign(final String typeName) {
+        return typeName != null && typeName.indexOf('$') >= 0;
+    }
+
     /**
      * Removes all instances of '$' from type names within a Ds3Request
      */
@@ -163,15 +231,15 @@ public final class RemoveDollarSignConverter {
         if (isEmpty(map)) {
             return ImmutableMap.of();
         }
-        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+        final Map<String, Ds3Type> types = new LinkedHashMap<>();
         for (final Map.Entry<String, Ds3Type> entry : map.entrySet()) {
             final String typeName = removeDollarSignFromName(entry.getKey());
             final Ds3Type type = removeDollarSignFromType(entry.getValue());
-            if (!containsType(typeName, entry.getValue(), builder.build())) {
-                builder.put(typeName, type);
+            if (!containsType(typeName, entry.getValue(), types)) {
+                types.put(typeName, type);
             }
         }
-        return builder.build();
+        return ImmutableMap.copyOf(types);
     }
 
     /**
@@ -182,7 +250,7 @@ public final class RemoveDollarSignConverter {
     protected static boolean containsType(
             final String typeName,
             final Ds3Type type,
-            final ImmutableMap<String, Ds3Type> map) {
+            final Map<String, Ds3Type> map) {
         if (isEmpty(map)) {
             return false;
         }
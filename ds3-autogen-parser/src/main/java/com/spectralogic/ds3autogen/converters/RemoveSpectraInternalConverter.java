@@ -49,6 +49,24 @@ public final class RemoveSpectraInternalConverter {
                 spec.getTypes());
     }
 
+    /**
+     * Creates the node transform that removes all Spectra Internal requests from a
+     * Spec if generateInternal is not specified
+     */
+    public static SpecNodeTransform removeInternalRequestsTransform(final boolean generateInternal) {
+        if (generateInternal) {
+            LOG.info("Generating Spectra Internal requests");
+            return new SpecNodeTransform() { };
+        }
+        LOG.info("Removing Spectra Internal requests from Ds3ApiSpec");
+        return new SpecNodeTransform() {
+            @Override
+            public boolean includeRequest(final Ds3Request request) {
+                return request.getClassification() != Classification.spectrainternal;
+            }
+        };
+    }
+
     /**
      * Removes all Spectra Internal requests form a list of Ds3Requests
      */
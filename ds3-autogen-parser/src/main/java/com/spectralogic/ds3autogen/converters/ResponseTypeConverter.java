@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.models.apispec.*;
 import com.spectralogic.ds3autogen.models.EncapsulatingTypeNames;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
 import org.atteo.evo.inflector.English;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +58,38 @@ public final class ResponseTypeConverter {
                         ds3ApiSpec.getTypes()));
     }
 
+    /**
+     * Creates the node transform that updates all response types that have component
+     * types, and creates the encapsulating types of those component types. The transform
+     * records the component types it has seen, so a new transform is needed per spec.
+     */
+    public static SpecNodeTransform convertResponseTypesTransform() {
+        return new SpecNodeTransform() {
+            private final ImmutableSet.Builder<EncapsulatingTypeNames> encapsulatingTypes = ImmutableSet.builder();
+
+            @Override
+            public Ds3ResponseType transformResponseType(final Ds3ResponseType responseType) {
+                if (hasContent(responseType.getComponentType())) {
+                    encapsulatingTypes.add(new EncapsulatingTypeNames(
+                            responseType.getComponentType(),
+                            responseType.getOriginalTypeName()));
+                }
+                return toUpdatedDs3ResponseType(responseType);
+            }
+
+            /**
+             * The encapsulating type's annotation only depends upon the names to marshal
+             * of the types, which no transform modifies
+             */
+            @Override
+            public ImmutableList<Ds3Type> createTypes(final ImmutableMap<String, Ds3Type> types) {
+                return encapsulatingTypes.build().stream()
+                        .map(encapsulatingType -> toDs3Type(encapsulatingType, types))
+                        .collect(GuavaCollectors.immutableList());
+            }
+        };
+    }
+
     /**
      * Updates all Ds3ResponseTypes that have component types within the
      * list of Ds3Requests
@@ -0,0 +1,80 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseType;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+
+/**
+ * A Ds3ApiSpec converter expressed as a transform of the individual nodes within the
+ * spec, which allows SpecTransformer to apply several converters within a single
+ * traversal of the spec. Every method returns its input when the node is not changed
+ * by the converter, which preserves the identity of unchanged nodes.
+ */
+public interface SpecNodeTransform {
+
+    /**
+     * Determines if the request is kept within the spec, given the request as it is
+     * within the original spec
+     */
+    default boolean includeRequest(final Ds3Request request) {
+        return true;
+    }
+
+    default String transformRequestName(final String requestName, final Classification classification) {
+        return requestName;
+    }
+
+    default Ds3Param transformParam(final Ds3Param param) {
+        return param;
+    }
+
+    default Ds3ResponseType transformResponseType(final Ds3ResponseType responseType) {
+        return responseType;
+    }
+
+    /**
+     * Transforms the name of a type, which is used as both the type's name and its key
+     * within the type map
+     */
+    default String transformTypeName(final String typeName) {
+        return typeName;
+    }
+
+    /**
+     * Transforms an element of a type
+     * @return The transformed element, or null if the element is removed from the type
+     */
+    default Ds3Element transformElement(final Ds3Element element) {
+        return element;
+    }
+
+    /**
+     * Creates new types to add to the spec. This is called once all requests have been
+     * transformed, and the created types are only transformed by the transforms that
+     * follow this one.
+     * @param types The transformed types of the original spec
+     */
+    default ImmutableList<Ds3Type> createTypes(final ImmutableMap<String, Ds3Type> types) {
+        return ImmutableList.of();
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.TypeRenamingConflictException;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+
+/**
+ * Applies a sequence of SpecNodeTransforms to a Ds3ApiSpec within a single traversal of
+ * the spec. Each node is passed through every transform in order, which produces the same
+ * spec as applying each converter to the whole spec in turn, without creating a full copy
+ * of the spec per converter. Nodes that are not changed by any transform are reused.
+ */
+public final class SpecTransformer {
+
+    private final ImmutableList<SpecNodeTransform> transforms;
+
+    private SpecTransformer(final ImmutableList<SpecNodeTransform> transforms) {
+        this.transforms = transforms;
+    }
+
+    /**
+     * Applies the transforms, in order, to the spec
+     */
+    public static Ds3ApiSpec transform(final Ds3ApiSpec spec, final ImmutableList<SpecNodeTransform> transforms) {
+        return new SpecTransformer(transforms).transform(spec);
+    }
+
+    /**
+     * Creates a transformer that applies the transforms, in order, to a spec that is
+     * processed one request at a time. Every request must be passed to transformRequest
+     * before the types are transformed, as transforms may create types from them.
+     */
+    public static SpecTransformer of(final ImmutableList<SpecNodeTransform> transforms) {
+        return new SpecTransformer(transforms);
+    }
+
+    /**
+     * Transforms a single request
+     * @return The transformed request, or empty if the request is not included by every transform
+     */
+    public Optional<Ds3Request> transformSingleRequest(final Ds3Request request) {
+        if (!isIncluded(request)) {
+            return Optional.empty();
+        }
+        return Optional.of(transformRequest(request));
+    }
+
+    /**
+     * Transforms all types, followed by the types created by each transform
+     * @throws TypeRenamingConflictException If two different types are given the same name
+     */
+    public ImmutableMap<String, Ds3Type> transformAllTypes(final ImmutableMap<String, Ds3Type> types) {
+        return transformTypes(types);
+    }
+
+    private Ds3ApiSpec transform(final Ds3ApiSpec spec) {
+        //Requests are transformed first, as transforms may create types from them
+        final ImmutableList<Ds3Request> requests = transformRequests(spec.getRequests());
+        final ImmutableMap<String, Ds3Type> types = transformTypes(spec.getTypes());
+        if (requests == spec.getRequests() && types == spec.getTypes()) {
+            return spec;
+        }
+        return new Ds3ApiSpec(requests, types);
+    }
+
+    /**
+     * Transforms all requests, removing those that are not included by every transform
+     */
+    protected ImmutableList<Ds3Request> transformRequests(final ImmutableList<Ds3Request> requests) {
+        if (isEmpty(requests)) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<Ds3Request> builder = ImmutableList.builder();
+        boolean changed = false;
+        for (final Ds3Request request : requests) {
+            if (!isIncluded(request)) {
+                changed = true;
+                continue;
+            }
+            final Ds3Request transformed = transformRequest(request);
+            changed |= transformed != request;
+            builder.add(transformed);
+        }
+        return changed ? builder.build() : requests;
+    }
+
+    private boolean isIncluded(final Ds3Request request) {
+        for (final SpecNodeTransform transform : transforms) {
+            if (!transform.includeRequest(request)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected Ds3Request transformRequest(final Ds3Request request) {
+        String name = request.getName();
+        for (final SpecNodeTransform transform : transforms) {
+            name = transform.transformRequestName(name, request.getClassification());
+        }
+        final ImmutableList<Ds3ResponseCode> responseCodes = transformResponseCodes(request.getDs3ResponseCodes());
+        final ImmutableList<Ds3Param> optionalParams = transformParams(request.getOptionalQueryParams());
+        final ImmutableList<Ds3Param> requiredParams = transformParams(request.getRequiredQueryParams());
+        if (Objects.equals(name, request.getName())
+                && responseCodes == request.getDs3ResponseCodes()
+                && optionalParams == request.getOptionalQueryParams()
+                && requiredParams == request.getRequiredQueryParams()) {
+            return request;
+        }
+        return new Ds3Request(
+                name,
+                request.getHttpVerb(),
+                request.getClassification(),
+                request.getBucketRequirement(),
+                request.getObjectRequirement(),
+                request.getAction(),
+                request.getResource(),
+                request.getResourceType(),
+                request.getOperation(),
+                request.getIncludeInPath(),
+                responseCodes,
+                optionalParams,
+                requiredParams);
+    }
+
+    private ImmutableList<Ds3Param> transformParams(final ImmutableList<Ds3Param> params) {
+        if (isEmpty(params)) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<Ds3Param> builder = ImmutableList.builder();
+        boolean changed = false;
+        for (final Ds3Param param : params) {
+            Ds3Param transformed = param;
+            for (final SpecNodeTransform transform : transforms) {
+                transformed = transform.transformParam(transformed);
+            }
+            changed |= transformed != param;
+            builder.add(transformed);
+        }
+        return changed ? builder.build() : params;
+    }
+
+    private ImmutableList<Ds3ResponseCode> transformResponseCodes(final ImmutableList<Ds3ResponseCode> responseCodes) {
+        if (isEmpty(responseCodes)) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<Ds3ResponseCode> builder = ImmutableList.builder();
+        boolean changed = false;
+        for (final Ds3ResponseCode responseCode : responseCodes) {
+            final ImmutableList<Ds3ResponseType> responseTypes = transformResponseTypes(responseCode.getDs3ResponseTypes());
+            if (responseTypes == responseCode.getDs3ResponseTypes()) {
+                builder.add(responseCode);
+            } else {
+                changed = true;
+                builder.add(new Ds3ResponseCode(responseCode.getCode(), responseTypes));
+            }
+        }
+        return changed ? builder.build() : responseCodes;
+    }
+
+    private ImmutableList<Ds3ResponseType> transformResponseTypes(final ImmutableList<Ds3ResponseType> responseTypes) {
+        if (isEmpty(responseTypes)) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<Ds3ResponseType> builder = ImmutableList.builder();
+        boolean changed = false;
+        for (final Ds3ResponseType responseType : responseTypes) {
+            Ds3ResponseType transformed = responseType;
+            for (final SpecNodeTransform transform : transforms) {
+                transformed = transform.transformResponseType(transformed);
+            }
+            changed |= transformed != responseType;
+            builder.add(transformed);
+        }
+        return changed ? builder.build() : responseTypes;
+    }
+
+    /**
+     * Transforms all types, followed by the types created by each transform
+     * @throws TypeRenamingConflictException If two different types are given the same name
+     */
+    protected ImmutableMap<String, Ds3Type> transformTypes(final ImmutableMap<String, Ds3Type> types) {
+        final Map<String, Ds3Type> transformedTypes = new LinkedHashMap<>();
+        boolean changed = isEmpty(types);
+        if (!isEmpty(types)) {
+            for (final Map.Entry<String, Ds3Type> entry : types.entrySet()) {
+                final String name = transformTypeName(entry.getKey(), 0);
+                final Ds3Type transformed = transformType(entry.getValue(), 0);
+                changed |= transformed != entry.getValue() || !name.equals(entry.getKey());
+                putType(transformedTypes, name, transformed);
+            }
+        }
+
+        ImmutableMap<String, Ds3Type> result = changed ? ImmutableMap.copyOf(transformedTypes) : types;
+        for (int i = 0; i < transforms.size(); i++) {
+            final ImmutableList<Ds3Type> createdTypes = transforms.get(i).createTypes(result);
+            if (isEmpty(createdTypes)) {
+                continue;
+            }
+            for (final Ds3Type createdType : createdTypes) {
+                final String name = transformTypeName(createdType.getName(), i + 1);
+                if (transformedTypes.containsKey(name)) {
+                    throw new IllegalArgumentException("Created type conflicts with an existing type: " + name);
+                }
+                transformedTypes.put(name, transformType(createdType, i + 1));
+            }
+            result = ImmutableMap.copyOf(transformedTypes);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the type to the map. If the map already contains an equal type with the same
+     * name, then the type is not added.
+     * @throws TypeRenamingConflictException If the map contains a different type with the same name
+     */
+    private static void putType(final Map<String, Ds3Type> types, final String name, final Ds3Type ds3Type) {
+        final Ds3Type existing = types.putIfAbsent(name, ds3Type);
+        if (existing != null && !existing.equals(ds3Type)) {
+            throw new TypeRenamingConflictException(name);
+        }
+    }
+
+    private String transformTypeName(final String typeName, final int firstTransform) {
+        String name = typeName;
+        for (int i = firstTransform; i < transforms.size(); i++) {
+            name = transforms.get(i).transformTypeName(name);
+        }
+        return name;
+    }
+
+    /**
+     * Transforms the type using the transforms starting at the specified index
+     */
+    private Ds3Type transformType(final Ds3Type ds3Type, final int firstTransform) {
+        final String name = transformTypeName(ds3Type.getName(), firstTransform);
+        final ImmutableList<Ds3Element> elements = transformElements(ds3Type.getElements(), firstTransform);
+        if (name.equals(ds3Type.getName()) && elements == ds3Type.getElements()) {
+            return ds3Type;
+        }
+        return new Ds3Type(
+                name,
+                ds3Type.getNameToMarshal(),
+                elements,
+                ds3Type.getEnumConstants());
+    }
+
+    private ImmutableList<Ds3Element> transformElements(final ImmutableList<Ds3Element> elements, final int firstTransform) {
+        if (isEmpty(elements)) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<Ds3Element> builder = ImmutableList.builder();
+        boolean changed = false;
+        for (final Ds3Element element : elements) {
+            Ds3Element transformed = element;
+            for (int i = firstTransform; i < transforms.size() && transformed != null; i++) {
+                transformed = transforms.get(i).transformElement(transformed);
+            }
+            changed |= transformed != element;
+            if (transformed != null) {
+                builder.add(transformed);
+            }
+        }
+        return changed ? builder.build() : elements;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseType;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics;
+import com.spectralogic.ds3autogen.utils.metrics.Stage;
+
+/**
+ * Wraps a SpecNodeTransform to measure the time spent within it. As the transforms are
+ * interleaved within a single traversal of the spec, the time of each call is accumulated
+ * and recorded as a single normalizer stage once the traversal has completed.
+ * This is not thread safe, which matches the single threaded traversal of SpecTransformer.
+ */
+public final class TimedTransform implements SpecNodeTransform {
+
+    private final String name;
+    private final SpecNodeTransform transform;
+    private long elapsedNanos;
+
+    public TimedTransform(final String name, final SpecNodeTransform transform) {
+        this.name = name;
+        this.transform = transform;
+    }
+
+    /**
+     * Records the accumulated time within the GenerationMetrics, and resets it
+     */
+    public void record() {
+        GenerationMetrics.getInstance().record(Stage.NORMALIZE, name, elapsedNanos);
+        elapsedNanos = 0;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public boolean includeRequest(final Ds3Request request) {
+        final long start = System.nanoTime();
+        try {
+            return transform.includeRequest(request);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public String transformRequestName(final String requestName, final Classification classification) {
+        final long start = System.nanoTime();
+        try {
+            return transform.transformRequestName(requestName, classification);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public Ds3Param transformParam(final Ds3Param param) {
+        final long start = System.nanoTime();
+        try {
+            return transform.transformParam(param);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public Ds3ResponseType transformResponseType(final Ds3ResponseType responseType) {
+        final long start = System.nanoTime();
+        try {
+            return transform.transformResponseType(responseType);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public String transformTypeName(final String typeName) {
+        final long start = System.nanoTime();
+        try {
+            return transform.transformTypeName(typeName);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public Ds3Element transformElement(final Ds3Element element) {
+        final long start = System.nanoTime();
+        try {
+            return transform.transformElement(element);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public ImmutableList<Ds3Type> createTypes(final ImmutableMap<String, Ds3Type> types) {
+        final long start = System.nanoTime();
+        try {
+            return transform.createTypes(types);
+        } finally {
+            elapsedNanos += System.nanoTime() - start;
+        }
+    }
+}
@@ -45,6 +45,18 @@ public class UpdateElementsConverter {
                 updateElementsInTypeMap(ds3ApiSpec.getTypes()));
     }
 
+    /**
+     * Creates the node transform that updates Ds3Elements to properly denote nullability or exclusion
+     */
+    public static SpecNodeTransform updateElementsTransform() {
+        return new SpecNodeTransform() {
+            @Override
+            public Ds3Element transformElement(final Ds3Element element) {
+                return updateElement(element);
+            }
+        };
+    }
+
     /**
      * Updates all Ds3Type's Ds3Elements to properly denote nullability or exclusion
      */
@@ -0,0 +1,375 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.snapshot;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a normalized Ds3ApiSpec, which can be read back far faster
+ * than the contract can be parsed and normalized. Every string is written once and
+ * afterwards referenced by its index within the snapshot's string table, lengths and
+ * indexes are written as variable length integers, and null strings, enums and lists
+ * are distinguished from empty ones so that a snapshot reads back equal to the spec
+ * that was written.
+ */
+public final class Ds3SpecSnapshot {
+
+    private static final int MAGIC = 0x44533353; // "DS3S"
+
+    /**
+     * Incremented whenever the layout of a snapshot changes
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private Ds3SpecSnapshot() {
+        // pass
+    }
+
+    /**
+     * Writes the spec to the stream. The stream is flushed, but not closed.
+     */
+    public static void write(final Ds3ApiSpec spec, final OutputStream stream) throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        new SnapshotWriter(out).writeSpec(spec);
+        out.flush();
+    }
+
+    /**
+     * Reads a spec previously written with {@link #write(Ds3ApiSpec, OutputStream)}
+     * @throws IOException if the stream does not contain a snapshot of the current format
+     */
+    public static Ds3ApiSpec read(final InputStream stream) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("The stream does not contain a spec snapshot");
+        }
+        final int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported spec snapshot version " + version);
+        }
+        try {
+            return new SnapshotReader(in).readSpec();
+        } catch (final NullPointerException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("The spec snapshot is corrupt", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface NodeWriter<T> {
+        void write(T node) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface NodeReader<T> {
+        T read() throws IOException;
+    }
+
+    private static final class SnapshotWriter {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private SnapshotWriter(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeSpec(final Ds3ApiSpec spec) throws IOException {
+            writeList(spec.getRequests(), this::writeRequest);
+            final ImmutableMap<String, Ds3Type> types = spec.getTypes();
+            if (types == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(types.size() + 1);
+            for (final Map.Entry<String, Ds3Type> entry : types.entrySet()) {
+                writeString(entry.getKey());
+                writeType(entry.getValue());
+            }
+        }
+
+        private void writeRequest(final Ds3Request request) throws IOException {
+            writeString(request.getName());
+            writeEnum(request.getHttpVerb());
+            writeEnum(request.getClassification());
+            writeEnum(request.getBucketRequirement());
+            writeEnum(request.getObjectRequirement());
+            writeEnum(request.getAction());
+            writeEnum(request.getResource());
+            writeEnum(request.getResourceType());
+            writeEnum(request.getOperation());
+            out.writeBoolean(request.getIncludeInPath());
+            writeList(request.getDs3ResponseCodes(), this::writeResponseCode);
+            writeList(request.getOptionalQueryParams(), this::writeParam);
+            writeList(request.getRequiredQueryParams(), this::writeParam);
+        }
+
+        private void writeResponseCode(final Ds3ResponseCode responseCode) throws IOException {
+            writeVarInt(responseCode.getCode());
+            writeList(responseCode.getDs3ResponseTypes(), this::writeResponseType);
+        }
+
+        private void writeResponseType(final Ds3ResponseType responseType) throws IOException {
+            writeString(responseType.getType());
+            writeString(responseType.getComponentType());
+            writeString(responseType.getOriginalTypeName());
+        }
+
+        private void writeParam(final Ds3Param param) throws IOException {
+            writeString(param.getName());
+            writeString(param.getType());
+            out.writeBoolean(param.getNullable());
+        }
+
+        private void writeType(final Ds3Type type) throws IOException {
+            writeString(type.getName());
+            writeString(type.getNameToMarshal());
+            writeList(type.getElements(), this::writeElement);
+            writeList(type.getEnumConstants(), this::writeEnumConstant);
+        }
+
+        private void writeElement(final Ds3Element element) throws IOException {
+            writeString(element.getName());
+            writeString(element.getType());
+            writeString(element.getComponentType());
+            writeList(element.getDs3Annotations(), this::writeAnnotation);
+            out.writeBoolean(element.getNullable());
+        }
+
+        private void writeAnnotation(final Ds3Annotation annotation) throws IOException {
+            writeString(annotation.getName());
+            writeList(annotation.getDs3AnnotationElements(), this::writeAnnotationElement);
+        }
+
+        private void writeAnnotationElement(final Ds3AnnotationElement element) throws IOException {
+            writeString(element.getName());
+            writeString(element.getValue());
+            writeString(element.getValueType());
+        }
+
+        private void writeEnumConstant(final Ds3EnumConstant enumConstant) throws IOException {
+            writeString(enumConstant.getName());
+            writeList(enumConstant.getDs3Properties(), this::writeProperty);
+        }
+
+        private void writeProperty(final Ds3Property property) throws IOException {
+            writeString(property.getName());
+            writeString(property.getValue());
+            writeString(property.getValueType());
+        }
+
+        /**
+         * Writes 0 for null, or the size of the list plus one followed by its items
+         */
+        private <T> void writeList(final ImmutableList<T> list, final NodeWriter<T> writer) throws IOException {
+            if (list == null) {
+                writeVarInt(0);
+                return;
+            }
+            writeVarInt(list.size() + 1);
+            for (final T item : list) {
+                writer.write(item);
+            }
+        }
+
+        /**
+         * Enums are written by name rather than ordinal, so that reordering the
+         * constants of an enum does not silently change the meaning of a snapshot
+         */
+        private void writeEnum(final Enum<?> value) throws IOException {
+            writeString(value == null ? null : value.name());
+        }
+
+        /**
+         * Writes 0 for null, 1 followed by the UTF-8 bytes for a string that has not
+         * been written before, or the string's table index plus two
+         */
+        private void writeString(final String value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            final Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            strings.put(value, strings.size());
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(1);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarInt(final int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                out.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            out.writeByte(remaining);
+        }
+    }
+
+    private static final class SnapshotReader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        private SnapshotReader(final DataInputStream in) {
+            this.in = in;
+        }
+
+        private Ds3ApiSpec readSpec() throws IOException {
+            final ImmutableList<Ds3Request> requests = readList(this::readRequest);
+            final int typeCount = readVarInt();
+            if (typeCount == 0) {
+                return new Ds3ApiSpec(requests, null);
+            }
+            final ImmutableMap.Builder<String, Ds3Type> types = ImmutableMap.builder();
+            for (int i = 1; i < typeCount; i++) {
+                types.put(readString(), readType());
+            }
+            return new Ds3ApiSpec(requests, types.build());
+        }
+
+        private Ds3Request readRequest() throws IOException {
+            return new Ds3Request(
+                    readString(),
+                    readEnum(HttpVerb.class),
+                    readEnum(Classification.class),
+                    readEnum(Requirement.class),
+                    readEnum(Requirement.class),
+                    readEnum(Action.class),
+                    readEnum(Resource.class),
+                    readEnum(ResourceType.class),
+                    readEnum(Operation.class),
+                    in.readBoolean(),
+                    readList(this::readResponseCode),
+                    readList(this::readParam),
+                    readList(this::readParam));
+        }
+
+        private Ds3ResponseCode readResponseCode() throws IOException {
+            return new Ds3ResponseCode(readVarInt(), readList(this::readResponseType));
+        }
+
+        private Ds3ResponseType readResponseType() throws IOException {
+            return new Ds3ResponseType(readString(), readString(), readString());
+        }
+
+        private Ds3Param readParam() throws IOException {
+            return new Ds3Param(readString(), readString(), in.readBoolean());
+        }
+
+        private Ds3Type readType() throws IOException {
+            return new Ds3Type(
+                    readString(),
+                    readString(),
+                    readList(this::readElement),
+                    readList(this::readEnumConstant));
+        }
+
+        private Ds3Element readElement() throws IOException {
+            return new Ds3Element(
+                    readString(),
+                    readString(),
+                    readString(),
+                    readList(this::readAnnotation),
+                    in.readBoolean());
+        }
+
+        private Ds3Annotation readAnnotation() throws IOException {
+            return new Ds3Annotation(readString(), readList(this::readAnnotationElement));
+        }
+
+        private Ds3AnnotationElement readAnnotationElement() throws IOException {
+            return new Ds3AnnotationElement(readString(), readString(), readString());
+        }
+
+        private Ds3EnumConstant readEnumConstant() throws IOException {
+            return new Ds3EnumConstant(readString(), readList(this::readProperty));
+        }
+
+        private Ds3Property readProperty() throws IOException {
+            return new Ds3Property(readString(), readString(), readString());
+        }
+
+        private <T> ImmutableList<T> readList(final NodeReader<T> reader) throws IOException {
+            final int size = readVarInt();
+            if (size == 0) {
+                return null;
+            }
+            final ImmutableList.Builder<T> builder = ImmutableList.builder();
+            for (int i = 1; i < size; i++) {
+                builder.add(reader.read());
+            }
+            return builder.build();
+        }
+
+        private <E extends Enum<E>> E readEnum(final Class<E> enumClass) throws IOException {
+            final String name = readString();
+            return name == null ? null : Enum.valueOf(enumClass, name);
+        }
+
+        private String readString() throws IOException {
+            final int reference = readVarInt();
+            switch (reference) {
+                case 0:
+                    return null;
+                case 1:
+                    final byte[] bytes = new byte[readVarInt()];
+                    in.readFully(bytes);
+                    final String value = new String(bytes, StandardCharsets.UTF_8);
+                    strings.add(value);
+                    return value;
+                default:
+                    final int index = reference - 2;
+                    if (index >= strings.size()) {
+                        throw new IOException("The spec snapshot references an unknown string " + index);
+                    }
+                    return strings.get(index);
+            }
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("The spec snapshot contains a malformed integer");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.snapshot;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.Ds3SpecParser;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.utils.CodeLocationUtil;
+import com.spectralogic.ds3autogen.utils.ConverterUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Caches the normalized spec of each contract as a {@link Ds3SpecSnapshot} within a
+ * directory, so that only the first run against a contract pays for parsing and
+ * normalizing it. Snapshots are keyed by a hash of the contract, the name and type
+ * mapping files, whether internal requests are generated, the snapshot format and
+ * the generator version, so a change to any of them results in a fresh parse.
+ * Snapshots that cannot be read are ignored and replaced.
+ */
+public class Ds3SpecSnapshotCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Ds3SpecSnapshotCache.class);
+
+    private static final String SNAPSHOT_EXTENSION = ".ds3spec";
+
+    /** The mapping files applied while parsing and normalizing the contract */
+    private static final String[] MAPPING_FILES = { "/typeNameMap.json", "/typeMap.json" };
+
+    /** The classes whose jars contain the parser, normalizer, normalizer utilities, and spec models */
+    private static final Class<?>[] GENERATOR_CLASSES = { Ds3SpecSnapshotCache.class, ConverterUtil.class, Ds3ApiSpec.class };
+
+    private final Path cacheDir;
+    private final Ds3SpecParser parser;
+    private final String generatorVersion;
+
+    public Ds3SpecSnapshotCache(final Path cacheDir) {
+        this(cacheDir, new Ds3SpecParserImpl());
+    }
+
+    public Ds3SpecSnapshotCache(final Path cacheDir, final Ds3SpecParser parser) {
+        this(cacheDir, parser, null);
+    }
+
+    /**
+     * @param generatorVersion identifies the generator within the snapshot key, or null to
+     *                         derive it from the classes of the running generator
+     */
+    protected Ds3SpecSnapshotCache(final Path cacheDir, final Ds3SpecParser parser, final String generatorVersion) {
+        this.cacheDir = cacheDir;
+        this.parser = parser;
+        this.generatorVersion = generatorVersion;
+    }
+
+    /**
+     * Retrieves the normalized spec for the contract from the cache, or parses the
+     * contract and adds its snapshot to the cache if it is not present
+     */
+    public Ds3ApiSpec getSpec(final Path contract, final boolean generateInternal) throws IOException {
+        final byte[] contractBytes = Files.readAllBytes(contract);
+        final Path snapshotPath = getSnapshotPath(contractBytes, generateInternal);
+        if (snapshotPath == null) {
+            LOG.info("Could not identify the generator classes, so the spec for {} is not cached", contract);
+            return parser.getSpec(new ByteArrayInputStream(contractBytes), generateInternal);
+        }
+
+        if (Files.isRegularFile(snapshotPath)) {
+            try (final InputStream stream = Files.newInputStream(snapshotPath)) {
+                final Ds3ApiSpec spec = Ds3SpecSnapshot.read(stream);
+                LOG.info("Loaded the spec for {} from the snapshot {}", contract, snapshotPath);
+                return spec;
+            } catch (final IOException e) {
+                LOG.info("Ignoring the unreadable spec snapshot {}: {}", snapshotPath, e.getMessage());
+            }
+        }
+
+        final Ds3ApiSpec spec = parser.getSpec(new ByteArrayInputStream(contractBytes), generateInternal);
+        writeSnapshot(spec, snapshotPath);
+        return spec;
+    }
+
+    /**
+     * Retrieves the path the snapshot of the contract is cached at, or null if the
+     * generator cannot be identified and so its snapshots cannot be told apart
+     */
+    protected Path getSnapshotPath(final byte[] contractBytes, final boolean generateInternal) throws IOException {
+        final String version = generatorVersion != null ? generatorVersion : getGeneratorVersion();
+        if (version == null) {
+            return null;
+        }
+        final Hasher hasher = Hashing.sha256().newHasher()
+                .putInt(Ds3SpecSnapshot.FORMAT_VERSION)
+                .putString(version, StandardCharsets.UTF_8)
+                .putBoolean(generateInternal);
+        for (final String mappingFile : MAPPING_FILES) {
+            try (final InputStream stream = Ds3SpecSnapshotCache.class.getResourceAsStream(mappingFile)) {
+                if (stream == null) {
+                    throw new IOException("Could not find the mapping file " + mappingFile);
+                }
+                final byte[] mappingBytes = ByteStreams.toByteArray(stream);
+                hasher.putInt(mappingBytes.length).putBytes(mappingBytes);
+            }
+        }
+        hasher.putBytes(contractBytes);
+        return cacheDir.resolve(hasher.hash().toString() + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * Writes the snapshot to a temporary file that is then moved into place, so that
+     * concurrent runs never observe a partially written snapshot. The cache is only an
+     * optimization, so failing to write the snapshot is logged rather than thrown.
+     */
+    private void writeSnapshot(final Ds3ApiSpec spec, final Path snapshotPath) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheDir);
+            tempFile = Files.createTempFile(cacheDir, snapshotPath.getFileName().toString(), ".tmp");
+            try (final OutputStream stream = Files.newOutputStream(tempFile)) {
+                Ds3SpecSnapshot.write(spec, stream);
+            }
+            try {
+                Files.move(tempFile, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            LOG.info("Could not write the spec snapshot {}: {}", snapshotPath, e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (final IOException deleteException) {
+                    LOG.info("Could not remove the temporary file {}", tempFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Identifies the generator that normalized the spec by hashing the jars, or the class
+     * directories when running during development, that contain the generator classes,
+     * so that a snapshot written by any other build is never reused. Returns null if the
+     * classes were not loaded from a jar or directory.
+     */
+    private static String getGeneratorVersion() throws IOException {
+        return CodeLocationUtil.hashCodeOf(GENERATOR_CLASSES);
+    }
+}
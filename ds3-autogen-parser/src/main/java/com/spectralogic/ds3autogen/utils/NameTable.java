@@ -0,0 +1,50 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A canonicalization table for contract names. Every distinct name is mapped to a
+ * single String instance, so that a name repeated throughout a spec, such as the fully
+ * qualified type names referenced by elements, params and response types, is only
+ * retained once. Unlike String.intern, the names are released along with the table.
+ */
+public final class NameTable {
+
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the canonical instance of the name, which is the first instance of the
+     * name that was passed to this table
+     */
+    public String canonicalize(final String name) {
+        if (name == null) {
+            return null;
+        }
+        final String existing = names.putIfAbsent(name, name);
+        return existing != null ? existing : name;
+    }
+
+    /**
+     * The number of distinct names within the table
+     */
+    public int size() {
+        return names.size();
+    }
+}
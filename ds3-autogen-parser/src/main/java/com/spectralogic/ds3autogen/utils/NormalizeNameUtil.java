@@ -56,6 +56,8 @@ public final class NormalizeNameUtil {
      * Converts a contract name into an sdk name while maintaining the original path. If the
      * contract name contained a '$', then everything proceeding the '$' is maintained, but
      * the name following the symbol is converted to the sdk name, if a name mapping exists.
+     * The sdk names are cached within the NameMapper, so each contract name is converted
+     * once, and every conversion of the same name returns the same instance.
      */
     public static String toSdkName(
             final String contractName,
@@ -64,6 +66,17 @@ public final class NormalizeNameUtil {
         if (isEmpty(contractName)) {
             return contractName;
         }
+        final String cached = nameMapper.getCachedSdkName(contractName, classification);
+        if (cached != null) {
+            return cached;
+        }
+        return nameMapper.cacheSdkName(contractName, classification, convertToSdkName(contractName, classification, nameMapper));
+    }
+
+    private static String convertToSdkName(
+            final String contractName,
+            final Classification classification,
+            final NameMapper nameMapper) {
         final String path = getPathFromName(contractName);
         final String curName = getNameFromPath(contractName);
 
@@ -35,6 +35,38 @@ class TypeConverter(private val typeMapper: SdkTypeMapper) {
         return Ds3ApiSpec(updateDs3Requests(spec.requests), updateDs3TypeMap(spec.types))
     }
 
+    /**
+     * Creates the node transform that modifies contract types into sdk types, which is used
+     * to apply this converter alongside the others within Ds3SpecNormalizer
+     */
+    fun toTransform(): SpecNodeTransform {
+        typeMapper.init()
+        return object : SpecNodeTransform {
+            override fun transformParam(param: Ds3Param): Ds3Param {
+                val type = typeMapper.toType(param.type)
+                return if (type == param.type) param else Ds3Param(param.name, type, param.nullable)
+            }
+
+            override fun transformResponseType(responseType: Ds3ResponseType): Ds3ResponseType {
+                val type = typeMapper.toType(responseType.type)
+                val componentType = typeMapper.toNullableType(responseType.componentType)
+                if (type == responseType.type && componentType == responseType.componentType) {
+                    return responseType
+                }
+                return Ds3ResponseType(type, componentType, responseType.originalTypeName)
+            }
+
+            override fun transformElement(element: Ds3Element): Ds3Element? {
+                val type = typeMapper.toNullableType(element.type)
+                val componentType = typeMapper.toNullableType(element.componentType)
+                if (type == element.type && componentType == element.componentType) {
+                    return element
+                }
+                return Ds3Element(element.name, type, componentType, element.ds3Annotations, element.nullable)
+            }
+        }
+    }
+
     private fun updateDs3Requests(ds3requests: ImmutableList<Ds3Request>?): ImmutableList<Ds3Request> {
         if (isEmpty(ds3requests)) {
             return ImmutableList.of()
@@ -16,17 +16,58 @@
 package com.spectralogic.ds3autogen;
 
 import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseCode;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ResponseType;
+import com.spectralogic.ds3autogen.converters.TypeConverter;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import static com.spectralogic.ds3autogen.Ds3SpecNormalizer.verifySingleResponsePayload;
+import static com.spectralogic.ds3autogen.Ds3SpecNormalizer.convertSpec;
 import static com.spectralogic.ds3autogen.Ds3SpecNormalizer.verifySingleResponsePayloadRequests;
+import static com.spectralogic.ds3autogen.converters.NameConverter.renameRequests;
+import static com.spectralogic.ds3autogen.converters.RemoveDollarSignConverter.removeDollarSigns;
+import static com.spectralogic.ds3autogen.converters.RemoveSpectraInternalConverter.removeInternalRequestsFromSpec;
+import static com.spectralogic.ds3autogen.converters.ResponseTypeConverter.convertResponseTypes;
+import static com.spectralogic.ds3autogen.converters.UpdateElementsConverter.updateElementsInSpec;
 import static com.spectralogic.ds3autogen.testutil.Ds3ModelPartialDataFixture.createDs3RequestTestData;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 
 public class Ds3SpecNormalizer_Test {
 
+    private static final String[] SPECS = {
+            "singleRequestHandler.xml",
+            "twoRequestHandlers.xml",
+            "twoRequestHandlersAndOneType.xml",
+            "twoRequestHandlersAndTwoTypes.xml",
+            "blobApiBean.xml",
+            "fullXml.xml",
+            "3_2_fullXml.xml",
+            "3_4_0_contract.xml",
+            "5_0_x_contract.xml",
+            "5_2_x_1734756_contract.xml",
+            "5_3_x_1996817_contract.xml",
+            "5_5_0_2933340_contract.xml",
+            "5_6_x_3020673_contract.xml",
+            "6_0_0_3247577_contract.xml"
+    };
+
+    /**
+     * Applies each converter to the whole spec in turn
+     */
+    private static Ds3ApiSpec convertSpecChained(final Ds3ApiSpec spec, final boolean generateInternal) {
+        return new TypeConverter().modifyTypes(
+                updateElementsInSpec(
+                renameRequests(
+                convertResponseTypes(
+                removeDollarSigns(
+                removeInternalRequestsFromSpec(spec, generateInternal))))));
+    }
 
     private static ImmutableList<Ds3ResponseCode> createValidResponseCodeList() {
         return ImmutableList.of(
@@ -95,4 +136,17 @@ public class Ds3SpecNormalizer_Test {
                 createDs3RequestTestData(false, createInvalidResponseCodeList(), null, null));
         verifySingleResponsePayloadRequests(requests);
     }
+
+    @Test
+    public void convertSpec_MatchesChainedConverters_Test() throws IOException {
+        final Ds3SpecParserImpl parser = new Ds3SpecParserImpl();
+        for (final String specName : SPECS) {
+            final Ds3ApiSpec spec;
+            try (final InputStream stream = Ds3SpecNormalizer_Test.class.getResourceAsStream("/specs/" + specName)) {
+                spec = parser.parseSpec(stream);
+            }
+            assertThat(specName, convertSpec(spec, false), is(convertSpecChained(spec, false)));
+            assertThat(specName, convertSpec(spec, true), is(convertSpecChained(spec, true)));
+        }
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.Ds3StreamingSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.getUsedTypesFromRequests;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class Ds3StreamingSpecParserImpl_Test {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String[] SPECS = {
+            "singleRequestHandler.xml",
+            "twoRequestHandlers.xml",
+            "twoRequestHandlersAndOneType.xml",
+            "twoRequestHandlersAndTwoTypes.xml",
+            "blobApiBean.xml",
+            "fullXml.xml",
+            "3_2_fullXml.xml",
+            "3_4_0_contract.xml",
+            "5_0_x_contract.xml",
+            "5_2_x_1734756_contract.xml",
+            "5_3_x_1996817_contract.xml",
+            "5_5_0_2933340_contract.xml",
+            "5_6_x_3020673_contract.xml",
+            "6_0_0_3247577_contract.xml"
+    };
+
+    private static InputStream getSpecStream(final String spec) {
+        return Ds3StreamingSpecParserImpl_Test.class.getResourceAsStream("/specs/" + spec);
+    }
+
+    @Test
+    public void parseSpec_MatchesDs3SpecParserImpl_Test() throws IOException {
+        final Ds3SpecParserImpl expectedParser = new Ds3SpecParserImpl();
+        final Ds3StreamingSpecParserImpl parser = new Ds3StreamingSpecParserImpl();
+        for (final String spec : SPECS) {
+            final Ds3ApiSpec expected;
+            try (final InputStream stream = getSpecStream(spec)) {
+                expected = expectedParser.parseSpec(stream);
+            }
+            try (final InputStream stream = getSpecStream(spec)) {
+                assertThat(spec, parser.parseSpec(stream), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void getSpec_MatchesDs3SpecParserImpl_Test() throws IOException {
+        final Ds3SpecParserImpl expectedParser = new Ds3SpecParserImpl();
+        final Ds3StreamingSpecParserImpl parser = new Ds3StreamingSpecParserImpl();
+        for (final String spec : SPECS) {
+            final Ds3ApiSpec expected;
+            try (final InputStream stream = getSpecStream(spec)) {
+                expected = expectedParser.getSpec(stream, true);
+            }
+            try (final InputStream stream = getSpecStream(spec)) {
+                assertThat(spec, parser.getSpec(stream, true), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void getStreamingSpec_MatchesDs3SpecParserImpl_Test() throws IOException {
+        final Ds3SpecParserImpl expectedParser = new Ds3SpecParserImpl();
+        final Ds3StreamingSpecParserImpl parser = new Ds3StreamingSpecParserImpl();
+        for (final String spec : SPECS) {
+            final Path contract = folder.newFile(spec).toPath();
+            try (final InputStream stream = getSpecStream(spec)) {
+                Files.copy(stream, contract, StandardCopyOption.REPLACE_EXISTING);
+            }
+            for (final boolean generateInternal : new boolean[] { false, true }) {
+                final Ds3ApiSpec expected;
+                try (final InputStream stream = getSpecStream(spec)) {
+                    expected = expectedParser.getSpec(stream, generateInternal);
+                }
+                final Ds3StreamingSpec streamingSpec = parser.getStreamingSpec(contract, generateInternal);
+
+                final ImmutableList.Builder<Ds3Request> requests = ImmutableList.builder();
+                streamingSpec.forEachRequest(requests::add);
+                assertThat(spec, requests.build(), is(expected.getRequests() == null ? ImmutableList.of() : expected.getRequests()));
+                assertThat(spec, streamingSpec.getTypes(), is(expected.getTypes()));
+                assertThat(spec, streamingSpec.getRequestTypes(), is(getUsedTypesFromRequests(expected.getRequests())));
+
+                // The requests can be read again
+                final ImmutableList.Builder<Ds3Request> reread = ImmutableList.builder();
+                streamingSpec.forEachRequest(reread::add);
+                assertThat(spec, reread.build(), is(requests.build()));
+            }
+        }
+    }
+
+    @Test (expected = IOException.class)
+    public void getStreamingSpec_MalformedXml_Test() throws IOException {
+        final Path contract = folder.newFile("malformed.xml").toPath();
+        Files.write(contract, "<Data><Contract><RequestHandlers><RequestHandler></Contract></Data>".getBytes(StandardCharsets.UTF_8));
+        new Ds3StreamingSpecParserImpl().getStreamingSpec(contract, false);
+    }
+
+    @Test (expected = IOException.class)
+    public void parseSpec_MalformedXml_Test() throws IOException {
+        final String xml = "<Data><Contract><RequestHandlers><RequestHandler></Contract></Data>";
+        new Ds3StreamingSpecParserImpl().parseSpec(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
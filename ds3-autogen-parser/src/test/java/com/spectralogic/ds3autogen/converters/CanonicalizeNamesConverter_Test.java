@@ -0,0 +1,109 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import com.spectralogic.ds3autogen.utils.NameTable;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.spectralogic.ds3autogen.converters.CanonicalizeNamesConverter.canonicalizeNames;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CanonicalizeNamesConverter_Test {
+
+    private static final String[] SPECS = {
+            "singleRequestHandler.xml",
+            "fullXml.xml",
+            "3_4_0_contract.xml",
+            "5_0_x_contract.xml",
+            "6_0_0_3247577_contract.xml"
+    };
+
+    @Test
+    public void canonicalizeNames_EqualToInput_Test() throws IOException {
+        for (final String specName : SPECS) {
+            final Ds3ApiSpec spec;
+            try (final InputStream stream = CanonicalizeNamesConverter_Test.class.getResourceAsStream("/specs/" + specName)) {
+                spec = new Ds3SpecParserImpl().getSpec(stream, true);
+            }
+            final Ds3ApiSpec result = canonicalizeNames(spec, new NameTable());
+
+            assertThat(specName, result, is(spec));
+            assertThat(specName, ImmutableList.copyOf(result.getTypes().keySet()),
+                    is(ImmutableList.copyOf(spec.getTypes().keySet())));
+        }
+    }
+
+    @Test
+    public void canonicalizeNames_EqualNamesShareInstance_Test() {
+        final String typeName = "com.test.Type";
+        final Ds3Type type = new Ds3Type(
+                new String(typeName),
+                ImmutableList.of(new Ds3Element("Child", new String(typeName), null, false)));
+        final Ds3Request request = new Ds3Request(
+                "com.test.GetTypeRequest",
+                HttpVerb.GET,
+                Classification.spectrads3,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                false,
+                null,
+                null,
+                ImmutableList.of(new Ds3Param("Type", new String(typeName), false)));
+
+        final Ds3ApiSpec result = canonicalizeNames(
+                new Ds3ApiSpec(ImmutableList.of(request), ImmutableMap.of(typeName, type)),
+                new NameTable());
+
+        final String key = result.getTypes().keySet().iterator().next();
+        final Ds3Type resultType = result.getTypes().get(key);
+        assertThat(resultType.getName(), sameInstance(key));
+        assertThat(resultType.getElements().get(0).getType(), sameInstance(key));
+        assertThat(result.getRequests().get(0).getRequiredQueryParams().get(0).getType(), sameInstance(key));
+        assertThat(result.getRequests().get(0).getOptionalQueryParams(), is(nullValue()));
+    }
+
+    @Test
+    public void canonicalizeNames_AlreadyCanonical_Test() {
+        final String typeName = "com.test.Type";
+        final Ds3Type type = new Ds3Type(
+                typeName,
+                ImmutableList.of(new Ds3Element("Child", typeName, null, false)));
+        final Ds3ApiSpec spec = new Ds3ApiSpec(null, ImmutableMap.of(typeName, type));
+
+        assertThat(canonicalizeNames(spec, new NameTable()), sameInstance(spec));
+    }
+}
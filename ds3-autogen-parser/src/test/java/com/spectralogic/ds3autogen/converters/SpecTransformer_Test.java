@@ -0,0 +1,173 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.converters;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.api.TypeRenamingConflictException;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.Classification;
+import com.spectralogic.ds3autogen.api.models.enums.HttpVerb;
+import org.junit.Test;
+
+import static com.spectralogic.ds3autogen.converters.RemoveDollarSignConverter.removeDollarSignsTransform;
+import static com.spectralogic.ds3autogen.converters.RemoveSpectraInternalConverter.removeInternalRequestsTransform;
+import static com.spectralogic.ds3autogen.converters.UpdateElementsConverter.updateElementsTransform;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SpecTransformer_Test {
+
+    private static Ds3Request createRequest(final String name, final Classification classification, final String paramType) {
+        return new Ds3Request(
+                name,
+                HttpVerb.GET,
+                classification,
+                null, null, null, null, null, null, false,
+                ImmutableList.of(new Ds3ResponseCode(200, ImmutableList.of(new Ds3ResponseType("null", null)))),
+                ImmutableList.of(new Ds3Param("Param", paramType, false)),
+                ImmutableList.of());
+    }
+
+    private static Ds3Type createType(final String name, final String elementType) {
+        return new Ds3Type(name, ImmutableList.of(new Ds3Element("Element", elementType, null, ImmutableList.of(), false)));
+    }
+
+    /**
+     * Appends a suffix to request and type names, and creates a single type
+     */
+    private static SpecNodeTransform createSuffixTransform(final String suffix) {
+        return new SpecNodeTransform() {
+            @Override
+            public String transformRequestName(final String requestName, final Classification classification) {
+                return requestName + suffix;
+            }
+
+            @Override
+            public String transformTypeName(final String typeName) {
+                return typeName + suffix;
+            }
+
+            @Override
+            public ImmutableList<Ds3Type> createTypes(final ImmutableMap<String, Ds3Type> types) {
+                return ImmutableList.of(createType("com.test.Created", "java.lang.String"));
+            }
+        };
+    }
+
+    @Test
+    public void transform_NoTransforms_PreservesIdentity_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(createRequest("com.test.Request", Classification.amazons3, "java.lang.String")),
+                ImmutableMap.of("com.test.Type", createType("com.test.Type", "java.lang.String")));
+
+        assertThat(SpecTransformer.transform(spec, ImmutableList.of()), sameInstance(spec));
+    }
+
+    @Test
+    public void transform_UnchangedNodes_PreservesIdentity_Test() {
+        final Ds3Request unchangedRequest = createRequest("com.test.Request", Classification.amazons3, "java.lang.String");
+        final Ds3Type unchangedType = createType("com.test.Type", "java.lang.String");
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(
+                        unchangedRequest,
+                        createRequest("com.test.Other$Request", Classification.amazons3, "com.test.Other$Param")),
+                ImmutableMap.of(
+                        "com.test.Type", unchangedType,
+                        "com.test.Other$Renamed", createType("com.test.Other$Renamed", "java.lang.String")));
+
+        final Ds3ApiSpec result = SpecTransformer.transform(spec, ImmutableList.of(removeDollarSignsTransform()));
+
+        assertThat(result.getRequests().size(), is(2));
+        assertThat(result.getRequests().get(0), sameInstance(unchangedRequest));
+        assertThat(result.getRequests().get(1).getName(), is("com.test.Request"));
+        assertThat(result.getRequests().get(1).getOptionalQueryParams().get(0).getType(), is("com.test.Param"));
+
+        assertThat(result.getTypes().size(), is(2));
+        assertThat(result.getTypes().get("com.test.Type"), sameInstance(unchangedType));
+        assertThat(result.getTypes().get("com.test.Renamed").getName(), is("com.test.Renamed"));
+    }
+
+    @Test
+    public void transform_RemovesRequestsAndElements_Test() {
+        final Ds3Element excludedElement = new Ds3Element(
+                "Excluded",
+                "java.lang.String",
+                null,
+                ImmutableList.of(new Ds3Annotation(
+                        "com.spectralogic.util.bean.lang.ExcludeFromMarshaler",
+                        ImmutableList.of(new Ds3AnnotationElement("Value", "ALWAYS", "com.spectralogic.util.marshal.ExcludeFromMarshaler$When")))),
+                false);
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(
+                        createRequest("com.test.InternalRequest", Classification.spectrainternal, "java.lang.String"),
+                        createRequest("com.test.Request", Classification.spectrads3, "java.lang.String")),
+                ImmutableMap.of("com.test.Type", new Ds3Type("com.test.Type", ImmutableList.of(excludedElement))));
+
+        final Ds3ApiSpec result = SpecTransformer.transform(spec, ImmutableList.of(
+                removeInternalRequestsTransform(false),
+                removeDollarSignsTransform(),
+                updateElementsTransform()));
+
+        assertThat(result.getRequests().size(), is(1));
+        assertThat(result.getRequests().get(0).getName(), is("com.test.Request"));
+        assertThat(result.getTypes().get("com.test.Type").getElements().size(), is(0));
+    }
+
+    @Test
+    public void transform_CreatedTypes_OnlyTransformedByLaterTransforms_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(createRequest("com.test.Request", Classification.amazons3, "java.lang.String")),
+                ImmutableMap.of("com.test.Type", createType("com.test.Type", "java.lang.String")));
+
+        final Ds3ApiSpec result = SpecTransformer.transform(spec, ImmutableList.of(
+                createSuffixTransform("A"),
+                new SpecNodeTransform() {
+                    @Override
+                    public String transformTypeName(final String typeName) {
+                        return typeName + "B";
+                    }
+                }));
+
+        assertThat(result.getRequests().get(0).getName(), is("com.test.RequestA"));
+        assertThat(result.getTypes().keySet().asList(), is(ImmutableList.of("com.test.TypeAB", "com.test.CreatedB")));
+        assertThat(result.getTypes().get("com.test.CreatedB").getName(), is("com.test.CreatedB"));
+    }
+
+    @Test
+    public void transform_EqualRenamedTypes_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(),
+                ImmutableMap.of(
+                        "com.test.Type", createType("com.test.Type", "java.lang.String"),
+                        "com.test.Outer$Type", createType("com.test.Outer$Type", "java.lang.String")));
+
+        final Ds3ApiSpec result = SpecTransformer.transform(spec, ImmutableList.of(removeDollarSignsTransform()));
+        assertThat(result.getTypes().size(), is(1));
+    }
+
+    @Test (expected = TypeRenamingConflictException.class)
+    public void transform_ConflictingRenamedTypes_Test() {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(),
+                ImmutableMap.of(
+                        "com.test.Type", createType("com.test.Type", "java.lang.String"),
+                        "com.test.Outer$Type", createType("com.test.Outer$Type", "java.lang.Integer")));
+
+        SpecTransformer.transform(spec, ImmutableList.of(removeDollarSignsTransform()));
+    }
+}
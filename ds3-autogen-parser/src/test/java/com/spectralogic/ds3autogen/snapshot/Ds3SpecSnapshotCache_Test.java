@@ -0,0 +1,153 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.snapshot;
+
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.Ds3SpecParser;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class Ds3SpecSnapshotCache_Test {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path cacheDir;
+    private Path contract;
+    private CountingSpecParser parser;
+
+    /**
+     * Counts how many times the contract is actually parsed
+     */
+    private static class CountingSpecParser implements Ds3SpecParser {
+        private final Ds3SpecParser parser = new Ds3SpecParserImpl();
+        private int parseCount = 0;
+
+        @Override
+        public Ds3ApiSpec getSpec(final InputStream stream) throws IOException {
+            return getSpec(stream, false);
+        }
+
+        @Override
+        public Ds3ApiSpec getSpec(final InputStream stream, final boolean generateInternal) throws IOException {
+            parseCount++;
+            return parser.getSpec(stream, generateInternal);
+        }
+    }
+
+    @Before
+    public void setup() throws IOException {
+        cacheDir = tempFolder.getRoot().toPath().resolve("cache");
+        contract = tempFolder.newFile("contract.xml").toPath();
+        try (final InputStream stream = Ds3SpecSnapshotCache_Test.class.getResourceAsStream("/specs/3_4_0_contract.xml")) {
+            Files.copy(stream, contract, StandardCopyOption.REPLACE_EXISTING);
+        }
+        parser = new CountingSpecParser();
+    }
+
+    private long countSnapshots() throws IOException {
+        try (final Stream<Path> files = Files.list(cacheDir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void getSpec_ParsesOnceThenLoadsSnapshot_Test() throws IOException {
+        final Ds3SpecSnapshotCache cache = new Ds3SpecSnapshotCache(cacheDir, parser);
+
+        final Ds3ApiSpec first = cache.getSpec(contract, false);
+        final Ds3ApiSpec second = new Ds3SpecSnapshotCache(cacheDir, parser).getSpec(contract, false);
+
+        assertThat(parser.parseCount, is(1));
+        assertThat(countSnapshots(), is(1L));
+        assertThat(second, is(first));
+        try (final InputStream stream = Files.newInputStream(contract)) {
+            assertThat(second, is(new Ds3SpecParserImpl().getSpec(stream, false)));
+        }
+    }
+
+    @Test
+    public void getSpec_GenerateInternalUsesSeparateSnapshot_Test() throws IOException {
+        final Ds3SpecSnapshotCache cache = new Ds3SpecSnapshotCache(cacheDir, parser);
+
+        final Ds3ApiSpec external = cache.getSpec(contract, false);
+        final Ds3ApiSpec internal = cache.getSpec(contract, true);
+
+        assertThat(parser.parseCount, is(2));
+        assertThat(countSnapshots(), is(2L));
+        assertThat(internal, is(not(external)));
+        assertThat(cache.getSpec(contract, true), is(internal));
+        assertThat(parser.parseCount, is(2));
+    }
+
+    @Test
+    public void getSpec_ChangedContractIsParsed_Test() throws IOException {
+        final Ds3SpecSnapshotCache cache = new Ds3SpecSnapshotCache(cacheDir, parser);
+        cache.getSpec(contract, false);
+
+        Files.write(contract, "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        cache.getSpec(contract, false);
+
+        assertThat(parser.parseCount, is(2));
+        assertThat(countSnapshots(), is(2L));
+    }
+
+    @Test
+    public void getSpec_CorruptSnapshotIsReplaced_Test() throws IOException {
+        final Ds3SpecSnapshotCache cache = new Ds3SpecSnapshotCache(cacheDir, parser);
+        final Ds3ApiSpec expected = cache.getSpec(contract, false);
+
+        final Path snapshot = cache.getSnapshotPath(Files.readAllBytes(contract), false);
+        final byte[] snapshotBytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(snapshotBytes, snapshotBytes.length / 3));
+
+        assertThat(cache.getSpec(contract, false), is(expected));
+        assertThat(parser.parseCount, is(2));
+        assertThat(Files.readAllBytes(snapshot), is(snapshotBytes));
+    }
+
+    @Test
+    public void getSpec_ChangedGeneratorVersionIsParsed_Test() throws IOException {
+        final Ds3SpecSnapshotCache cache = new Ds3SpecSnapshotCache(cacheDir, parser, "1");
+        final Ds3SpecSnapshotCache newerCache = new Ds3SpecSnapshotCache(cacheDir, parser, "2");
+        final byte[] contractBytes = Files.readAllBytes(contract);
+
+        assertThat(newerCache.getSnapshotPath(contractBytes, false), is(not(cache.getSnapshotPath(contractBytes, false))));
+
+        cache.getSpec(contract, false);
+        newerCache.getSpec(contract, false);
+
+        assertThat(parser.parseCount, is(2));
+        assertThat(countSnapshots(), is(2L));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.snapshot;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.api.models.enums.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+public class Ds3SpecSnapshot_Test {
+
+    private static final String[] SPECS = {
+            "singleRequestHandler.xml",
+            "twoRequestHandlers.xml",
+            "twoRequestHandlersAndOneType.xml",
+            "twoRequestHandlersAndTwoTypes.xml",
+            "blobApiBean.xml",
+            "fullXml.xml",
+            "3_2_fullXml.xml",
+            "3_4_0_contract.xml",
+            "5_0_x_contract.xml",
+            "5_2_x_1734756_contract.xml",
+            "5_3_x_1996817_contract.xml",
+            "5_5_0_2933340_contract.xml",
+            "5_6_x_3020673_contract.xml",
+            "6_0_0_3247577_contract.xml"
+    };
+
+    private static byte[] toSnapshot(final Ds3ApiSpec spec) throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Ds3SpecSnapshot.write(spec, stream);
+        return stream.toByteArray();
+    }
+
+    private static Ds3ApiSpec fromSnapshot(final byte[] snapshot) throws IOException {
+        return Ds3SpecSnapshot.read(new ByteArrayInputStream(snapshot));
+    }
+
+    @Test
+    public void roundTrip_MatchesFreshParse_Test() throws IOException {
+        for (final String specName : SPECS) {
+            for (final boolean generateInternal : new boolean[] { false, true }) {
+                final Ds3ApiSpec spec;
+                try (final InputStream stream = Ds3SpecSnapshot_Test.class.getResourceAsStream("/specs/" + specName)) {
+                    spec = new Ds3SpecParserImpl().getSpec(stream, generateInternal);
+                }
+                final Ds3ApiSpec result = fromSnapshot(toSnapshot(spec));
+
+                assertThat(specName, result, is(spec));
+                assertThat(specName, ImmutableList.copyOf(result.getTypes().keySet()),
+                        is(ImmutableList.copyOf(spec.getTypes().keySet())));
+            }
+        }
+    }
+
+    @Test
+    public void roundTrip_NullAndEmptyValues_Test() throws IOException {
+        final Ds3Request request = new Ds3Request(
+                "com.test.GetObjectRequest",
+                HttpVerb.GET,
+                Classification.amazons3,
+                Requirement.REQUIRED,
+                null,
+                null,
+                null,
+                null,
+                null,
+                true,
+                ImmutableList.of(new Ds3ResponseCode(200, null), new Ds3ResponseCode(204, ImmutableList.of())),
+                null,
+                ImmutableList.of(new Ds3Param("Offset", "long", true)));
+        final Ds3Type type = new Ds3Type(
+                "com.test.Type",
+                null,
+                ImmutableList.of(
+                        new Ds3Element("Name", "java.lang.String", null, null, true),
+                        new Ds3Element("Entries", "array", "com.test.Entry", ImmutableList.of(
+                                new Ds3Annotation("com.spectralogic.util.bean.lang.SortBy", null),
+                                new Ds3Annotation("com.spectralogic.util.marshal.ExcludeFromMarshaler", ImmutableList.of(
+                                        new Ds3AnnotationElement("Value", "NEVER", "com.test.When")))), false)),
+                null);
+        final Ds3Type enumType = new Ds3Type(
+                "com.test.State",
+                "State",
+                ImmutableList.of(),
+                ImmutableList.of(
+                        new Ds3EnumConstant("NORMAL", null),
+                        new Ds3EnumConstant("\u00DCNKNOWN", ImmutableList.of(new Ds3Property("Code", "9", "int")))));
+
+        final Ds3ApiSpec spec = new Ds3ApiSpec(
+                ImmutableList.of(request),
+                ImmutableMap.of(type.getName(), type, enumType.getName(), enumType));
+        final Ds3ApiSpec result = fromSnapshot(toSnapshot(spec));
+
+        assertThat(result, is(spec));
+        assertThat(result.getRequests().get(0).getOptionalQueryParams(), is(nullValue()));
+        assertThat(result.getRequests().get(0).getDs3ResponseCodes().get(0).getDs3ResponseTypes(), is(nullValue()));
+        assertThat(result.getRequests().get(0).getDs3ResponseCodes().get(1).getDs3ResponseTypes(), is(ImmutableList.of()));
+        assertThat(result.getTypes().get("com.test.Type").getEnumConstants(), is(nullValue()));
+    }
+
+    @Test
+    public void roundTrip_NullRequestsAndTypes_Test() throws IOException {
+        final Ds3ApiSpec spec = new Ds3ApiSpec(null, null);
+        assertThat(fromSnapshot(toSnapshot(spec)), is(spec));
+    }
+
+    @Test
+    public void write_RepeatedStringsAreWrittenOnce_Test() throws IOException {
+        final String name = "com.spectralogic.s3.server.domain.VeryLongRepeatedTypeName";
+        final ImmutableList.Builder<Ds3Element> elements = ImmutableList.builder();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Ds3Element("Element" + i, name, null, false));
+        }
+        final Ds3Type type = new Ds3Type(name, elements.build());
+        final byte[] snapshot = toSnapshot(new Ds3ApiSpec(null, ImmutableMap.of(name, type)));
+
+        // Writing the type name for every element would take more than 100 times its length
+        assertThat(snapshot.length, lessThan(name.length() * 50));
+    }
+
+    @Test (expected = IOException.class)
+    public void read_NotASnapshot_Test() throws IOException {
+        fromSnapshot("<Data><Contract/></Data>".getBytes());
+    }
+
+    @Test (expected = IOException.class)
+    public void read_UnsupportedVersion_Test() throws IOException {
+        final byte[] snapshot = toSnapshot(new Ds3ApiSpec(null, null));
+        snapshot[7]++;
+        fromSnapshot(snapshot);
+    }
+
+    @Test (expected = IOException.class)
+    public void read_Truncated_Test() throws IOException {
+        final Ds3ApiSpec spec;
+        try (final InputStream stream = Ds3SpecSnapshot_Test.class.getResourceAsStream("/specs/fullXml.xml")) {
+            spec = new Ds3SpecParserImpl().getSpec(stream);
+        }
+        final byte[] snapshot = toSnapshot(spec);
+        fromSnapshot(Arrays.copyOf(snapshot, snapshot.length / 2));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class NameTable_Test {
+
+    @Test
+    public void canonicalize_NullName_Test() {
+        final NameTable names = new NameTable();
+        assertThat(names.canonicalize(null), is(nullValue()));
+        assertThat(names.size(), is(0));
+    }
+
+    @Test
+    public void canonicalize_ReturnsFirstInstance_Test() {
+        final NameTable names = new NameTable();
+        final String first = new String("com.test.Type");
+        final String second = new String("com.test.Type");
+
+        assertThat(names.canonicalize(first), sameInstance(first));
+        assertThat(names.canonicalize(second), sameInstance(first));
+        assertThat(names.canonicalize("com.test.Other"), is("com.test.Other"));
+        assertThat(names.size(), is(2));
+    }
+}
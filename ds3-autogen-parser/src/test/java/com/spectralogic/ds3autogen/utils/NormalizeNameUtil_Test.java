@@ -25,6 +25,7 @@ import java.io.IOException;
 import static com.spectralogic.ds3autogen.utils.NormalizeNameUtil.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class NormalizeNameUtil_Test {
@@ -120,4 +121,17 @@ public class NormalizeNameUtil_Test {
 
         assertThat(result, is(expected));
     }
+
+    @Test
+    public void toSdkName_Cached_Test() throws IOException {
+        final NameMapper nameMapper = new NameMapper(TEST_NAME_MAPPER_FILE);
+
+        final String first = toSdkName(new String("com.test.SpectraBeforeRequestHandler"), Classification.spectrads3, nameMapper);
+        final String second = toSdkName(new String("com.test.SpectraBeforeRequestHandler"), Classification.spectrads3, nameMapper);
+        final String amazon = toSdkName("com.test.SpectraBeforeRequestHandler", Classification.amazons3, nameMapper);
+
+        assertThat(first, is("com.test.SpectraAfterRequestHandler"));
+        assertThat(second, sameInstance(first));
+        assertThat(amazon, is("com.test.SpectraBeforeRequestHandler"));
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.Ds3SpecParserImpl;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Verifies that the precomputed classification of every request within the test
+ * contracts is identical to evaluating the Ds3RequestClassificationUtil predicates
+ */
+public class RequestClassifierContract_Test {
+
+    private static final String[] SPECS = {
+            "singleRequestHandler.xml",
+            "twoRequestHandlers.xml",
+            "twoRequestHandlersAndOneType.xml",
+            "twoRequestHandlersAndTwoTypes.xml",
+            "blobApiBean.xml",
+            "fullXml.xml",
+            "3_2_fullXml.xml",
+            "3_4_0_contract.xml",
+            "5_0_x_contract.xml",
+            "5_2_x_1734756_contract.xml",
+            "5_3_x_1996817_contract.xml",
+            "5_5_0_2933340_contract.xml",
+            "5_6_x_3020673_contract.xml",
+            "6_0_0_3247577_contract.xml"
+    };
+
+    @Test
+    public void classification_MatchesPredicates_Test() throws IOException {
+        for (final String specName : SPECS) {
+            for (final boolean generateInternal : new boolean[] { false, true }) {
+                final Ds3ApiSpec spec;
+                try (final InputStream stream = RequestClassifierContract_Test.class.getResourceAsStream("/specs/" + specName)) {
+                    spec = new Ds3SpecParserImpl().getSpec(stream, generateInternal);
+                }
+                final RequestClassifier classifier = RequestClassifier.of(spec.getRequests());
+
+                for (final RequestKind kind : RequestKind.values()) {
+                    int count = 0;
+                    for (final Ds3Request request : spec.getRequests()) {
+                        final boolean expected = kind.matches(request);
+                        assertThat(specName + " " + request.getName() + " " + kind,
+                                classifier.is(request, kind), is(expected));
+                        if (expected) {
+                            assertThat(classifier.getRequests(kind).get(count), is(request));
+                            count++;
+                        }
+                    }
+                    assertThat(specName + " " + kind, classifier.getRequests(kind).size(), is(count));
+                }
+            }
+        }
+    }
+}
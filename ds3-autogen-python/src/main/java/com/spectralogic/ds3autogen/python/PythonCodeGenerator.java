@@ -19,6 +19,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.spectralogic.ds3autogen.api.CodeGenerator;
 import com.spectralogic.ds3autogen.api.FileUtils;
+import com.spectralogic.ds3autogen.api.TemplateOverridable;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3ApiSpec;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
 import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
@@ -37,7 +38,11 @@ import com.spectralogic.ds3autogen.python.model.request.BaseRequest;
 import com.spectralogic.ds3autogen.python.model.response.BaseResponse;
 import com.spectralogic.ds3autogen.python.model.type.TypeDescriptor;
 import com.spectralogic.ds3autogen.utils.Helper;
+import com.spectralogic.ds3autogen.utils.RequestClassifier;
+import com.spectralogic.ds3autogen.utils.RequestKinds;
+import com.spectralogic.ds3autogen.utils.TemplateOverrideUtil;
 import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
 import freemarker.template.*;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -52,10 +57,11 @@ import java.nio.file.Paths;
 
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
 import static com.spectralogic.ds3autogen.utils.ConverterUtil.removeUnusedTypes;
-import static com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil.*;
-import static com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil.hasPutObjectsWithSizeRequestPayload;
+import static com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil.isGetObjectAmazonS3Request;
+import static com.spectralogic.ds3autogen.utils.models.RequestKind.*;
+import static com.spectralogic.ds3autogen.utils.metrics.TemplateRenderUtil.render;
 
-public class PythonCodeGenerator implements CodeGenerator, PythonCodeGeneratorInterface {
+public class PythonCodeGenerator implements CodeGenerator, PythonCodeGeneratorInterface, TemplateOverridable {
 
     private static final Logger LOG = LoggerFactory.getLogger(PythonCodeGenerator.class);
     private static final Path BASE_PROJECT_PATH = Paths.get("ds3");
@@ -64,6 +70,7 @@ public class PythonCodeGenerator implements CodeGenerator, PythonCodeGeneratorIn
 
     private FileUtils fileUtils;
     private Path destDir;
+    private RequestClassifier requestClassifier = RequestClassifier.of(ImmutableList.of());
 
     public PythonCodeGenerator() throws TemplateModelException {
         config.setDefaultEncoding("UTF-8");
@@ -73,6 +80,16 @@ public class PythonCodeGenerator implements CodeGenerator, PythonCodeGeneratorIn
         config.setSharedVariable("helper", Helper.getInstance());
     }
 
+    @Override
+    public void overrideTemplates(final Path templateDir) throws IOException {
+        TemplateOverrideUtil.overrideTemplates(config, templateDir);
+    }
+
+    @Override
+    public void reloadTemplates() {
+        config.clearTemplateCache();
+    }
+
     @Override
     public void generate(final Ds3ApiSpec spec, final FileUtils fileUtils, final Path destDir, final Ds3DocSpec docSpec) {
         this.fileUtils = fileUtils;
@@ -103,6 +120,7 @@ public class PythonCodeGenerator implements CodeGenerator, PythonCodeGeneratorIn
             LOG.info("There are no requests to generate");
             return;
         }
+        requestClassifier = RequestClassifier.of(ds3Requests);
 
         final ImmutableList<BaseRequest> baseRequests = toRequestModelList(ds3Requests, docSpec);
         final ImmutableList<BaseResponse> baseResponses = toResponseModelList(ds3Requests);
@@ -118,7 +136,7 @@ public class PythonCodeGenerator implements CodeGenerator, PythonCodeGeneratorIn
 
         try (final OutputStream outStream = fileUtils.getOutputFile(path);
              final Writer writer = new OutputStreamWriter(outStream)) {
-            tmpl.process(commandSet, writer);
+            render(tmpl, commandSet, writer);
         }
     }
 
@@ -228,30 +246,31 @@ public class PythonCodeGenerator implements CodeGenerator, PythonCodeGeneratorIn
      */
     @Override
     public BaseRequestGenerator getRequestGenerator(final Ds3Request ds3Request) {
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        final RequestKinds kinds = requestClassifier.getKinds(ds3Request);
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return new GetObjectRequestGenerator();
         }
-        if (isAmazonCreateObjectRequest(ds3Request)) {
+        if (kinds.contains(AMAZON_CREATE_OBJECT)) {
             return getPutObjectRequestGenerator();
         }
-        if (hasGetObjectsWithLengthOffsetRequestPayload(ds3Request)) {
+        if (kinds.contains(GET_OBJECTS_WITH_LENGTH_OFFSET_PAYLOAD)) {
             return new Ds3GetObjectsPayloadGenerator();
         }
-        if (hasPutObjectsWithSizeRequestPayload(ds3Request)) {
+        if (kinds.contains(PUT_OBJECTS_WITH_SIZE_PAYLOAD)) {
             return new Ds3PutObjectsPayloadGenerator();
         }
-        if (isCompleteMultiPartUploadRequest(ds3Request)) {
+        if (kinds.contains(COMPLETE_MULTI_PART_UPLOAD)) {
             return new PartsRequestPayloadGenerator();
         }
-        if (isMultiFileDeleteRequest(ds3Request)) {
+        if (kinds.contains(MULTI_FILE_DELETE)) {
             return new DeleteObjectsPayloadGenerator();
         }
-        if (isCreateMultiPartUploadPartRequest(ds3Request)
-                || isGetBlobPersistenceRequest(ds3Request)
-                || isBulkReplicateRequest(ds3Request)) {
+        if (kinds.contains(CREATE_MULTI_PART_UPLOAD_PART)
+                || kinds.contains(GET_BLOB_PERSISTENCE)
+                || kinds.contains(BULK_REPLICATE)) {
             return new StringPayloadGenerator();
         }
-        if (hasIdsRequestPayload(ds3Request)) {
+        if (kinds.contains(IDS_PAYLOAD)) {
             return getIdsRequestGenerator();
         }
         return new BaseRequestGenerator();
@@ -298,16 +317,17 @@ public class PythonCodeGenerator implements CodeGenerator, PythonCodeGeneratorIn
      * Retrieves the Response Generator associated with the Ds3Request
      */
     protected ResponseModelGenerator<?> getResponseGenerator(final Ds3Request ds3Request) {
-        if (supportsPaginationRequest(ds3Request)) {
+        final RequestKinds kinds = requestClassifier.getKinds(ds3Request);
+        if (kinds.contains(PAGINATION)) {
             return new PaginationResponseGenerator();
         }
-        if (isGetObjectAmazonS3Request(ds3Request)) {
+        if (kinds.contains(GET_OBJECT_AMAZON_S3)) {
             return getGetObjectResponseGenerator();
         }
-        if (isHeadObjectRequest(ds3Request)) {
+        if (kinds.contains(HEAD_OBJECT)) {
             return new HeadObjectResponseGenerator();
         }
-        if(isHeadBucketRequest(ds3Request)) {
+        if(kinds.contains(HEAD_BUCKET)) {
             return new HeadResponseGenerator();
         }
         return new BaseResponseGenerator();
@@ -0,0 +1,116 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Functions for identifying the build of a generator by the code it was loaded from
+ */
+public final class CodeLocationUtil {
+
+    private CodeLocationUtil() { }
+
+    /**
+     * Hashes the jars, or the class directories when running during development, that
+     * contain the classes, so that any change to their code results in a different hash.
+     * Returns null if any of the classes was not loaded from a jar or directory.
+     */
+    public static String hashCodeOf(final Class<?>... classes) throws IOException {
+        final Set<Path> locations = new LinkedHashSet<>();
+        for (final Class<?> codeClass : classes) {
+            final Path location = getCodeLocation(codeClass);
+            if (location == null) {
+                return null;
+            }
+            locations.add(location);
+        }
+        return hashCodeLocations(locations);
+    }
+
+    /**
+     * Hashes the contents of each jar or class directory. Files within a directory are
+     * hashed in the order of their relative paths, which are hashed along with them.
+     */
+    public static String hashCodeLocations(final Iterable<Path> locations) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final Path location : locations) {
+            if (Files.isDirectory(location)) {
+                final Set<Path> files;
+                try (final Stream<Path> stream = Files.walk(location)) {
+                    files = stream.filter(Files::isRegularFile)
+                            .map(location::relativize)
+                            .sorted()
+                            .collect(Collectors.toCollection(LinkedHashSet::new));
+                }
+                hasher.putInt(files.size());
+                for (final Path file : files) {
+                    final byte[] fileBytes = Files.readAllBytes(location.resolve(file));
+                    hasher.putString(toPortableString(file), StandardCharsets.UTF_8)
+                            .putInt(fileBytes.length)
+                            .putBytes(fileBytes);
+                }
+            } else {
+                final byte[] jarBytes = Files.readAllBytes(location);
+                hasher.putInt(jarBytes.length).putBytes(jarBytes);
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static String toPortableString(final Path file) {
+        final StringBuilder builder = new StringBuilder();
+        final Iterator<Path> names = file.iterator();
+        while (names.hasNext()) {
+            builder.append(names.next().toString());
+            if (names.hasNext()) {
+                builder.append('/');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Retrieves the jar or class directory the class was loaded from, or null if it
+     * cannot be determined
+     */
+    private static Path getCodeLocation(final Class<?> codeClass) {
+        final CodeSource codeSource = codeClass.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+        try {
+            final Path location = Paths.get(codeSource.getLocation().toURI());
+            return Files.exists(location) ? location : null;
+        } catch (final URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -19,6 +19,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.spectralogic.ds3autogen.api.models.apispec.*;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics;
+import com.spectralogic.ds3autogen.utils.metrics.Stage;
+import com.spectralogic.ds3autogen.utils.metrics.StageTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,23 +87,39 @@ public final class ConverterUtil {
         if (isEmpty(types) || isEmpty(requests)) {
             return ImmutableMap.of();
         }
+        return retainUsedTypes(types, getUsedTypesFromRequests(requests));
+    }
 
-        final ImmutableSet.Builder<String> usedTypesBuilder = ImmutableSet.builder();
-        usedTypesBuilder.addAll(getUsedTypesFromRequests(requests));
-        usedTypesBuilder.addAll(getUsedTypesFromAllTypes(types, usedTypesBuilder.build()));
-        final ImmutableSet<String> usedTypes = usedTypesBuilder.build();
+    /**
+     * Retains only the used types within the Ds3Type map. Types are considered to be used if
+     * they are within the set of types used by the requests, and/or if they are used
+     * within another type that is also used.
+     * @param types A Ds3Type map
+     * @param requestTypes The types used within the requests, as retrieved by getUsedTypesFromRequests
+     */
+    public static ImmutableMap<String, Ds3Type> retainUsedTypes(
+            final ImmutableMap<String, Ds3Type> types,
+            final ImmutableSet<String> requestTypes) {
+        if (isEmpty(types) || isEmpty(requestTypes)) {
+            return ImmutableMap.of();
+        }
 
-        final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
-        for (final Map.Entry<String, Ds3Type> entry : types.entrySet()) {
-            if (usedTypes.contains(entry.getKey())) {
-                builder.put(entry.getKey(), entry.getValue());
+        try (final StageTimer ignored = GenerationMetrics.getInstance().time(Stage.PRUNE, "removeUnusedTypes")) {
+            final ImmutableSet<String> usedTypes = getUsedTypesFromAllTypes(types, requestTypes);
+
+            final ImmutableMap.Builder<String, Ds3Type> builder = ImmutableMap.builder();
+            for (final Map.Entry<String, Ds3Type> entry : types.entrySet()) {
+                if (usedTypes.contains(entry.getKey())) {
+                    builder.put(entry.getKey(), entry.getValue());
+                }
             }
+            return builder.build();
         }
-        return builder.build();
     }
 
     /**
-     * Gets a set of type names used within a list of Ds3Types
+     * Gets a set of type names used within a list of Ds3Types, i.e. the used types and
+     * every type transitively reachable from them through type elements
      */
     protected static ImmutableSet<String> getUsedTypesFromAllTypes(
             final ImmutableMap<String, Ds3Type> typeMap,
@@ -108,23 +127,7 @@ public final class ConverterUtil {
         if (isEmpty(usedTypes) || isEmpty(typeMap)) {
             return ImmutableSet.of();
         }
-        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
-        builder.addAll(usedTypes);
-        for (final String type : usedTypes) {
-            final Ds3Type ds3Type = typeMap.get(type);
-            if (ds3Type != null) {
-                builder.addAll(getUsedTypesFromType(ds3Type));
-            } else {
-                //Log but do not throw an exception because there are cases where a type
-                //doesn't need to be generated. Especially true during testing.
-                LOG.error("Could not find used type in Type Map: " + type);
-            }
-        }
-        final ImmutableSet<String> newUsedTypes = builder.build();
-        if (newUsedTypes.size() > usedTypes.size()) {
-            return getUsedTypesFromAllTypes(typeMap, newUsedTypes);
-        }
-        return newUsedTypes;
+        return TypeDependencyGraph.of(typeMap).getReachableTypes(usedTypes);
     }
 
     /**
@@ -165,7 +168,7 @@ public final class ConverterUtil {
      * Gets a set of type names used within a list of Ds3Requests. This includes all Spectra defined
      * parameter types and response types used within the requests.
      */
-    protected static ImmutableSet<String> getUsedTypesFromRequests(final ImmutableList<Ds3Request> requests) {
+    public static ImmutableSet<String> getUsedTypesFromRequests(final ImmutableList<Ds3Request> requests) {
         if (isEmpty(requests)) {
             return ImmutableSet.of();
         }
@@ -22,11 +22,16 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 
 public class FileUtilsImpl implements FileUtils {
+
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
     @Override
     public OutputStream getOutputFile(final Path path) throws IOException {
         createDirectories(path.getParent());
@@ -35,9 +40,12 @@ public class FileUtilsImpl implements FileUtils {
     }
 
     private void createDirectories(final Path path) throws IOException {
-        if (Files.exists(path)) {
+        if (createdDirectories.contains(path)) {
             return;
         }
-        Files.createDirectories(path);
+        if (!Files.exists(path)) {
+            Files.createDirectories(path);
+        }
+        createdDirectories.add(path);
     }
 }
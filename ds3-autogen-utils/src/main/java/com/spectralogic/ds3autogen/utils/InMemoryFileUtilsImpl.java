@@ -0,0 +1,71 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.spectralogic.ds3autogen.api.FileUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe FileUtils that retains every generated file in memory keyed by
+ * its path instead of writing it to disk. Used when comparing the output of
+ * different generation modes and when measuring generation without disk I/O.
+ */
+public class InMemoryFileUtilsImpl implements FileUtils {
+
+    private final Map<Path, ByteArrayOutputStream> files = new ConcurrentHashMap<>();
+
+    @Override
+    public OutputStream getOutputFile(final Path path) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1024 * 8);
+        files.put(path, outputStream);
+        return outputStream;
+    }
+
+    /**
+     * Retrieves the contents of every generated file, sorted by path
+     */
+    public ImmutableSortedMap<Path, byte[]> getFiles() {
+        final ImmutableSortedMap.Builder<Path, byte[]> builder = ImmutableSortedMap.naturalOrder();
+        for (final Map.Entry<Path, ByteArrayOutputStream> entry : files.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue().toByteArray());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the contents of the specified file, or null if it was not generated
+     */
+    public byte[] getFile(final Path path) {
+        final ByteArrayOutputStream outputStream = files.get(path);
+        if (outputStream == null) {
+            return null;
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Removes all previously generated files
+     */
+    public void clear() {
+        files.clear();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.isEmpty;
+
+/**
+ * Holds the {@link RequestKinds} of every request of a spec, so that generators
+ * select templates and model generators from kinds that are each evaluated at most
+ * once per request, instead of re-evaluating the Ds3RequestClassificationUtil
+ * predicates, and re-scanning each request's params and response codes, for every
+ * decision. This is the only way generators classify requests. Requests are looked
+ * up by identity, and a request that was not part of the spec gets its own kinds.
+ */
+public final class RequestClassifier {
+
+    private final ImmutableList<Ds3Request> requests;
+    private final Map<Ds3Request, RequestKinds> kindsByRequest;
+
+    private RequestClassifier(
+            final ImmutableList<Ds3Request> requests,
+            final Map<Ds3Request, RequestKinds> kindsByRequest) {
+        this.requests = requests;
+        this.kindsByRequest = kindsByRequest;
+    }
+
+    /**
+     * Creates the classifier of the requests. No predicate is evaluated until a kind is looked up.
+     */
+    public static RequestClassifier of(final ImmutableList<Ds3Request> requests) {
+        final Map<Ds3Request, RequestKinds> kindsByRequest = new IdentityHashMap<>();
+        if (isEmpty(requests)) {
+            return new RequestClassifier(ImmutableList.of(), kindsByRequest);
+        }
+        for (final Ds3Request request : requests) {
+            kindsByRequest.put(request, new RequestKinds(request));
+        }
+        return new RequestClassifier(requests, kindsByRequest);
+    }
+
+    /**
+     * Retrieves the kinds of a request that is classified on its own, such as a request
+     * read from a streaming spec
+     */
+    public static RequestKinds classify(final Ds3Request ds3Request) {
+        return new RequestKinds(ds3Request);
+    }
+
+    /**
+     * Retrieves the kinds of the request
+     */
+    public RequestKinds getKinds(final Ds3Request ds3Request) {
+        final RequestKinds kinds = kindsByRequest.get(ds3Request);
+        return kinds != null ? kinds : classify(ds3Request);
+    }
+
+    /**
+     * Determines if the request is of the specified kind
+     */
+    public boolean is(final Ds3Request ds3Request, final RequestKind kind) {
+        return getKinds(ds3Request).contains(kind);
+    }
+
+    /**
+     * Retrieves the classified requests of the specified kind, in spec order
+     */
+    public ImmutableList<Ds3Request> getRequests(final RequestKind kind) {
+        return requests.stream()
+                .filter(request -> kindsByRequest.get(request).contains(kind))
+                .collect(GuavaCollectors.immutableList());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
+
+import java.util.EnumSet;
+
+/**
+ * The {@link RequestKind}s of a single request. Each kind's predicate is evaluated
+ * the first time the kind is looked up and remembered afterwards, so the if/else
+ * dispatch chains of the generators still stop at the first matching kind, while
+ * every later lookup of the same kind is an array read. Instances are created by
+ * the {@link RequestClassifier}.
+ */
+public final class RequestKinds {
+
+    private static final RequestKind[] KINDS = RequestKind.values();
+
+    private static final byte UNKNOWN = 0;
+    private static final byte MATCHES = 1;
+    private static final byte DOES_NOT_MATCH = 2;
+
+    private final Ds3Request ds3Request;
+
+    /**
+     * The state of each kind, indexed by ordinal. Lookups from several threads may race to
+     * evaluate the same predicate, which is harmless as the predicates are pure and a byte
+     * is written atomically, so a lookup either sees UNKNOWN or the one correct result.
+     */
+    private final byte[] states = new byte[KINDS.length];
+
+    RequestKinds(final Ds3Request ds3Request) {
+        this.ds3Request = ds3Request;
+    }
+
+    /**
+     * Determines if the request is of the specified kind
+     */
+    public boolean contains(final RequestKind kind) {
+        final int index = kind.ordinal();
+        byte state = states[index];
+        if (state == UNKNOWN) {
+            state = kind.matches(ds3Request) ? MATCHES : DOES_NOT_MATCH;
+            states[index] = state;
+        }
+        return state == MATCHES;
+    }
+
+    /**
+     * Retrieves every kind of the request, which evaluates all remaining predicates
+     */
+    public ImmutableSet<RequestKind> toSet() {
+        final EnumSet<RequestKind> kinds = EnumSet.noneOf(RequestKind.class);
+        for (final RequestKind kind : KINDS) {
+            if (contains(kind)) {
+                kinds.add(kind);
+            }
+        }
+        return Sets.immutableEnumSet(kinds);
+    }
+
+    /**
+     * Determines if the kind has already been evaluated
+     */
+    boolean isEvaluated(final RequestKind kind) {
+        return states[kind.ordinal()] != UNKNOWN;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+import com.spectralogic.ds3autogen.api.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * FileUtils that buffers each generated file in memory and only replaces the file
+ * on disk when its content differs from what is already there. Unchanged files keep
+ * their modification time, so downstream builds do not recompile them. Changed files
+ * are written to a temporary file in the same directory and renamed into place.
+ *
+ * This class is thread safe.
+ */
+public class SkipUnchangedFileUtilsImpl implements FileUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SkipUnchangedFileUtilsImpl.class);
+
+    private static final HashFunction DIGEST = Hashing.sha256();
+
+    private final AtomicInteger writtenCount = new AtomicInteger();
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public OutputStream getOutputFile(final Path path) {
+        return new BufferedFileOutputStream(path);
+    }
+
+    /**
+     * The number of files that were created or replaced
+     */
+    public int getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * The number of files whose content was identical to the file on disk
+     */
+    public int getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    /**
+     * Called with the content of each file once its stream is closed, and commits
+     * the content to disk
+     */
+    protected void persist(final Path path, final byte[] content) throws IOException {
+        commit(path, content);
+    }
+
+    /**
+     * Writes the content to the path unless the file already contains it
+     */
+    private void commit(final Path path, final byte[] content) throws IOException {
+        if (hasContent(path, content)) {
+            LOG.debug("Skipping unchanged file: {}", path.toString());
+            unchangedCount.incrementAndGet();
+            return;
+        }
+
+        final Path parent = path.toAbsolutePath().getParent();
+        createDirectories(parent);
+
+        //The temp file is created with Files.write rather than Files.createTempFile so that it
+        //receives the same default permissions as a file written directly to the path
+        final Path tempFile = parent.resolve("." + path.getFileName().toString() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.write(tempFile, content, CREATE_NEW, WRITE);
+            try {
+                Files.move(tempFile, path, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, path, REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        writtenCount.incrementAndGet();
+    }
+
+    /**
+     * Creates the directory unless it was already created or found by an earlier write,
+     * so that each directory is only checked once
+     */
+    private void createDirectories(final Path dir) throws IOException {
+        if (createdDirectories.contains(dir)) {
+            return;
+        }
+        if (!Files.isDirectory(dir)) {
+            Files.createDirectories(dir);
+        }
+        createdDirectories.add(dir);
+    }
+
+    /**
+     * Determines if the file at the path contains exactly the given content, first
+     * comparing sizes and then digests so that the existing file is only streamed
+     * when it could match
+     */
+    static boolean hasContent(final Path path, final byte[] content) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) != content.length) {
+            return false;
+        }
+        try (final InputStream inputStream = Files.newInputStream(path);
+             final HashingInputStream hashingStream = new HashingInputStream(DIGEST, inputStream)) {
+            ByteStreams.exhaust(hashingStream);
+            return hashingStream.hash().equals(DIGEST.hashBytes(content));
+        }
+    }
+
+    /**
+     * Buffers the rendered file and commits it to disk when closed
+     */
+    private class BufferedFileOutputStream extends ByteArrayOutputStream {
+
+        private final Path path;
+        private boolean closed = false;
+
+        private BufferedFileOutputStream(final Path path) {
+            super(1024 * 8);
+            this.path = path;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            persist(path, toByteArray());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import freemarker.cache.FileTemplateLoader;
+import freemarker.cache.MultiTemplateLoader;
+import freemarker.cache.TemplateLoader;
+import freemarker.template.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Functions for overriding the templates a generator loads from the classpath
+ */
+public final class TemplateOverrideUtil {
+
+    private TemplateOverrideUtil() { }
+
+    /**
+     * Configures the config to load templates from the directory first, and from its
+     * current template loader for templates that are not within the directory
+     */
+    public static void overrideTemplates(final Configuration config, final Path templateDir) throws IOException {
+        config.setTemplateLoader(new MultiTemplateLoader(new TemplateLoader[] {
+                new FileTemplateLoader(templateDir.toFile()),
+                config.getTemplateLoader()
+        }));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Element;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import static com.spectralogic.ds3autogen.utils.ConverterUtil.*;
+
+/**
+ * Graph of which Spectra defined types reference each other through their elements,
+ * and which requests reference each type. Forward edges are read directly from each
+ * type's elements, so reachability is a single breadth first traversal that visits
+ * each reachable type and its elements exactly once. The reverse indexes used by the
+ * "who references this type" queries are built on first use.
+ */
+public final class TypeDependencyGraph {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TypeDependencyGraph.class);
+
+    private final ImmutableMap<String, Ds3Type> types;
+    private final Supplier<ImmutableSetMultimap<String, String>> referencingTypes;
+    private final Supplier<ImmutableSetMultimap<String, String>> referencingRequests;
+
+    private TypeDependencyGraph(
+            final ImmutableMap<String, Ds3Type> types,
+            final ImmutableList<Ds3Request> requests) {
+        this.types = types;
+        this.referencingTypes = Suppliers.memoize(() -> toReferencingTypes(types));
+        this.referencingRequests = Suppliers.memoize(() -> toReferencingRequests(requests));
+    }
+
+    /**
+     * Creates the dependency graph between the given types
+     */
+    public static TypeDependencyGraph of(final ImmutableMap<String, Ds3Type> types) {
+        return of(types, ImmutableList.of());
+    }
+
+    /**
+     * Creates the dependency graph between the given types, including which of the
+     * requests reference each type as a parameter or response type
+     */
+    public static TypeDependencyGraph of(
+            final ImmutableMap<String, Ds3Type> types,
+            final ImmutableList<Ds3Request> requests) {
+        return new TypeDependencyGraph(
+                isEmpty(types) ? ImmutableMap.of() : types,
+                isEmpty(requests) ? ImmutableList.of() : requests);
+    }
+
+    private static ImmutableSetMultimap<String, String> toReferencingTypes(final ImmutableMap<String, Ds3Type> types) {
+        final ImmutableSetMultimap.Builder<String, String> builder = ImmutableSetMultimap.builder();
+        for (final Map.Entry<String, Ds3Type> entry : types.entrySet()) {
+            for (final String dependency : getUsedTypesFromType(entry.getValue())) {
+                builder.put(dependency, entry.getKey());
+            }
+        }
+        return builder.build();
+    }
+
+    private static ImmutableSetMultimap<String, String> toReferencingRequests(final ImmutableList<Ds3Request> requests) {
+        final ImmutableSetMultimap.Builder<String, String> builder = ImmutableSetMultimap.builder();
+        for (final Ds3Request request : requests) {
+            for (final String type : getUsedTypesFromRequests(ImmutableList.of(request))) {
+                builder.put(type, request.getName());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the types directly referenced by the elements of the specified type
+     */
+    public ImmutableSet<String> getDependencies(final String typeName) {
+        final Ds3Type ds3Type = types.get(typeName);
+        if (ds3Type == null) {
+            return ImmutableSet.of();
+        }
+        return getUsedTypesFromType(ds3Type);
+    }
+
+    /**
+     * Retrieves the types that directly reference the specified type within their elements
+     */
+    public ImmutableSet<String> getReferencingTypes(final String typeName) {
+        return referencingTypes.get().get(typeName);
+    }
+
+    /**
+     * Retrieves the names of the requests that directly reference the specified type
+     * as a parameter or response type
+     */
+    public ImmutableSet<String> getReferencingRequests(final String typeName) {
+        return referencingRequests.get().get(typeName);
+    }
+
+    /**
+     * Retrieves the set of type names reachable from the root types, including the roots.
+     * Names that are not present within the graph's types are included, but are not
+     * traversed any further.
+     */
+    public ImmutableSet<String> getReachableTypes(final Collection<String> rootTypes) {
+        if (isEmpty(rootTypes)) {
+            return ImmutableSet.of();
+        }
+        final Set<String> visited = new LinkedHashSet<>(rootTypes);
+        final Queue<String> worklist = new ArrayDeque<>(visited);
+        while (!worklist.isEmpty()) {
+            final String type = worklist.remove();
+            final Ds3Type ds3Type = types.get(type);
+            if (ds3Type == null) {
+                //Log but do not throw an exception because there are cases where a type
+                //doesn't need to be generated. Especially true during testing.
+                LOG.error("Could not find used type in Type Map: " + type);
+                continue;
+            }
+            if (isEnum(ds3Type) || isEmpty(ds3Type.getElements())) {
+                continue;
+            }
+            for (final Ds3Element element : ds3Type.getElements()) {
+                visit(element.getType(), visited, worklist);
+                visit(element.getComponentType(), visited, worklist);
+            }
+        }
+        return ImmutableSet.copyOf(visited);
+    }
+
+    /**
+     * Adds the type to the worklist if it is a Spectra defined type that has not been visited
+     */
+    private static void visit(final String type, final Set<String> visited, final Queue<String> worklist) {
+        if (includeType(type) && visited.add(type)) {
+            worklist.add(type);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SkipUnchangedFileUtilsImpl that hands the content of each closed file off to a small
+ * pool of I/O threads, so that rendering the next file overlaps with writing the
+ * previous ones. At most queueCapacity files are pending at once, and closing a file
+ * blocks while the queue is full. Errors raised while writing are collected and thrown
+ * by {@link #close()}, which waits for every pending write to finish and must be
+ * called once generation is done.
+ *
+ * This class is thread safe.
+ */
+public class WriteBehindFileUtilsImpl extends SkipUnchangedFileUtilsImpl implements Closeable {
+
+    public static final int DEFAULT_IO_THREADS = 4;
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final Semaphore queuePermits;
+    private final List<IOException> errors = new ArrayList<>();
+
+    public WriteBehindFileUtilsImpl() {
+        this(DEFAULT_IO_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param ioThreads The number of threads that write files
+     * @param queueCapacity The maximum number of closed files waiting to be written
+     */
+    public WriteBehindFileUtilsImpl(final int ioThreads, final int queueCapacity) {
+        if (ioThreads < 1) {
+            throw new IllegalArgumentException("The number of I/O threads must be at least 1, but was " + ioThreads);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be at least 1, but was " + queueCapacity);
+        }
+        this.executor = Executors.newFixedThreadPool(ioThreads, newThreadFactory());
+        this.queuePermits = new Semaphore(queueCapacity);
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        final int pool = POOL_COUNT.incrementAndGet();
+        final AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "file-writer-" + pool + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Queues the content to be written by an I/O thread
+     */
+    @Override
+    protected void persist(final Path path, final byte[] content) throws IOException {
+        try {
+            queuePermits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while queueing " + path, e);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    super.persist(path, content);
+                } catch (final IOException e) {
+                    addError(new IOException("Could not write " + path, e));
+                } finally {
+                    queuePermits.release();
+                }
+            });
+        } catch (final RuntimeException e) {
+            queuePermits.release();
+            throw new IOException("Could not queue " + path, e);
+        }
+    }
+
+    private void addError(final IOException error) {
+        synchronized (errors) {
+            errors.add(error);
+        }
+    }
+
+    /**
+     * Waits for all queued files to be written and stops the I/O threads
+     * @throws IOException The first error raised while writing, with any further errors
+     *                     attached as suppressed exceptions
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting for the writes to drain
+            }
+        } catch (final InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for files to be written", e);
+        }
+
+        synchronized (errors) {
+            if (errors.isEmpty()) {
+                return;
+            }
+            final IOException first = errors.get(0);
+            for (final IOException error : errors.subList(1, errors.size())) {
+                first.addSuppressed(error);
+            }
+            errors.clear();
+            throw first;
+        }
+    }
+}
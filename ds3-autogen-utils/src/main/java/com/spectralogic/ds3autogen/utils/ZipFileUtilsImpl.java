@@ -0,0 +1,144 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.spectralogic.ds3autogen.api.FileUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * FileUtils that collects every generated file and writes them all into a single zip
+ * archive when closed, instead of creating each file on disk. Each entry is named by
+ * the path of its file relative to the root directory the generator writes into. The
+ * archive is reproducible: entries are sorted by name and carry a fixed timestamp, so
+ * generating the same code always produces the same archive. An archive whose name
+ * ends with .jar starts with a manifest, as a source jar does. Like
+ * SkipUnchangedFileUtilsImpl, an existing archive with identical content is left as is.
+ *
+ * This class is thread safe.
+ */
+public class ZipFileUtilsImpl implements FileUtils, Closeable {
+
+    /**
+     * The timestamp of every entry. It is a month after the earliest time a zip entry can
+     * hold, so that it is never adjusted into 1979 in time zones east of UTC, which would
+     * add a time zone dependent extended timestamp to the entry.
+     */
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 2, 1, 0, 0);
+
+    private static final String MANIFEST_NAME = "META-INF/MANIFEST.MF";
+    private static final String MANIFEST = "Manifest-Version: 1.0\r\nCreated-By: ds3_autogen\r\n\r\n";
+
+    private final Path archive;
+    private final Path rootDir;
+    private final Map<String, byte[]> entries = new ConcurrentSkipListMap<>();
+
+    private int writtenCount = 0;
+    private int unchangedCount = 0;
+
+    /**
+     * @param archive The zip or jar file to create
+     * @param rootDir The directory the generator writes into, which the entry names are
+     *                relative to. Nothing is written into this directory.
+     */
+    public ZipFileUtilsImpl(final Path archive, final Path rootDir) {
+        this.archive = archive;
+        this.rootDir = rootDir.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public OutputStream getOutputFile(final Path path) throws IOException {
+        final String entryName = toEntryName(path);
+        return new ByteArrayOutputStream(1024 * 8) {
+            @Override
+            public void close() {
+                entries.put(entryName, toByteArray());
+            }
+        };
+    }
+
+    private String toEntryName(final Path path) throws IOException {
+        final Path absolutePath = path.toAbsolutePath().normalize();
+        if (!absolutePath.startsWith(rootDir) || absolutePath.equals(rootDir)) {
+            throw new IOException(path + " is not within the archive root " + rootDir);
+        }
+        return rootDir.relativize(absolutePath).toString().replace('\\', '/');
+    }
+
+    /**
+     * The number of files written into the archive, or zero if the archive was unchanged
+     */
+    public synchronized int getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * The number of files within the archive if it was unchanged, or zero otherwise
+     */
+    public synchronized int getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    /**
+     * Writes the archive with one sequential write, replacing the existing archive
+     * unless its content is identical
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        final byte[] content = toZip();
+        final SkipUnchangedFileUtilsImpl archiveUtils = new SkipUnchangedFileUtilsImpl();
+        try (final OutputStream outputStream = archiveUtils.getOutputFile(archive)) {
+            outputStream.write(content);
+        }
+        if (archiveUtils.getWrittenCount() > 0) {
+            writtenCount = entries.size();
+        } else {
+            unchangedCount = entries.size();
+        }
+    }
+
+    private byte[] toZip() throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream(1024 * 64);
+        try (final ZipOutputStream zipStream = new ZipOutputStream(content, StandardCharsets.UTF_8)) {
+            if (archive.getFileName().toString().endsWith(".jar") && !entries.containsKey(MANIFEST_NAME)) {
+                putEntry(zipStream, MANIFEST_NAME, MANIFEST.getBytes(StandardCharsets.UTF_8));
+            }
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                putEntry(zipStream, entry.getKey(), entry.getValue());
+            }
+        }
+        return content.toByteArray();
+    }
+
+    private static void putEntry(final ZipOutputStream zipStream, final String name, final byte[] content) throws IOException {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(ENTRY_TIME);
+        zipStream.putNextEntry(entry);
+        zipStream.write(content);
+        zipStream.closeEntry();
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils.manifest;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.spectralogic.ds3autogen.api.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records, for every generated file, the hash of the contract element it was
+ * generated from, the hash of the templates used to render it, and the hash of
+ * the rendered output. On the next run this allows a generator to skip any
+ * element whose inputs are unchanged and whose outputs are still intact on disk,
+ * and to remove files whose source element no longer exists in the contract.
+ *
+ * The manifest also records the version of the generator that wrote it, and no
+ * element is up to date when the generator has changed since, so that a change to
+ * the generator's code regenerates every file.
+ *
+ * The manifest is stored in the target directory as a tab separated file.
+ */
+public class GenerationManifest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String MANIFEST_FILE_NAME = ".ds3autogen-manifest";
+
+    /** Bump whenever the manifest layout changes */
+    private static final String HEADER = "# ds3autogen manifest v2";
+
+    private static final String GENERATOR_PREFIX = "# generator ";
+
+    private final Path destDir;
+    private final String generatorVersion;
+    private final boolean sameGenerator;
+    private final Map<String, ImmutableList<ManifestEntry>> previousEntries;
+    private final Map<String, ManifestEntry> currentEntries = new ConcurrentHashMap<>();
+
+    private GenerationManifest(
+            final Path destDir,
+            final String generatorVersion,
+            final boolean sameGenerator,
+            final Map<String, ImmutableList<ManifestEntry>> previousEntries) {
+        this.destDir = destDir;
+        this.generatorVersion = generatorVersion;
+        this.sameGenerator = sameGenerator;
+        this.previousEntries = previousEntries;
+    }
+
+    /**
+     * Loads the manifest from the target directory. If no manifest exists, or it was
+     * written in an incompatible format, an empty manifest is returned so that
+     * everything is regenerated. If it was written by a different generator version,
+     * its entries are only used to remove files that are no longer generated.
+     * @param generatorVersion Identifies the code of the running generator, or null if
+     *                         it cannot be identified, in which case nothing is up to date
+     */
+    public static GenerationManifest load(final Path destDir, final String generatorVersion) throws IOException {
+        final Path manifestPath = destDir.resolve(MANIFEST_FILE_NAME);
+        final Map<String, ImmutableList.Builder<ManifestEntry>> builders = new TreeMap<>();
+        boolean sameGenerator = false;
+
+        if (Files.exists(manifestPath)) {
+            final List<String> lines = Files.readAllLines(manifestPath, StandardCharsets.UTF_8);
+            if (lines.size() >= 2 && lines.get(0).equals(HEADER) && lines.get(1).startsWith(GENERATOR_PREFIX)) {
+                final String previousVersion = lines.get(1).substring(GENERATOR_PREFIX.length());
+                sameGenerator = generatorVersion != null && generatorVersion.equals(previousVersion);
+                if (!sameGenerator) {
+                    LOG.info("The generator changed since the manifest was written, regenerating every file");
+                }
+                for (final String line : lines.subList(2, lines.size())) {
+                    final ManifestEntry entry = parseLine(line);
+                    if (entry != null) {
+                        builders.computeIfAbsent(entry.getElementKey(), key -> ImmutableList.builder()).add(entry);
+                    }
+                }
+            } else {
+                LOG.info("Ignoring manifest with unknown format: {}", manifestPath.toString());
+            }
+        }
+
+        final Map<String, ImmutableList<ManifestEntry>> entries = new TreeMap<>();
+        builders.forEach((key, builder) -> entries.put(key, builder.build()));
+        return new GenerationManifest(destDir, generatorVersion, sameGenerator, entries);
+    }
+
+    private static ManifestEntry parseLine(final String line) {
+        final String[] parts = line.split("\t");
+        if (parts.length != 5) {
+            return null;
+        }
+        return new ManifestEntry(parts[0], parts[1], parts[2], parts[3], parts[4]);
+    }
+
+    /**
+     * Hashes the textual description of a contract element
+     */
+    public static String hashContent(final String... content) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final String part : content) {
+            hasher.putString(part == null ? "" : part, StandardCharsets.UTF_8);
+            hasher.putChar('\0');
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Determines if the files previously generated for the element are still current,
+     * i.e. the generator, element and templates are unchanged and every generated file
+     * still exists on disk with its recorded content.
+     */
+    public boolean isUpToDate(final String elementKey, final String contractHash, final String templateHash) throws IOException {
+        if (!sameGenerator) {
+            return false;
+        }
+        final ImmutableList<ManifestEntry> entries = previousEntries.get(elementKey);
+        if (entries == null || entries.isEmpty()) {
+            return false;
+        }
+        for (final ManifestEntry entry : entries) {
+            if (!entry.getContractHash().equals(contractHash) || !entry.getTemplateHash().equals(templateHash)) {
+                return false;
+            }
+            final Path path = destDir.resolve(entry.getPath());
+            if (!Files.isRegularFile(path)
+                    || !Hashing.sha256().hashBytes(Files.readAllBytes(path)).toString().equals(entry.getOutputHash())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Carries the entries for an element that was skipped over into the new manifest
+     */
+    public void retain(final String elementKey) {
+        final ImmutableList<ManifestEntry> entries = previousEntries.get(elementKey);
+        if (entries == null) {
+            return;
+        }
+        for (final ManifestEntry entry : entries) {
+            currentEntries.put(entry.getPath(), entry);
+        }
+    }
+
+    /**
+     * Wraps a FileUtils so that every file it opens is recorded in the manifest
+     * against the given element once the stream is closed
+     */
+    public FileUtils track(
+            final FileUtils fileUtils,
+            final String elementKey,
+            final String contractHash,
+            final String templateHash) {
+        return path -> new RecordingOutputStream(
+                fileUtils.getOutputFile(path),
+                toManifestPath(path),
+                elementKey,
+                contractHash,
+                templateHash);
+    }
+
+    private String toManifestPath(final Path path) {
+        return destDir.toAbsolutePath().normalize()
+                .relativize(path.toAbsolutePath().normalize())
+                .toString()
+                .replace('\\', '/');
+    }
+
+    /**
+     * Writes the manifest to the target directory and deletes every previously generated
+     * file that was not produced or retained during this run
+     * @return The number of stale files that were deleted
+     */
+    public int save() throws IOException {
+        int deleted = 0;
+        for (final ImmutableList<ManifestEntry> entries : previousEntries.values()) {
+            for (final ManifestEntry entry : entries) {
+                if (!currentEntries.containsKey(entry.getPath())) {
+                    LOG.info("Deleting stale generated file: {}", entry.getPath());
+                    if (Files.deleteIfExists(destDir.resolve(entry.getPath()))) {
+                        deleted++;
+                    }
+                }
+            }
+        }
+
+        Files.createDirectories(destDir);
+        try (final BufferedWriter writer = Files.newBufferedWriter(destDir.resolve(MANIFEST_FILE_NAME), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.write(GENERATOR_PREFIX + (generatorVersion == null ? "" : generatorVersion));
+            writer.newLine();
+            for (final ManifestEntry entry : new TreeMap<>(currentEntries).values()) {
+                writer.write(String.join("\t",
+                        entry.getPath(),
+                        entry.getElementKey(),
+                        entry.getContractHash(),
+                        entry.getTemplateHash(),
+                        entry.getOutputHash()));
+                writer.newLine();
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Hashes everything written to the underlying stream and records the
+     * resulting manifest entry when closed
+     */
+    private class RecordingOutputStream extends FilterOutputStream {
+
+        private final HashingOutputStream hashingStream;
+        private final String path;
+        private final String elementKey;
+        private final String contractHash;
+        private final String templateHash;
+        private boolean closed = false;
+
+        private RecordingOutputStream(
+                final OutputStream outputStream,
+                final String path,
+                final String elementKey,
+                final String contractHash,
+                final String templateHash) {
+            super(new HashingOutputStream(Hashing.sha256(), outputStream));
+            this.hashingStream = (HashingOutputStream) out;
+            this.path = path;
+            this.elementKey = elementKey;
+            this.contractHash = contractHash;
+            this.templateHash = templateHash;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            super.close();
+            final HashCode outputHash = hashingStream.hash();
+            currentEntries.put(path, new ManifestEntry(path, elementKey, contractHash, templateHash, outputHash.toString()));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils.manifest;
+
+/**
+ * A single generated file recorded within a GenerationManifest
+ */
+public class ManifestEntry {
+
+    private final String path;
+    private final String elementKey;
+    private final String contractHash;
+    private final String templateHash;
+    private final String outputHash;
+
+    public ManifestEntry(
+            final String path,
+            final String elementKey,
+            final String contractHash,
+            final String templateHash,
+            final String outputHash) {
+        this.path = path;
+        this.elementKey = elementKey;
+        this.contractHash = contractHash;
+        this.templateHash = templateHash;
+        this.outputHash = outputHash;
+    }
+
+    /**
+     * The path of the generated file relative to the target directory
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The key of the contract element (request or type) that produced the file
+     */
+    public String getElementKey() {
+        return elementKey;
+    }
+
+    public String getContractHash() {
+        return contractHash;
+    }
+
+    public String getTemplateHash() {
+        return templateHash;
+    }
+
+    public String getOutputHash() {
+        return outputHash;
+    }
+}
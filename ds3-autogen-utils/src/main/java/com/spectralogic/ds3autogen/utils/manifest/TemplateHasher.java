@@ -0,0 +1,123 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils.manifest;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.CharStreams;
+import freemarker.cache.TemplateLoader;
+import freemarker.template.Configuration;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes a hash over the source of a FreeMarker template and every template
+ * it transitively includes or imports, so that a change to any shared fragment
+ * such as copyright.ftl invalidates every file rendered with it.
+ */
+public class TemplateHasher {
+
+    private static final Pattern INCLUDE_PATTERN = Pattern.compile("<#(?:include|import)\\s+\"([^\"]+)\"");
+
+    private final Configuration config;
+    private final Map<String, String> sources = new ConcurrentHashMap<>();
+
+    public TemplateHasher(final Configuration config) {
+        this.config = config;
+    }
+
+    /**
+     * Hashes the specified templates along with all templates they include
+     */
+    public String hash(final String... templateNames) throws IOException {
+        final Set<String> names = new TreeSet<>();
+        for (final String templateName : templateNames) {
+            collect(templateName, names);
+        }
+
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final String name : names) {
+            hasher.putString(name, StandardCharsets.UTF_8);
+            hasher.putString(getSource(name), StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Discards the cached template sources so that changed templates are reloaded
+     */
+    public void clear() {
+        sources.clear();
+    }
+
+    /**
+     * Adds the template and all templates it includes to the set of names
+     */
+    private void collect(final String templateName, final Set<String> names) throws IOException {
+        if (!names.add(templateName)) {
+            return;
+        }
+        final Matcher matcher = INCLUDE_PATTERN.matcher(getSource(templateName));
+        while (matcher.find()) {
+            collect(resolve(templateName, matcher.group(1)), names);
+        }
+    }
+
+    /**
+     * Resolves an include path relative to the template that contains it
+     */
+    static String resolve(final String templateName, final String includePath) {
+        if (includePath.startsWith("/")) {
+            return includePath.substring(1);
+        }
+        final int lastSlash = templateName.lastIndexOf('/');
+        final String baseDir = lastSlash < 0 ? "" : templateName.substring(0, lastSlash);
+        return Paths.get(baseDir, includePath).normalize().toString().replace('\\', '/');
+    }
+
+    private String getSource(final String templateName) throws IOException {
+        final String cached = sources.get(templateName);
+        if (cached != null) {
+            return cached;
+        }
+        final String source = loadSource(templateName);
+        sources.put(templateName, source);
+        return source;
+    }
+
+    private String loadSource(final String templateName) throws IOException {
+        final TemplateLoader loader = config.getTemplateLoader();
+        final Object templateSource = loader.findTemplateSource(templateName);
+        if (templateSource == null) {
+            throw new FileNotFoundException("Could not find template " + templateName);
+        }
+        try (final Reader reader = loader.getReader(templateSource, StandardCharsets.UTF_8.name())) {
+            return CharStreams.toString(reader);
+        } finally {
+            loader.closeTemplateSource(templateSource);
+        }
+    }
+}
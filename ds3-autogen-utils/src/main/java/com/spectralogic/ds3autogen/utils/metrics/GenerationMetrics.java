@@ -0,0 +1,238 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the time spent within each stage of generation, such as parsing the contract,
+ * each normalizer converter, type pruning and the rendering of each template, along with
+ * the number of files and bytes generated for each output. Every recorded stage is also
+ * emitted as a JFR event, which is only captured while a flight recording is running.
+ *
+ * The metrics are shared by the whole process, as the parser and generators are created
+ * independently of whoever reports the metrics. All methods are thread safe.
+ */
+public final class GenerationMetrics {
+
+    private static final GenerationMetrics INSTANCE = new GenerationMetrics();
+
+    private final ConcurrentMap<TimingKey, Timing> timings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, FileCounts> fileCounts = new ConcurrentHashMap<>();
+
+    GenerationMetrics() { }
+
+    /**
+     * Retrieves the metrics of this process
+     */
+    public static GenerationMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts timing an interval of the stage, which is recorded once the timer is closed
+     */
+    public StageTimer time(final Stage stage, final String name) {
+        return new StageTimer(this, stage, name);
+    }
+
+    /**
+     * Records time spent within the stage that was measured by the caller
+     */
+    public void record(final Stage stage, final String name, final long elapsedNanos) {
+        record(stage, name, elapsedNanos, new StageEvent());
+    }
+
+    void record(final Stage stage, final String name, final long elapsedNanos, final StageEvent event) {
+        timings.computeIfAbsent(new TimingKey(stage, name), key -> new Timing()).add(elapsedNanos);
+        if (event.shouldCommit()) {
+            event.stage = stage.toString();
+            event.name = name;
+            event.elapsed = elapsedNanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a file that was generated for the output
+     * @param output The output the file belongs to, such as the language being generated
+     */
+    public void recordFile(final String output, final String path, final long bytes) {
+        fileCounts.computeIfAbsent(output, key -> new FileCounts()).add(bytes);
+        final FileWrittenEvent event = new FileWrittenEvent();
+        if (event.shouldCommit()) {
+            event.output = output;
+            event.path = path;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Retrieves the timings of every stage, ordered by stage and then by the total
+     * time spent, in descending order
+     */
+    public ImmutableList<StageTiming> getTimings() {
+        final ImmutableList.Builder<StageTiming> builder = ImmutableList.builder();
+        for (final Map.Entry<TimingKey, Timing> entry : timings.entrySet()) {
+            final Timing timing = entry.getValue();
+            builder.add(new StageTiming(
+                    entry.getKey().stage,
+                    entry.getKey().name,
+                    timing.count.sum(),
+                    timing.totalNanos.sum(),
+                    timing.maxNanos.get()));
+        }
+        return ImmutableList.sortedCopyOf(Comparator.comparing(StageTiming::getStage)
+                        .thenComparing(Comparator.comparingLong(StageTiming::getTotalNanos).reversed())
+                        .thenComparing(StageTiming::getName),
+                builder.build());
+    }
+
+    /**
+     * Retrieves the number of files and bytes generated for each output, by output name
+     */
+    public ImmutableSortedMap<String, FileTotals> getFileTotals() {
+        final ImmutableSortedMap.Builder<String, FileTotals> builder = ImmutableSortedMap.naturalOrder();
+        for (final Map.Entry<String, FileCounts> entry : fileCounts.entrySet()) {
+            builder.put(entry.getKey(), new FileTotals(entry.getValue().files.sum(), entry.getValue().bytes.sum()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Discards everything recorded so far
+     */
+    public void reset() {
+        timings.clear();
+        fileCounts.clear();
+    }
+
+    /**
+     * The totals of a single stage and name
+     */
+    public static final class StageTiming {
+        private final Stage stage;
+        private final String name;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        StageTiming(final Stage stage, final String name, final long count, final long totalNanos, final long maxNanos) {
+            this.stage = stage;
+            this.name = name;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public Stage getStage() {
+            return stage;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+
+    /**
+     * The number of files and bytes generated for an output
+     */
+    public static final class FileTotals {
+        private final long files;
+        private final long bytes;
+
+        FileTotals(final long files, final long bytes) {
+            this.files = files;
+            this.bytes = bytes;
+        }
+
+        public long getFiles() {
+            return files;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+
+    private static final class TimingKey {
+        private final Stage stage;
+        private final String name;
+
+        private TimingKey(final Stage stage, final String name) {
+            this.stage = stage;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof TimingKey)) {
+                return false;
+            }
+            final TimingKey other = (TimingKey) obj;
+            return stage == other.stage && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * stage.hashCode() + name.hashCode();
+        }
+    }
+
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void add(final long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+        }
+    }
+
+    private static final class FileCounts {
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private void add(final long byteCount) {
+            files.increment();
+            bytes.add(byteCount);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils.metrics;
+
+import com.spectralogic.ds3autogen.api.FileUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Wraps a FileUtils to record the number of files and bytes generated for an output
+ * within the GenerationMetrics. A file is recorded when its output stream is closed.
+ */
+public class MeasuredFileUtilsImpl implements FileUtils {
+
+    private final FileUtils fileUtils;
+    private final String output;
+    private final GenerationMetrics metrics;
+
+    public MeasuredFileUtilsImpl(final FileUtils fileUtils, final String output) {
+        this(fileUtils, output, GenerationMetrics.getInstance());
+    }
+
+    MeasuredFileUtilsImpl(final FileUtils fileUtils, final String output, final GenerationMetrics metrics) {
+        this.fileUtils = fileUtils;
+        this.output = output;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public OutputStream getOutputFile(final Path path) throws IOException {
+        return new CountingOutputStream(fileUtils.getOutputFile(path), path);
+    }
+
+    private final class CountingOutputStream extends FilterOutputStream {
+        private final Path path;
+        private long count;
+        private boolean closed;
+
+        private CountingOutputStream(final OutputStream out, final Path path) {
+            super(out);
+            this.path = path;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            super.close();
+            metrics.recordFile(output, path.toString(), count);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils.metrics;
+
+/**
+ * The stages of generation that are timed by GenerationMetrics
+ */
+public enum Stage {
+    PARSE,      // Reading the contract and converting it into a Ds3ApiSpec
+    NORMALIZE,  // Each converter of the Ds3SpecNormalizer
+    PRUNE,      // Removing unused types from the spec
+    RENDER,     // Processing a template, keyed by the template name
+    GENERATE    // Generating a language as a whole
+}
@@ -0,0 +1,43 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils.metrics;
+
+/**
+ * Times a single interval of a stage, from its creation until it is closed
+ */
+public final class StageTimer implements AutoCloseable {
+
+    private final GenerationMetrics metrics;
+    private final Stage stage;
+    private final String name;
+    private final StageEvent event;
+    private final long startNanos;
+
+    StageTimer(final GenerationMetrics metrics, final Stage stage, final String name) {
+        this.metrics = metrics;
+        this.stage = stage;
+        this.name = name;
+        this.event = new StageEvent();
+        this.event.begin();
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+        metrics.record(stage, name, System.nanoTime() - startNanos, event);
+    }
+}
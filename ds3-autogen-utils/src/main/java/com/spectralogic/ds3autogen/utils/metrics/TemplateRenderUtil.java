@@ -0,0 +1,41 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils.metrics;
+
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Functions for rendering templates while recording the time spent within each template
+ */
+public final class TemplateRenderUtil {
+
+    private TemplateRenderUtil() { }
+
+    /**
+     * Processes the template with the data model, recording the time spent under the
+     * name of the template, such as responseparser/response_parser_template.ftl
+     */
+    public static void render(final Template template, final Object dataModel, final Writer writer) throws IOException, TemplateException {
+        try (final StageTimer ignored = GenerationMetrics.getInstance().time(Stage.RENDER, template.getName())) {
+            template.process(dataModel, writer);
+        }
+    }
+}
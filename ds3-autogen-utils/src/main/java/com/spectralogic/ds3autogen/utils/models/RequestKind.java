@@ -0,0 +1,77 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils.models;
+
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.utils.Ds3RequestClassificationUtil;
+
+import java.util.function.Predicate;
+
+/**
+ * The special cases a Ds3Request can fall into, each defined by the corresponding
+ * predicate within Ds3RequestClassificationUtil. A request may be of several kinds.
+ */
+public enum RequestKind {
+    NOTIFICATION(Ds3RequestClassificationUtil::isNotificationRequest),
+    DELETE_NOTIFICATION(Ds3RequestClassificationUtil::isDeleteNotificationRequest),
+    CREATE_NOTIFICATION(Ds3RequestClassificationUtil::isCreateNotificationRequest),
+    GET_NOTIFICATION(Ds3RequestClassificationUtil::isGetNotificationRequest),
+    LIST_OBJECTS_PAYLOAD(Ds3RequestClassificationUtil::hasListObjectsRequestPayload),
+    EJECT_STORAGE_DOMAIN_BLOBS(Ds3RequestClassificationUtil::isEjectStorageDomainBlobsRequest),
+    PHYSICAL_PLACEMENT(Ds3RequestClassificationUtil::isPhysicalPlacementRequest),
+    STAGE_OBJECTS_JOB(Ds3RequestClassificationUtil::isStageObjectsJob),
+    BULK(Ds3RequestClassificationUtil::isBulkRequest),
+    BULK_PUT(Ds3RequestClassificationUtil::isBulkPutRequest),
+    BULK_GET(Ds3RequestClassificationUtil::isBulkGetRequest),
+    BULK_REPLICATE(Ds3RequestClassificationUtil::isBulkReplicateRequest),
+    STRING_PAYLOAD(Ds3RequestClassificationUtil::hasStringRequestPayload),
+    GET_BLOB_PERSISTENCE(Ds3RequestClassificationUtil::isGetBlobPersistenceRequest),
+    MULTI_FILE_DELETE(Ds3RequestClassificationUtil::isMultiFileDeleteRequest),
+    CREATE_OBJECT(Ds3RequestClassificationUtil::isCreateObjectRequest),
+    AMAZON_CREATE_OBJECT(Ds3RequestClassificationUtil::isAmazonCreateObjectRequest),
+    GET_OBJECT(Ds3RequestClassificationUtil::isGetObjectRequest),
+    GET_OBJECT_AMAZON_S3(Ds3RequestClassificationUtil::isGetObjectAmazonS3Request),
+    HEAD_BUCKET(Ds3RequestClassificationUtil::isHeadBucketRequest),
+    HEAD_OBJECT(Ds3RequestClassificationUtil::isHeadObjectRequest),
+    ALLOCATE_JOB_CHUNK(Ds3RequestClassificationUtil::isAllocateJobChunkRequest),
+    GET_JOB_CHUNKS_READY_FOR_CLIENT_PROCESSING(Ds3RequestClassificationUtil::isGetJobChunksReadyForClientProcessingRequest),
+    GET_JOB(Ds3RequestClassificationUtil::isGetJobRequest),
+    CREATE_MULTI_PART_UPLOAD_PART(Ds3RequestClassificationUtil::isCreateMultiPartUploadPartRequest),
+    COMPLETE_MULTI_PART_UPLOAD(Ds3RequestClassificationUtil::isCompleteMultiPartUploadRequest),
+    GET_OBJECTS_DETAILS(Ds3RequestClassificationUtil::isGetObjectsDetailsRequest),
+    GET_USERS_SPECTRA_S3(Ds3RequestClassificationUtil::isGetUsersSpectraS3Request),
+    GET_OBJECTS_WITH_FULL_DETAILS(Ds3RequestClassificationUtil::isGetObjectsWithFullDetails),
+    COMPLETE_BLOB(Ds3RequestClassificationUtil::isCompleteBlobRequest),
+    PAGINATION(Ds3RequestClassificationUtil::supportsPaginationRequest),
+    IDS_PAYLOAD(Ds3RequestClassificationUtil::hasIdsRequestPayload),
+    PUT_OBJECTS_WITH_SIZE_PAYLOAD(Ds3RequestClassificationUtil::hasPutObjectsWithSizeRequestPayload),
+    GET_OBJECTS_WITH_LENGTH_OFFSET_PAYLOAD(Ds3RequestClassificationUtil::hasGetObjectsWithLengthOffsetRequestPayload),
+    CREATE_VERIFY_JOB(Ds3RequestClassificationUtil::isCreateVerifyJobRequest),
+    SIMPLE_OBJECTS_PAYLOAD(Ds3RequestClassificationUtil::hasSimpleObjectsRequestPayload);
+
+    private final Predicate<Ds3Request> predicate;
+
+    RequestKind(final Predicate<Ds3Request> predicate) {
+        this.predicate = predicate;
+    }
+
+    /**
+     * Determines if the request is of this kind by evaluating the kind's predicate
+     */
+    public boolean matches(final Ds3Request ds3Request) {
+        return predicate.test(ds3Request);
+    }
+}
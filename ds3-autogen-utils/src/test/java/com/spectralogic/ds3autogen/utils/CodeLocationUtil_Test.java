@@ -0,0 +1,67 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+public class CodeLocationUtil_Test {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void hashCodeLocations_ChangedClassFile_Test() throws IOException {
+        final Path classDir = tempFolder.newFolder("classes").toPath();
+        final Path classFile = Files.createDirectories(classDir.resolve("com/example")).resolve("Normalizer.class");
+        Files.write(classFile, new byte[] { 1, 2, 3 });
+
+        final String version = CodeLocationUtil.hashCodeLocations(Collections.singletonList(classDir));
+        assertThat(CodeLocationUtil.hashCodeLocations(Collections.singletonList(classDir)), is(version));
+
+        Files.write(classFile, new byte[] { 1, 2, 4 });
+        assertThat(CodeLocationUtil.hashCodeLocations(Collections.singletonList(classDir)), is(not(version)));
+    }
+
+    @Test
+    public void hashCodeLocations_ChangedJar_Test() throws IOException {
+        final Path jar = tempFolder.newFile("utils.jar").toPath();
+        Files.write(jar, new byte[] { 1, 2, 3 });
+
+        final String version = CodeLocationUtil.hashCodeLocations(Collections.singletonList(jar));
+
+        Files.write(jar, new byte[] { 1, 2, 4 });
+        assertThat(CodeLocationUtil.hashCodeLocations(Collections.singletonList(jar)), is(not(version)));
+    }
+
+    @Test
+    public void hashCodeOf_Test() throws IOException {
+        final String version = CodeLocationUtil.hashCodeOf(CodeLocationUtil.class);
+        assertThat(version, is(notNullValue()));
+        assertThat(CodeLocationUtil.hashCodeOf(CodeLocationUtil.class), is(version));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.utils.collections.GuavaCollectors;
+import com.spectralogic.ds3autogen.utils.models.RequestKind;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelFixtures.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestClassifier_Test {
+
+    private static final ImmutableList<Ds3Request> REQUESTS = ImmutableList.of(
+            getRequestDeleteNotification(),
+            getRequestCreateNotification(),
+            getRequestGetNotification(),
+            getRequestVerifyPhysicalPlacement(),
+            getRequestBulkGet(),
+            getRequestBulkPut(),
+            getRequestMultiFileDelete(),
+            getRequestCreateObject(),
+            getRequestAmazonS3GetObject(),
+            getRequestSpectraS3GetObject(),
+            getRequestGetJob(),
+            getReplicatePutJob(),
+            getGetBlobPersistence(),
+            getCreateMultiPartUploadPart(),
+            getEjectStorageDomainBlobsRequest(),
+            getCompleteMultipartUploadRequest(),
+            getAllocateJobChunkRequest(),
+            getHeadBucketRequest(),
+            getHeadObjectRequest(),
+            getJobChunksReadyForClientProcessingRequest(),
+            getBucketsSpectraS3Request(),
+            getObjectsDetailsRequest(),
+            getUsersSpectraS3Request(),
+            getObjectsWithFullDetailsRequest(),
+            createVerifyJobRequest());
+
+    @Test
+    public void classify_MatchesPredicates_Test() {
+        for (final Ds3Request request : REQUESTS) {
+            final RequestKinds kinds = RequestClassifier.classify(request);
+            for (final RequestKind kind : RequestKind.values()) {
+                assertThat(request.getName() + " " + kind, kinds.contains(kind), is(kind.matches(request)));
+            }
+        }
+    }
+
+    @Test
+    public void classify_SpecialCases_Test() {
+        assertThat(RequestClassifier.classify(getRequestBulkGet()).contains(RequestKind.BULK), is(true));
+        assertThat(RequestClassifier.classify(getRequestBulkGet()).contains(RequestKind.BULK_GET), is(true));
+        assertThat(RequestClassifier.classify(getRequestBulkGet()).contains(RequestKind.BULK_PUT), is(false));
+        assertThat(RequestClassifier.classify(getHeadBucketRequest()).contains(RequestKind.HEAD_BUCKET), is(true));
+        assertThat(RequestClassifier.classify(getBucketsSpectraS3Request()).contains(RequestKind.PAGINATION), is(true));
+    }
+
+    @Test
+    public void classify_EvaluatesKindsOnLookup_Test() {
+        final RequestKinds kinds = RequestClassifier.classify(getRequestBulkGet());
+        for (final RequestKind kind : RequestKind.values()) {
+            assertFalse(kind.toString(), kinds.isEvaluated(kind));
+        }
+
+        assertTrue(kinds.contains(RequestKind.BULK));
+        assertTrue(kinds.isEvaluated(RequestKind.BULK));
+        assertFalse(kinds.isEvaluated(RequestKind.BULK_GET));
+        assertTrue(kinds.contains(RequestKind.BULK));
+    }
+
+    @Test
+    public void toSet_Test() {
+        for (final Ds3Request request : REQUESTS) {
+            final ImmutableSet<RequestKind> expected = Arrays.stream(RequestKind.values())
+                    .filter(kind -> kind.matches(request))
+                    .collect(GuavaCollectors.immutableSet());
+            assertThat(request.getName(), RequestClassifier.classify(request).toSet(), is(expected));
+        }
+    }
+
+    @Test
+    public void getKinds_Test() {
+        final RequestClassifier classifier = RequestClassifier.of(REQUESTS);
+        for (final Ds3Request request : REQUESTS) {
+            assertThat(classifier.getKinds(request), is(sameInstance(classifier.getKinds(request))));
+            assertThat(classifier.getKinds(request).toSet(), is(RequestClassifier.classify(request).toSet()));
+        }
+    }
+
+    @Test
+    public void getKinds_UnclassifiedRequest_Test() {
+        final RequestClassifier classifier = RequestClassifier.of(ImmutableList.of());
+        assertTrue(classifier.is(getRequestMultiFileDelete(), RequestKind.MULTI_FILE_DELETE));
+        assertFalse(classifier.is(getRequestMultiFileDelete(), RequestKind.BULK));
+    }
+
+    @Test
+    public void of_NullRequests_Test() {
+        final RequestClassifier classifier = RequestClassifier.of(null);
+        assertTrue(classifier.getRequests(RequestKind.BULK).isEmpty());
+    }
+
+    @Test
+    public void getRequests_Test() {
+        final RequestClassifier classifier = RequestClassifier.of(REQUESTS);
+        for (final RequestKind kind : RequestKind.values()) {
+            final ImmutableList<Ds3Request> expected = REQUESTS.stream()
+                    .filter(kind::matches)
+                    .collect(GuavaCollectors.immutableList());
+            assertThat(kind.toString(), classifier.getRequests(kind), is(expected));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class SkipUnchangedFileUtilsImpl_Test {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static void write(final SkipUnchangedFileUtilsImpl fileUtils, final Path path, final String content) throws IOException {
+        try (final OutputStream outputStream = fileUtils.getOutputFile(path)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String read(final Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void getOutputFile_NewFile_Test() throws IOException {
+        final Path path = tempFolder.getRoot().toPath().resolve("new/dir/File.java");
+        final SkipUnchangedFileUtilsImpl fileUtils = new SkipUnchangedFileUtilsImpl();
+
+        write(fileUtils, path, "content");
+
+        assertThat(read(path), is("content"));
+        assertThat(fileUtils.getWrittenCount(), is(1));
+        assertThat(fileUtils.getUnchangedCount(), is(0));
+    }
+
+    @Test
+    public void getOutputFile_DefaultPermissions_Test() throws IOException {
+        final Path dir = tempFolder.getRoot().toPath();
+        assumeTrue(Files.getFileStore(dir).supportsFileAttributeView(PosixFileAttributeView.class));
+
+        final Path expected = Files.write(dir.resolve("Expected.java"), "content".getBytes(StandardCharsets.UTF_8));
+        final Path path = dir.resolve("File.java");
+        write(new SkipUnchangedFileUtilsImpl(), path, "content");
+
+        assertThat(Files.getPosixFilePermissions(path), is(Files.getPosixFilePermissions(expected)));
+        try (final Stream<Path> files = Files.list(dir)) {
+            assertThat(files.count(), is(2L));
+        }
+    }
+
+    @Test
+    public void getOutputFile_Unchanged_Test() throws IOException {
+        final Path path = tempFolder.getRoot().toPath().resolve("File.java");
+        Files.write(path, "content".getBytes(StandardCharsets.UTF_8));
+        final FileTime modifiedTime = FileTime.fromMillis(1000L);
+        Files.setLastModifiedTime(path, modifiedTime);
+
+        final SkipUnchangedFileUtilsImpl fileUtils = new SkipUnchangedFileUtilsImpl();
+        write(fileUtils, path, "content");
+
+        assertThat(Files.getLastModifiedTime(path), is(modifiedTime));
+        assertThat(fileUtils.getWrittenCount(), is(0));
+        assertThat(fileUtils.getUnchangedCount(), is(1));
+    }
+
+    @Test
+    public void getOutputFile_ChangedSameSize_Test() throws IOException {
+        final Path path = tempFolder.getRoot().toPath().resolve("File.java");
+        Files.write(path, "content".getBytes(StandardCharsets.UTF_8));
+
+        final SkipUnchangedFileUtilsImpl fileUtils = new SkipUnchangedFileUtilsImpl();
+        write(fileUtils, path, "CONTENT");
+
+        assertThat(read(path), is("CONTENT"));
+        assertThat(fileUtils.getWrittenCount(), is(1));
+        assertThat(fileUtils.getUnchangedCount(), is(0));
+    }
+
+    @Test
+    public void getOutputFile_ChangedSize_Test() throws IOException {
+        final Path path = tempFolder.getRoot().toPath().resolve("File.java");
+        Files.write(path, "content".getBytes(StandardCharsets.UTF_8));
+
+        final SkipUnchangedFileUtilsImpl fileUtils = new SkipUnchangedFileUtilsImpl();
+        write(fileUtils, path, "longer content");
+
+        assertThat(read(path), is("longer content"));
+        assertThat(fileUtils.getWrittenCount(), is(1));
+        assertThat(tempFolder.getRoot().list().length, is(1));
+    }
+
+    @Test
+    public void hasContent_Test() throws IOException {
+        final Path path = tempFolder.getRoot().toPath().resolve("File.java");
+        assertFalse(SkipUnchangedFileUtilsImpl.hasContent(path, new byte[0]));
+
+        Files.write(path, "content".getBytes(StandardCharsets.UTF_8));
+        assertTrue(SkipUnchangedFileUtilsImpl.hasContent(path, "content".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(SkipUnchangedFileUtilsImpl.hasContent(path, "contenT".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(SkipUnchangedFileUtilsImpl.hasContent(path, "other".getBytes(StandardCharsets.UTF_8)));
+    }
+}
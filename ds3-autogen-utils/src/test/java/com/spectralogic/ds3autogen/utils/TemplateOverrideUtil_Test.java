@@ -0,0 +1,85 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import freemarker.cache.StringTemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TemplateOverrideUtil_Test {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static String render(final Configuration config, final String templateName) throws Exception {
+        final Template template = config.getTemplate(templateName);
+        final StringWriter writer = new StringWriter();
+        template.process(null, writer);
+        return writer.toString();
+    }
+
+    private static Configuration createConfig() {
+        final StringTemplateLoader loader = new StringTemplateLoader();
+        loader.putTemplate("overridden.ftl", "bundled");
+        loader.putTemplate("notOverridden.ftl", "bundled");
+        final Configuration config = new Configuration(Configuration.VERSION_2_3_23);
+        config.setTemplateLoader(loader);
+        return config;
+    }
+
+    private static void write(final Path path, final String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void overrideTemplates_Test() throws Exception {
+        final Path templateDir = tempFolder.getRoot().toPath();
+        write(templateDir.resolve("overridden.ftl"), "override");
+
+        final Configuration config = createConfig();
+        TemplateOverrideUtil.overrideTemplates(config, templateDir);
+
+        assertThat(render(config, "overridden.ftl"), is("override"));
+        assertThat(render(config, "notOverridden.ftl"), is("bundled"));
+    }
+
+    @Test
+    public void overrideTemplates_AddedTemplateAfterClearingCache_Test() throws Exception {
+        final Path templateDir = tempFolder.getRoot().toPath();
+
+        final Configuration config = createConfig();
+        TemplateOverrideUtil.overrideTemplates(config, templateDir);
+        assertThat(render(config, "notOverridden.ftl"), is("bundled"));
+
+        write(templateDir.resolve("notOverridden.ftl"), "override");
+        config.clearTemplateCache();
+
+        assertThat(render(config, "notOverridden.ftl"), is("override"));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Param;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Request;
+import com.spectralogic.ds3autogen.api.models.apispec.Ds3Type;
+import org.junit.Test;
+
+import static com.spectralogic.ds3autogen.testutil.Ds3ModelPartialDataFixture.*;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TypeDependencyGraph_Test {
+
+    private static final String PARENT_TYPE = "com.spectralogic.Test.Parent";
+    private static final String CHILD_TYPE = "com.spectralogic.Test.Child";
+    private static final String GRANDCHILD_TYPE = "com.spectralogic.Test.Grandchild";
+    private static final String UNUSED_TYPE = "com.spectralogic.Test.Unused";
+
+    /**
+     * Parent -> Child -> Grandchild -> Parent, plus an Unused type that references Child
+     */
+    private static ImmutableMap<String, Ds3Type> getCyclicTypes() {
+        return ImmutableMap.of(
+                PARENT_TYPE, createDs3TypeTestData(
+                        PARENT_TYPE,
+                        ImmutableList.of(
+                                createDs3ElementTestData("Child", CHILD_TYPE),
+                                createDs3ElementTestData("Name", "java.lang.String"))),
+                CHILD_TYPE, createDs3TypeTestData(
+                        CHILD_TYPE,
+                        ImmutableList.of(createDs3ElementTestData("Grandchildren", "array", GRANDCHILD_TYPE))),
+                GRANDCHILD_TYPE, createDs3TypeTestData(
+                        GRANDCHILD_TYPE,
+                        ImmutableList.of(createDs3ElementTestData("Parent", PARENT_TYPE))),
+                UNUSED_TYPE, createDs3TypeTestData(
+                        UNUSED_TYPE,
+                        ImmutableList.of(createDs3ElementTestData("Child", CHILD_TYPE))));
+    }
+
+    @Test
+    public void getDependencies_Test() {
+        final TypeDependencyGraph graph = TypeDependencyGraph.of(getCyclicTypes());
+        assertThat(graph.getDependencies(PARENT_TYPE), containsInAnyOrder(CHILD_TYPE));
+        assertThat(graph.getDependencies(CHILD_TYPE), containsInAnyOrder(GRANDCHILD_TYPE));
+        assertThat(graph.getDependencies("com.spectralogic.Test.DoesNotExist"), is(empty()));
+    }
+
+    @Test
+    public void getReferencingTypes_Test() {
+        final TypeDependencyGraph graph = TypeDependencyGraph.of(getCyclicTypes());
+        assertThat(graph.getReferencingTypes(CHILD_TYPE), containsInAnyOrder(PARENT_TYPE, UNUSED_TYPE));
+        assertThat(graph.getReferencingTypes(PARENT_TYPE), containsInAnyOrder(GRANDCHILD_TYPE));
+        assertThat(graph.getReferencingTypes(UNUSED_TYPE), is(empty()));
+    }
+
+    @Test
+    public void getReferencingRequests_Test() {
+        final Ds3Request request = createDs3RequestTestData(
+                false,
+                ImmutableList.of(new Ds3Param("Parent", PARENT_TYPE, false)),
+                null);
+        final TypeDependencyGraph graph = TypeDependencyGraph.of(getCyclicTypes(), ImmutableList.of(request));
+
+        assertThat(graph.getReferencingRequests(PARENT_TYPE), containsInAnyOrder(request.getName()));
+        assertThat(graph.getReferencingRequests(CHILD_TYPE), is(empty()));
+    }
+
+    @Test
+    public void getReachableTypes_Cycle_Test() {
+        final TypeDependencyGraph graph = TypeDependencyGraph.of(getCyclicTypes());
+        assertThat(graph.getReachableTypes(ImmutableSet.of(GRANDCHILD_TYPE)),
+                containsInAnyOrder(PARENT_TYPE, CHILD_TYPE, GRANDCHILD_TYPE));
+        assertThat(graph.getReachableTypes(ImmutableSet.of(UNUSED_TYPE)),
+                containsInAnyOrder(PARENT_TYPE, CHILD_TYPE, GRANDCHILD_TYPE, UNUSED_TYPE));
+    }
+
+    @Test
+    public void getReachableTypes_MissingType_Test() {
+        final String missingType = "com.spectralogic.Test.Missing";
+        final TypeDependencyGraph graph = TypeDependencyGraph.of(getCyclicTypes());
+        assertThat(graph.getReachableTypes(ImmutableSet.of(missingType)), containsInAnyOrder(missingType));
+    }
+
+    @Test
+    public void getReachableTypes_Empty_Test() {
+        final TypeDependencyGraph graph = TypeDependencyGraph.of(getCyclicTypes());
+        assertThat(graph.getReachableTypes(null), is(empty()));
+        assertThat(graph.getReachableTypes(ImmutableSet.of()), is(empty()));
+        assertThat(TypeDependencyGraph.of(null).getReachableTypes(ImmutableSet.of(PARENT_TYPE)),
+                containsInAnyOrder(PARENT_TYPE));
+    }
+}
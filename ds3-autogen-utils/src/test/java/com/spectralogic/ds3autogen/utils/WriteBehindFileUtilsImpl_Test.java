@@ -0,0 +1,101 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class WriteBehindFileUtilsImpl_Test {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static void write(final WriteBehindFileUtilsImpl fileUtils, final Path path, final String content) throws IOException {
+        try (final OutputStream outputStream = fileUtils.getOutputFile(path)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String read(final Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void close_WaitsForAllFiles_Test() throws IOException {
+        final Path root = tempFolder.getRoot().toPath();
+        final WriteBehindFileUtilsImpl fileUtils = new WriteBehindFileUtilsImpl(2, 4);
+
+        for (int i = 0; i < 100; i++) {
+            write(fileUtils, root.resolve("dir" + (i % 10)).resolve("File" + i + ".java"), "content " + i);
+        }
+        fileUtils.close();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(read(root.resolve("dir" + (i % 10)).resolve("File" + i + ".java")), is("content " + i));
+        }
+        assertThat(fileUtils.getWrittenCount(), is(100));
+        assertThat(fileUtils.getUnchangedCount(), is(0));
+    }
+
+    @Test
+    public void close_UnchangedFilesAreSkipped_Test() throws IOException {
+        final Path path = tempFolder.getRoot().toPath().resolve("File.java");
+        Files.write(path, "content".getBytes(StandardCharsets.UTF_8));
+
+        final WriteBehindFileUtilsImpl fileUtils = new WriteBehindFileUtilsImpl();
+        write(fileUtils, path, "content");
+        fileUtils.close();
+
+        assertThat(fileUtils.getWrittenCount(), is(0));
+        assertThat(fileUtils.getUnchangedCount(), is(1));
+    }
+
+    @Test
+    public void close_ThrowsWriteErrors_Test() throws IOException {
+        final Path blocker = tempFolder.newFile("blocker").toPath();
+        final WriteBehindFileUtilsImpl fileUtils = new WriteBehindFileUtilsImpl(1, 1);
+
+        write(fileUtils, blocker.resolve("First.java"), "content");
+        write(fileUtils, blocker.resolve("Second.java"), "content");
+        write(fileUtils, tempFolder.getRoot().toPath().resolve("Third.java"), "content");
+
+        try {
+            fileUtils.close();
+            fail("Expected the write errors to be thrown");
+        } catch (final IOException e) {
+            assertThat(e.getSuppressed().length, is(1));
+        }
+        assertThat(read(tempFolder.getRoot().toPath().resolve("Third.java")), is("content"));
+        assertThat(fileUtils.getWrittenCount(), is(1));
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void constructor_InvalidThreads_Test() {
+        new WriteBehindFileUtilsImpl(0, 1);
+    }
+}
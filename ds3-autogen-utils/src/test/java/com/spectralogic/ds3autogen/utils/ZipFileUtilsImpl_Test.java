@@ -0,0 +1,141 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ZipFileUtilsImpl_Test {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static void write(final ZipFileUtilsImpl fileUtils, final Path path, final String content) throws IOException {
+        try (final OutputStream outputStream = fileUtils.getOutputFile(path)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static ImmutableList<String> readEntries(final Path archive) throws IOException {
+        final ImmutableList.Builder<String> builder = ImmutableList.builder();
+        try (final InputStream stream = Files.newInputStream(archive);
+             final ZipInputStream zipStream = new ZipInputStream(stream)) {
+            ZipEntry entry;
+            while ((entry = zipStream.getNextEntry()) != null) {
+                assertThat(entry.getTimeLocal(), is(LocalDateTime.of(1980, 2, 1, 0, 0)));
+                builder.add(entry.getName() + "=" + new String(ByteStreams.toByteArray(zipStream), StandardCharsets.UTF_8));
+            }
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void close_SortedEntriesRelativeToRoot_Test() throws IOException {
+        final Path root = tempFolder.getRoot().toPath().resolve("root");
+        final Path archive = tempFolder.getRoot().toPath().resolve("out/code.zip");
+        final ZipFileUtilsImpl fileUtils = new ZipFileUtilsImpl(archive, root);
+
+        write(fileUtils, root.resolve("src/b/B.java"), "b");
+        write(fileUtils, root.resolve("src/a/A.java"), "a");
+        write(fileUtils, root.resolve("README"), "readme");
+        fileUtils.close();
+
+        assertThat(readEntries(archive), is(ImmutableList.of("README=readme", "src/a/A.java=a", "src/b/B.java=b")));
+        assertFalse(Files.exists(root));
+        assertThat(fileUtils.getWrittenCount(), is(3));
+    }
+
+    @Test
+    public void close_Reproducible_Test() throws IOException {
+        final Path root = tempFolder.getRoot().toPath();
+        final Path first = root.resolve("first.zip");
+        final Path second = root.resolve("second.zip");
+
+        final ZipFileUtilsImpl firstUtils = new ZipFileUtilsImpl(first, root);
+        write(firstUtils, root.resolve("A.java"), "a");
+        write(firstUtils, root.resolve("B.java"), "b");
+        firstUtils.close();
+
+        final ZipFileUtilsImpl secondUtils = new ZipFileUtilsImpl(second, root);
+        write(secondUtils, root.resolve("B.java"), "b");
+        write(secondUtils, root.resolve("A.java"), "a");
+        secondUtils.close();
+
+        assertThat(Files.readAllBytes(second), is(Files.readAllBytes(first)));
+    }
+
+    @Test
+    public void close_JarStartsWithManifest_Test() throws IOException {
+        final Path root = tempFolder.getRoot().toPath();
+        final Path archive = root.resolve("sources.jar");
+        final ZipFileUtilsImpl fileUtils = new ZipFileUtilsImpl(archive, root);
+
+        write(fileUtils, root.resolve("A.java"), "a");
+        fileUtils.close();
+
+        final ImmutableList<String> entries = readEntries(archive);
+        assertThat(entries.size(), is(2));
+        assertTrue(entries.get(0).startsWith("META-INF/MANIFEST.MF=Manifest-Version: 1.0"));
+        assertThat(entries.get(1), is("A.java=a"));
+    }
+
+    @Test
+    public void close_UnchangedArchiveIsKept_Test() throws IOException {
+        final Path root = tempFolder.getRoot().toPath();
+        final Path archive = root.resolve("code.zip");
+
+        final ZipFileUtilsImpl firstUtils = new ZipFileUtilsImpl(archive, root);
+        write(firstUtils, root.resolve("A.java"), "a");
+        firstUtils.close();
+        final FileTime modified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(archive, modified);
+
+        final ZipFileUtilsImpl secondUtils = new ZipFileUtilsImpl(archive, root);
+        write(secondUtils, root.resolve("A.java"), "a");
+        secondUtils.close();
+
+        assertThat(Files.getLastModifiedTime(archive), is(modified));
+        assertThat(secondUtils.getWrittenCount(), is(0));
+        assertThat(secondUtils.getUnchangedCount(), is(1));
+    }
+
+    @Test (expected = IOException.class)
+    public void getOutputFile_OutsideOfRoot_Test() throws IOException {
+        final Path root = tempFolder.getRoot().toPath().resolve("root");
+        final ZipFileUtilsImpl fileUtils = new ZipFileUtilsImpl(root.resolve("code.zip"), root);
+        fileUtils.getOutputFile(root.resolve("../A.java"));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+package com.spectralogic.ds3autogen.utils.manifest;
+
+import com.spectralogic.ds3autogen.api.FileUtils;
+import com.spectralogic.ds3autogen.utils.FileUtilsImpl;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationManifest_Test {
+
+    private static final String GENERATOR = "generator";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static void write(final FileUtils fileUtils, final Path path, final String content) throws IOException {
+        try (final OutputStream outputStream = fileUtils.getOutputFile(path)) {
+            outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void hashContent_Test() {
+        assertThat(GenerationManifest.hashContent("a", "b"), is(GenerationManifest.hashContent("a", "b")));
+        assertThat(GenerationManifest.hashContent("ab", ""), not(GenerationManifest.hashContent("a", "b")));
+    }
+
+    @Test
+    public void isUpToDate_EmptyManifest_Test() throws IOException {
+        final GenerationManifest manifest = GenerationManifest.load(tempFolder.getRoot().toPath(), GENERATOR);
+        assertFalse(manifest.isUpToDate("request:MyRequest", "contract", "template"));
+    }
+
+    @Test
+    public void isUpToDate_Test() throws IOException {
+        final Path destDir = tempFolder.getRoot().toPath();
+        final Path file = destDir.resolve("src/MyRequest.java");
+
+        final GenerationManifest first = GenerationManifest.load(destDir, GENERATOR);
+        write(first.track(new FileUtilsImpl(), "request:MyRequest", "contract", "template"), file, "content");
+        first.save();
+
+        final GenerationManifest second = GenerationManifest.load(destDir, GENERATOR);
+        assertTrue(second.isUpToDate("request:MyRequest", "contract", "template"));
+        assertFalse(second.isUpToDate("request:MyRequest", "changedContract", "template"));
+        assertFalse(second.isUpToDate("request:MyRequest", "contract", "changedTemplate"));
+        assertFalse(second.isUpToDate("request:OtherRequest", "contract", "template"));
+
+        Files.write(file, "modified".getBytes(StandardCharsets.UTF_8));
+        assertFalse(second.isUpToDate("request:MyRequest", "contract", "template"));
+
+        Files.delete(file);
+        assertFalse(second.isUpToDate("request:MyRequest", "contract", "template"));
+    }
+
+    @Test
+    public void save_DeletesStaleFiles_Test() throws IOException {
+        final Path destDir = tempFolder.getRoot().toPath();
+        final Path keptFile = destDir.resolve("src/Kept.java");
+        final Path retainedFile = destDir.resolve("src/Retained.java");
+        final Path removedFile = destDir.resolve("src/Removed.java");
+
+        final GenerationManifest first = GenerationManifest.load(destDir, GENERATOR);
+        write(first.track(new FileUtilsImpl(), "type:Kept", "c", "t"), keptFile, "kept");
+        write(first.track(new FileUtilsImpl(), "type:Retained", "c", "t"), retainedFile, "retained");
+        write(first.track(new FileUtilsImpl(), "type:Removed", "c", "t"), removedFile, "removed");
+        assertThat(first.save(), is(0));
+
+        final GenerationManifest second = GenerationManifest.load(destDir, GENERATOR);
+        write(second.track(new FileUtilsImpl(), "type:Kept", "c2", "t"), keptFile, "kept2");
+        second.retain("type:Retained");
+        assertThat(second.save(), is(1));
+
+        assertTrue(Files.exists(keptFile));
+        assertTrue(Files.exists(retainedFile));
+        assertFalse(Files.exists(removedFile));
+
+        final GenerationManifest third = GenerationManifest.load(destDir, GENERATOR);
+        assertTrue(third.isUpToDate("type:Kept", "c2", "t"));
+        assertTrue(third.isUpToDate("type:Retained", "c", "t"));
+        assertFalse(third.isUpToDate("type:Removed", "c", "t"));
+    }
+
+    @Test
+    public void isUpToDate_ChangedGenerator_Test() throws IOException {
+        final Path destDir = tempFolder.getRoot().toPath();
+        final Path keptFile = destDir.resolve("src/Kept.java");
+        final Path removedFile = destDir.resolve("src/Removed.java");
+
+        final GenerationManifest first = GenerationManifest.load(destDir, GENERATOR);
+        write(first.track(new FileUtilsImpl(), "type:Kept", "c", "t"), keptFile, "kept");
+        write(first.track(new FileUtilsImpl(), "type:Removed", "c", "t"), removedFile, "removed");
+        first.save();
+
+        // A different generator regenerates every element, but still removes stale files
+        final GenerationManifest second = GenerationManifest.load(destDir, "newerGenerator");
+        assertFalse(second.isUpToDate("type:Kept", "c", "t"));
+        write(second.track(new FileUtilsImpl(), "type:Kept", "c", "t"), keptFile, "kept");
+        assertThat(second.save(), is(1));
+        assertFalse(Files.exists(removedFile));
+
+        assertTrue(GenerationManifest.load(destDir, "newerGenerator").isUpToDate("type:Kept", "c", "t"));
+        assertFalse(GenerationManifest.load(destDir, GENERATOR).isUpToDate("type:Kept", "c", "t"));
+    }
+
+    @Test
+    public void isUpToDate_UnknownGenerator_Test() throws IOException {
+        final Path destDir = tempFolder.getRoot().toPath();
+
+        final GenerationManifest first = GenerationManifest.load(destDir, null);
+        write(first.track(new FileUtilsImpl(), "type:A", "c", "t"), destDir.resolve("src/A.java"), "a");
+        first.save();
+
+        assertFalse(GenerationManifest.load(destDir, null).isUpToDate("type:A", "c", "t"));
+    }
+
+    @Test
+    public void load_UnknownFormat_Test() throws IOException {
+        final Path destDir = tempFolder.getRoot().toPath();
+        Files.write(destDir.resolve(GenerationManifest.MANIFEST_FILE_NAME),
+                "# some other format\nsrc/A.java\ttype:A\tc\tt\to\n".getBytes(StandardCharsets.UTF_8));
+
+        final GenerationManifest manifest = GenerationManifest.load(destDir, GENERATOR);
+        assertFalse(manifest.isUpToDate("type:A", "c", "t"));
+    }
+
+    @Test
+    public void templateHasherResolve_Test() {
+        assertThat(TemplateHasher.resolve("request/request_template.ftl", "common/variables.ftl"), is("request/common/variables.ftl"));
+        assertThat(TemplateHasher.resolve("request/request_template.ftl", "../copyright.ftl"), is("copyright.ftl"));
+        assertThat(TemplateHasher.resolve("copyright.ftl", "imports.ftl"), is("imports.ftl"));
+        assertThat(TemplateHasher.resolve("request/request_template.ftl", "/common/copyright.ftl"), is("common/copyright.ftl"));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.spectralogic.ds3autogen.utils.metrics.GenerationMetrics.StageTiming;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationMetrics_Test {
+
+    @Test
+    public void record_AccumulatesByStageAndName_Test() {
+        final GenerationMetrics metrics = new GenerationMetrics();
+        metrics.record(Stage.RENDER, "request/request_template.ftl", 30);
+        metrics.record(Stage.RENDER, "request/request_template.ftl", 50);
+        metrics.record(Stage.RENDER, "model/model_template.ftl", 100);
+        metrics.record(Stage.PARSE, "readContract", 10);
+
+        final ImmutableList<StageTiming> timings = metrics.getTimings();
+        assertThat(timings.size(), is(3));
+
+        assertThat(timings.get(0).getStage(), is(Stage.PARSE));
+        assertThat(timings.get(0).getName(), is("readContract"));
+
+        assertThat(timings.get(1).getName(), is("model/model_template.ftl"));
+        assertThat(timings.get(1).getTotalNanos(), is(100L));
+
+        assertThat(timings.get(2).getName(), is("request/request_template.ftl"));
+        assertThat(timings.get(2).getCount(), is(2L));
+        assertThat(timings.get(2).getTotalNanos(), is(80L));
+        assertThat(timings.get(2).getMaxNanos(), is(50L));
+    }
+
+    @Test
+    public void time_RecordsOnClose_Test() {
+        final GenerationMetrics metrics = new GenerationMetrics();
+        try (final StageTimer ignored = metrics.time(Stage.PRUNE, "removeUnusedTypes")) {
+            assertTrue(metrics.getTimings().isEmpty());
+        }
+
+        final ImmutableList<StageTiming> timings = metrics.getTimings();
+        assertThat(timings.size(), is(1));
+        assertThat(timings.get(0).getStage(), is(Stage.PRUNE));
+        assertThat(timings.get(0).getCount(), is(1L));
+    }
+
+    @Test
+    public void recordFile_TotalsByOutput_Test() {
+        final GenerationMetrics metrics = new GenerationMetrics();
+        metrics.recordFile("java", "A.java", 100);
+        metrics.recordFile("java", "B.java", 20);
+        metrics.recordFile("go", "a.go", 7);
+
+        assertThat(metrics.getFileTotals().keySet().asList(), is(ImmutableList.of("go", "java")));
+        assertThat(metrics.getFileTotals().get("java").getFiles(), is(2L));
+        assertThat(metrics.getFileTotals().get("java").getBytes(), is(120L));
+        assertThat(metrics.getFileTotals().get("go").getBytes(), is(7L));
+    }
+
+    @Test
+    public void reset_Test() {
+        final GenerationMetrics metrics = new GenerationMetrics();
+        metrics.record(Stage.GENERATE, "java", 10);
+        metrics.recordFile("java", "A.java", 100);
+        metrics.reset();
+
+        assertTrue(metrics.getTimings().isEmpty());
+        assertTrue(metrics.getFileTotals().isEmpty());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * ******************************************************************************
+ *   Copyright 2014-2017 Spectra Logic Corporation. All Rights Reserved.
+ *   Licensed under the Apache License, Version 2.0 (the "License"). You may not use
+ *   this file except in compliance with the License. A copy of the License is located at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   or in the "license" file accompanying this file.
+ *   This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ *   CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ *   specific language governing permissions and limitations under the License.
+ * ****************************************************************************
+ */
+
+
+package com.spectralogic.ds3autogen.utils.metrics;
+
+import com.spectralogic.ds3autogen.utils.InMemoryFileUtilsImpl;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class MeasuredFileUtilsImpl_Test {
+
+    @Test
+    public void getOutputFile_RecordsFileOnClose_Test() throws IOException {
+        final GenerationMetrics metrics = new GenerationMetrics();
+        final InMemoryFileUtilsImpl inMemoryFileUtils = new InMemoryFileUtilsImpl();
+        final MeasuredFileUtilsImpl fileUtils = new MeasuredFileUtilsImpl(inMemoryFileUtils, "java", metrics);
+        final Path path = Paths.get("src", "Test.java");
+
+        final OutputStream stream = fileUtils.getOutputFile(path);
+        stream.write("class Test".getBytes(StandardCharsets.UTF_8));
+        stream.write('{');
+        stream.write('}');
+        assertTrue(metrics.getFileTotals().isEmpty());
+
+        stream.close();
+        stream.close();
+
+        assertThat(new String(inMemoryFileUtils.getFile(path), StandardCharsets.UTF_8), is("class Test{}"));
+        assertThat(metrics.getFileTotals().get("java").getFiles(), is(1L));
+        assertThat(metrics.getFileTotals().get("java").getBytes(), is(12L));
+    }
+}